@@ -0,0 +1,143 @@
+package com.campus.lostandfound.benchmark;
+
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.vo.ItemDetailVO;
+import com.campus.lostandfound.model.vo.ItemVO;
+import com.campus.lostandfound.model.vo.MatchVO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 基准测试数据生成器
+ * 固定随机种子，物品分布在约10公里见方的校园范围和30天内，类别和标签取自常见取值
+ */
+public final class BenchmarkData {
+    
+    public static final String[] CATEGORIES = {"钱包", "证件卡片", "电子设备", "钥匙", "书籍文具", "衣物", "雨伞", "其他"};
+    
+    public static final String[] TAGS = {"黑色", "白色", "红色", "蓝色", "皮质", "金属", "塑料", "布料",
+            "苹果", "华为", "小米", "学生证", "银行卡", "身份证", "钥匙扣", "保温杯", "耳机", "充电宝",
+            "笔记本", "教材", "双肩包", "手提袋", "眼镜", "手表"};
+    
+    public static final double CENTER_LONGITUDE = 121.4737;
+    public static final double CENTER_LATITUDE = 31.2304;
+    public static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 5, 1, 10, 0);
+    
+    private final Random random;
+    
+    public BenchmarkData(long seed) {
+        this.random = new Random(seed);
+    }
+    
+    /**
+     * 生成指定类型的待处理物品
+     */
+    public List<Item> items(int count, int type, long firstId) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(item(firstId + i, type));
+        }
+        return items;
+    }
+    
+    public Item item(long id, int type) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(1000 + id);
+        item.setTitle((type == 0 ? "丢失" : "拾获") + CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        item.setDescription("在图书馆附近" + (type == 0 ? "丢失" : "拾获") + "，请联系我");
+        item.setType(type);
+        item.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        item.setLongitude(coordinate(CENTER_LONGITUDE));
+        item.setLatitude(coordinate(CENTER_LATITUDE));
+        item.setLocationDesc("第" + (1 + random.nextInt(20)) + "教学楼");
+        item.setEventTime(BASE_TIME.minusMinutes(random.nextInt(30 * 24 * 60)));
+        item.setStatus(0);
+        item.setViewCount(random.nextInt(500));
+        item.setDeleted(0);
+        item.setCreatedAt(item.getEventTime().plusHours(1));
+        item.setUpdatedAt(item.getCreatedAt());
+        return item;
+    }
+    
+    /**
+     * 为每个物品生成1~5个标签
+     */
+    public Map<Long, List<String>> tags(List<Item> items) {
+        Map<Long, List<String>> tagMap = new LinkedHashMap<>();
+        for (Item item : items) {
+            tagMap.put(item.getId(), tags(1 + random.nextInt(5)));
+        }
+        return tagMap;
+    }
+    
+    public List<String> tags(int count) {
+        List<String> tags = new ArrayList<>(count);
+        while (tags.size() < count) {
+            String tag = TAGS[random.nextInt(TAGS.length)];
+            if (!tags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+    
+    public ItemVO itemVO(Item item, List<String> tags) {
+        ItemVO vo = new ItemVO();
+        fill(vo, item, tags);
+        return vo;
+    }
+    
+    /**
+     * 带匹配推荐的物品详情，推荐数量与详情页一致
+     */
+    public ItemDetailVO itemDetailVO(Item item, List<String> tags, int recommendationCount) {
+        ItemDetailVO vo = new ItemDetailVO();
+        fill(vo, item, tags);
+        
+        List<MatchVO> recommendations = new ArrayList<>(recommendationCount);
+        for (int i = 0; i < recommendationCount; i++) {
+            Item matched = item(item.getId() + i + 1, item.getType() == 0 ? 1 : 0);
+            MatchVO matchVO = new MatchVO();
+            fill(matchVO, matched, tags(3));
+            matchVO.setMatchScore(BigDecimal.valueOf(50 + random.nextInt(5000) / 100.0).setScale(2, RoundingMode.HALF_UP));
+            recommendations.add(matchVO);
+        }
+        vo.setMatchRecommendations(recommendations);
+        return vo;
+    }
+    
+    private void fill(ItemVO vo, Item item, List<String> tags) {
+        vo.setId(item.getId());
+        vo.setUserId(item.getUserId());
+        vo.setUserName("用户" + item.getUserId());
+        vo.setUserAvatar("https://example.com/avatar/" + item.getUserId() + ".jpg");
+        vo.setTitle(item.getTitle());
+        vo.setDescription(item.getDescription());
+        vo.setType(item.getType());
+        vo.setCategory(item.getCategory());
+        vo.setImages(List.of("https://example.com/items/" + item.getId() + "/1.jpg",
+                "https://example.com/items/" + item.getId() + "/2.jpg"));
+        vo.setTags(tags);
+        vo.setLongitude(item.getLongitude());
+        vo.setLatitude(item.getLatitude());
+        vo.setLocationDesc(item.getLocationDesc());
+        vo.setEventTime(item.getEventTime());
+        vo.setStatus(item.getStatus());
+        vo.setViewCount(item.getViewCount());
+        vo.setDeleted(item.getDeleted());
+        vo.setCreatedAt(item.getCreatedAt());
+        vo.setUpdatedAt(item.getUpdatedAt());
+    }
+    
+    private BigDecimal coordinate(double center) {
+        return BigDecimal.valueOf(center + (random.nextDouble() - 0.5) * 0.1).setScale(7, RoundingMode.HALF_UP);
+    }
+}
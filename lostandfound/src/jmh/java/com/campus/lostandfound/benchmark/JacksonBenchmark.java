@@ -0,0 +1,83 @@
+package com.campus.lostandfound.benchmark;
+
+import com.campus.lostandfound.common.PageResult;
+import com.campus.lostandfound.config.JacksonConfig;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.vo.ItemDetailVO;
+import com.campus.lostandfound.model.vo.ItemVO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存序列化基准测试
+ * 物品详情和搜索结果以JSON形式写入Redis，命中缓存时需要反序列化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+    
+    private static final TypeReference<PageResult<ItemVO>> PAGE_TYPE = new TypeReference<>() {
+    };
+    
+    @Param({"20", "100"})
+    private int pageSize;
+    
+    private ObjectMapper objectMapper;
+    
+    private ItemDetailVO detail;
+    
+    private String detailJson;
+    
+    private PageResult<ItemVO> page;
+    
+    private String pageJson;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = new JacksonConfig().objectMapper();
+        
+        BenchmarkData data = new BenchmarkData(42);
+        List<Item> items = data.items(pageSize, 0, 1);
+        Map<Long, List<String>> tagMap = data.tags(items);
+        
+        detail = data.itemDetailVO(items.get(0), tagMap.get(items.get(0).getId()), 10);
+        detailJson = objectMapper.writeValueAsString(detail);
+        
+        List<ItemVO> list = new ArrayList<>(pageSize);
+        for (Item item : items) {
+            list.add(data.itemVO(item, tagMap.get(item.getId())));
+        }
+        page = new PageResult<>(list, 10000L, 1, pageSize);
+        pageJson = objectMapper.writeValueAsString(page);
+    }
+    
+    @Benchmark
+    public String writeDetail() throws Exception {
+        return objectMapper.writeValueAsString(detail);
+    }
+    
+    @Benchmark
+    public ItemDetailVO readDetail() throws Exception {
+        return objectMapper.readValue(detailJson, ItemDetailVO.class);
+    }
+    
+    @Benchmark
+    public String writePage() throws Exception {
+        return objectMapper.writeValueAsString(page);
+    }
+    
+    @Benchmark
+    public PageResult<ItemVO> readPage() throws Exception {
+        return objectMapper.readValue(pageJson, PAGE_TYPE);
+    }
+}
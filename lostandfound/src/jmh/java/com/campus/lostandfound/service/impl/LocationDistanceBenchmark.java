@@ -0,0 +1,58 @@
+package com.campus.lostandfound.service.impl;
+
+import com.campus.lostandfound.benchmark.BenchmarkData;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.vo.GeoPoint;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 距离计算基准测试
+ * 模拟按半径筛选物品时对每个物品调用一次calculateDistance
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationDistanceBenchmark {
+    
+    @Param({"1000", "10000", "100000"})
+    private int itemCount;
+    
+    private LocationServiceImpl locationService;
+    
+    private GeoPoint center;
+    
+    private GeoPoint[] points;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // calculateDistance是纯计算，不依赖高德配置和数据库
+        locationService = new LocationServiceImpl(null, null, null, null);
+        center = new GeoPoint(BenchmarkData.CENTER_LONGITUDE, BenchmarkData.CENTER_LATITUDE, null);
+        
+        List<Item> items = new BenchmarkData(42).items(itemCount, 1, 1);
+        points = new GeoPoint[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            Item item = items.get(i);
+            points[i] = new GeoPoint(item.getLongitude().doubleValue(), item.getLatitude().doubleValue(), null);
+        }
+    }
+    
+    @Benchmark
+    public void withinRadius(Blackhole blackhole) {
+        int count = 0;
+        for (GeoPoint point : points) {
+            Double distance = locationService.calculateDistance(center, point);
+            if (distance != null && distance <= 3000) {
+                count++;
+            }
+        }
+        blackhole.consume(count);
+    }
+}
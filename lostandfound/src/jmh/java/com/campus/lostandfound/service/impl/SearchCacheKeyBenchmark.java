@@ -0,0 +1,58 @@
+package com.campus.lostandfound.service.impl;
+
+import com.campus.lostandfound.benchmark.BenchmarkData;
+import com.campus.lostandfound.model.dto.ItemSearchDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索缓存键生成基准测试
+ * 每次搜索请求都会拼接参数并计算MD5，基准与ItemServiceImpl位于同一个包，直接调用SearchCacheKeys，不经过Redis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchCacheKeyBenchmark {
+    
+    private ItemSearchDTO keywordSearch;
+    
+    private ItemSearchDTO fullSearch;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        keywordSearch = new ItemSearchDTO();
+        keywordSearch.setKeyword("黑色钱包");
+        
+        fullSearch = new ItemSearchDTO();
+        fullSearch.setKeyword("黑色钱包");
+        fullSearch.setType(0);
+        fullSearch.setCategory("钱包");
+        fullSearch.setStatus(0);
+        fullSearch.setStartTime(BenchmarkData.BASE_TIME.minusDays(7));
+        fullSearch.setEndTime(BenchmarkData.BASE_TIME);
+        fullSearch.setLongitude(BigDecimal.valueOf(BenchmarkData.CENTER_LONGITUDE));
+        fullSearch.setLatitude(BigDecimal.valueOf(BenchmarkData.CENTER_LATITUDE));
+        fullSearch.setRadius(1000);
+        fullSearch.setSortBy("distance");
+    }
+    
+    @Benchmark
+    public String keywordSearchKey() {
+        return SearchCacheKeys.of(keywordSearch, null, "3.12", 1, 20);
+    }
+    
+    @Benchmark
+    public String fullSearchKey() {
+        return SearchCacheKeys.of(fullSearch, null, "3.12", 1, 20);
+    }
+    
+    @Benchmark
+    public String md5Hex() {
+        return SearchCacheKeys.md5Hex("黑色钱包|0|钱包|0|||121.4737|31.2304|1000|distance|1|20");
+    }
+}
@@ -0,0 +1,72 @@
+package com.campus.lostandfound.service.match;
+
+import com.campus.lostandfound.benchmark.BenchmarkData;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.vo.MatchResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 匹配评分基准测试
+ * 
+ * - topTen: 单个物品对全部候选评分并取前10个（详情页推荐、通知计算的核心路径）
+ * - scoreAll: 不剪枝，逐个计算完整分数，用于对比剪枝收益
+ * - toResult: 单对物品生成带BigDecimal分项的MatchResult
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchScoreBenchmark {
+    
+    @Param({"1000", "10000", "100000"})
+    private int candidateCount;
+    
+    private IndexedItem probe;
+    
+    private List<IndexedItem> candidates;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(42);
+        Item item = data.item(0, 0);
+        probe = IndexedItem.of(item, data.tags(3));
+        
+        List<Item> items = data.items(candidateCount, 1, 1);
+        Map<Long, List<String>> tagMap = data.tags(items);
+        candidates = new ArrayList<>(candidateCount);
+        for (Item candidate : items) {
+            candidates.add(IndexedItem.of(candidate, tagMap.get(candidate.getId())));
+        }
+    }
+    
+    @Benchmark
+    public int[] topTen() {
+        TopKCollector collector = new TopKCollector(10, 0, candidates.size());
+        MatchScoreKernel.collect(probe, candidates, 0, candidates.size(), collector);
+        return collector.indexes();
+    }
+    
+    @Benchmark
+    public void scoreAll(Blackhole blackhole) {
+        for (IndexedItem candidate : candidates) {
+            blackhole.consume(MatchScoreKernel.score(probe, candidate));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void toResult(Blackhole blackhole) {
+        for (int i = 0; i < 100; i++) {
+            MatchResult result = MatchScoreKernel.toResult(probe, candidates.get(i));
+            blackhole.consume(result);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.campus.lostandfound.common;
+
+import com.campus.lostandfound.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 按距离排序的游标分页位置
+ *
+ * 列表按 (距离 ASC, id ASC) 排序，游标记录上一页最后一条记录的距离和ID，
+ * 下一页从 距离 > 游标距离 OR (距离 = 游标距离 AND id > 游标ID) 的位置继续查找最近邻，
+ * 不需要重新读取前面的记录
+ *
+ * 对外以不透明的Base64字符串传递，客户端原样回传即可；与{@link PageCursor}格式不同，不能混用
+ */
+public final class DistanceCursor {
+
+    private static final String PREFIX = "d:";
+    private static final String SEPARATOR = "|";
+
+    private final double distance;
+    private final Long id;
+
+    private DistanceCursor(double distance, Long id) {
+        this.distance = distance;
+        this.id = id;
+    }
+
+    public static DistanceCursor of(double distance, Long id) {
+        return new DistanceCursor(distance, id);
+    }
+
+    /**
+     * 解析客户端回传的游标
+     *
+     * @param cursor 游标字符串，为空表示第一页
+     * @return 游标位置，第一页返回null
+     * @throws ValidationException 游标格式不正确
+     */
+    public static DistanceCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (!raw.startsWith(PREFIX) || index <= PREFIX.length()) {
+                throw new ValidationException("分页游标无效");
+            }
+            double distance = Double.parseDouble(raw.substring(PREFIX.length(), index));
+            if (Double.isNaN(distance) || distance < 0) {
+                throw new ValidationException("分页游标无效");
+            }
+            return new DistanceCursor(distance, Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("分页游标无效");
+        }
+    }
+
+    /**
+     * 编码为不透明的游标字符串
+     */
+    public String encode() {
+        String raw = PREFIX + distance + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
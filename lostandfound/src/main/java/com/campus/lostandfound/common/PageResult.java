@@ -18,6 +18,8 @@ public class PageResult<T> {
     private Integer pageNum;
     @Schema(description = "每页大小", example = "20")
     private Integer pageSize;
+    @Schema(description = "下一页游标，仅游标分页时返回，为空表示没有更多数据")
+    private String nextCursor;
 
     public PageResult() {
     }
@@ -29,6 +31,18 @@ public class PageResult<T> {
         this.pageSize = pageSize;
     }
 
+    /**
+     * 游标分页结果，不返回页码
+     *
+     * @param total 总记录数，未要求统计时为null
+     * @param nextCursor 下一页游标，没有更多数据时为null
+     */
+    public static <T> PageResult<T> ofCursor(List<T> list, Long total, Integer pageSize, String nextCursor) {
+        PageResult<T> result = new PageResult<>(list, total, null, pageSize);
+        result.setNextCursor(nextCursor);
+        return result;
+    }
+
     // Getters and Setters
     public List<T> getList() {
         return list;
@@ -61,4 +75,12 @@ public class PageResult<T> {
     public void setPageSize(Integer pageSize) {
         this.pageSize = pageSize;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
@@ -1,12 +1,125 @@
 package com.campus.lostandfound.config;
 
+import com.campus.lostandfound.util.CoalescingExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 异步任务配置
+ * 
+ * 按负载类型划分线程池，队列有界，避免匹配计算和图像识别互相挤占：
+ * - taskExecutor: 通用@Async任务的默认线程池
+ * - matchExecutor: 匹配计算及匹配推荐维护
+ * - recognitionExecutor: 图像识别
+ * - outboxExecutor: 发件箱分发
+ * 
+ * 线程池的队列长度、活跃线程数由Actuator按Bean名称暴露为executor.*指标，
+ * 这里另外统计被拒绝的任务数(executor.rejected)和被合并的提交数(executor.coalesced)
  */
+@Slf4j
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfig {
+    
+    private final AsyncProperties asyncProperties;
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * 通用线程池，Bean名称为taskExecutor，作为@Async的默认执行器
+     * 队列满时由调用线程执行，保证任务不丢失
+     */
+    @Bean
+    public ThreadPoolTaskExecutor taskExecutor() {
+        return buildExecutor("taskExecutor", "async-", asyncProperties.getGeneral(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    /**
+     * 匹配计算线程池
+     * 队列满时直接拒绝：匹配推荐可由定时全量重建补齐，发件箱中的匹配事件稍后重试，不应拖慢发布请求
+     */
+    @Bean
+    public ThreadPoolTaskExecutor matchExecutor() {
+        return buildExecutor("matchExecutor", "match-", asyncProperties.getMatch(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    /**
+     * 图像识别线程池，队列满时拒绝，由发件箱稍后重试
+     */
+    @Bean
+    public ThreadPoolTaskExecutor recognitionExecutor() {
+        return buildExecutor("recognitionExecutor", "recognition-", asyncProperties.getRecognition(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    /**
+     * 发件箱分发线程池
+     * 队列满时拒绝，合并执行器丢弃这次触发，由定时轮询兜底；
+     * 不能由调用线程执行，否则分发会在发布请求的afterCommit回调中运行，加入已提交事务的连接并阻塞请求
+     */
+    @Bean
+    public ThreadPoolTaskExecutor outboxExecutor() {
+        return buildExecutor("outboxExecutor", "outbox-", asyncProperties.getOutbox(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    /**
+     * 发件箱分发执行器，事务提交后触发的分发合并为一次，在发件箱分发线程池中执行
+     */
+    @Bean
+    public CoalescingExecutor outboxCoalescer(@Qualifier("outboxExecutor") ThreadPoolTaskExecutor outboxExecutor) {
+        return buildCoalescer("outboxDispatcher", outboxExecutor);
+    }
+    
+    private ThreadPoolTaskExecutor buildExecutor(String name, String threadNamePrefix,
+                                                 AsyncProperties.Pool pool, RejectedExecutionHandler policy) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("被线程池拒绝的任务数")
+                .tag("name", name)
+                .register(meterRegistry);
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(Math.max(pool.getCoreSize(), pool.getMaxSize()));
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds(pool.getKeepAliveSeconds());
+        executor.setRejectedExecutionHandler((task, threadPool) -> {
+            rejected.increment();
+            policy.rejectedExecution(task, threadPool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        
+        log.info("线程池初始化: name={}, core={}, max={}, queue={}", name,
+                pool.getCoreSize(), pool.getMaxSize(), pool.getQueueCapacity());
+        return executor;
+    }
+    
+    private CoalescingExecutor buildCoalescer(String name, ThreadPoolTaskExecutor executor) {
+        CoalescingExecutor coalescer = new CoalescingExecutor(name, executor);
+        FunctionCounter.builder("executor.coalesced", coalescer, CoalescingExecutor::getCoalescedCount)
+                .description("被合并的重复提交次数")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("executor.coalescing.pending", coalescer, CoalescingExecutor::getPendingCount)
+                .description("排队或执行中的合并键数量")
+                .tag("name", name)
+                .register(meterRegistry);
+        return coalescer;
+    }
 }
@@ -0,0 +1,67 @@
+package com.campus.lostandfound.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 异步任务线程池配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "async")
+public class AsyncProperties {
+    
+    /**
+     * 通用@Async任务线程池
+     */
+    private Pool general = new Pool(2, 8, 200);
+    
+    /**
+     * 匹配计算线程池，单个任务可能扫描全部待处理物品，线程数不宜过多
+     */
+    private Pool match = new Pool(2, 2, 500);
+    
+    /**
+     * 图像识别线程池，任务主要等待外部API响应
+     */
+    private Pool recognition = new Pool(2, 4, 200);
+    
+    /**
+     * 发件箱分发线程池，分发请求会被合并，一个线程即可
+     */
+    private Pool outbox = new Pool(1, 1, 1);
+    
+    @Data
+    public static class Pool {
+        
+        /**
+         * 核心线程数
+         */
+        private Integer coreSize;
+        
+        /**
+         * 最大线程数，队列满后才会扩容到该值
+         */
+        private Integer maxSize;
+        
+        /**
+         * 队列容量
+         */
+        private Integer queueCapacity;
+        
+        /**
+         * 空闲线程存活时间（秒）
+         */
+        private Integer keepAliveSeconds = 60;
+        
+        public Pool() {
+        }
+        
+        public Pool(int coreSize, int maxSize, int queueCapacity) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+        }
+    }
+}
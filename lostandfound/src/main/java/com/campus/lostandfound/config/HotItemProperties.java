@@ -0,0 +1,29 @@
+package com.campus.lostandfound.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 热门物品排行配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hot-items")
+public class HotItemProperties {
+    
+    /**
+     * 统计窗口（天），只合并最近这些天的每日浏览桶
+     */
+    private Integer windowDays = 7;
+    
+    /**
+     * 热度半衰期（天），每早一天的浏览按0.5^(天数/半衰期)折算
+     */
+    private Double halfLifeDays = 2.0;
+    
+    /**
+     * 合并后排行的缓存时间（秒），期间的读取不再执行ZUNIONSTORE
+     */
+    private Long mergeTtlSeconds = 60L;
+}
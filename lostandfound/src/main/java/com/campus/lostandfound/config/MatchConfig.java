@@ -0,0 +1,55 @@
+package com.campus.lostandfound.config;
+
+import com.campus.lostandfound.service.ItemIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * 智能匹配配置类
+ */
+@Slf4j
+@Configuration
+public class MatchConfig {
+    
+    /**
+     * 匹配评分专用的ForkJoinPool
+     * 与公共池隔离，大批量并行评分不会占用Tomcat请求线程和@Async任务所在的线程
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool matchScoringPool(MatchProperties matchProperties) {
+        int parallelism = matchProperties.getParallelism() != null && matchProperties.getParallelism() > 0
+                ? matchProperties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("match-score-" + thread.getPoolIndex());
+            return thread;
+        };
+        
+        log.info("匹配评分线程池初始化: parallelism={}", parallelism);
+        return new ForkJoinPool(parallelism, threadFactory, null, false);
+    }
+    
+    /**
+     * 订阅其他节点的索引刷新广播，消息体为 节点ID:物品ID
+     * 所有节点（包括worker节点）都订阅，附近物品查询和匹配候选召回读到的都是最新数据
+     */
+    @Bean
+    public MessageListener itemIndexRefreshListener(RedisMessageListenerContainer redisMessageListenerContainer,
+                                                    MatchProperties matchProperties,
+                                                    ItemIndexService itemIndexService) {
+        MessageListener listener = (message, pattern) ->
+                itemIndexService.onRefreshBroadcast(new String(message.getBody(), StandardCharsets.UTF_8));
+        redisMessageListenerContainer.addMessageListener(listener, new ChannelTopic(matchProperties.getIndexChannel()));
+        return listener;
+    }
+}
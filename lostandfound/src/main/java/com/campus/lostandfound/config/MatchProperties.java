@@ -0,0 +1,59 @@
+package com.campus.lostandfound.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 智能匹配配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "match")
+public class MatchProperties {
+    
+    /**
+     * 是否使用内存索引召回匹配候选，关闭时回退为数据库查询
+     */
+    private Boolean indexEnabled = true;
+    
+    /**
+     * 内存索引全量重建间隔（毫秒），用于纠正多实例部署时的索引漂移
+     */
+    private Long indexRebuildIntervalMs = 600000L;
+    
+    /**
+     * 节点间广播内存索引刷新的Redis频道
+     */
+    private String indexChannel = "match:index:refresh";
+    
+    /**
+     * 关闭内存索引时，是否按类别、标签和时空邻域预筛选候选物品；关闭时查询全部相反类型的待处理物品
+     */
+    private Boolean candidatePrefilter = true;
+    
+    /**
+     * 每个待处理物品保存的推荐匹配数量(K)
+     */
+    private Integer suggestionSize = 10;
+    
+    /**
+     * 匹配推荐全量重建的cron表达式
+     */
+    private String suggestionRebuildCron = "0 30 4 * * ?";
+    
+    /**
+     * 匹配推荐全量重建锁的过期时间（秒），应大于一次重建的耗时；持有锁的节点宕机时到期后自动释放
+     */
+    private Long suggestionRebuildLockSeconds = 7200L;
+    
+    /**
+     * 候选物品数达到该值时启用并行评分，较小的候选池保持单线程
+     */
+    private Integer parallelThreshold = 20000;
+    
+    /**
+     * 并行评分线程数，不大于0时使用CPU核数
+     */
+    private Integer parallelism = 0;
+}
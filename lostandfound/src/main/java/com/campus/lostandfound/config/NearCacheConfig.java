@@ -0,0 +1,60 @@
+package com.campus.lostandfound.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 本地一级缓存配置
+ * 
+ * 物品详情、用户信息、搜索结果页等热点数据在Redis之前再加一层进程内缓存，
+ * 命中时不需要网络往返和JSON反序列化。
+ * 任一节点清除缓存时通过Redis发布订阅广播缓存键，所有节点（包括自身）收到后清除本地副本。
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class NearCacheConfig {
+    
+    private final NearCacheProperties nearCacheProperties;
+    
+    /**
+     * 本地缓存，按条目数和写入时间双重限制
+     */
+    @Bean
+    public Cache<String, Object> nearCache(MeterRegistry meterRegistry) {
+        Cache<String, Object> cache = Caffeine.newBuilder()
+                .maximumSize(nearCacheProperties.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(nearCacheProperties.getExpireSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "nearCache");
+        return cache;
+    }
+    
+    /**
+     * 订阅缓存失效广播，消息体为需要清除的缓存键，注册在共享的监听容器上
+     */
+    @Bean
+    public MessageListener nearCacheInvalidationListener(RedisMessageListenerContainer redisMessageListenerContainer,
+                                                         Cache<String, Object> nearCache) {
+        MessageListener listener = (message, pattern) -> {
+            String key = new String(message.getBody(), StandardCharsets.UTF_8);
+            nearCache.invalidate(key);
+            log.debug("收到缓存失效广播，已清除本地缓存: key={}", key);
+        };
+        redisMessageListenerContainer.addMessageListener(listener, new ChannelTopic(nearCacheProperties.getChannel()));
+        return listener;
+    }
+}
@@ -0,0 +1,34 @@
+package com.campus.lostandfound.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 本地一级缓存配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "near-cache")
+public class NearCacheProperties {
+    
+    /**
+     * 是否在Redis前启用本地一级缓存
+     */
+    private Boolean enabled = true;
+    
+    /**
+     * 本地缓存最大条目数
+     */
+    private Long maximumSize = 10000L;
+    
+    /**
+     * 本地缓存写入后的过期时间（秒），也是丢失失效广播时本地脏数据的最长存活时间
+     */
+    private Long expireSeconds = 60L;
+    
+    /**
+     * 节点间广播缓存失效的Redis频道
+     */
+    private String channel = "cache:evict";
+}
@@ -0,0 +1,39 @@
+package com.campus.lostandfound.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 物品事件发件箱配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+    
+    /**
+     * 轮询间隔（毫秒），兜底处理提交后未能立即分发的事件
+     */
+    private Long pollIntervalMs = 5000L;
+    
+    /**
+     * 每批领取的事件数量上限
+     */
+    private Integer batchSize = 100;
+    
+    /**
+     * 最大尝试次数，超过后标记为失败，不再重试
+     */
+    private Integer maxAttempts = 8;
+    
+    /**
+     * 首次重试间隔（秒），之后每次翻倍
+     */
+    private Long retryBaseSeconds = 10L;
+    
+    /**
+     * 领取后的租约时长（秒），处理节点宕机时租约到期后由其他节点重新领取
+     */
+    private Long leaseSeconds = 300L;
+}
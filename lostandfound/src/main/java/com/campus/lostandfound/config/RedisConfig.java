@@ -0,0 +1,26 @@
+package com.campus.lostandfound.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis发布订阅配置类
+ * 
+ * 缓存失效、索引刷新、消息推送等广播共用一个监听容器，只占用一条订阅连接和一组分发线程，
+ * 各模块在自己的配置类中把监听器注册到这个容器上
+ */
+@Configuration
+public class RedisConfig {
+    
+    /**
+     * 共享的Redis消息监听容器
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -0,0 +1,34 @@
+package com.campus.lostandfound.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 物品搜索配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "search")
+public class SearchProperties {
+    
+    /**
+     * 是否使用MySQL ngram全文索引检索关键词，关闭时回退为LIKE模糊查询（H2等不支持全文索引的数据库需关闭）
+     */
+    private Boolean fulltextEnabled = false;
+    
+    /**
+     * ngram分词长度，需与MySQL的ngram_token_size保持一致；短于该长度的关键词无法命中全文索引，回退为LIKE查询
+     */
+    private Integer ngramTokenSize = 2;
+    
+    /**
+     * 是否按类型/类别分区使搜索缓存失效；关闭时任何物品变更都使全部搜索缓存失效
+     */
+    private Boolean cachePartitioned = true;
+    
+    /**
+     * 按距离排序时单次请求最多筛选的候选数，关键词等条件很严格时避免遍历整个索引
+     */
+    private Integer distanceMaxCandidates = 5000;
+}
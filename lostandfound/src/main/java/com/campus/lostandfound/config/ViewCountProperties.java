@@ -0,0 +1,24 @@
+package com.campus.lostandfound.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 浏览次数回写配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "view-count")
+public class ViewCountProperties {
+    
+    /**
+     * 回写数据库的间隔（毫秒），期间的浏览只累加在Redis中
+     */
+    private Long flushIntervalMs = 10000L;
+    
+    /**
+     * 每条UPDATE语句回写的物品数量上限
+     */
+    private Integer batchSize = 500;
+}
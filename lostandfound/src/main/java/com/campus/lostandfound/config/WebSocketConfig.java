@@ -1,20 +1,34 @@
 package com.campus.lostandfound.config;
 
+import com.campus.lostandfound.service.impl.MessageServiceImpl;
+import com.campus.lostandfound.websocket.MessageWebSocket;
 import com.campus.lostandfound.websocket.WebSocketConfigurator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 import org.springframework.web.socket.server.standard.ServerEndpointExporter;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * WebSocket配置类
  * 配置WebSocket端点和CORS策略
  * 
  * Requirements: 6.5 - 用户启用推送通知时，平台通过WebSocket实时推送新消息
+ * 
+ * 只在Web节点启用，worker节点不持有WebSocket连接
  */
+@Slf4j
 @Configuration
+@ConditionalOnWebApplication
 @EnableWebSocket
 public class WebSocketConfig implements WebSocketConfigurer {
 
@@ -52,4 +66,33 @@ public class WebSocketConfig implements WebSocketConfigurer {
     public WebSocketConfigurator webSocketConfigurator() {
         return new WebSocketConfigurator();
     }
+
+    /**
+     * 订阅消息推送广播
+     * 启用worker节点后，worker节点和其他Web节点生成的消息经此转交，用户连接在本节点时推送
+     * 
+     * @param redisMessageListenerContainer 共享的Redis消息监听容器
+     * @param workerProperties 后台任务节点配置
+     * @return 推送广播监听器
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "worker", name = "stream-enabled", havingValue = "true")
+    public MessageListener messagePushListener(RedisMessageListenerContainer redisMessageListenerContainer,
+                                               WorkerProperties workerProperties) {
+        MessageListener listener = (message, pattern) -> {
+            // 消息体为 用户ID:消息JSON
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int index = body.indexOf(MessageServiceImpl.PUSH_SEPARATOR);
+            if (index <= 0) {
+                log.warn("忽略格式错误的消息推送广播: {}", body);
+                return;
+            }
+            Long userId = Long.valueOf(body.substring(0, index));
+            if (MessageWebSocket.isUserOnline(userId)) {
+                MessageWebSocket.sendToUser(userId, body.substring(index + 1));
+            }
+        };
+        redisMessageListenerContainer.addMessageListener(listener, new ChannelTopic(workerProperties.getPushChannel()));
+        return listener;
+    }
 }
@@ -0,0 +1,87 @@
+package com.campus.lostandfound.config;
+
+import com.campus.lostandfound.service.outbox.OutboxEventType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 后台任务节点配置属性
+ *
+ * 开启后Web节点只把识别、匹配、推荐更新事件写入Redis Stream，由以worker配置文件启动的独立进程按消费组消费，
+ * 匹配推荐的定时重建也只在worker节点执行，两类节点可以分别扩容；未开启时仍在本进程内处理
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "worker")
+public class WorkerProperties {
+
+    /**
+     * 是否把事件交给worker节点处理
+     */
+    private Boolean streamEnabled = false;
+
+    /**
+     * 是否消费事件流，worker配置文件中开启
+     */
+    private Boolean consume = false;
+
+    /**
+     * 写入事件流的事件类型，其余类型仍在发件箱所在节点处理
+     */
+    private List<String> eventTypes = new ArrayList<>(
+            List.of(OutboxEventType.RECOGNIZE, OutboxEventType.MATCH, OutboxEventType.SUGGEST));
+
+    /**
+     * 事件流的键
+     */
+    private String streamKey = "item:events";
+
+    /**
+     * 消费组名称
+     */
+    private String group = "item-workers";
+
+    /**
+     * 消费者名称，为空时使用进程号和主机名；同一消费组内必须唯一
+     */
+    private String consumerName;
+
+    /**
+     * 事件流保留的大致条数，超出后裁剪最早的已写入条目
+     */
+    private Long maxLength = 100000L;
+
+    /**
+     * 每次读取的事件数量上限
+     */
+    private Integer batchSize = 50;
+
+    /**
+     * 轮询间隔（毫秒）
+     */
+    private Long pollIntervalMs = 500L;
+
+    /**
+     * 已投递但未确认的事件空闲超过该时长（毫秒）后由其他消费者接管，处理节点宕机时不丢事件
+     */
+    private Long reclaimIdleMs = 60000L;
+
+    /**
+     * 最大投递次数，超过后转入死信流并确认，不再重试
+     */
+    private Integer maxDeliveries = 8;
+
+    /**
+     * 死信流的键
+     */
+    private String deadLetterKey = "item:events:dead";
+
+    /**
+     * 消息推送广播频道，worker节点生成的通知经此交给持有WebSocket连接的Web节点推送
+     */
+    private String pushChannel = "message:push";
+}
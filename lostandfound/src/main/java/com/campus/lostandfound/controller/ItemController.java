@@ -45,8 +45,12 @@ public class ItemController {
     @Operation(summary = "搜索物品列表", description = "支持关键词搜索、多条件筛选、地理范围筛选和多种排序方式")
     @GetMapping
     public Result<PageResult<ItemVO>> searchItems(@ModelAttribute ItemSearchDTO dto) {
+        // 搜索接口允许匿名访问，登录时才有当前用户ID
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = authentication != null && authentication.getPrincipal() instanceof Long id ? id : null;
+        
         // 调用Service搜索物品
-        PageResult<ItemVO> result = itemService.search(dto);
+        PageResult<ItemVO> result = itemService.search(dto, userId);
         
         return Result.success(result);
     }
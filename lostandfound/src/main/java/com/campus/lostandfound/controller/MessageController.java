@@ -32,6 +32,8 @@ public class MessageController {
      * @param isRead 已读状态（可选）: true-已读, false-未读
      * @param pageNum 页码，默认1
      * @param pageSize 每页大小，默认20
+     * @param cursor 游标分页：传入时按游标翻页并忽略pageNum，首页传空字符串，后续传上一页返回的nextCursor
+     * @param withTotal 游标分页时是否统计总数，默认不统计
      * @return 分页消息列表
      */
     @Operation(summary = "获取消息列表", description = "获取当前用户的消息列表，支持按类型和已读状态筛选", security = @SecurityRequirement(name = "bearerAuth"))
@@ -44,11 +46,19 @@ public class MessageController {
             @Parameter(description = "页码", example = "1")
             @RequestParam(defaultValue = "1") Integer pageNum,
             @Parameter(description = "每页大小", example = "20")
-            @RequestParam(defaultValue = "20") Integer pageSize) {
+            @RequestParam(defaultValue = "20") Integer pageSize,
+            @Parameter(description = "游标分页：首页传空字符串，后续传上一页返回的nextCursor；不传则按页码分页")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "游标分页时是否统计总数", example = "false")
+            @RequestParam(defaultValue = "false") Boolean withTotal) {
         
         // 从SecurityContext获取当前用户ID
         Long userId = getCurrentUserId();
         
+        if (cursor != null) {
+            return Result.success(messageService.getListByCursor(userId, type, isRead, cursor, pageSize, withTotal));
+        }
+        
         PageResult<MessageVO> pageResult = messageService.getList(userId, type, isRead, pageNum, pageSize);
         return Result.success(pageResult);
     }
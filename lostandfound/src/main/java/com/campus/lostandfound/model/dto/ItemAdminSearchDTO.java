@@ -66,4 +66,16 @@ public class ItemAdminSearchDTO {
      */
     @Schema(description = "每页大小", example = "20")
     private Integer pageSize = 20;
+    
+    /**
+     * 游标分页：传入时按 (创建时间, ID) 降序翻页并忽略页码，首页传空字符串，后续传上一页返回的nextCursor
+     */
+    @Schema(description = "游标分页：首页传空字符串，后续传上一页返回的nextCursor；不传则按页码分页")
+    private String cursor;
+    
+    /**
+     * 游标分页时是否统计总数
+     */
+    @Schema(description = "游标分页时是否统计总数", example = "false")
+    private Boolean withTotal = false;
 }
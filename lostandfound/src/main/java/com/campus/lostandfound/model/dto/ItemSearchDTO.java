@@ -68,9 +68,11 @@ public class ItemSearchDTO {
     private Integer radius;
     
     /**
-     * 排序方式：time/distance/match
+     * 排序方式：time/distance/match/relevance
+     * 使用全文检索且未指定排序时按相关度排序
+     * 按匹配度排序需要登录，按与自己待处理物品的最高匹配分数降序，未登录时按时间排序
      */
-    @Schema(description = "排序方式：time-时间, distance-距离, match-匹配度", example = "time", allowableValues = {"time", "distance", "match"})
+    @Schema(description = "排序方式：time-时间, distance-距离, match-匹配度, relevance-相关度", example = "time", allowableValues = {"time", "distance", "match", "relevance"})
     private String sortBy;
     
     /**
@@ -84,4 +86,17 @@ public class ItemSearchDTO {
      */
     @Schema(description = "每页大小", example = "20")
     private Integer pageSize = 20;
+    
+    /**
+     * 游标分页：传入时按 (创建时间, ID) 降序翻页并忽略页码，首页传空字符串，后续传上一页返回的nextCursor
+     * 按距离排序时改为按 (距离, ID) 升序翻页，结果全局按距离有序；未传坐标时仍按时间翻页
+     */
+    @Schema(description = "游标分页：首页传空字符串，后续传上一页返回的nextCursor；不传则按页码分页。支持按时间和按距离排序")
+    private String cursor;
+    
+    /**
+     * 游标分页时是否统计总数
+     */
+    @Schema(description = "游标分页时是否统计总数", example = "false")
+    private Boolean withTotal = false;
 }
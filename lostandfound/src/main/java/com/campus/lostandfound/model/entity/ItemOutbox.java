@@ -0,0 +1,77 @@
+package com.campus.lostandfound.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 物品事件发件箱实体类
+ * 与物品数据在同一事务中写入，提交后由分发器投递给对应的处理器，处理成功后删除
+ */
+@Data
+@TableName("item_outbox")
+public class ItemOutbox {
+    
+    /**
+     * 状态：待处理
+     */
+    public static final int STATUS_PENDING = 0;
+    
+    /**
+     * 状态：超过最大尝试次数，不再重试
+     */
+    public static final int STATUS_FAILED = 2;
+    
+    /**
+     * 事件ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    /**
+     * 物品ID
+     */
+    private Long itemId;
+    
+    /**
+     * 事件类型
+     */
+    private String eventType;
+    
+    /**
+     * 事件参数(JSON)
+     */
+    private String payload;
+    
+    /**
+     * 状态: 0-待处理, 2-失败
+     */
+    private Integer status;
+    
+    /**
+     * 已尝试次数
+     */
+    private Integer attempts;
+    
+    /**
+     * 下次可处理时间，领取后作为租约到期时间
+     */
+    private LocalDateTime nextAttemptAt;
+    
+    /**
+     * 领取批次标识
+     */
+    private String leaseToken;
+    
+    /**
+     * 最近一次失败原因
+     */
+    private String lastError;
+    
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,63 @@
+package com.campus.lostandfound.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 匹配推荐实体类
+ * 保存每个待处理物品当前分数最高的前K个匹配，物品变更时增量维护
+ */
+@Data
+@TableName("match_suggestion")
+public class MatchSuggestion {
+    
+    /**
+     * 推荐ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    /**
+     * 物品ID
+     */
+    private Long itemId;
+    
+    /**
+     * 推荐匹配的物品ID
+     */
+    private Long matchedItemId;
+    
+    /**
+     * 匹配总分(0-100)
+     */
+    private BigDecimal score;
+    
+    /**
+     * 类别分数
+     */
+    private BigDecimal categoryScore;
+    
+    /**
+     * 标签分数
+     */
+    private BigDecimal tagScore;
+    
+    /**
+     * 时间分数
+     */
+    private BigDecimal timeScore;
+    
+    /**
+     * 位置分数
+     */
+    private BigDecimal locationScore;
+    
+    /**
+     * 更新时间
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.campus.lostandfound.model.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 物品图片与标签
+ * 物品详情缓存中的媒体片段
+ */
+@Data
+public class ItemMediaVO {
+    
+    /**
+     * 图片URL列表，按排序号升序
+     */
+    private List<String> images;
+    
+    /**
+     * 标签列表
+     */
+    private List<String> tags;
+}
@@ -2,11 +2,41 @@ package com.campus.lostandfound.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.campus.lostandfound.model.entity.ItemImage;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 /**
  * 物品图片Mapper接口
  */
 @Mapper
 public interface ItemImageMapper extends BaseMapper<ItemImage> {
+    
+    /**
+     * 多行插入图片，一条INSERT语句写入全部记录
+     * 
+     * @param images 图片记录，不能为空
+     * @return 影响行数
+     */
+    @Insert("<script>"
+            + "INSERT INTO item_image (item_id, url, sort) VALUES "
+            + "<foreach collection='images' item='i' separator=','>(#{i.itemId}, #{i.url}, #{i.sort})</foreach>"
+            + "</script>")
+    int insertBatch(@Param("images") List<ItemImage> images);
+    
+    /**
+     * 批量更新图片排序号
+     * 
+     * @param images 图片ID与新排序号，不能为空
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE item_image SET sort = CASE id "
+            + "<foreach collection='images' item='i'>WHEN #{i.id} THEN #{i.sort} </foreach>"
+            + "END WHERE id IN <foreach collection='images' item='i' open='(' separator=',' close=')'>#{i.id}</foreach>"
+            + "</script>")
+    int updateSortBatch(@Param("images") List<ItemImage> images);
 }
@@ -1,12 +1,69 @@
 package com.campus.lostandfound.repository;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.campus.lostandfound.model.entity.Item;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 /**
  * 物品信息Mapper接口
  */
 @Mapper
 public interface ItemMapper extends BaseMapper<Item> {
+    
+    /**
+     * 批量回写浏览次数
+     * 只增不减，避免乱序回写覆盖较新的值；不修改updated_at，浏览不算作物品更新
+     * 
+     * @param items 物品ID与浏览次数
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE item SET view_count = CASE id "
+            + "<foreach collection='items' item='i'>WHEN #{i.id} THEN GREATEST(view_count, #{i.viewCount}) </foreach>"
+            + "END, updated_at = updated_at "
+            + "WHERE id IN <foreach collection='items' item='i' open='(' separator=',' close=')'>#{i.id}</foreach>"
+            + "</script>")
+    int batchUpdateViewCount(@Param("items") List<Item> items);
+    
+    /**
+     * 按匹配度分页查询物品
+     * 关联用户自己待处理物品的匹配推荐，取每个物品对这些物品的最高预计算分数为best_score，
+     * 排序由wrapper指定；推荐表只保存每个物品的前K个匹配，关联的派生表很小
+     * 
+     * @param page 分页参数
+     * @param userId 当前用户ID
+     * @param wrapper 查询条件，列名不能与派生表的matched_item_id、best_score重名
+     * @return 分页结果
+     */
+    @Select("SELECT item.* FROM item LEFT JOIN ("
+            + "SELECT ms.matched_item_id, MAX(ms.score) AS best_score FROM match_suggestion ms "
+            + "JOIN item mine ON mine.id = ms.item_id "
+            + "WHERE mine.user_id = #{userId} AND mine.status = 0 AND mine.deleted = 0 "
+            + "GROUP BY ms.matched_item_id"
+            + ") best ON best.matched_item_id = item.id "
+            + "${ew.customSqlSegment}")
+    Page<Item> selectPageByMatchScore(Page<Item> page, @Param("userId") Long userId,
+                                      @Param(Constants.WRAPPER) Wrapper<Item> wrapper);
+    
+    /**
+     * 按全文检索相关度分页查询物品
+     * 按标题和描述对查询串的相关度降序，相同时按时间降序；查询串作为参数绑定，不拼入SQL
+     * 
+     * @param page 分页参数
+     * @param query 布尔模式全文检索查询串
+     * @param wrapper 查询条件，不能再指定排序
+     * @return 分页结果
+     */
+    @Select("SELECT item.* FROM item ${ew.customSqlSegment} "
+            + "ORDER BY MATCH(title, description) AGAINST(#{query} IN BOOLEAN MODE) DESC, created_at DESC")
+    Page<Item> selectPageByRelevance(Page<Item> page, @Param("query") String query,
+                                     @Param(Constants.WRAPPER) Wrapper<Item> wrapper);
 }
@@ -0,0 +1,32 @@
+package com.campus.lostandfound.repository;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+
+/**
+ * 物品事件发件箱Mapper接口
+ */
+@Mapper
+public interface ItemOutboxMapper extends BaseMapper<ItemOutbox> {
+    
+    /**
+     * 领取一批到期的待处理事件
+     * 一条UPDATE完成领取，多个节点同时分发时同一事件只会被一个节点领取；
+     * 领取后把下次可处理时间推迟到租约到期，节点宕机时事件在租约到期后重新可见
+     * 
+     * @param token 本次领取的批次标识
+     * @param now 当前时间
+     * @param leaseUntil 租约到期时间
+     * @param limit 领取数量上限
+     * @return 领取到的事件数量
+     */
+    @Update("UPDATE item_outbox SET lease_token = #{token}, next_attempt_at = #{leaseUntil}, attempts = attempts + 1 "
+            + "WHERE status = 0 AND next_attempt_at <= #{now} ORDER BY id LIMIT #{limit}")
+    int claimBatch(@Param("token") String token, @Param("now") LocalDateTime now,
+                   @Param("leaseUntil") LocalDateTime leaseUntil, @Param("limit") int limit);
+}
@@ -2,11 +2,41 @@ package com.campus.lostandfound.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.campus.lostandfound.model.entity.ItemTag;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 /**
  * 物品标签Mapper接口
  */
 @Mapper
 public interface ItemTagMapper extends BaseMapper<ItemTag> {
+    
+    /**
+     * 多行插入标签，一条INSERT语句写入全部记录
+     * 
+     * @param tags 标签记录，不能为空
+     * @return 影响行数
+     */
+    @Insert("<script>"
+            + "INSERT INTO item_tag (item_id, tag, confidence) VALUES "
+            + "<foreach collection='tags' item='t' separator=','>(#{t.itemId}, #{t.tag}, #{t.confidence})</foreach>"
+            + "</script>")
+    int insertBatch(@Param("tags") List<ItemTag> tags);
+    
+    /**
+     * 批量更新标签置信度
+     * 
+     * @param tags 标签ID与新置信度，不能为空
+     * @return 影响行数
+     */
+    @Update("<script>"
+            + "UPDATE item_tag SET confidence = CASE id "
+            + "<foreach collection='tags' item='t'>WHEN #{t.id} THEN #{t.confidence} </foreach>"
+            + "END WHERE id IN <foreach collection='tags' item='t' open='(' separator=',' close=')'>#{t.id}</foreach>"
+            + "</script>")
+    int updateConfidenceBatch(@Param("tags") List<ItemTag> tags);
 }
@@ -0,0 +1,34 @@
+package com.campus.lostandfound.repository;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.campus.lostandfound.model.entity.MatchSuggestion;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 匹配推荐Mapper接口
+ */
+@Mapper
+public interface MatchSuggestionMapper extends BaseMapper<MatchSuggestion> {
+    
+    /**
+     * 多行写入推荐，同一物品对(uk_item_matched)已存在时更新分数
+     * 重复执行结果相同，多个节点并发写入同一推荐列表不会违反唯一约束
+     * 
+     * @param suggestions 推荐记录，不能为空
+     * @return 影响行数
+     */
+    @Insert("<script>"
+            + "INSERT INTO match_suggestion (item_id, matched_item_id, score, category_score, tag_score, time_score, location_score) VALUES "
+            + "<foreach collection='suggestions' item='s' separator=','>"
+            + "(#{s.itemId}, #{s.matchedItemId}, #{s.score}, #{s.categoryScore}, #{s.tagScore}, #{s.timeScore}, #{s.locationScore})"
+            + "</foreach>"
+            + " ON DUPLICATE KEY UPDATE score = VALUES(score), category_score = VALUES(category_score), "
+            + "tag_score = VALUES(tag_score), time_score = VALUES(time_score), location_score = VALUES(location_score), "
+            + "updated_at = CURRENT_TIMESTAMP"
+            + "</script>")
+    int upsertBatch(@Param("suggestions") List<MatchSuggestion> suggestions);
+}
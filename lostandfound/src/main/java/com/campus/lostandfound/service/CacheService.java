@@ -1,5 +1,10 @@
 package com.campus.lostandfound.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * 缓存服务接口
  * 提供统一的缓存管理方法
@@ -7,16 +12,69 @@ package com.campus.lostandfound.service;
 public interface CacheService {
     
     /**
-     * 清除物品详情缓存
+     * 读取缓存，先查本地一级缓存，未命中再查Redis并回填本地缓存
+     * 返回的对象可能被多个请求共享，调用方不能修改
+     * @param key 缓存键
+     * @param type 值类型
+     * @return 缓存值，不存在或解析失败时返回null
+     */
+    <T> T get(String key, Class<T> type);
+    
+    /**
+     * 读取泛型类型的缓存
+     * @param key 缓存键
+     * @param type 值类型
+     * @return 缓存值，不存在或解析失败时返回null
+     */
+    <T> T get(String key, TypeReference<T> type);
+    
+    /**
+     * 批量读取缓存，本地一级缓存未命中的键通过一次MGET从Redis读取
+     * 返回的对象可能被多个请求共享，调用方不能修改
+     * @param keys 缓存键
+     * @param types 与缓存键一一对应的值类型
+     * @return 与缓存键一一对应的缓存值，不存在或解析失败的位置为null
+     */
+    List<Object> multiGet(List<String> keys, List<TypeReference<?>> types);
+    
+    /**
+     * 写入缓存，同时写入Redis和本地一级缓存
+     * @param key 缓存键
+     * @param value 缓存值
+     * @param timeout Redis过期时间
+     * @param unit 时间单位
+     */
+    void put(String key, Object value, long timeout, TimeUnit unit);
+    
+    /**
+     * 清除物品详情缓存（全部片段）
      * @param itemId 物品ID
      */
     void evictItemDetailCache(Long itemId);
     
     /**
      * 清除所有物品搜索缓存
+     * 递增全局代数，旧的搜索缓存不再被命中，随过期时间自然淘汰
      */
     void evictAllItemSearchCache();
     
+    /**
+     * 使物品所在分区的搜索缓存失效
+     * 递增物品所属类型/类别相关分区的代数，其他类型、类别的搜索缓存不受影响
+     * @param type 物品类型
+     * @param category 物品类别（可为空）
+     */
+    void evictItemSearchCache(Integer type, String category);
+    
+    /**
+     * 获取搜索条件对应的缓存代数，拼入搜索缓存键
+     * 任一相关代数递增后，原有缓存键不再被使用
+     * @param type 类型筛选（可为空）
+     * @param category 类别筛选（可为空）
+     * @return 缓存代数
+     */
+    String getItemSearchGeneration(Integer type, String category);
+    
     /**
      * 清除用户信息缓存
      * @param userId 用户ID
@@ -36,8 +94,16 @@ public interface CacheService {
     void updatePointRankingScore(Long userId, Integer points);
     
     /**
-     * 清除物品相关的所有缓存（详情+搜索）
+     * 清除物品相关的所有缓存（详情+全部搜索）
      * @param itemId 物品ID
      */
     void evictItemRelatedCache(Long itemId);
+    
+    /**
+     * 清除物品相关的缓存（详情+物品所在分区的搜索）
+     * @param itemId 物品ID
+     * @param type 物品类型
+     * @param category 物品类别（可为空）
+     */
+    void evictItemRelatedCache(Long itemId, Integer type, String category);
 }
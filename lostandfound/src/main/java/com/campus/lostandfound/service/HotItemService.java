@@ -0,0 +1,26 @@
+package com.campus.lostandfound.service;
+
+import java.util.List;
+
+/**
+ * 热门物品排行服务接口
+ * 浏览记录按天累加到Redis有序集合，读取时按时间衰减加权合并窗口内的每日桶，
+ * 排名反映近期的关注度而非累计浏览量
+ */
+public interface HotItemService {
+    
+    /**
+     * 记录一次浏览
+     * 
+     * @param itemId 物品ID
+     */
+    void recordView(Long itemId);
+    
+    /**
+     * 获取热度最高的物品ID
+     * 
+     * @param limit 返回数量
+     * @return 按热度降序的物品ID，排行为空时返回空列表
+     */
+    List<Long> getTopItemIds(int limit);
+}
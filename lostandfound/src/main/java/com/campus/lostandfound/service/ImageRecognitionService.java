@@ -36,6 +36,7 @@ public interface ImageRecognitionService {
     
     /**
      * 识别图片并保存标签到数据库
+     * 识别服务调用失败或保存失败时抛出异常，物品类别和标签保持不变，由调用方重试
      * 
      * @param imageUrl 图片URL
      * @param itemId 物品ID
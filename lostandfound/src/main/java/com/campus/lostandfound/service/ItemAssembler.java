@@ -0,0 +1,39 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.vo.ItemVO;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 物品VO组装服务
+ * 为物品填充发布者信息、图片列表和标签列表，列表接口统一使用批量查询
+ */
+public interface ItemAssembler {
+    
+    /**
+     * 组装单个物品
+     * 
+     * @param item 物品实体
+     * @return 物品VO
+     */
+    ItemVO toVO(Item item);
+    
+    /**
+     * 批量组装物品，发布者、图片、标签各一次IN查询
+     * 
+     * @param items 物品实体列表
+     * @return 物品VO列表，顺序与物品列表一致
+     */
+    List<ItemVO> toVOList(List<Item> items);
+    
+    /**
+     * 批量组装物品到指定的VO子类型
+     * 
+     * @param items 物品实体列表
+     * @param voFactory VO实例工厂，如MatchVO::new
+     * @return VO列表，顺序与物品列表一致
+     */
+    <T extends ItemVO> List<T> toVOList(List<Item> items, Supplier<T> voFactory);
+}
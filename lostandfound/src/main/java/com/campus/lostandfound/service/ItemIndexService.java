@@ -0,0 +1,87 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.service.match.IndexedItem;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 物品内存索引服务接口
+ * 常驻内存保存所有未删除物品，按(类型, 状态)分区，并按类别、标签、时空邻域建立倒排表，
+ * 用于匹配计算时快速召回候选物品，避免每次全表扫描和逐个查询标签
+ */
+public interface ItemIndexService {
+    
+    /**
+     * 同步单个物品到索引
+     * 在发布、编辑、删除、状态变更、标签更新后调用；处于事务中时在提交后执行
+     * 同步完成后发布{@link com.campus.lostandfound.service.match.ItemChangedEvent}，并广播给其他节点
+     * 
+     * @param itemId 物品ID
+     */
+    void refresh(Long itemId);
+    
+    /**
+     * 处理其他节点广播的索引刷新
+     * 只从数据库同步本节点的索引，不再发布物品变更事件；本节点发出的广播忽略
+     * 
+     * @param message 广播消息，格式为 节点ID:物品ID
+     */
+    void onRefreshBroadcast(String message);
+    
+    /**
+     * 从数据库全量重建索引
+     */
+    void rebuild();
+    
+    /**
+     * 获取物品的索引条目
+     * 
+     * @param itemId 物品ID
+     * @return 索引条目，不存在返回null
+     */
+    IndexedItem get(Long itemId);
+    
+    /**
+     * 召回匹配候选物品
+     * 返回相反类型、待处理、非本人发布，且与物品共享类别、标签或处于时空邻域内的物品
+     * 
+     * @param item 待匹配物品
+     * @param tags 待匹配物品的标签
+     * @return 候选物品列表
+     */
+    List<IndexedItem> findMatchCandidates(Item item, List<String> tags);
+    
+    /**
+     * 范围查询
+     * 在全部未删除物品的空间网格中查找与中心点距离不超过半径的物品
+     * 
+     * @param lng 中心点经度
+     * @param lat 中心点纬度
+     * @param radiusMeters 半径（米）
+     * @return 物品ID到距离（米）的映射，按距离升序
+     */
+    Map<Long, Double> findInRadius(double lng, double lat, double radiusMeters);
+    
+    /**
+     * 最近邻查询
+     * 从中心点所在网格逐圈向外扩展，找到排在游标位置之后的最近若干个物品，不读取范围内的全部物品
+     * 
+     * 结果按 (距离, ID) 升序排列，以上一批最后一条的距离和ID作为下一次的游标即可连续翻页；
+     * 带游标时从游标距离所在的圈开始扫描，不再重复扫描内圈
+     * 
+     * @param lng 中心点经度
+     * @param lat 中心点纬度
+     * @param maxRadiusMeters 最大半径（米），不限制时传{@link Double#POSITIVE_INFINITY}
+     * @param afterDistance 游标距离，第一页传-1
+     * @param afterId 游标物品ID，第一页传任意值
+     * @param limit 最多返回数量
+     * @param filter 物品筛选条件
+     * @return 物品ID到距离（米）的映射，按 (距离, ID) 升序
+     */
+    Map<Long, Double> findNearest(double lng, double lat, double maxRadiusMeters,
+                                  double afterDistance, long afterId, int limit,
+                                  Predicate<IndexedItem> filter);
+}
@@ -0,0 +1,29 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.model.vo.TagInfo;
+
+import java.util.List;
+
+/**
+ * 物品图片与标签持久化服务接口
+ * 与数据库中已有的记录比较，只写入新增、删除和顺序变化的部分，每类变更用一条多行语句完成
+ */
+public interface ItemMediaService {
+    
+    /**
+     * 保存物品的图片列表
+     * 
+     * @param itemId 物品ID
+     * @param urls 新的图片URL列表，顺序即排序号
+     * @return 首图是否变化（新增首图、更换首图或删除全部图片）
+     */
+    boolean saveImages(Long itemId, List<String> urls);
+    
+    /**
+     * 保存物品的标签列表，用识别结果替换已有标签
+     * 
+     * @param itemId 物品ID
+     * @param tags 新的标签列表，同名标签只保留第一个
+     */
+    void saveTags(Long itemId, List<TagInfo> tags);
+}
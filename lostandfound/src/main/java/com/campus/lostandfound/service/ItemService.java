@@ -74,9 +74,10 @@ public interface ItemService {
      * 支持关键词搜索、多条件筛选、地理范围筛选和多种排序方式
      * 
      * @param dto 搜索条件DTO
+     * @param userId 当前用户ID，未登录时为null；按匹配度排序时使用该用户待处理物品的匹配分数
      * @return 分页的物品列表
      */
-    PageResult<ItemVO> search(ItemSearchDTO dto);
+    PageResult<ItemVO> search(ItemSearchDTO dto, Long userId);
     
     /**
      * 获取热门物品列表
@@ -3,6 +3,7 @@ package com.campus.lostandfound.service;
 import com.campus.lostandfound.model.vo.GeoPoint;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 地理位置服务接口
@@ -49,4 +50,15 @@ public interface LocationService {
      * @return 范围内的物品ID列表
      */
     List<Long> searchInRadius(Double lng, Double lat, Integer radius);
+    
+    /**
+     * 范围查询物品ID及距离
+     * 从内存空间索引中一次得到范围内的物品和与中心点的距离，调用方无需再计算距离
+     *
+     * @param lng    中心点经度
+     * @param lat    中心点纬度
+     * @param radius 搜索半径（米）
+     * @return 物品ID到距离（米）的映射，按距离升序
+     */
+    Map<Long, Double> searchInRadiusWithDistance(Double lng, Double lat, Integer radius);
 }
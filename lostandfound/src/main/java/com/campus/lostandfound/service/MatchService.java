@@ -21,6 +21,18 @@ public interface MatchService {
      */
     List<MatchResult> calculateMatch(Item item);
     
+    /**
+     * 计算两个物品之间的匹配分数
+     * 只对这一对物品评分，不召回、不扫描其他候选
+     * 
+     * @param item 物品信息
+     * @param itemTags 物品标签
+     * @param matchedItem 匹配的物品信息
+     * @param matchedItemTags 匹配物品的标签
+     * @return 匹配结果（含各分项分数）
+     */
+    MatchResult scorePair(Item item, List<String> itemTags, Item matchedItem, List<String> matchedItemTags);
+    
     /**
      * 获取匹配推荐
      * 
@@ -48,11 +60,12 @@ public interface MatchService {
     Result<Void> feedback(MatchFeedbackDTO dto);
     
     /**
-     * 异步执行匹配计算（用于物品发布后的自动匹配）
+     * 计算匹配并为高分匹配发送通知（用于物品发布后的自动匹配）
+     * 执行时重新读取物品，已删除或不再待处理的物品跳过；计算或通知失败时抛出异常，由调用方重试
      *
-     * @param item 物品信息
+     * @param itemId 物品ID
      */
-    void calculateMatchAsync(Item item);
+    void calculateMatchAndNotify(Long itemId);
 
     /**
      * 获取用户的匹配推荐列表
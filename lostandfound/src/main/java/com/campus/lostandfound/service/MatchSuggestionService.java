@@ -0,0 +1,45 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.model.entity.MatchSuggestion;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 匹配推荐服务接口
+ * 为每个待处理物品持久化当前分数最高的前K个匹配，物品变更时增量维护，
+ * 读取推荐时只需一次索引查询，不再重新计算匹配
+ */
+public interface MatchSuggestionService {
+    
+    /**
+     * 查询物品的推荐匹配
+     * 
+     * @param itemId 物品ID
+     * @param limit 最多返回条数
+     * @return 按分数降序排列的推荐匹配
+     */
+    List<MatchSuggestion> listByItem(Long itemId, int limit);
+    
+    /**
+     * 批量查询多个物品的推荐匹配
+     * 
+     * @param itemIds 物品ID集合
+     * @return 按分数降序排列的推荐匹配
+     */
+    List<MatchSuggestion> listByItems(Collection<Long> itemIds);
+    
+    /**
+     * 物品变更后增量更新推荐匹配
+     * 更新该物品自身的推荐列表，将其插入到相关物品的推荐列表中，
+     * 并重新计算原本推荐了该物品的列表
+     * 
+     * @param itemId 物品ID
+     */
+    void refresh(Long itemId);
+    
+    /**
+     * 全量重建所有待处理物品的推荐匹配
+     */
+    void rebuild();
+}
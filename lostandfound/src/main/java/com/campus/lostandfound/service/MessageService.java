@@ -19,6 +19,7 @@ public interface MessageService {
     
     /**
      * 批量发送消息
+     * 全部消息在一次批处理中写入，事务提交后再推送给在线用户
      * @param dtos 发送消息DTO列表
      */
     void sendBatch(List<SendMessageDTO> dtos);
@@ -34,6 +35,20 @@ public interface MessageService {
      */
     PageResult<MessageVO> getList(Long userId, Integer type, Boolean isRead, Integer pageNum, Integer pageSize);
     
+    /**
+     * 按游标获取消息列表
+     * 按 (created_at, id) 降序向后翻页，不使用OFFSET，默认不统计总数
+     * @param userId 用户ID
+     * @param type 消息类型（可选）
+     * @param isRead 已读状态（可选）
+     * @param cursor 上一页返回的游标，为空表示第一页
+     * @param pageSize 页大小
+     * @param withTotal 是否统计总数
+     * @return 消息列表及下一页游标
+     */
+    PageResult<MessageVO> getListByCursor(Long userId, Integer type, Boolean isRead, String cursor,
+                                          Integer pageSize, boolean withTotal);
+    
     /**
      * 标记消息已读
      * @param messageId 消息ID
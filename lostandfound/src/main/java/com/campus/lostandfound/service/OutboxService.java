@@ -0,0 +1,29 @@
+package com.campus.lostandfound.service;
+
+import java.util.Map;
+
+/**
+ * 物品事件发件箱服务接口
+ * 
+ * 物品的增删改在同一事务中写入事件，提交后再分发给图片识别、匹配计算、缓存清除等处理器：
+ * - 回滚的事务不会留下事件，处理器也不会读到未提交的数据
+ * - 事件处理成功后才删除，失败或节点宕机时重试，保证至少投递一次，处理器需要幂等
+ */
+public interface OutboxService {
+    
+    /**
+     * 在当前事务中写入事件，提交后触发一次分发
+     * 
+     * @param itemId 物品ID
+     * @param eventType 事件类型，见{@link com.campus.lostandfound.service.outbox.OutboxEventType}
+     * @param payload 事件参数，没有参数时传null
+     */
+    void enqueue(Long itemId, String eventType, Map<String, Object> payload);
+    
+    /**
+     * 分批领取并处理到期的事件
+     * 
+     * @return 处理成功的事件数量
+     */
+    int dispatch();
+}
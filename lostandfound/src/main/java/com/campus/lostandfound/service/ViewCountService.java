@@ -0,0 +1,24 @@
+package com.campus.lostandfound.service;
+
+/**
+ * 物品浏览次数服务接口
+ * 浏览次数在Redis中原子累加，并记录待回写的物品，由定时任务批量写回数据库，
+ * 查看详情的请求不再产生数据库写入
+ */
+public interface ViewCountService {
+    
+    /**
+     * 浏览次数加一，标记物品待回写，并计入热门物品排行
+     * 
+     * @param itemId 物品ID
+     * @return 累加后的浏览次数
+     */
+    long increment(Long itemId);
+    
+    /**
+     * 将待回写物品的浏览次数批量写回数据库
+     * 
+     * @return 本次回写的物品数量
+     */
+    int flush();
+}
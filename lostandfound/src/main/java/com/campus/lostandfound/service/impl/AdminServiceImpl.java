@@ -3,29 +3,26 @@ package com.campus.lostandfound.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.lostandfound.common.PageCursor;
 import com.campus.lostandfound.common.PageResult;
 import com.campus.lostandfound.model.dto.ItemAdminSearchDTO;
 import com.campus.lostandfound.model.dto.SendMessageDTO;
 import com.campus.lostandfound.model.entity.Item;
-import com.campus.lostandfound.model.entity.ItemImage;
-import com.campus.lostandfound.model.entity.ItemTag;
 import com.campus.lostandfound.model.entity.MatchRecord;
 import com.campus.lostandfound.model.entity.User;
 import com.campus.lostandfound.model.vo.DailyStatVO;
 import com.campus.lostandfound.model.vo.ItemVO;
 import com.campus.lostandfound.model.vo.StatisticsVO;
-import com.campus.lostandfound.repository.ItemImageMapper;
 import com.campus.lostandfound.repository.ItemMapper;
-import com.campus.lostandfound.repository.ItemTagMapper;
 import com.campus.lostandfound.repository.MatchRecordMapper;
 import com.campus.lostandfound.repository.UserMapper;
 import com.campus.lostandfound.service.AdminService;
+import com.campus.lostandfound.service.CacheService;
+import com.campus.lostandfound.service.ItemAssembler;
+import com.campus.lostandfound.service.ItemIndexService;
 import com.campus.lostandfound.service.MessageService;
 import com.campus.lostandfound.exception.NotFoundException;
 import com.campus.lostandfound.exception.BusinessException;
-import com.campus.lostandfound.util.RedisUtil;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -37,7 +34,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -63,43 +59,31 @@ public class AdminServiceImpl implements AdminService {
     private MatchRecordMapper matchRecordMapper;
     
     @Autowired
-    private ItemImageMapper itemImageMapper;
+    private ItemAssembler itemAssembler;
     
     @Autowired
-    private ItemTagMapper itemTagMapper;
-    
-    @Autowired
-    private RedisUtil redisUtil;
+    private MessageService messageService;
     
     @Autowired
-    private ObjectMapper objectMapper;
+    private ItemIndexService itemIndexService;
     
     @Autowired
-    private MessageService messageService;
+    private CacheService cacheService;
 
     
     @Override
     public StatisticsVO getStatistics() {
-        // 尝试从Redis缓存获取
-        String cachedData = redisUtil.get(STATISTICS_CACHE_KEY);
-        if (cachedData != null) {
-            try {
-                return objectMapper.readValue(cachedData, StatisticsVO.class);
-            } catch (JsonProcessingException e) {
-                log.warn("Failed to parse cached statistics data", e);
-            }
+        // 尝试从缓存获取（本地缓存 -> Redis）
+        StatisticsVO cached = cacheService.get(STATISTICS_CACHE_KEY, StatisticsVO.class);
+        if (cached != null) {
+            return cached;
         }
         
         // 缓存未命中，从数据库查询
         StatisticsVO statistics = buildStatisticsFromDatabase();
         
-        // 存入Redis缓存，设置5分钟过期
-        try {
-            String jsonData = objectMapper.writeValueAsString(statistics);
-            redisUtil.set(STATISTICS_CACHE_KEY, jsonData, CACHE_EXPIRE_MINUTES, TimeUnit.MINUTES);
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to cache statistics data", e);
-        }
+        // 存入缓存，设置5分钟过期
+        cacheService.put(STATISTICS_CACHE_KEY, statistics, CACHE_EXPIRE_MINUTES, TimeUnit.MINUTES);
         
         return statistics;
     }
@@ -261,6 +245,10 @@ public class AdminServiceImpl implements AdminService {
         //     queryWrapper.ge("report_count", dto.getReportCount());
         // }
         
+        if (dto.getCursor() != null) {
+            return getItemListByCursor(dto, queryWrapper);
+        }
+        
         // 按创建时间降序排序
         queryWrapper.orderByDesc("created_at");
         
@@ -269,7 +257,7 @@ public class AdminServiceImpl implements AdminService {
         Page<Item> itemPage = itemMapper.selectPage(page, queryWrapper);
         
         // 转换为ItemVO列表
-        List<ItemVO> itemVOList = convertToItemVOList(itemPage.getRecords());
+        List<ItemVO> itemVOList = itemAssembler.toVOList(itemPage.getRecords());
         
         return new PageResult<>(
             itemVOList,
@@ -280,91 +268,36 @@ public class AdminServiceImpl implements AdminService {
     }
     
     /**
-     * 将Item实体列表转换为ItemVO列表
-     * 包含发布者信息、图片列表、标签列表
+     * 按游标查询物品列表
+     * 按 (created_at, id) 降序沿idx_created_at向后读取，深翻页不再扫描跳过的记录，默认不统计总数
      */
-    private List<ItemVO> convertToItemVOList(List<Item> items) {
-        if (items == null || items.isEmpty()) {
-            return Collections.emptyList();
+    private PageResult<ItemVO> getItemListByCursor(ItemAdminSearchDTO dto, QueryWrapper<Item> queryWrapper) {
+        int pageSize = dto.getPageSize() != null && dto.getPageSize() > 0 ? dto.getPageSize() : 20;
+        PageCursor position = PageCursor.decode(dto.getCursor());
+        
+        // 总数按筛选条件统计，与游标位置无关
+        Long total = Boolean.TRUE.equals(dto.getWithTotal()) ? itemMapper.selectCount(queryWrapper) : null;
+        
+        // created_at < 游标时间 OR (created_at = 游标时间 AND id < 游标ID)
+        if (position != null) {
+            queryWrapper.and(wrapper -> wrapper
+                    .lt("created_at", position.getCreatedAt())
+                    .or(w -> w.eq("created_at", position.getCreatedAt()).lt("id", position.getId())));
         }
+        queryWrapper.orderByDesc("created_at").orderByDesc("id");
         
-        // 收集所有物品ID和用户ID
-        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
-        List<Long> userIds = items.stream().map(Item::getUserId).distinct().collect(Collectors.toList());
+        // 多取一条判断是否还有下一页，不执行COUNT
+        Page<Item> page = new Page<>(1, pageSize + 1, false);
+        List<Item> records = itemMapper.selectPage(page, queryWrapper).getRecords();
         
-        // 批量查询用户信息
-        Map<Long, User> userMap = Collections.emptyMap();
-        if (!userIds.isEmpty()) {
-            List<User> users = userMapper.selectBatchIds(userIds);
-            userMap = users.stream().collect(Collectors.toMap(User::getId, u -> u));
+        String nextCursor = null;
+        if (records.size() > pageSize) {
+            records = records.subList(0, pageSize);
+            Item last = records.get(pageSize - 1);
+            nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
         }
         
-        // 批量查询图片信息
-        Map<Long, List<String>> imageMap = Collections.emptyMap();
-        if (!itemIds.isEmpty()) {
-            List<ItemImage> images = itemImageMapper.selectList(
-                new LambdaQueryWrapper<ItemImage>()
-                    .in(ItemImage::getItemId, itemIds)
-                    .orderByAsc(ItemImage::getSort)
-            );
-            imageMap = images.stream()
-                .collect(Collectors.groupingBy(
-                    ItemImage::getItemId,
-                    Collectors.mapping(ItemImage::getUrl, Collectors.toList())
-                ));
-        }
-        
-        // 批量查询标签信息
-        Map<Long, List<String>> tagMap = Collections.emptyMap();
-        if (!itemIds.isEmpty()) {
-            List<ItemTag> tags = itemTagMapper.selectList(
-                new LambdaQueryWrapper<ItemTag>().in(ItemTag::getItemId, itemIds)
-            );
-            tagMap = tags.stream()
-                .collect(Collectors.groupingBy(
-                    ItemTag::getItemId,
-                    Collectors.mapping(ItemTag::getTag, Collectors.toList())
-                ));
-        }
-        
-        // 转换为ItemVO
-        final Map<Long, User> finalUserMap = userMap;
-        final Map<Long, List<String>> finalImageMap = imageMap;
-        final Map<Long, List<String>> finalTagMap = tagMap;
-        
-        return items.stream().map(item -> {
-            ItemVO vo = new ItemVO();
-            vo.setId(item.getId());
-            vo.setUserId(item.getUserId());
-            vo.setTitle(item.getTitle());
-            vo.setDescription(item.getDescription());
-            vo.setType(item.getType());
-            vo.setCategory(item.getCategory());
-            vo.setLongitude(item.getLongitude());
-            vo.setLatitude(item.getLatitude());
-            vo.setLocationDesc(item.getLocationDesc());
-            vo.setEventTime(item.getEventTime());
-            vo.setStatus(item.getStatus());
-            vo.setViewCount(item.getViewCount());
-            vo.setDeleted(item.getDeleted());
-            vo.setCreatedAt(item.getCreatedAt());
-            vo.setUpdatedAt(item.getUpdatedAt());
-            
-            // 设置发布者信息
-            User user = finalUserMap.get(item.getUserId());
-            if (user != null) {
-                vo.setUserName(user.getName());
-                vo.setUserAvatar(user.getAvatar());
-            }
-            
-            // 设置图片列表
-            vo.setImages(finalImageMap.getOrDefault(item.getId(), Collections.emptyList()));
-            
-            // 设置标签列表
-            vo.setTags(finalTagMap.getOrDefault(item.getId(), Collections.emptyList()));
-            
-            return vo;
-        }).collect(Collectors.toList());
+        return PageResult.ofCursor(itemAssembler.toVOList(records), total, pageSize, nextCursor);
     }
     
     @Override
@@ -400,6 +333,7 @@ public class AdminServiceImpl implements AdminService {
                 QueryWrapper<Item> updateWrapper = new QueryWrapper<>();
                 updateWrapper.eq("id", itemId);
                 itemMapper.update(item, updateWrapper);
+                itemIndexService.refresh(itemId);
                 log.info("审核删除 - 物品ID: {}, 原因: {}", itemId, reason);
                 break;
                 
@@ -472,6 +406,7 @@ public class AdminServiceImpl implements AdminService {
         QueryWrapper<Item> updateWrapper = new QueryWrapper<>();
         updateWrapper.eq("id", itemId);
         itemMapper.update(item, updateWrapper);
+        itemIndexService.refresh(itemId);
         
         log.info("物品恢复 - 物品ID: {}, 标题: {}", itemId, item.getTitle());
     }
@@ -1,19 +1,41 @@
 package com.campus.lostandfound.service.impl;
 
+import com.campus.lostandfound.config.NearCacheProperties;
 import com.campus.lostandfound.config.RedisCacheConfig;
+import com.campus.lostandfound.config.SearchProperties;
 import com.campus.lostandfound.service.CacheService;
 import com.campus.lostandfound.util.RedisUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 缓存服务实现类
  * 提供统一的缓存管理方法，使用@CacheEvict注解简化缓存操作
+ * 
+ * 搜索缓存使用代数失效，不再用KEYS扫描删除:
+ * - 搜索缓存键中拼入全局代数和搜索条件所在分区的代数
+ * - 分区按搜索条件中的类型/类别划分: 全部、仅类型、仅类别、类型+类别
+ * - 物品变更时递增包含该物品的分区代数（最多4次INCR），旧缓存不再被命中，5分钟后自然过期
+ * 
+ * 物品详情按片段缓存: item:detail:{id}:core|media|publisher|match，清除详情时删除全部片段
+ * 
+ * 两级缓存:
+ * - get/put在Redis之前加一层本地缓存，保存反序列化后的对象
+ * - evict*清除Redis后广播缓存键，各节点收到后清除本地副本
  */
 @Slf4j
 @Service
@@ -22,10 +44,119 @@ public class CacheServiceImpl implements CacheService {
     
     private static final String POINT_RANKING_KEY = "point:ranking";
     private static final String ITEM_DETAIL_CACHE_KEY = "item:detail:";
-    private static final String ITEM_SEARCH_CACHE_KEY = "item:search:";
+    private static final List<String> ITEM_DETAIL_FRAGMENTS = List.of("core", "media", "publisher", "match");
+    private static final String ITEM_SEARCH_GENERATION_KEY = "item:search:gen";
     private static final String USER_INFO_CACHE_KEY = "user:info:";
     
     private final RedisUtil redisUtil;
+    private final SearchProperties searchProperties;
+    private final ObjectMapper objectMapper;
+    private final NearCacheProperties nearCacheProperties;
+    private final Cache<String, Object> nearCache;
+    
+    @Override
+    public <T> T get(String key, Class<T> type) {
+        return get(key, objectMapper.getTypeFactory().constructType(type));
+    }
+    
+    @Override
+    public <T> T get(String key, TypeReference<T> type) {
+        return get(key, objectMapper.getTypeFactory().constructType(type));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, JavaType type) {
+        boolean nearEnabled = Boolean.TRUE.equals(nearCacheProperties.getEnabled());
+        if (nearEnabled) {
+            Object local = nearCache.getIfPresent(key);
+            if (local != null) {
+                return (T) local;
+            }
+        }
+        
+        String cachedData = redisUtil.get(key);
+        if (cachedData == null) {
+            return null;
+        }
+        T value = parse(key, cachedData, type);
+        if (value != null && nearEnabled) {
+            nearCache.put(key, value);
+        }
+        return value;
+    }
+    
+    @Override
+    public List<Object> multiGet(List<String> keys, List<TypeReference<?>> types) {
+        boolean nearEnabled = Boolean.TRUE.equals(nearCacheProperties.getEnabled());
+        List<Object> values = new ArrayList<>(Collections.nCopies(keys.size(), null));
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Object local = nearEnabled ? nearCache.getIfPresent(keys.get(i)) : null;
+            if (local != null) {
+                values.set(i, local);
+            } else {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return values;
+        }
+        
+        List<String> cachedData = redisUtil.multiGet(missing.stream().map(keys::get).toList());
+        for (int j = 0; j < missing.size(); j++) {
+            String data = cachedData != null && j < cachedData.size() ? cachedData.get(j) : null;
+            if (data == null) {
+                continue;
+            }
+            int i = missing.get(j);
+            Object value = parse(keys.get(i), data, objectMapper.getTypeFactory().constructType(types.get(i)));
+            if (value != null) {
+                values.set(i, value);
+                if (nearEnabled) {
+                    nearCache.put(keys.get(i), value);
+                }
+            }
+        }
+        return values;
+    }
+    
+    private <T> T parse(String key, String data, JavaType type) {
+        try {
+            return objectMapper.readValue(data, type);
+        } catch (JsonProcessingException e) {
+            log.warn("解析缓存失败: key={}", key, e);
+            return null;
+        }
+    }
+    
+    @Override
+    public void put(String key, Object value, long timeout, TimeUnit unit) {
+        try {
+            redisUtil.set(key, objectMapper.writeValueAsString(value), timeout, unit);
+        } catch (JsonProcessingException e) {
+            log.warn("写入缓存失败: key={}", key, e);
+            return;
+        }
+        if (Boolean.TRUE.equals(nearCacheProperties.getEnabled())) {
+            nearCache.put(key, value);
+        }
+    }
+    
+    /**
+     * 清除本地缓存并广播给其他节点
+     */
+    private void evictNear(String key) {
+        if (!Boolean.TRUE.equals(nearCacheProperties.getEnabled())) {
+            return;
+        }
+        nearCache.invalidate(key);
+        try {
+            redisUtil.publish(nearCacheProperties.getChannel(), key);
+        } catch (Exception e) {
+            // 广播失败时其他节点的本地副本最多保留expire-seconds
+            log.warn("广播缓存失效失败: key={}", key, e);
+        }
+    }
     
     /**
      * 清除物品详情缓存
@@ -35,9 +166,7 @@ public class CacheServiceImpl implements CacheService {
     @CacheEvict(value = RedisCacheConfig.CACHE_ITEM_DETAIL, key = "#itemId")
     public void evictItemDetailCache(Long itemId) {
         // 同时清除手动管理的Redis缓存
-        String cacheKey = ITEM_DETAIL_CACHE_KEY + itemId;
-        redisUtil.delete(cacheKey);
-        log.info("已清除物品详情缓存: itemId={}", itemId);
+        deleteItemDetail(itemId);
     }
     
     /**
@@ -47,12 +176,73 @@ public class CacheServiceImpl implements CacheService {
     @Override
     @CacheEvict(value = RedisCacheConfig.CACHE_ITEM_SEARCH, allEntries = true)
     public void evictAllItemSearchCache() {
-        // 同时清除手动管理的Redis缓存
-        Set<String> searchKeys = redisUtil.keys(ITEM_SEARCH_CACHE_KEY + "*");
-        if (searchKeys != null && !searchKeys.isEmpty()) {
-            redisUtil.delete(searchKeys);
-            log.info("已清除 {} 个搜索结果缓存", searchKeys.size());
+        // 手动管理的搜索缓存: 递增全局代数
+        Long generation = redisUtil.increment(ITEM_SEARCH_GENERATION_KEY);
+        log.info("已使全部搜索结果缓存失效: generation={}", generation);
+    }
+    
+    /**
+     * 使物品所在分区的搜索缓存失效
+     * 未开启分区失效时退化为递增全局代数
+     */
+    @Override
+    public void evictItemSearchCache(Integer type, String category) {
+        if (!Boolean.TRUE.equals(searchProperties.getCachePartitioned())) {
+            evictAllItemSearchCache();
+            return;
+        }
+        
+        // 物品出现在: 不限类型和类别、仅限该类型、仅限该类别、该类型+类别 四类搜索中
+        redisUtil.increment(partitionKey(null, null));
+        if (type != null) {
+            redisUtil.increment(partitionKey(type, null));
         }
+        if (StringUtils.hasText(category)) {
+            redisUtil.increment(partitionKey(null, category));
+            if (type != null) {
+                redisUtil.increment(partitionKey(type, category));
+            }
+        }
+        log.info("已使搜索结果缓存分区失效: type={}, category={}", type, category);
+    }
+    
+    /**
+     * 获取搜索条件对应的缓存代数
+     * 格式为"全局代数.分区代数"，分区模式下用一次MGET读取
+     */
+    @Override
+    public String getItemSearchGeneration(Integer type, String category) {
+        if (!Boolean.TRUE.equals(searchProperties.getCachePartitioned())) {
+            return generationOf(redisUtil.get(ITEM_SEARCH_GENERATION_KEY));
+        }
+        
+        List<String> values = redisUtil.multiGet(List.of(ITEM_SEARCH_GENERATION_KEY, partitionKey(type, category)));
+        if (values == null || values.size() < 2) {
+            return "0.0";
+        }
+        return generationOf(values.get(0)) + "." + generationOf(values.get(1));
+    }
+    
+    /**
+     * 搜索条件所在分区的代数键
+     */
+    private String partitionKey(Integer type, String category) {
+        boolean hasCategory = StringUtils.hasText(category);
+        if (type == null && !hasCategory) {
+            return ITEM_SEARCH_GENERATION_KEY + ":all";
+        }
+        StringBuilder sb = new StringBuilder(ITEM_SEARCH_GENERATION_KEY);
+        if (type != null) {
+            sb.append(":t:").append(type);
+        }
+        if (hasCategory) {
+            sb.append(":c:").append(category);
+        }
+        return sb.toString();
+    }
+    
+    private String generationOf(String value) {
+        return value != null ? value : "0";
     }
     
     /**
@@ -65,6 +255,7 @@ public class CacheServiceImpl implements CacheService {
         // 同时清除手动管理的Redis缓存
         String cacheKey = USER_INFO_CACHE_KEY + userId;
         redisUtil.delete(cacheKey);
+        evictNear(cacheKey);
         log.info("已清除用户信息缓存: userId={}", userId);
     }
     
@@ -104,14 +295,32 @@ public class CacheServiceImpl implements CacheService {
     })
     public void evictItemRelatedCache(Long itemId) {
         // 同时清除手动管理的Redis缓存
-        String detailCacheKey = ITEM_DETAIL_CACHE_KEY + itemId;
-        redisUtil.delete(detailCacheKey);
-        log.info("已清除物品详情缓存: itemId={}", itemId);
+        deleteItemDetail(itemId);
         
-        Set<String> searchKeys = redisUtil.keys(ITEM_SEARCH_CACHE_KEY + "*");
-        if (searchKeys != null && !searchKeys.isEmpty()) {
-            redisUtil.delete(searchKeys);
-            log.info("已清除 {} 个搜索结果缓存", searchKeys.size());
-        }
+        evictAllItemSearchCache();
+    }
+    
+    /**
+     * 清除物品相关的缓存（详情+物品所在分区的搜索）
+     * 物品的增删改走这里，只递增计数器，不扫描键空间
+     */
+    @Override
+    @CacheEvict(value = RedisCacheConfig.CACHE_ITEM_DETAIL, key = "#itemId")
+    public void evictItemRelatedCache(Long itemId, Integer type, String category) {
+        deleteItemDetail(itemId);
+        
+        evictItemSearchCache(type, category);
+    }
+    
+    /**
+     * 用一次DEL删除物品详情的全部片段，并清除各节点的本地副本
+     */
+    private void deleteItemDetail(Long itemId) {
+        List<String> keys = ITEM_DETAIL_FRAGMENTS.stream()
+                .map(fragment -> ITEM_DETAIL_CACHE_KEY + itemId + ":" + fragment)
+                .toList();
+        redisUtil.delete(keys);
+        keys.forEach(this::evictNear);
+        log.info("已清除物品详情缓存: itemId={}", itemId);
     }
 }
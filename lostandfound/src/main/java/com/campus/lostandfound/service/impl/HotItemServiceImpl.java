@@ -0,0 +1,83 @@
+package com.campus.lostandfound.service.impl;
+
+import com.campus.lostandfound.config.HotItemProperties;
+import com.campus.lostandfound.service.HotItemService;
+import com.campus.lostandfound.util.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热门物品排行服务实现类
+ * 
+ * Redis结构：
+ * - item:hot:{yyyyMMdd}  当天的浏览次数（ZINCRBY），窗口结束后自动过期
+ * - item:hot:merged      按衰减权重合并后的排行（ZUNIONSTORE），短时间缓存
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotItemServiceImpl implements HotItemService {
+    
+    private static final String DAILY_KEY_PREFIX = "item:hot:";
+    private static final String MERGED_KEY = "item:hot:merged";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    
+    private final RedisUtil redisUtil;
+    private final HotItemProperties hotItemProperties;
+    
+    @Override
+    public void recordView(Long itemId) {
+        String dailyKey = dailyKey(LocalDate.now());
+        Double score = redisUtil.zIncrementScore(dailyKey, String.valueOf(itemId), 1);
+        // 当天第一次写入时设置过期，桶在窗口外多保留一天
+        if (score != null && score == 1) {
+            redisUtil.expire(dailyKey, hotItemProperties.getWindowDays() + 1L, TimeUnit.DAYS);
+        }
+    }
+    
+    @Override
+    public List<Long> getTopItemIds(int limit) {
+        if (!Boolean.TRUE.equals(redisUtil.hasKey(MERGED_KEY))) {
+            merge();
+        }
+        Set<String> members = redisUtil.zRevRange(MERGED_KEY, 0, limit - 1);
+        List<Long> ids = new ArrayList<>();
+        if (members != null) {
+            for (String member : members) {
+                ids.add(Long.valueOf(member));
+            }
+        }
+        return ids;
+    }
+    
+    /**
+     * 合并窗口内的每日桶，越早的桶权重越低
+     */
+    private void merge() {
+        int windowDays = Math.max(1, hotItemProperties.getWindowDays());
+        LocalDate today = LocalDate.now();
+        List<String> keys = new ArrayList<>(windowDays);
+        double[] weights = new double[windowDays];
+        for (int d = 0; d < windowDays; d++) {
+            keys.add(dailyKey(today.minusDays(d)));
+            weights[d] = Math.pow(0.5, d / hotItemProperties.getHalfLifeDays());
+        }
+        Long size = redisUtil.zUnionStore(MERGED_KEY, keys, weights);
+        if (size != null && size > 0) {
+            redisUtil.expire(MERGED_KEY, hotItemProperties.getMergeTtlSeconds(), TimeUnit.SECONDS);
+        }
+        log.debug("合并热门物品排行: days={}, size={}", windowDays, size);
+    }
+    
+    private String dailyKey(LocalDate day) {
+        return DAILY_KEY_PREFIX + day.format(DAY_FORMAT);
+    }
+}
@@ -6,17 +6,16 @@ import com.aliyuncs.CommonResponse;
 import com.aliyuncs.http.MethodType;
 import com.campus.lostandfound.config.AliyunVisionProperties;
 import com.campus.lostandfound.model.entity.Item;
-import com.campus.lostandfound.model.entity.ItemTag;
 import com.campus.lostandfound.model.vo.RecognitionResult;
 import com.campus.lostandfound.model.vo.TagInfo;
 import com.campus.lostandfound.repository.ItemMapper;
-import com.campus.lostandfound.repository.ItemTagMapper;
 import com.campus.lostandfound.service.ImageRecognitionService;
+import com.campus.lostandfound.service.ItemIndexService;
+import com.campus.lostandfound.service.ItemMediaService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,8 +35,9 @@ public class ImageRecognitionServiceImpl implements ImageRecognitionService {
     private final IAcsClient acsClient;
     private final AliyunVisionProperties visionProperties;
     private final ItemMapper itemMapper;
-    private final ItemTagMapper itemTagMapper;
+    private final ItemMediaService itemMediaService;
     private final ObjectMapper objectMapper;
+    private final ItemIndexService itemIndexService;
     
     /**
      * 系统预定义类别映射
@@ -135,50 +135,36 @@ public class ImageRecognitionServiceImpl implements ImageRecognitionService {
     }
     
     @Override
-    @Async
     @Transactional(rollbackFor = Exception.class)
     public void recognizeAndSaveTags(String imageUrl, Long itemId) {
-        log.info("异步识别图片并保存标签: itemId={}, imageUrl={}", itemId, imageUrl);
+        log.info("识别图片并保存标签: itemId={}, imageUrl={}", itemId, imageUrl);
         
-        try {
-            // 1. 调用识别API
-            RecognitionResult result = recognize(imageUrl);
-            
-            if (!result.isSuccess()) {
-                log.warn("图像识别失败，保留用户手动选择的类别: itemId={}, error={}", 
-                        itemId, result.getErrorMessage());
-                return;
-            }
-            
-            // 2. 更新物品类别
-            if (result.getCategory() != null) {
-                Item item = itemMapper.selectById(itemId);
-                if (item != null) {
-                    // 只有当用户没有手动选择类别时才更新
-                    if (item.getCategory() == null || item.getCategory().isEmpty()) {
-                        item.setCategory(result.getCategory());
-                        itemMapper.updateById(item);
-                        log.info("更新物品类别: itemId={}, category={}", itemId, result.getCategory());
-                    }
-                }
-            }
-            
-            // 3. 保存标签到item_tag表
-            if (result.getTags() != null && !result.getTags().isEmpty()) {
-                for (TagInfo tagInfo : result.getTags()) {
-                    ItemTag itemTag = new ItemTag();
-                    itemTag.setItemId(itemId);
-                    itemTag.setTag(tagInfo.getTag());
-                    itemTag.setConfidence(tagInfo.getConfidence());
-                    itemTagMapper.insert(itemTag);
+        // 1. 调用识别API
+        RecognitionResult result = recognize(imageUrl);
+        
+        if (!result.isSuccess()) {
+            // 不修改物品，保留用户手动选择的类别，由调用方稍后重试
+            throw new IllegalStateException("图像识别失败: " + result.getErrorMessage());
+        }
+        
+        // 2. 更新物品类别
+        if (result.getCategory() != null) {
+            Item item = itemMapper.selectById(itemId);
+            if (item != null) {
+                // 只有当用户没有手动选择类别时才更新
+                if (item.getCategory() == null || item.getCategory().isEmpty()) {
+                    item.setCategory(result.getCategory());
+                    itemMapper.updateById(item);
+                    log.info("更新物品类别: itemId={}, category={}", itemId, result.getCategory());
                 }
-                log.info("保存 {} 个标签: itemId={}", result.getTags().size(), itemId);
             }
-            
-        } catch (Exception e) {
-            log.error("识别并保存标签失败: itemId={}", itemId, e);
-            // 降级处理：不抛出异常，保留用户手动选择的类别
         }
+        
+        // 3. 用识别结果替换item_tag表中的标签，只写入有差异的部分
+        itemMediaService.saveTags(itemId, result.getTags());
+        
+        // 4. 类别和标签变更后同步物品索引
+        itemIndexService.refresh(itemId);
     }
     
     /**
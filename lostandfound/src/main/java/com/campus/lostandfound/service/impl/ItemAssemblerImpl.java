@@ -0,0 +1,122 @@
+package com.campus.lostandfound.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.entity.ItemImage;
+import com.campus.lostandfound.model.entity.ItemTag;
+import com.campus.lostandfound.model.entity.User;
+import com.campus.lostandfound.model.vo.ItemVO;
+import com.campus.lostandfound.repository.ItemImageMapper;
+import com.campus.lostandfound.repository.ItemTagMapper;
+import com.campus.lostandfound.repository.UserMapper;
+import com.campus.lostandfound.service.ItemAssembler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 物品VO组装服务实现类
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemAssemblerImpl implements ItemAssembler {
+    
+    private final UserMapper userMapper;
+    private final ItemImageMapper itemImageMapper;
+    private final ItemTagMapper itemTagMapper;
+    
+    @Override
+    public ItemVO toVO(Item item) {
+        ItemVO vo = new ItemVO();
+        BeanUtils.copyProperties(item, vo);
+        
+        // 查询发布者信息
+        User user = userMapper.selectById(item.getUserId());
+        if (user != null) {
+            vo.setUserName(user.getName());
+            vo.setUserAvatar(user.getAvatar());
+        }
+        
+        // 查询图片列表
+        LambdaQueryWrapper<ItemImage> imageWrapper = new LambdaQueryWrapper<>();
+        imageWrapper.eq(ItemImage::getItemId, item.getId())
+                   .orderByAsc(ItemImage::getSort);
+        List<ItemImage> images = itemImageMapper.selectList(imageWrapper);
+        vo.setImages(images.stream()
+                          .map(ItemImage::getUrl)
+                          .collect(Collectors.toList()));
+        
+        // 查询标签列表
+        LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
+        tagWrapper.eq(ItemTag::getItemId, item.getId());
+        List<ItemTag> tags = itemTagMapper.selectList(tagWrapper);
+        vo.setTags(tags.stream()
+                      .map(ItemTag::getTag)
+                      .collect(Collectors.toList()));
+        
+        return vo;
+    }
+    
+    @Override
+    public List<ItemVO> toVOList(List<Item> items) {
+        return toVOList(items, ItemVO::new);
+    }
+    
+    @Override
+    public <T extends ItemVO> List<T> toVOList(List<Item> items, Supplier<T> voFactory) {
+        if (items == null || items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Set<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toSet());
+        Set<Long> userIds = items.stream().map(Item::getUserId).collect(Collectors.toSet());
+        
+        // 批量查询发布者信息
+        Map<Long, User> userMap = userMapper.selectBatchIds(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        
+        // 批量查询图片列表
+        LambdaQueryWrapper<ItemImage> imageWrapper = new LambdaQueryWrapper<>();
+        imageWrapper.in(ItemImage::getItemId, itemIds)
+                   .orderByAsc(ItemImage::getSort);
+        Map<Long, List<String>> imageMap = itemImageMapper.selectList(imageWrapper).stream()
+                .collect(Collectors.groupingBy(
+                        ItemImage::getItemId,
+                        Collectors.mapping(ItemImage::getUrl, Collectors.toList())
+                ));
+        
+        // 批量查询标签列表
+        LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
+        tagWrapper.in(ItemTag::getItemId, itemIds);
+        Map<Long, List<String>> tagMap = itemTagMapper.selectList(tagWrapper).stream()
+                .collect(Collectors.groupingBy(
+                        ItemTag::getItemId,
+                        Collectors.mapping(ItemTag::getTag, Collectors.toList())
+                ));
+        
+        List<T> voList = new ArrayList<>(items.size());
+        for (Item item : items) {
+            T vo = voFactory.get();
+            BeanUtils.copyProperties(item, vo);
+            
+            // 设置发布者信息
+            User user = userMap.get(item.getUserId());
+            if (user != null) {
+                vo.setUserName(user.getName());
+                vo.setUserAvatar(user.getAvatar());
+            }
+            
+            vo.setImages(imageMap.getOrDefault(item.getId(), new ArrayList<>()));
+            vo.setTags(tagMap.getOrDefault(item.getId(), new ArrayList<>()));
+            voList.add(vo);
+        }
+        return voList;
+    }
+}
@@ -0,0 +1,664 @@
+package com.campus.lostandfound.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.lostandfound.config.MatchProperties;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.entity.ItemTag;
+import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.repository.ItemTagMapper;
+import com.campus.lostandfound.service.ItemIndexService;
+import com.campus.lostandfound.service.match.IndexedItem;
+import com.campus.lostandfound.service.match.ItemChangedEvent;
+import com.campus.lostandfound.util.GeoDistance;
+import com.campus.lostandfound.util.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 物品内存索引服务实现类
+ * 
+ * 索引结构：
+ * - 按(类型, 状态)分区，每个分区维护 类别、标签、空间网格 三类倒排表
+ * - 空间网格边长0.05度（约5.5公里），与位置评分5公里的有效范围对应
+ * - 时空邻域要求位置和时间同时相近；只在单一维度相近的候选最高只能得20分，不参与召回
+ * - 另外维护一张不分区的细粒度网格（边长0.005度，约550米），供附近物品的范围查询和最近邻查询使用
+ * 
+ * 一致性：
+ * - 写操作通过refresh()在事务提交后增量同步，同步后发布ItemChangedEvent
+ * - 同步后通过Redis发布订阅广播物品ID，其他节点收到后从数据库同步各自的索引
+ * - 定时全量重建，纠正广播丢失造成的节点间漂移；重建期间的增量同步记录下来，替换索引前重放到新索引
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemIndexServiceImpl implements ItemIndexService {
+    
+    /**
+     * 空间网格边长（度）
+     */
+    private static final double CELL_DEGREES = 0.05;
+    
+    /**
+     * 范围查询网格边长（度）
+     */
+    private static final double NEARBY_CELL_DEGREES = 0.005;
+    
+    /**
+     * 位置评分有效距离（米）
+     */
+    private static final double NEIGHBOR_RADIUS_METERS = 5000;
+    
+    /**
+     * 时间评分有效天数
+     */
+    private static final long NEIGHBOR_DAYS = 7;
+    
+    /**
+     * 广播消息中节点ID与物品ID的分隔符
+     */
+    private static final String BROADCAST_SEPARATOR = ":";
+    
+    private final ItemMapper itemMapper;
+    private final ItemTagMapper itemTagMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RedisUtil redisUtil;
+    private final MatchProperties matchProperties;
+    
+    /**
+     * 本节点标识，用于忽略自己发出的刷新广播
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private IndexState state = new IndexState();
+    
+    private volatile boolean loaded = false;
+    
+    /**
+     * 全量重建期间增量同步过的物品ID，在写锁下读写；不在重建时为null
+     */
+    private volatile Set<Long> rebuildTouched;
+    
+    @Override
+    public void refresh(Long itemId) {
+        if (itemId == null) {
+            return;
+        }
+        
+        // 事务中只登记回调，提交后再读取最新数据，避免索引到回滚的数据
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doRefresh(itemId);
+                }
+            });
+        } else {
+            doRefresh(itemId);
+        }
+    }
+    
+    @Override
+    public void onRefreshBroadcast(String message) {
+        int index = message.lastIndexOf(BROADCAST_SEPARATOR);
+        if (index <= 0) {
+            log.warn("忽略格式错误的索引刷新广播: {}", message);
+            return;
+        }
+        if (nodeId.equals(message.substring(0, index))) {
+            return;
+        }
+        updateIndex(Long.valueOf(message.substring(index + 1)));
+    }
+    
+    @Override
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        
+        // 先开始记录增量同步再读取数据，读取之后的变更不会因整体替换而丢失
+        Set<Long> touched = new HashSet<>();
+        rebuildTouched = touched;
+        try {
+            // 查询所有未删除的物品
+            LambdaQueryWrapper<Item> itemWrapper = new LambdaQueryWrapper<>();
+            itemWrapper.eq(Item::getDeleted, 0);
+            List<Item> items = itemMapper.selectList(itemWrapper);
+            
+            // 一次性查询所有标签，按物品ID分组
+            LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
+            tagWrapper.select(ItemTag::getItemId, ItemTag::getTag);
+            Map<Long, List<String>> tagMap = itemTagMapper.selectList(tagWrapper).stream()
+                    .collect(Collectors.groupingBy(
+                            ItemTag::getItemId,
+                            Collectors.mapping(ItemTag::getTag, Collectors.toList())
+                    ));
+            
+            // 在锁外构建新索引，再整体替换
+            IndexState newState = new IndexState();
+            for (Item item : items) {
+                newState.add(IndexedItem.of(item, tagMap.get(item.getId())));
+            }
+            
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                // 重放读取期间的增量同步，旧索引中这些物品已是从数据库读取的最新数据
+                for (Long itemId : touched) {
+                    newState.remove(itemId);
+                    IndexedItem entry = state.items.get(itemId);
+                    if (entry != null) {
+                        newState.add(entry);
+                    }
+                }
+                replayed = touched.size();
+                state = newState;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            
+            log.info("物品索引重建完成: 物品数={}, 重放同步数={}, 耗时={}ms",
+                    items.size(), replayed, System.currentTimeMillis() - start);
+        } finally {
+            rebuildTouched = null;
+        }
+    }
+    
+    /**
+     * 定时全量重建索引
+     * 索引尚未被使用时跳过
+     */
+    @Scheduled(fixedDelayString = "${match.index-rebuild-interval-ms:600000}",
+               initialDelayString = "${match.index-rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        if (!loaded) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("定时重建物品索引失败", e);
+        }
+    }
+    
+    @Override
+    public IndexedItem get(Long itemId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return state.items.get(itemId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<IndexedItem> findMatchCandidates(Item item, List<String> tags) {
+        ensureLoaded();
+        
+        // 相反类型的待处理物品（失物找招领，招领找失物）
+        int targetType = item.getType() == 0 ? 1 : 0;
+        
+        lock.readLock().lock();
+        try {
+            Partition partition = state.partitions.get(partitionKey(targetType, 0));
+            if (partition == null) {
+                return new ArrayList<>();
+            }
+            
+            Set<Long> candidateIds = new HashSet<>();
+            
+            // 1. 相同类别
+            if (item.getCategory() != null) {
+                addAll(candidateIds, partition.byCategory.get(item.getCategory()));
+            }
+            
+            // 2. 共享标签
+            if (tags != null) {
+                for (String tag : tags) {
+                    addAll(candidateIds, partition.byTag.get(tag));
+                }
+            }
+            
+            // 3. 时空邻域
+            collectNeighbors(partition, item, candidateIds);
+            
+            List<IndexedItem> candidates = new ArrayList<>(candidateIds.size());
+            for (Long id : candidateIds) {
+                IndexedItem candidate = partition.items.get(id);
+                // 排除自己发布的
+                if (candidate != null && !Objects.equals(candidate.getUserId(), item.getUserId())) {
+                    candidates.add(candidate);
+                }
+            }
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public Map<Long, Double> findInRadius(double lng, double lat, double radiusMeters) {
+        ensureLoaded();
+        
+        double latDelta = radiusMeters / GeoDistance.METERS_PER_DEGREE;
+        double lngDelta = radiusMeters / (GeoDistance.METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+        long minLatCell = cellIndex(lat - latDelta, NEARBY_CELL_DEGREES);
+        long maxLatCell = cellIndex(lat + latDelta, NEARBY_CELL_DEGREES);
+        long minLngCell = cellIndex(lng - lngDelta, NEARBY_CELL_DEGREES);
+        long maxLngCell = cellIndex(lng + lngDelta, NEARBY_CELL_DEGREES);
+        
+        List<Long> ids = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long cellCount = (maxLatCell - minLatCell + 1) * (maxLngCell - minLngCell + 1);
+            if (cellCount > state.byNearbyCell.size()) {
+                // 半径很大时直接遍历非空网格，比逐个探测空网格更快
+                for (Map.Entry<Long, Set<Long>> entry : state.byNearbyCell.entrySet()) {
+                    long latCell = entry.getKey() >> 32;
+                    long lngCell = (int) (long) entry.getKey();
+                    if (latCell >= minLatCell && latCell <= maxLatCell && lngCell >= minLngCell && lngCell <= maxLngCell) {
+                        collectInRadius(entry.getValue(), lng, lat, radiusMeters, ids, distances);
+                    }
+                }
+            } else {
+                for (long i = minLatCell; i <= maxLatCell; i++) {
+                    for (long j = minLngCell; j <= maxLngCell; j++) {
+                        Set<Long> cell = state.byNearbyCell.get(cellKey(i, j));
+                        if (cell != null) {
+                            collectInRadius(cell, lng, lat, radiusMeters, ids, distances);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        // 按距离升序排列
+        Integer[] order = new Integer[ids.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(distances::get));
+        Map<Long, Double> result = new LinkedHashMap<>();
+        for (int i : order) {
+            result.put(ids.get(i), distances.get(i));
+        }
+        return result;
+    }
+    
+    @Override
+    public Map<Long, Double> findNearest(double lng, double lat, double maxRadiusMeters,
+                                         double afterDistance, long afterId, int limit,
+                                         Predicate<IndexedItem> filter) {
+        ensureLoaded();
+        if (limit <= 0) {
+            return new LinkedHashMap<>();
+        }
+        
+        long centerLatCell = cellIndex(lat, NEARBY_CELL_DEGREES);
+        long centerLngCell = cellIndex(lng, NEARBY_CELL_DEGREES);
+        
+        List<Long> ids = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int populatedCells = state.byNearbyCell.size();
+            int visitedCells = 0;
+            long scannedCells = 0;
+            // 内圈物品的距离都小于游标距离，已在之前的批次返回，从游标所在的圈继续扫描
+            for (long ring = firstRing(afterDistance); visitedCells < populatedCells; ring++) {
+                if (scannedCells > populatedCells) {
+                    // 空网格太多，逐圈扩展不再划算，直接遍历剩余的非空网格
+                    for (Map.Entry<Long, Set<Long>> entry : state.byNearbyCell.entrySet()) {
+                        long latCell = entry.getKey() >> 32;
+                        long lngCell = (int) (long) entry.getKey();
+                        if (Math.abs(latCell - centerLatCell) >= ring || Math.abs(lngCell - centerLngCell) >= ring) {
+                            collectNearest(entry.getValue(), lng, lat, maxRadiusMeters, afterDistance, afterId,
+                                           filter, ids, distances);
+                        }
+                    }
+                    break;
+                }
+                
+                // 扫描第ring圈（正方形的边框）
+                for (long i = centerLatCell - ring; i <= centerLatCell + ring; i++) {
+                    boolean edgeRow = i == centerLatCell - ring || i == centerLatCell + ring;
+                    long step = edgeRow ? 1 : 2 * ring;
+                    for (long j = centerLngCell - ring; j <= centerLngCell + ring; j += step) {
+                        scannedCells++;
+                        Set<Long> cell = state.byNearbyCell.get(cellKey(i, j));
+                        if (cell != null) {
+                            visitedCells++;
+                            collectNearest(cell, lng, lat, maxRadiusMeters, afterDistance, afterId,
+                                           filter, ids, distances);
+                        }
+                    }
+                }
+                
+                // 已扫描区域之外的物品距离都不小于covered，covered以内的结果已经确定
+                double covered = coveredMeters(lat, ring);
+                if (covered >= maxRadiusMeters || countWithin(distances, covered) >= limit) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        // 按 (距离, ID) 升序排列，取前limit个
+        Integer[] order = new Integer[ids.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingDouble(distances::get).thenComparing(ids::get));
+        Map<Long, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < order.length && result.size() < limit; i++) {
+            result.put(ids.get(order[i]), distances.get(order[i]));
+        }
+        return result;
+    }
+    
+    /**
+     * 游标之后的物品可能出现的第一圈
+     * 第r圈以内的点与中心点的距离不超过纬度、经度方向各(r+1)个网格边长之和，该上限小于游标距离的圈可以跳过
+     */
+    private static long firstRing(double afterDistance) {
+        double ringMeters = 2 * NEARBY_CELL_DEGREES * Math.toRadians(1) * GeoDistance.EARTH_RADIUS;
+        return Math.max(0, (long) Math.ceil(afterDistance / ringMeters) - 1);
+    }
+    
+    /**
+     * 扫描到第ring圈后可以保证覆盖的半径（米）
+     * 中心点到已扫描正方形边界的最短距离不小于ring个网格边长，经度方向按正方形内离赤道最远的纬度折算
+     */
+    private static double coveredMeters(double lat, long ring) {
+        double farthestLat = Math.min(Math.abs(lat) + (ring + 1) * NEARBY_CELL_DEGREES, 89.0);
+        return ring * NEARBY_CELL_DEGREES * GeoDistance.METERS_PER_DEGREE * Math.cos(Math.toRadians(farthestLat));
+    }
+    
+    private static int countWithin(List<Double> distances, double meters) {
+        int count = 0;
+        for (double distance : distances) {
+            if (distance <= meters) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * 收集网格中排在游标之后、位于最大半径内且满足筛选条件的物品
+     */
+    private void collectNearest(Set<Long> cell, double lng, double lat, double maxRadiusMeters,
+                                double afterDistance, long afterId, Predicate<IndexedItem> filter,
+                                List<Long> ids, List<Double> distances) {
+        for (Long id : cell) {
+            IndexedItem entry = state.items.get(id);
+            if (entry == null || (filter != null && !filter.test(entry))) {
+                continue;
+            }
+            double distance = GeoDistance.meters(lng, lat, entry.getLongitude(), entry.getLatitude());
+            if (distance > maxRadiusMeters) {
+                continue;
+            }
+            if (distance > afterDistance || (distance == afterDistance && id > afterId)) {
+                ids.add(id);
+                distances.add(distance);
+            }
+        }
+    }
+    
+    /**
+     * 收集网格中位于圆形范围内的物品
+     */
+    private void collectInRadius(Set<Long> cell, double lng, double lat, double radiusMeters,
+                                 List<Long> ids, List<Double> distances) {
+        for (Long id : cell) {
+            IndexedItem entry = state.items.get(id);
+            if (entry == null) {
+                continue;
+            }
+            double distance = GeoDistance.meters(lng, lat, entry.getLongitude(), entry.getLatitude());
+            if (distance <= radiusMeters) {
+                ids.add(id);
+                distances.add(distance);
+            }
+        }
+    }
+    
+    /**
+     * 首次使用时加载索引
+     */
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+    
+    /**
+     * 同步索引，通知物品已变更，并广播给其他节点
+     */
+    private void doRefresh(Long itemId) {
+        updateIndex(itemId);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
+        try {
+            redisUtil.publish(matchProperties.getIndexChannel(), nodeId + BROADCAST_SEPARATOR + itemId);
+        } catch (Exception e) {
+            // 广播失败时其他节点等待定时全量重建
+            log.warn("广播索引刷新失败: itemId={}", itemId, e);
+        }
+    }
+    
+    /**
+     * 从数据库读取单个物品并更新索引
+     * 索引尚未加载且没有正在进行的重建时跳过，首次加载会读取最新数据
+     */
+    private void updateIndex(Long itemId) {
+        if (!loaded && rebuildTouched == null) {
+            return;
+        }
+        try {
+            Item item = itemMapper.selectById(itemId);
+            IndexedItem entry = null;
+            if (item != null && (item.getDeleted() == null || item.getDeleted() == 0)) {
+                LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
+                tagWrapper.eq(ItemTag::getItemId, itemId);
+                List<String> tags = itemTagMapper.selectList(tagWrapper).stream()
+                        .map(ItemTag::getTag)
+                        .collect(Collectors.toList());
+                entry = IndexedItem.of(item, tags);
+            }
+            
+            lock.writeLock().lock();
+            try {
+                state.remove(itemId);
+                if (entry != null) {
+                    state.add(entry);
+                }
+                Set<Long> touched = rebuildTouched;
+                if (touched != null) {
+                    touched.add(itemId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("物品索引已同步: itemId={}, 在索引中={}", itemId, entry != null);
+        } catch (Exception e) {
+            log.error("同步物品索引失败: itemId={}", itemId, e);
+        }
+    }
+    
+    /**
+     * 收集时空邻域内的候选物品
+     * 要求与待匹配物品相距5公里以内且时间相差7天以内
+     */
+    private void collectNeighbors(Partition partition, Item item, Set<Long> candidateIds) {
+        if (item.getLongitude() == null || item.getLatitude() == null || item.getEventTime() == null) {
+            return;
+        }
+        
+        double lng = item.getLongitude().doubleValue();
+        double lat = item.getLatitude().doubleValue();
+        
+        // 纬度1度约111km，经度1度约111km*cos(纬度)
+        double latDelta = NEIGHBOR_RADIUS_METERS / 111000.0;
+        double lngDelta = NEIGHBOR_RADIUS_METERS / (111000.0 * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+        int latSpan = (int) Math.ceil(latDelta / CELL_DEGREES);
+        int lngSpan = (int) Math.ceil(lngDelta / CELL_DEGREES);
+        
+        long latCell = cellIndex(lat);
+        long lngCell = cellIndex(lng);
+        LocalDateTime eventTime = item.getEventTime();
+        
+        for (long i = latCell - latSpan; i <= latCell + latSpan; i++) {
+            for (long j = lngCell - lngSpan; j <= lngCell + lngSpan; j++) {
+                Set<Long> ids = partition.byCell.get(cellKey(i, j));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    IndexedItem candidate = partition.items.get(id);
+                    if (candidate != null && candidate.getEventTime() != null &&
+                        Math.abs(ChronoUnit.DAYS.between(eventTime, candidate.getEventTime())) <= NEIGHBOR_DAYS) {
+                        candidateIds.add(id);
+                    }
+                }
+            }
+        }
+    }
+    
+    private static void addAll(Set<Long> target, Set<Long> source) {
+        if (source != null) {
+            target.addAll(source);
+        }
+    }
+    
+    private static String partitionKey(Integer type, Integer status) {
+        return type + ":" + status;
+    }
+    
+    private static long cellIndex(double degrees) {
+        return cellIndex(degrees, CELL_DEGREES);
+    }
+    
+    private static long cellIndex(double degrees, double cellDegrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+    
+    private static long cellKey(long latCell, long lngCell) {
+        return (latCell << 32) | (lngCell & 0xffffffffL);
+    }
+    
+    /**
+     * 索引数据
+     * 所有读写均在外层读写锁保护下进行
+     */
+    private static class IndexState {
+        
+        private final Map<Long, IndexedItem> items = new HashMap<>();
+        private final Map<String, Partition> partitions = new HashMap<>();
+        private final Map<Long, Set<Long>> byNearbyCell = new HashMap<>();
+        
+        void add(IndexedItem entry) {
+            items.put(entry.getId(), entry);
+            partitions.computeIfAbsent(partitionKey(entry.getType(), entry.getStatus()), k -> new Partition())
+                      .add(entry);
+            if (entry.hasLocation()) {
+                Partition.addPosting(byNearbyCell, nearbyCellOf(entry), entry.getId());
+            }
+        }
+        
+        void remove(Long itemId) {
+            IndexedItem old = items.remove(itemId);
+            if (old != null) {
+                if (old.hasLocation()) {
+                    Partition.removePosting(byNearbyCell, nearbyCellOf(old), itemId);
+                }
+                Partition partition = partitions.get(partitionKey(old.getType(), old.getStatus()));
+                if (partition != null) {
+                    partition.remove(old);
+                }
+            }
+        }
+    }
+    
+    private static long nearbyCellOf(IndexedItem entry) {
+        return cellKey(cellIndex(entry.getLatitude(), NEARBY_CELL_DEGREES),
+                       cellIndex(entry.getLongitude(), NEARBY_CELL_DEGREES));
+    }
+    
+    /**
+     * (类型, 状态)分区及其倒排表
+     */
+    private static class Partition {
+        
+        private final Map<Long, IndexedItem> items = new HashMap<>();
+        private final Map<String, Set<Long>> byCategory = new HashMap<>();
+        private final Map<String, Set<Long>> byTag = new HashMap<>();
+        private final Map<Long, Set<Long>> byCell = new HashMap<>();
+        
+        void add(IndexedItem entry) {
+            items.put(entry.getId(), entry);
+            if (entry.getCategory() != null) {
+                addPosting(byCategory, entry.getCategory(), entry.getId());
+            }
+            for (String tag : entry.getTags()) {
+                addPosting(byTag, tag, entry.getId());
+            }
+            if (entry.hasLocation()) {
+                addPosting(byCell, cellOf(entry), entry.getId());
+            }
+        }
+        
+        void remove(IndexedItem entry) {
+            items.remove(entry.getId());
+            if (entry.getCategory() != null) {
+                removePosting(byCategory, entry.getCategory(), entry.getId());
+            }
+            for (String tag : entry.getTags()) {
+                removePosting(byTag, tag, entry.getId());
+            }
+            if (entry.hasLocation()) {
+                removePosting(byCell, cellOf(entry), entry.getId());
+            }
+        }
+        
+        private static long cellOf(IndexedItem entry) {
+            return cellKey(cellIndex(entry.getLatitude()), cellIndex(entry.getLongitude()));
+        }
+        
+        private static <K> void addPosting(Map<K, Set<Long>> postings, K key, Long id) {
+            postings.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+        }
+        
+        private static <K> void removePosting(Map<K, Set<Long>> postings, K key, Long id) {
+            Set<Long> ids = postings.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.campus.lostandfound.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.lostandfound.model.entity.ItemImage;
+import com.campus.lostandfound.model.entity.ItemTag;
+import com.campus.lostandfound.model.vo.TagInfo;
+import com.campus.lostandfound.repository.ItemImageMapper;
+import com.campus.lostandfound.repository.ItemTagMapper;
+import com.campus.lostandfound.service.ItemMediaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 物品图片与标签持久化服务实现类
+ * 
+ * 图片按URL与已有记录匹配（同一URL出现多次时依次匹配）：
+ * - 未匹配到的新URL: 多行INSERT
+ * - 未被匹配的旧记录: DELETE ... WHERE id IN
+ * - 已匹配但位置变化的记录: 一条CASE语句更新排序号
+ * 内容和顺序都没有变化时只产生一次查询
+ * 
+ * 标签按名称匹配，规则相同，置信度变化的标签批量更新
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemMediaServiceImpl implements ItemMediaService {
+    
+    private final ItemImageMapper itemImageMapper;
+    private final ItemTagMapper itemTagMapper;
+    
+    @Override
+    public boolean saveImages(Long itemId, List<String> urls) {
+        List<String> target = urls != null ? urls : List.of();
+        
+        LambdaQueryWrapper<ItemImage> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ItemImage::getItemId, itemId)
+               .orderByAsc(ItemImage::getSort);
+        List<ItemImage> existing = itemImageMapper.selectList(wrapper);
+        
+        Map<String, Deque<ItemImage>> existingByUrl = new LinkedHashMap<>();
+        for (ItemImage image : existing) {
+            existingByUrl.computeIfAbsent(image.getUrl(), k -> new ArrayDeque<>()).add(image);
+        }
+        
+        List<ItemImage> toInsert = new ArrayList<>();
+        List<ItemImage> toResort = new ArrayList<>();
+        for (int i = 0; i < target.size(); i++) {
+            String url = target.get(i);
+            Deque<ItemImage> candidates = existingByUrl.get(url);
+            ItemImage kept = candidates != null ? candidates.poll() : null;
+            if (kept == null) {
+                ItemImage image = new ItemImage();
+                image.setItemId(itemId);
+                image.setUrl(url);
+                image.setSort(i);
+                toInsert.add(image);
+            } else if (!Objects.equals(kept.getSort(), i)) {
+                ItemImage image = new ItemImage();
+                image.setId(kept.getId());
+                image.setSort(i);
+                toResort.add(image);
+            }
+        }
+        List<Long> toDelete = existingByUrl.values().stream()
+                .flatMap(Deque::stream)
+                .map(ItemImage::getId)
+                .toList();
+        
+        if (!toDelete.isEmpty()) {
+            itemImageMapper.deleteBatchIds(toDelete);
+        }
+        if (!toResort.isEmpty()) {
+            itemImageMapper.updateSortBatch(toResort);
+        }
+        if (!toInsert.isEmpty()) {
+            itemImageMapper.insertBatch(toInsert);
+        }
+        if (!toDelete.isEmpty() || !toResort.isEmpty() || !toInsert.isEmpty()) {
+            log.info("保存图片: itemId={}, 新增={}, 删除={}, 调整顺序={}",
+                    itemId, toInsert.size(), toDelete.size(), toResort.size());
+        }
+        
+        String oldCover = existing.isEmpty() ? null : existing.get(0).getUrl();
+        String newCover = target.isEmpty() ? null : target.get(0);
+        return !Objects.equals(oldCover, newCover);
+    }
+    
+    @Override
+    public void saveTags(Long itemId, List<TagInfo> tags) {
+        Map<String, TagInfo> target = new LinkedHashMap<>();
+        if (tags != null) {
+            for (TagInfo tag : tags) {
+                if (tag != null && StringUtils.hasText(tag.getTag())) {
+                    target.putIfAbsent(tag.getTag(), tag);
+                }
+            }
+        }
+        
+        LambdaQueryWrapper<ItemTag> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ItemTag::getItemId, itemId);
+        List<ItemTag> existing = itemTagMapper.selectList(wrapper);
+        
+        Set<String> kept = new HashSet<>();
+        List<Long> toDelete = new ArrayList<>();
+        List<ItemTag> toUpdate = new ArrayList<>();
+        for (ItemTag itemTag : existing) {
+            TagInfo wanted = target.get(itemTag.getTag());
+            // 不再需要的标签和重复的同名标签都删除
+            if (wanted == null || !kept.add(itemTag.getTag())) {
+                toDelete.add(itemTag.getId());
+            } else if (!sameConfidence(itemTag.getConfidence(), wanted.getConfidence())) {
+                ItemTag update = new ItemTag();
+                update.setId(itemTag.getId());
+                update.setConfidence(wanted.getConfidence());
+                toUpdate.add(update);
+            }
+        }
+        List<ItemTag> toInsert = new ArrayList<>();
+        for (TagInfo tag : target.values()) {
+            if (!kept.contains(tag.getTag())) {
+                ItemTag itemTag = new ItemTag();
+                itemTag.setItemId(itemId);
+                itemTag.setTag(tag.getTag());
+                itemTag.setConfidence(tag.getConfidence());
+                toInsert.add(itemTag);
+            }
+        }
+        
+        if (!toDelete.isEmpty()) {
+            itemTagMapper.deleteBatchIds(toDelete);
+        }
+        if (!toUpdate.isEmpty()) {
+            itemTagMapper.updateConfidenceBatch(toUpdate);
+        }
+        if (!toInsert.isEmpty()) {
+            itemTagMapper.insertBatch(toInsert);
+        }
+        log.info("保存标签: itemId={}, 新增={}, 删除={}, 更新置信度={}",
+                itemId, toInsert.size(), toDelete.size(), toUpdate.size());
+    }
+    
+    /**
+     * 按数值比较置信度，忽略DECIMAL列带来的精度差异
+     */
+    private boolean sameConfidence(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.compareTo(b) == 0;
+    }
+}
@@ -2,9 +2,13 @@ package com.campus.lostandfound.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.lostandfound.common.DistanceCursor;
+import com.campus.lostandfound.common.PageCursor;
 import com.campus.lostandfound.common.PageResult;
 import com.campus.lostandfound.common.Result;
+import com.campus.lostandfound.config.SearchProperties;
 import com.campus.lostandfound.exception.NotFoundException;
+import com.campus.lostandfound.exception.ValidationException;
 import com.campus.lostandfound.model.dto.ItemDTO;
 import com.campus.lostandfound.model.dto.ItemSearchDTO;
 import com.campus.lostandfound.model.entity.Item;
@@ -12,39 +16,47 @@ import com.campus.lostandfound.model.entity.ItemImage;
 import com.campus.lostandfound.model.entity.ItemTag;
 import com.campus.lostandfound.model.entity.User;
 import com.campus.lostandfound.model.vo.ItemDetailVO;
+import com.campus.lostandfound.model.vo.ItemMediaVO;
 import com.campus.lostandfound.model.vo.ItemVO;
 import com.campus.lostandfound.model.vo.MatchVO;
+import com.campus.lostandfound.model.vo.UserVO;
 import com.campus.lostandfound.repository.ItemImageMapper;
 import com.campus.lostandfound.repository.ItemMapper;
 import com.campus.lostandfound.repository.ItemTagMapper;
 import com.campus.lostandfound.repository.UserMapper;
 import com.campus.lostandfound.service.CacheService;
-import com.campus.lostandfound.service.ImageRecognitionService;
+import com.campus.lostandfound.service.HotItemService;
+import com.campus.lostandfound.service.ItemAssembler;
+import com.campus.lostandfound.service.ItemIndexService;
+import com.campus.lostandfound.service.ItemMediaService;
 import com.campus.lostandfound.service.ItemService;
 import com.campus.lostandfound.service.LocationService;
 import com.campus.lostandfound.service.MatchService;
+import com.campus.lostandfound.service.OutboxService;
 import com.campus.lostandfound.service.PointService;
+import com.campus.lostandfound.service.ViewCountService;
 import com.campus.lostandfound.model.vo.GeoPoint;
-import com.campus.lostandfound.util.RedisUtil;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.campus.lostandfound.service.match.IndexedItem;
+import com.campus.lostandfound.service.outbox.OutboxEventType;
+import com.campus.lostandfound.util.FulltextQuery;
+import com.campus.lostandfound.util.GeoDistance;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -57,23 +69,47 @@ public class ItemServiceImpl implements ItemService {
     
     // 缓存键前缀
     private static final String ITEM_DETAIL_CACHE_KEY = "item:detail:";
-    private static final String ITEM_SEARCH_CACHE_KEY = "item:search:";
+    
+    // 物品详情缓存片段
+    private static final String DETAIL_CORE = "core";
+    private static final String DETAIL_MEDIA = "media";
+    private static final String DETAIL_PUBLISHER = "publisher";
+    private static final String DETAIL_MATCH = "match";
+    private static final List<TypeReference<?>> DETAIL_FRAGMENT_TYPES = List.of(
+            new TypeReference<Item>() {}, new TypeReference<ItemMediaVO>() {},
+            new TypeReference<UserVO>() {}, new TypeReference<List<MatchVO>>() {});
     
     // 缓存过期时间
     private static final long ITEM_DETAIL_CACHE_MINUTES = 30;
+    private static final long ITEM_PUBLISHER_CACHE_MINUTES = 10;
+    private static final long ITEM_MATCH_CACHE_MINUTES = 5;
     private static final long ITEM_SEARCH_CACHE_MINUTES = 5;
     
+    /**
+     * 按距离排序时每批从索引取出的最少候选数
+     */
+    private static final int DISTANCE_SEARCH_MIN_BATCH = 50;
+    
+    /**
+     * 按距离排序时每批从索引取出的最多候选数，与IN查询的参数个数相当
+     */
+    private static final int DISTANCE_SEARCH_MAX_BATCH = 1000;
+    
     private final ItemMapper itemMapper;
     private final ItemImageMapper itemImageMapper;
     private final ItemTagMapper itemTagMapper;
     private final UserMapper userMapper;
     private final PointService pointService;
-    private final ImageRecognitionService imageRecognitionService;
     private final MatchService matchService;
     private final LocationService locationService;
-    private final RedisUtil redisUtil;
-    private final ObjectMapper objectMapper;
     private final CacheService cacheService;
+    private final ItemIndexService itemIndexService;
+    private final ItemAssembler itemAssembler;
+    private final ItemMediaService itemMediaService;
+    private final OutboxService outboxService;
+    private final ViewCountService viewCountService;
+    private final HotItemService hotItemService;
+    private final SearchProperties searchProperties;
     
     /**
      * 发布失物/招领信息
@@ -96,16 +132,7 @@ public class ItemServiceImpl implements ItemService {
         log.info("物品信息保存成功，ID: {}", item.getId());
         
         // 3. 批量保存图片到item_image表
-        List<ItemImage> images = new ArrayList<>();
-        for (int i = 0; i < dto.getImages().size(); i++) {
-            ItemImage image = new ItemImage();
-            image.setItemId(item.getId());
-            image.setUrl(dto.getImages().get(i));
-            image.setSort(i);
-            images.add(image);
-        }
-        images.forEach(itemImageMapper::insert);
-        log.info("保存 {} 张图片", images.size());
+        itemMediaService.saveImages(item.getId(), dto.getImages());
         
         // 4. 如果type=1(招领)，调用PointService为用户增加10积分
         if (dto.getType() == 1) {
@@ -113,13 +140,15 @@ public class ItemServiceImpl implements ItemService {
             log.info("用户 {} 发布招领信息，增加10积分", userId);
         }
         
-        // 5. 异步调用ImageRecognitionService识别图片，保存标签到item_tag表
+        // 5. 提交后同步物品索引
+        itemIndexService.refresh(item.getId());
+        
+        // 6. 同一事务写入发件箱事件，提交后分发：清除所在分区的搜索缓存、识别首图并保存标签、计算匹配并通知
+        invalidateItemCache(item.getId(), item.getType(), item.getCategory(), item.getType(), item.getCategory());
         if (!dto.getImages().isEmpty()) {
-            asyncRecognizeImage(dto.getImages().get(0), item.getId());
+            recognizeCover(item.getId(), dto.getImages().get(0));
         }
-        
-        // 6. 异步调用MatchService执行匹配计算
-        asyncCalculateMatch(item);
+        outboxService.enqueue(item.getId(), OutboxEventType.MATCH, null);
         
         // 7. 返回ItemVO
         return convertToVO(item);
@@ -147,54 +176,29 @@ public class ItemServiceImpl implements ItemService {
             throw new com.campus.lostandfound.exception.ForbiddenException("无权修改他人发布的信息");
         }
         
-        // 3. 查询旧图片列表，用于判断图片是否变更
-        LambdaQueryWrapper<ItemImage> oldImageWrapper = new LambdaQueryWrapper<>();
-        oldImageWrapper.eq(ItemImage::getItemId, id);
-        List<ItemImage> oldImages = itemImageMapper.selectList(oldImageWrapper);
-        List<String> oldImageUrls = oldImages.stream()
-                                             .map(ItemImage::getUrl)
-                                             .collect(Collectors.toList());
-        
-        // 4. 更新物品基本信息
+        // 3. 更新物品基本信息，记录变更前的类型和类别用于清除搜索缓存分区
+        Integer oldType = item.getType();
+        String oldCategory = item.getCategory();
         BeanUtils.copyProperties(dto, item);
         item.setId(id);  // 确保ID不变
         item.setUserId(userId);  // 确保发布者不变
         itemMapper.updateById(item);
         log.info("物品基本信息更新成功: itemId={}", id);
         
-        // 5. 删除旧图片记录，插入新图片记录
-        LambdaQueryWrapper<ItemImage> deleteWrapper = new LambdaQueryWrapper<>();
-        deleteWrapper.eq(ItemImage::getItemId, id);
-        itemImageMapper.delete(deleteWrapper);
-        
-        List<ItemImage> newImages = new ArrayList<>();
-        for (int i = 0; i < dto.getImages().size(); i++) {
-            ItemImage image = new ItemImage();
-            image.setItemId(id);
-            image.setUrl(dto.getImages().get(i));
-            image.setSort(i);
-            newImages.add(image);
-        }
-        newImages.forEach(itemImageMapper::insert);
-        log.info("更新图片记录: 删除 {} 张，新增 {} 张", oldImages.size(), newImages.size());
-        
-        // 6. 如果图片变更，重新调用AI识别更新标签
-        boolean imagesChanged = !oldImageUrls.equals(dto.getImages());
-        if (imagesChanged && !dto.getImages().isEmpty()) {
-            log.info("图片已变更，重新识别: itemId={}", id);
-            // 删除旧标签
-            LambdaQueryWrapper<ItemTag> deleteTagWrapper = new LambdaQueryWrapper<>();
-            deleteTagWrapper.eq(ItemTag::getItemId, id);
-            itemTagMapper.delete(deleteTagWrapper);
-            
-            // 异步识别新图片
-            asyncRecognizeImage(dto.getImages().get(0), id);
+        // 4. 只写入新增、删除和顺序变化的图片记录
+        boolean coverChanged = itemMediaService.saveImages(id, dto.getImages());
+        
+        // 5. 首图变化时重新识别，识别完成后按差异替换标签；首图未变时保留原有标签，不再调用识别API
+        if (coverChanged && !dto.getImages().isEmpty()) {
+            log.info("首图已变更，重新识别: itemId={}", id);
+            recognizeCover(id, dto.getImages().get(0));
         }
         
-        // 7. 清除物品详情缓存
-        invalidateItemCache(id);
+        // 6. 清除物品详情缓存和新旧分区的搜索缓存，同步物品索引
+        invalidateItemCache(id, item.getType(), item.getCategory(), oldType, oldCategory);
+        itemIndexService.refresh(id);
         
-        // 8. 返回更新后的ItemVO
+        // 7. 返回更新后的ItemVO
         return convertToVO(item);
     }
     
@@ -225,155 +229,142 @@ public class ItemServiceImpl implements ItemService {
         itemMapper.updateById(item);
         log.info("物品信息软删除成功: itemId={}", id);
         
-        // 4. 清除物品详情缓存
-        invalidateItemCache(id);
+        // 4. 清除物品详情缓存和所在分区的搜索缓存，从物品索引中移除
+        invalidateItemCache(id, item.getType(), item.getCategory(), item.getType(), item.getCategory());
+        itemIndexService.refresh(id);
     }
     
     /**
      * 清除物品相关缓存
-     * 使用CacheService统一管理缓存清除
+     * 写入发件箱事件，提交后清除物品详情缓存和所在分区的搜索缓存，避免并发查询在提交前把旧数据写回缓存；
+     * 类型或类别变化时同时清除旧分区
      */
-    private void invalidateItemCache(Long itemId) {
-        // 使用CacheService清除物品相关的所有缓存
-        cacheService.evictItemRelatedCache(itemId);
+    private void invalidateItemCache(Long itemId, Integer type, String category, Integer oldType, String oldCategory) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", type);
+        payload.put("category", category);
+        if (!Objects.equals(oldType, type) || !Objects.equals(oldCategory, category)) {
+            payload.put("oldType", oldType);
+            payload.put("oldCategory", oldCategory);
+        }
+        outboxService.enqueue(itemId, OutboxEventType.EVICT_CACHE, payload);
     }
     
     /**
      * 获取物品详情
-     * 使用Redis缓存，过期时间30分钟
+     * 
+     * 详情按片段缓存，各片段独立过期，读取时一次MGET取回：
+     * - core: 物品基本信息，30分钟
+     * - media: 图片和标签，30分钟
+     * - publisher: 发布者姓名和头像，10分钟
+     * - match: 匹配推荐列表，5分钟，新的匹配物品在到期后出现，无需重建其他片段
+     * 浏览次数不在缓存中，每次从计数器读取，浏览不会使任何片段失效
      */
     @Override
     public ItemDetailVO getDetail(Long id) {
         log.info("获取物品详情: itemId={}", id);
         
-        String cacheKey = ITEM_DETAIL_CACHE_KEY + id;
-        
-        // 1. 尝试从缓存获取
-        String cachedData = redisUtil.get(cacheKey);
-        if (cachedData != null) {
-            try {
-                ItemDetailVO cachedVO = objectMapper.readValue(cachedData, ItemDetailVO.class);
-                log.info("物品详情缓存命中: itemId={}", id);
-                
-                // 增加浏览次数（即使缓存命中也要增加）
-                String viewKey = "item:view:" + id;
-                Long currentViewCount = redisUtil.increment(viewKey);
-                cachedVO.setViewCount(currentViewCount.intValue());
-                
-                // 异步更新数据库浏览次数
-                asyncUpdateViewCount(id, currentViewCount.intValue());
-                
-                return cachedVO;
-            } catch (JsonProcessingException e) {
-                log.warn("解析物品详情缓存失败: itemId={}", id, e);
+        String keyPrefix = ITEM_DETAIL_CACHE_KEY + id + ":";
+        
+        // 1. 一次读取全部片段（本地缓存 -> Redis MGET）
+        List<Object> fragments = cacheService.multiGet(
+                List.of(keyPrefix + DETAIL_CORE, keyPrefix + DETAIL_MEDIA,
+                        keyPrefix + DETAIL_PUBLISHER, keyPrefix + DETAIL_MATCH),
+                DETAIL_FRAGMENT_TYPES);
+        Item item = (Item) fragments.get(0);
+        ItemMediaVO media = (ItemMediaVO) fragments.get(1);
+        UserVO publisher = (UserVO) fragments.get(2);
+        @SuppressWarnings("unchecked")
+        List<MatchVO> matchRecommendations = (List<MatchVO>) fragments.get(3);
+        
+        // 2. 逐个补齐未命中的片段
+        if (item == null) {
+            item = itemMapper.selectById(id);
+            if (item == null || item.getDeleted() == 1) {
+                log.warn("物品不存在或已删除: itemId={}", id);
+                throw new NotFoundException("物品信息不存在");
             }
+            cacheService.put(keyPrefix + DETAIL_CORE, item, ITEM_DETAIL_CACHE_MINUTES, TimeUnit.MINUTES);
         }
-        
-        // 2. 缓存未命中，从数据库查询
-        Item item = itemMapper.selectById(id);
-        if (item == null || item.getDeleted() == 1) {
-            log.warn("物品不存在或已删除: itemId={}", id);
-            throw new NotFoundException("物品信息不存在");
+        if (media == null) {
+            media = loadMedia(id);
+            cacheService.put(keyPrefix + DETAIL_MEDIA, media, ITEM_DETAIL_CACHE_MINUTES, TimeUnit.MINUTES);
+        }
+        if (publisher == null) {
+            publisher = loadPublisher(item.getUserId());
+            cacheService.put(keyPrefix + DETAIL_PUBLISHER, publisher, ITEM_PUBLISHER_CACHE_MINUTES, TimeUnit.MINUTES);
+        }
+        if (matchRecommendations == null) {
+            // 调用MatchService获取匹配推荐列表（前10条）
+            Result<List<MatchVO>> matchResult = matchService.getRecommendations(id);
+            matchRecommendations = matchResult.getData() != null ? matchResult.getData() : new ArrayList<>();
+            cacheService.put(keyPrefix + DETAIL_MATCH, matchRecommendations, ITEM_MATCH_CACHE_MINUTES, TimeUnit.MINUTES);
         }
         
-        // 3. 使用Redis原子操作增加浏览次数: INCR item:view:{id}
-        String viewKey = "item:view:" + id;
-        Long currentViewCount = redisUtil.increment(viewKey);
+        // 3. 使用Redis原子操作增加浏览次数，数据库由定时任务批量回写
+        long currentViewCount = viewCountService.increment(id);
         log.info("物品 {} 浏览次数增加到: {}", id, currentViewCount);
         
-        // 4. 更新数据库浏览次数
-        item.setViewCount(currentViewCount.intValue());
-        itemMapper.updateById(item);
-        
-        // 5. 查询发布者信息
-        User user = userMapper.selectById(item.getUserId());
-        
-        // 6. 调用MatchService获取匹配推荐列表（前10条）
-        Result<List<MatchVO>> matchResult = matchService.getRecommendations(id);
-        List<MatchVO> matchRecommendations = matchResult.getData() != null ? matchResult.getData() : new ArrayList<>();
-        
-        // 7. 组装ItemDetailVO返回
+        // 4. 组装ItemDetailVO返回，片段对象在请求间共享，只读取不修改
         ItemDetailVO detailVO = new ItemDetailVO();
         BeanUtils.copyProperties(item, detailVO);
-        
-        // 设置发布者信息
-        if (user != null) {
-            detailVO.setUserName(user.getName());
-            detailVO.setUserAvatar(user.getAvatar());
-        }
-        
-        // 查询图片列表
-        LambdaQueryWrapper<ItemImage> imageWrapper = new LambdaQueryWrapper<>();
-        imageWrapper.eq(ItemImage::getItemId, id)
-                   .orderByAsc(ItemImage::getSort);
-        List<ItemImage> images = itemImageMapper.selectList(imageWrapper);
-        detailVO.setImages(images.stream()
-                                .map(ItemImage::getUrl)
-                                .collect(Collectors.toList()));
-        
-        // 查询标签列表
-        LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
-        tagWrapper.eq(ItemTag::getItemId, id);
-        List<ItemTag> tags = itemTagMapper.selectList(tagWrapper);
-        detailVO.setTags(tags.stream()
-                            .map(ItemTag::getTag)
-                            .collect(Collectors.toList()));
-        
-        // 设置匹配推荐列表
+        detailVO.setViewCount((int) currentViewCount);
+        detailVO.setUserName(publisher.getName());
+        detailVO.setUserAvatar(publisher.getAvatar());
+        detailVO.setImages(media.getImages());
+        detailVO.setTags(media.getTags());
         detailVO.setMatchRecommendations(matchRecommendations);
         
-        // 8. 存入缓存
-        try {
-            String jsonData = objectMapper.writeValueAsString(detailVO);
-            redisUtil.set(cacheKey, jsonData, ITEM_DETAIL_CACHE_MINUTES, TimeUnit.MINUTES);
-            log.info("物品详情已缓存: itemId={}", id);
-        } catch (JsonProcessingException e) {
-            log.warn("缓存物品详情失败: itemId={}", id, e);
-        }
-        
         log.info("物品详情查询成功: itemId={}, 推荐数量={}", id, matchRecommendations.size());
         return detailVO;
     }
     
     /**
-     * 异步更新数据库浏览次数
+     * 查询物品的图片和标签
      */
-    @Async
-    protected void asyncUpdateViewCount(Long itemId, Integer viewCount) {
-        try {
-            Item item = new Item();
-            item.setId(itemId);
-            item.setViewCount(viewCount);
-            itemMapper.updateById(item);
-        } catch (Exception e) {
-            log.error("异步更新浏览次数失败: itemId={}", itemId, e);
-        }
+    private ItemMediaVO loadMedia(Long itemId) {
+        LambdaQueryWrapper<ItemImage> imageWrapper = new LambdaQueryWrapper<>();
+        imageWrapper.eq(ItemImage::getItemId, itemId)
+                   .orderByAsc(ItemImage::getSort);
+        List<ItemImage> images = itemImageMapper.selectList(imageWrapper);
+        
+        LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
+        tagWrapper.eq(ItemTag::getItemId, itemId);
+        List<ItemTag> tags = itemTagMapper.selectList(tagWrapper);
+        
+        ItemMediaVO media = new ItemMediaVO();
+        media.setImages(images.stream()
+                             .map(ItemImage::getUrl)
+                             .collect(Collectors.toList()));
+        media.setTags(tags.stream()
+                         .map(ItemTag::getTag)
+                         .collect(Collectors.toList()));
+        return media;
     }
     
     /**
-     * 异步识别图片
+     * 查询发布者的公开信息，只保留姓名和头像
+     * 用户不存在时返回空对象，同样缓存以免重复查询
      */
-    @Async
-    protected void asyncRecognizeImage(String imageUrl, Long itemId) {
-        try {
-            log.info("开始异步识别图片: itemId={}", itemId);
-            imageRecognitionService.recognizeAndSaveTags(imageUrl, itemId);
-        } catch (Exception e) {
-            log.error("图片识别失败: itemId={}", itemId, e);
+    private UserVO loadPublisher(Long userId) {
+        UserVO publisher = new UserVO();
+        User user = userMapper.selectById(userId);
+        if (user != null) {
+            publisher.setId(user.getId());
+            publisher.setName(user.getName());
+            publisher.setAvatar(user.getAvatar());
         }
+        return publisher;
     }
     
     /**
-     * 异步执行匹配计算
+     * 写入图片识别事件，提交后识别首图并按差异替换标签
+     * 同一物品排队中的识别任务只保留最新图片
      */
-    @Async
-    protected void asyncCalculateMatch(Item item) {
-        try {
-            log.info("开始异步匹配计算: itemId={}", item.getId());
-            matchService.calculateMatchAsync(item);
-        } catch (Exception e) {
-            log.error("匹配计算失败: itemId={}", item.getId(), e);
-        }
+    private void recognizeCover(Long itemId, String imageUrl) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("imageUrl", imageUrl);
+        outboxService.enqueue(itemId, OutboxEventType.RECOGNIZE, payload);
     }
     
     /**
@@ -381,34 +372,7 @@ public class ItemServiceImpl implements ItemService {
      */
     @Override
     public ItemVO convertToVO(Item item) {
-        ItemVO vo = new ItemVO();
-        BeanUtils.copyProperties(item, vo);
-        
-        // 查询发布者信息
-        User user = userMapper.selectById(item.getUserId());
-        if (user != null) {
-            vo.setUserName(user.getName());
-            vo.setUserAvatar(user.getAvatar());
-        }
-        
-        // 查询图片列表
-        LambdaQueryWrapper<ItemImage> imageWrapper = new LambdaQueryWrapper<>();
-        imageWrapper.eq(ItemImage::getItemId, item.getId())
-                   .orderByAsc(ItemImage::getSort);
-        List<ItemImage> images = itemImageMapper.selectList(imageWrapper);
-        vo.setImages(images.stream()
-                          .map(ItemImage::getUrl)
-                          .collect(Collectors.toList()));
-        
-        // 查询标签列表
-        LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
-        tagWrapper.eq(ItemTag::getItemId, item.getId());
-        List<ItemTag> tags = itemTagMapper.selectList(tagWrapper);
-        vo.setTags(tags.stream()
-                      .map(ItemTag::getTag)
-                      .collect(Collectors.toList()));
-        
-        return vo;
+        return itemAssembler.toVO(item);
     }
     
     /**
@@ -433,10 +397,13 @@ public class ItemServiceImpl implements ItemService {
             throw new com.campus.lostandfound.exception.ForbiddenException("无权修改他人发布的信息");
         }
         
-        // 3. 更新类别
+        // 3. 更新类别，清除新旧类别分区的搜索缓存
+        String oldCategory = item.getCategory();
         item.setCategory(category);
         itemMapper.updateById(item);
         log.info("物品类别更新成功: itemId={}, category={}", id, category);
+        invalidateItemCache(id, item.getType(), category, item.getType(), oldCategory);
+        itemIndexService.refresh(id);
         
         // 4. 返回更新后的ItemVO
         return convertToVO(item);
@@ -461,43 +428,31 @@ public class ItemServiceImpl implements ItemService {
             radius = 1000;
         }
         
-        // 2. 调用LocationService.searchInRadius()获取范围内物品ID
-        List<Long> itemIds = locationService.searchInRadius(lng, lat, radius);
+        // 2. 调用LocationService.searchInRadiusWithDistance()获取范围内物品ID及距离
+        Map<Long, Double> distances = locationService.searchInRadiusWithDistance(lng, lat, radius);
         
-        if (itemIds.isEmpty()) {
+        if (distances.isEmpty()) {
             log.info("附近无物品: 中心点=({}, {}), 半径={}米", lng, lat, radius);
             return new ArrayList<>();
         }
         
-        log.info("范围内找到 {} 个物品ID", itemIds.size());
+        log.info("范围内找到 {} 个物品ID", distances.size());
         
-        // 3. 批量查询物品信息
-        List<Item> items = itemMapper.selectBatchIds(itemIds);
+        // 3. 批量查询物品信息（已删除的物品在此被过滤）
+        List<Item> items = itemMapper.selectBatchIds(distances.keySet());
         
         if (items.isEmpty()) {
             return new ArrayList<>();
         }
         
-        // 4. 转换为ItemVO并计算距离
-        GeoPoint center = GeoPoint.of(lng, lat);
-        
-        List<ItemVO> result = items.stream()
-                .map(item -> {
-                    ItemVO vo = convertToVO(item);
-                    
-                    // 计算每个物品与中心点的距离
-                    if (item.getLongitude() != null && item.getLatitude() != null) {
-                        GeoPoint itemPoint = GeoPoint.of(
-                                item.getLongitude().doubleValue(),
-                                item.getLatitude().doubleValue()
-                        );
-                        Double distance = locationService.calculateDistance(center, itemPoint);
-                        vo.setDistance(distance);
-                    }
-                    
-                    return vo;
-                })
-                // 5. 按距离升序排序
+        // 4. 批量转换为ItemVO，距离直接取范围查询的结果
+        List<ItemVO> voList = itemAssembler.toVOList(items);
+        for (ItemVO vo : voList) {
+            vo.setDistance(distances.get(vo.getId()));
+        }
+        
+        // 5. 按距离升序排序
+        List<ItemVO> result = voList.stream()
                 .sorted(Comparator.comparing(ItemVO::getDistance, Comparator.nullsLast(Comparator.naturalOrder())))
                 .collect(Collectors.toList());
         
@@ -512,7 +467,7 @@ public class ItemServiceImpl implements ItemService {
      * 使用Redis缓存，过期时间5分钟
      */
     @Override
-    public PageResult<ItemVO> search(ItemSearchDTO dto) {
+    public PageResult<ItemVO> search(ItemSearchDTO dto, Long userId) {
         log.info("搜索物品: keyword={}, type={}, category={}, status={}, sortBy={}, pageNum={}, pageSize={}",
                 dto.getKeyword(), dto.getType(), dto.getCategory(), dto.getStatus(), 
                 dto.getSortBy(), dto.getPageNum(), dto.getPageSize());
@@ -525,84 +480,68 @@ public class ItemServiceImpl implements ItemService {
             pageSize = 20;
         }
         
-        // 2. 生成缓存键
-        String cacheKey = generateSearchCacheKey(dto, pageNum, pageSize);
+        // 2. 生成缓存键，拼入搜索条件所在分区的缓存代数；按匹配度排序的结果因人而异，键中带上用户ID
+        Long rankUserId = "match".equalsIgnoreCase(dto.getSortBy()) ? userId : null;
+        String generation = cacheService.getItemSearchGeneration(dto.getType(), dto.getCategory());
+        String cacheKey = SearchCacheKeys.of(dto, rankUserId, generation, pageNum, pageSize);
         
-        // 3. 尝试从缓存获取
-        String cachedData = redisUtil.get(cacheKey);
-        if (cachedData != null) {
-            try {
-                PageResult<ItemVO> cachedResult = objectMapper.readValue(cachedData, 
-                        new TypeReference<PageResult<ItemVO>>() {});
-                log.info("搜索结果缓存命中: cacheKey={}", cacheKey);
-                return cachedResult;
-            } catch (JsonProcessingException e) {
-                log.warn("解析搜索结果缓存失败: cacheKey={}", cacheKey, e);
-            }
+        // 3. 尝试从缓存获取（本地缓存 -> Redis）
+        PageResult<ItemVO> cachedResult = cacheService.get(cacheKey, new TypeReference<PageResult<ItemVO>>() {});
+        if (cachedResult != null) {
+            log.info("搜索结果缓存命中: cacheKey={}", cacheKey);
+            return cachedResult;
         }
         
         // 4. 缓存未命中，执行搜索
-        PageResult<ItemVO> result = doSearch(dto, pageNum, pageSize);
+        PageResult<ItemVO> result = doSearch(dto, rankUserId, pageNum, pageSize);
         
         // 5. 存入缓存
-        try {
-            String jsonData = objectMapper.writeValueAsString(result);
-            redisUtil.set(cacheKey, jsonData, ITEM_SEARCH_CACHE_MINUTES, TimeUnit.MINUTES);
-            log.info("搜索结果已缓存: cacheKey={}", cacheKey);
-        } catch (JsonProcessingException e) {
-            log.warn("缓存搜索结果失败: cacheKey={}", cacheKey, e);
-        }
+        cacheService.put(cacheKey, result, ITEM_SEARCH_CACHE_MINUTES, TimeUnit.MINUTES);
+        log.info("搜索结果已缓存: cacheKey={}", cacheKey);
         
         return result;
     }
     
-    /**
-     * 生成搜索缓存键
-     * 使用MD5哈希搜索参数
-     */
-    private String generateSearchCacheKey(ItemSearchDTO dto, int pageNum, int pageSize) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(dto.getKeyword() != null ? dto.getKeyword() : "");
-        sb.append("|").append(dto.getType() != null ? dto.getType() : "");
-        sb.append("|").append(dto.getCategory() != null ? dto.getCategory() : "");
-        sb.append("|").append(dto.getStatus() != null ? dto.getStatus() : "");
-        sb.append("|").append(dto.getStartTime() != null ? dto.getStartTime().toString() : "");
-        sb.append("|").append(dto.getEndTime() != null ? dto.getEndTime().toString() : "");
-        sb.append("|").append(dto.getLongitude() != null ? dto.getLongitude() : "");
-        sb.append("|").append(dto.getLatitude() != null ? dto.getLatitude() : "");
-        sb.append("|").append(dto.getRadius() != null ? dto.getRadius() : "");
-        sb.append("|").append(dto.getSortBy() != null ? dto.getSortBy() : "");
-        sb.append("|").append(pageNum);
-        sb.append("|").append(pageSize);
-        
-        String hash = md5Hash(sb.toString());
-        return ITEM_SEARCH_CACHE_KEY + hash;
-    }
-    
-    /**
-     * 计算MD5哈希
-     */
-    private String md5Hash(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] digest = md.digest(input.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
-        } catch (NoSuchAlgorithmException e) {
-            // 如果MD5不可用，使用hashCode作为备选
-            return String.valueOf(input.hashCode());
-        }
-    }
-    
     /**
      * 执行实际的搜索操作
+     * 
+     * @param rankUserId 按匹配度排序时的当前用户ID，其他排序或未登录时为null
      */
-    private PageResult<ItemVO> doSearch(ItemSearchDTO dto, int pageNum, int pageSize) {
+    private PageResult<ItemVO> doSearch(ItemSearchDTO dto, Long rankUserId, int pageNum, int pageSize) {
+        
+        // 1. 解析排序方式
+        String sortBy = dto.getSortBy();
+        boolean cursorMode = dto.getCursor() != null;
+        boolean needDistanceSort = "distance".equalsIgnoreCase(sortBy) && 
+                dto.getLongitude() != null && dto.getLatitude() != null;
+        // 游标分页不支持按相关度、匹配度排序；按距离排序但未传坐标时与页码分页一致，退化为按时间翻页
+        if (cursorMode && ("relevance".equalsIgnoreCase(sortBy) || "match".equalsIgnoreCase(sortBy))) {
+            throw new ValidationException("游标分页仅支持按时间或距离排序");
+        }
+        
+        // 2. 关键词条件：优先使用ngram全文索引，无法使用时回退为LIKE模糊查询
+        String fulltextQuery = null;
+        if (StringUtils.hasText(dto.getKeyword()) && Boolean.TRUE.equals(searchProperties.getFulltextEnabled())) {
+            fulltextQuery = FulltextQuery.toBooleanQuery(dto.getKeyword(), searchProperties.getNgramTokenSize());
+        }
+        Set<Long> tagMatchedIds = null;
+        if (fulltextQuery == null && StringUtils.hasText(dto.getKeyword())) {
+            // 先查询匹配的标签对应的物品ID
+            LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
+            tagWrapper.like(ItemTag::getTag, dto.getKeyword());
+            List<ItemTag> matchedTags = itemTagMapper.selectList(tagWrapper);
+            tagMatchedIds = matchedTags.stream()
+                    .map(ItemTag::getItemId)
+                    .collect(Collectors.toSet());
+            log.info("标签关键词匹配: keyword={}, 匹配物品数={}", dto.getKeyword(), tagMatchedIds.size());
+        }
+        
+        // 3. 按距离排序：由内存索引按距离逐批给出最近的物品，不再先取出范围内的全部物品
+        if (needDistanceSort) {
+            return doDistanceSearch(dto, fulltextQuery, tagMatchedIds, pageNum, pageSize, cursorMode);
+        }
         
-        // 2. 如果有地理范围筛选，先获取范围内的物品ID
+        // 4. 如果有地理范围筛选，先获取范围内的物品ID
         Set<Long> geoFilteredIds = null;
         if (dto.getLongitude() != null && dto.getLatitude() != null && dto.getRadius() != null && dto.getRadius() > 0) {
             List<Long> nearbyIds = locationService.searchInRadius(
@@ -620,35 +559,259 @@ public class ItemServiceImpl implements ItemService {
             }
         }
         
-        // 3. 如果有关键词，先查询匹配的标签对应的物品ID
-        Set<Long> tagMatchedIds = null;
-        if (StringUtils.hasText(dto.getKeyword())) {
-            LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
-            tagWrapper.like(ItemTag::getTag, dto.getKeyword());
-            List<ItemTag> matchedTags = itemTagMapper.selectList(tagWrapper);
-            tagMatchedIds = matchedTags.stream()
-                    .map(ItemTag::getItemId)
-                    .collect(Collectors.toSet());
-            log.info("标签关键词匹配: keyword={}, 匹配物品数={}", dto.getKeyword(), tagMatchedIds.size());
+        // 5. 构建MyBatis-Plus QueryWrapper
+        LambdaQueryWrapper<Item> queryWrapper = buildSearchWrapper(dto, fulltextQuery, tagMatchedIds);
+        
+        // 如果有地理范围: 使用子查询筛选范围内的物品ID
+        if (geoFilteredIds != null) {
+            queryWrapper.in(Item::getId, geoFilteredIds);
+        }
+        
+        // 6. 根据sortBy设置排序
+        boolean needRelevanceSort = !cursorMode && fulltextQuery != null &&
+                (!StringUtils.hasText(sortBy) || "relevance".equalsIgnoreCase(sortBy));
+        
+        // 未登录时没有自己的物品可供比较，按匹配度排序退化为按时间排序
+        boolean needMatchSort = !cursorMode && rankUserId != null;
+        
+        Long total = null;
+        String nextCursor = null;
+        List<Item> records;
+        if (cursorMode) {
+            // 游标分页: ORDER BY created_at DESC, id DESC，从上一页最后一条之后继续读取，默认不统计总数
+            PageCursor position = PageCursor.decode(dto.getCursor());
+            if (Boolean.TRUE.equals(dto.getWithTotal())) {
+                total = itemMapper.selectCount(queryWrapper);
+            }
+            if (position != null) {
+                queryWrapper.and(wrapper -> wrapper
+                        .lt(Item::getCreatedAt, position.getCreatedAt())
+                        .or(w -> w.eq(Item::getCreatedAt, position.getCreatedAt()).lt(Item::getId, position.getId())));
+            }
+            queryWrapper.orderByDesc(Item::getCreatedAt).orderByDesc(Item::getId);
+            
+            // 多取一条判断是否还有下一页
+            records = itemMapper.selectPage(new Page<>(1, pageSize + 1, false), queryWrapper).getRecords();
+            if (records.size() > pageSize) {
+                records = records.subList(0, pageSize);
+                Item last = records.get(pageSize - 1);
+                nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
+            }
+            log.info("游标查询结果: 当前页数量={}, 是否有下一页={}", records.size(), nextCursor != null);
+        } else {
+            // 7. 使用MyBatis-Plus分页插件进行分页
+            Page<Item> page = new Page<>(pageNum, pageSize);
+            Page<Item> resultPage;
+            if (needRelevanceSort) {
+                // relevance: 全文检索时的默认排序，按标题和描述的相关度降序，相同时按时间降序，
+                // 查询串作为参数绑定到ORDER BY
+                resultPage = itemMapper.selectPageByRelevance(page, fulltextQuery, queryWrapper);
+            } else if (needMatchSort) {
+                // match: 关联匹配推荐表，按与当前用户待处理物品的最高预计算分数降序，
+                // 没有匹配分数的物品排在后面，按时间降序；搜索时不做任何匹配计算
+                queryWrapper.last("ORDER BY best_score DESC, created_at DESC");
+                resultPage = itemMapper.selectPageByMatchScore(page, rankUserId, queryWrapper);
+            } else {
+                // time: ORDER BY created_at DESC (默认排序)
+                queryWrapper.orderByDesc(Item::getCreatedAt);
+                resultPage = itemMapper.selectPage(page, queryWrapper);
+            }
+            total = resultPage.getTotal();
+            records = resultPage.getRecords();
+            
+            log.info("查询结果: 总数={}, 当前页数量={}", resultPage.getTotal(), resultPage.getRecords().size());
+        }
+        
+        // 8. 批量转换为ItemVO列表
+        List<ItemVO> voList = itemAssembler.toVOList(records);
+        if (dto.getLongitude() != null && dto.getLatitude() != null) {
+            // 传入了坐标时，计算每个物品与中心点的距离
+            GeoPoint center = GeoPoint.of(dto.getLongitude().doubleValue(), dto.getLatitude().doubleValue());
+            for (ItemVO vo : voList) {
+                if (vo.getLongitude() != null && vo.getLatitude() != null) {
+                    GeoPoint itemPoint = GeoPoint.of(vo.getLongitude().doubleValue(), vo.getLatitude().doubleValue());
+                    Double distance = locationService.calculateDistance(center, itemPoint);
+                    vo.setDistance(distance);
+                }
+            }
         }
         
-        // 4. 构建MyBatis-Plus QueryWrapper
+        // 9. 返回PageResult<ItemVO>
+        if (cursorMode) {
+            return PageResult.ofCursor(voList, total, pageSize, nextCursor);
+        }
+        return new PageResult<>(voList, total, pageNum, pageSize);
+    }
+    
+    /**
+     * 按距离排序的搜索
+     * 
+     * 结果按 (距离, ID) 全局升序：
+     * - 内存索引从中心点逐圈向外找出游标之后最近的一批物品，类型、状态、类别在索引中直接筛选
+     * - 关键词、时间等其余条件对这一批ID在数据库中筛选，凑不满一页时从这一批最后一条继续找下一批，
+     *   每批数量翻倍；单次请求最多筛选search.distance-max-candidates个候选，达到上限时返回已凑到的记录，
+     *   游标分页时下一页游标指向最后筛选的候选，页码分页时该页可能不满
+     * - 游标分页时返回下一页游标；页码分页时跳过前面页的记录
+     * - 总数在页码分页或游标分页要求统计时才计算：从第一条开始且索引中的候选已全部筛选完时直接使用筛选出的数量，
+     *   否则在数据库中按经纬度范围和球面距离统计，不再读取范围内的全部物品ID
+     */
+    private PageResult<ItemVO> doDistanceSearch(ItemSearchDTO dto, String fulltextQuery, Set<Long> tagMatchedIds,
+                                                int pageNum, int pageSize, boolean cursorMode) {
+        double lng = dto.getLongitude().doubleValue();
+        double lat = dto.getLatitude().doubleValue();
+        double maxRadius = dto.getRadius() != null && dto.getRadius() > 0
+                ? dto.getRadius() : Double.POSITIVE_INFINITY;
+        Predicate<IndexedItem> filter = entry ->
+                (dto.getType() == null || dto.getType().equals(entry.getType())) &&
+                (dto.getStatus() == null || dto.getStatus().equals(entry.getStatus())) &&
+                (!StringUtils.hasText(dto.getCategory()) || dto.getCategory().equals(entry.getCategory()));
+        
+        DistanceCursor position = cursorMode ? DistanceCursor.decode(dto.getCursor()) : null;
+        double afterDistance = position != null ? position.getDistance() : -1;
+        long afterId = position != null ? position.getId() : 0L;
+        // 页码分页时需要跳过的记录数；多取一条判断是否还有下一页
+        int skip = cursorMode ? 0 : (pageNum - 1) * pageSize;
+        int wanted = skip + pageSize + 1;
+        int batchSize = Math.min(Math.max(pageSize * 2, DISTANCE_SEARCH_MIN_BATCH), DISTANCE_SEARCH_MAX_BATCH);
+        int maxCandidates = Math.max(searchProperties.getDistanceMaxCandidates(), batchSize);
+        
+        List<Item> records = new ArrayList<>();
+        Map<Long, Double> distances = new HashMap<>();
+        int matched = 0;
+        int batches = 0;
+        int scanned = 0;
+        // 候选是否已全部筛选完，此时matched即为总数
+        boolean exhausted = false;
+        // 是否因达到候选上限而提前结束
+        boolean truncated = false;
+        while (matched < wanted) {
+            if (scanned >= maxCandidates) {
+                truncated = true;
+                break;
+            }
+            int limit = Math.min(batchSize, maxCandidates - scanned);
+            Map<Long, Double> candidates = itemIndexService.findNearest(
+                    lng, lat, maxRadius, afterDistance, afterId, limit, filter);
+            if (candidates.isEmpty()) {
+                exhausted = true;
+                break;
+            }
+            batches++;
+            scanned += candidates.size();
+            
+            // 其余条件在数据库中筛选，结果按索引给出的距离顺序排列
+            LambdaQueryWrapper<Item> queryWrapper = buildSearchWrapper(dto, fulltextQuery, tagMatchedIds);
+            queryWrapper.in(Item::getId, candidates.keySet());
+            Map<Long, Item> itemMap = itemMapper.selectList(queryWrapper).stream()
+                    .collect(Collectors.toMap(Item::getId, item -> item));
+            for (Map.Entry<Long, Double> candidate : candidates.entrySet()) {
+                Item item = itemMap.get(candidate.getKey());
+                if (item == null) {
+                    continue;
+                }
+                if (matched >= skip && matched < wanted) {
+                    records.add(item);
+                    distances.put(item.getId(), candidate.getValue());
+                }
+                matched++;
+            }
+            
+            if (candidates.size() < limit) {
+                exhausted = true;
+                break;
+            }
+            Map.Entry<Long, Double> last = null;
+            for (Map.Entry<Long, Double> candidate : candidates.entrySet()) {
+                last = candidate;
+            }
+            afterDistance = last.getValue();
+            afterId = last.getKey();
+            batchSize = Math.min(batchSize * 2, DISTANCE_SEARCH_MAX_BATCH);
+        }
+        
+        String nextCursor = null;
+        if (records.size() > pageSize) {
+            records = records.subList(0, pageSize);
+            Item last = records.get(pageSize - 1);
+            nextCursor = DistanceCursor.of(distances.get(last.getId()), last.getId()).encode();
+        } else if (truncated && cursorMode) {
+            // 本页未凑满，从最后筛选的候选之后继续
+            nextCursor = DistanceCursor.of(afterDistance, afterId).encode();
+        }
+        log.info("按距离查询结果: 中心点=({}, {}), 批次数={}, 候选数={}, 当前页数量={}, 是否有下一页={}",
+                lng, lat, batches, scanned, records.size(), nextCursor != null);
+        
+        List<ItemVO> voList = itemAssembler.toVOList(records);
+        for (ItemVO vo : voList) {
+            vo.setDistance(distances.get(vo.getId()));
+        }
+        
+        Long total = null;
+        if (!cursorMode || Boolean.TRUE.equals(dto.getWithTotal())) {
+            // 游标分页时matched只包含游标之后的记录，不能作为总数
+            total = exhausted && position == null ? (long) matched : countSearch(dto, fulltextQuery, tagMatchedIds);
+        }
+        if (cursorMode) {
+            return PageResult.ofCursor(voList, total, pageSize, nextCursor);
+        }
+        return new PageResult<>(voList, total, pageNum, pageSize);
+    }
+    
+    /**
+     * 统计按距离排序的搜索总数
+     * 带半径时先按经纬度范围缩小到包含圆形范围的矩形（可使用idx_location），再按Haversine公式精确判断距离
+     */
+    private Long countSearch(ItemSearchDTO dto, String fulltextQuery, Set<Long> tagMatchedIds) {
+        LambdaQueryWrapper<Item> queryWrapper = buildSearchWrapper(dto, fulltextQuery, tagMatchedIds);
+        if (dto.getRadius() != null && dto.getRadius() > 0) {
+            double lng = dto.getLongitude().doubleValue();
+            double lat = dto.getLatitude().doubleValue();
+            double radius = dto.getRadius();
+            // 纬度1度按111km估算，比实际略小，矩形不会漏掉圆内的物品
+            double latDelta = radius / GeoDistance.METERS_PER_DEGREE;
+            double lngDelta = radius / (GeoDistance.METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+            queryWrapper.between(Item::getLongitude, lng - lngDelta, lng + lngDelta)
+                       .between(Item::getLatitude, lat - latDelta, lat + latDelta)
+                       .apply("2 * " + GeoDistance.EARTH_RADIUS + " * ASIN(SQRT(LEAST(1, "
+                               + "POWER(SIN(RADIANS(latitude - {1}) / 2), 2) + COS(RADIANS({1})) * COS(RADIANS(latitude)) "
+                               + "* POWER(SIN(RADIANS(longitude - {0}) / 2), 2)))) <= {2}", lng, lat, radius);
+        } else {
+            queryWrapper.isNotNull(Item::getLongitude).isNotNull(Item::getLatitude);
+        }
+        return itemMapper.selectCount(queryWrapper);
+    }
+    
+    /**
+     * 构建搜索条件（关键词、类型、类别、状态、时间），不含地理范围和排序
+     * 
+     * @param fulltextQuery 全文检索查询串，不使用全文索引时为null
+     * @param tagMatchedIds LIKE模糊查询时标签命中的物品ID，使用全文索引或无关键词时为null
+     */
+    private LambdaQueryWrapper<Item> buildSearchWrapper(ItemSearchDTO dto, String fulltextQuery, Set<Long> tagMatchedIds) {
         LambdaQueryWrapper<Item> queryWrapper = new LambdaQueryWrapper<>();
         
         // deleted = 0（排除已删除）- 由于Item实体使用了@TableLogic，MyBatis-Plus会自动处理
         // 但为了明确，我们显式添加条件
         queryWrapper.eq(Item::getDeleted, 0);
         
-        // 如果keyword不为空: title LIKE %keyword% OR description LIKE %keyword% OR 存在匹配的tag
-        if (StringUtils.hasText(dto.getKeyword())) {
-            final Set<Long> finalTagMatchedIds = tagMatchedIds;
+        if (fulltextQuery != null) {
+            // MATCH(title, description) 命中 OR 存在全文命中的tag，标签在子查询中走ft_tag索引，不再回传ID列表
+            final String finalFulltextQuery = fulltextQuery;
+            queryWrapper.and(wrapper -> wrapper
+                    .apply("MATCH(title, description) AGAINST({0} IN BOOLEAN MODE)", finalFulltextQuery)
+                    .or()
+                    .apply("id IN (SELECT item_id FROM item_tag WHERE MATCH(tag) AGAINST({0} IN BOOLEAN MODE))",
+                            finalFulltextQuery));
+            log.info("全文检索: keyword={}, query={}", dto.getKeyword(), fulltextQuery);
+        } else if (StringUtils.hasText(dto.getKeyword())) {
+            // title LIKE %keyword% OR description LIKE %keyword% OR 存在匹配的tag
             queryWrapper.and(wrapper -> {
                 wrapper.like(Item::getTitle, dto.getKeyword())
                        .or()
                        .like(Item::getDescription, dto.getKeyword());
                 // 如果有标签匹配的物品ID，添加到OR条件中
-                if (finalTagMatchedIds != null && !finalTagMatchedIds.isEmpty()) {
-                    wrapper.or().in(Item::getId, finalTagMatchedIds);
+                if (tagMatchedIds != null && !tagMatchedIds.isEmpty()) {
+                    wrapper.or().in(Item::getId, tagMatchedIds);
                 }
             });
         }
@@ -678,60 +841,12 @@ public class ItemServiceImpl implements ItemService {
             queryWrapper.le(Item::getEventTime, dto.getEndTime());
         }
         
-        // 如果有地理范围: 使用子查询筛选范围内的物品ID
-        if (geoFilteredIds != null) {
-            queryWrapper.in(Item::getId, geoFilteredIds);
-        }
-        
-        // 5. 根据sortBy设置排序
-        String sortBy = dto.getSortBy();
-        boolean needDistanceSort = "distance".equalsIgnoreCase(sortBy) && 
-                dto.getLongitude() != null && dto.getLatitude() != null;
-        
-        if (!needDistanceSort) {
-            // time: ORDER BY created_at DESC (默认排序)
-            // match: 预留，后续实现匹配度排序，目前使用时间排序
-            queryWrapper.orderByDesc(Item::getCreatedAt);
-        }
-        
-        // 6. 使用MyBatis-Plus分页插件进行分页
-        Page<Item> page = new Page<>(pageNum, pageSize);
-        Page<Item> resultPage = itemMapper.selectPage(page, queryWrapper);
-        
-        log.info("查询结果: 总数={}, 当前页数量={}", resultPage.getTotal(), resultPage.getRecords().size());
-        
-        // 7. 转换为ItemVO列表
-        List<ItemVO> voList = resultPage.getRecords().stream()
-                .map(item -> {
-                    ItemVO vo = convertToVO(item);
-                    
-                    // 如果需要按距离排序，计算距离
-                    if (dto.getLongitude() != null && dto.getLatitude() != null &&
-                            item.getLongitude() != null && item.getLatitude() != null) {
-                        GeoPoint center = GeoPoint.of(dto.getLongitude().doubleValue(), dto.getLatitude().doubleValue());
-                        GeoPoint itemPoint = GeoPoint.of(item.getLongitude().doubleValue(), item.getLatitude().doubleValue());
-                        Double distance = locationService.calculateDistance(center, itemPoint);
-                        vo.setDistance(distance);
-                    }
-                    
-                    return vo;
-                })
-                .collect(Collectors.toList());
-        
-        // 8. 如果需要按距离排序，在内存中排序
-        if (needDistanceSort) {
-            voList = voList.stream()
-                    .sorted(Comparator.comparing(ItemVO::getDistance, Comparator.nullsLast(Comparator.naturalOrder())))
-                    .collect(Collectors.toList());
-        }
-        
-        // 9. 返回PageResult<ItemVO>
-        return new PageResult<>(voList, resultPage.getTotal(), pageNum, pageSize);
+        return queryWrapper;
     }
     
     /**
      * 获取热门物品列表
-     * 返回最近7天浏览量最高的物品
+     * 从Redis热度排行读取物品ID后批量查询，排行为空时（如刚部署）回退为最近7天浏览量最高的物品
      */
     @Override
     public List<ItemVO> getHotItems(Integer limit) {
@@ -746,26 +861,40 @@ public class ItemServiceImpl implements ItemService {
             limit = 20;
         }
         
-        // 2. 计算7天前的时间
-        java.time.LocalDateTime sevenDaysAgo = java.time.LocalDateTime.now().minusDays(7);
-        
-        // 3. 构建查询条件：最近7天、未删除、按浏览量降序
-        LambdaQueryWrapper<Item> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Item::getDeleted, 0)
-                   .ge(Item::getCreatedAt, sevenDaysAgo)
-                   .orderByDesc(Item::getViewCount)
-                   .last("LIMIT " + limit);
-        
-        // 4. 查询物品列表
-        List<Item> items = itemMapper.selectList(queryWrapper);
-        
-        log.info("热门物品查询完成: 结果数={}", items.size());
+        // 2. 读取热度排行，多取一些以补足已删除的物品
+        List<Item> items = new ArrayList<>();
+        List<Long> hotIds = hotItemService.getTopItemIds(limit * 2);
+        if (!hotIds.isEmpty()) {
+            Map<Long, Item> itemMap = itemMapper.selectBatchIds(hotIds).stream()
+                    .collect(Collectors.toMap(Item::getId, item -> item));
+            items = hotIds.stream()
+                    .map(itemMap::get)
+                    .filter(Objects::nonNull)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+            log.info("热门物品排行命中: 结果数={}", items.size());
+        }
         
-        // 5. 转换为ItemVO列表
-        List<ItemVO> result = items.stream()
-                .map(this::convertToVO)
-                .collect(Collectors.toList());
+        // 3. 排行为空或有效物品不足时，用数据库查询补足：最近7天、未删除、按浏览量降序，排除已返回的物品
+        if (items.size() < limit) {
+            java.time.LocalDateTime sevenDaysAgo = java.time.LocalDateTime.now().minusDays(7);
+            
+            LambdaQueryWrapper<Item> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.eq(Item::getDeleted, 0)
+                       .ge(Item::getCreatedAt, sevenDaysAgo);
+            if (!items.isEmpty()) {
+                queryWrapper.notIn(Item::getId, items.stream().map(Item::getId).collect(Collectors.toList()));
+            }
+            queryWrapper.orderByDesc(Item::getViewCount)
+                       .orderByDesc(Item::getCreatedAt)
+                       .last("LIMIT " + (limit - items.size()));
+            
+            List<Item> backfill = itemMapper.selectList(queryWrapper);
+            items.addAll(backfill);
+            log.info("热门物品数据库补足: 补足数={}", backfill.size());
+        }
         
-        return result;
+        // 4. 批量转换为ItemVO列表
+        return itemAssembler.toVOList(items);
     }
 }
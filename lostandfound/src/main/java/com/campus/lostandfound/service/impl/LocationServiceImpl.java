@@ -1,11 +1,10 @@
 package com.campus.lostandfound.service.impl;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.campus.lostandfound.config.AmapProperties;
-import com.campus.lostandfound.model.entity.Item;
 import com.campus.lostandfound.model.vo.GeoPoint;
-import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.service.ItemIndexService;
 import com.campus.lostandfound.service.LocationService;
+import com.campus.lostandfound.util.GeoDistance;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -16,10 +15,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * 地理位置服务实现类
@@ -35,15 +34,10 @@ public class LocationServiceImpl implements LocationService {
     @Qualifier("amapRestTemplate")
     private final RestTemplate amapRestTemplate;
     
-    private final ItemMapper itemMapper;
+    private final ItemIndexService itemIndexService;
     
     private final ObjectMapper objectMapper;
     
-    /**
-     * 地球半径（米）
-     */
-    private static final double EARTH_RADIUS = 6371000;
-    
     /**
      * 高德API成功状态码
      */
@@ -244,21 +238,8 @@ public class LocationServiceImpl implements LocationService {
         }
         
         // 使用Haversine公式计算球面距离
-        double lat1 = Math.toRadians(p1.getLatitude());
-        double lat2 = Math.toRadians(p2.getLatitude());
-        double lng1 = Math.toRadians(p1.getLongitude());
-        double lng2 = Math.toRadians(p2.getLongitude());
-        
-        double dLat = lat2 - lat1;
-        double dLng = lng2 - lng1;
-        
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                   Math.cos(lat1) * Math.cos(lat2) *
-                   Math.sin(dLng / 2) * Math.sin(dLng / 2);
-        
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        double distance = EARTH_RADIUS * c;
+        double distance = GeoDistance.meters(p1.getLongitude(), p1.getLatitude(),
+                p2.getLongitude(), p2.getLatitude());
         
         log.debug("距离计算：({}, {}) -> ({}, {}) = {}米",
                 p1.getLongitude(), p1.getLatitude(),
@@ -270,59 +251,22 @@ public class LocationServiceImpl implements LocationService {
     
     @Override
     public List<Long> searchInRadius(Double lng, Double lat, Integer radius) {
+        return new ArrayList<>(searchInRadiusWithDistance(lng, lat, radius).keySet());
+    }
+    
+    @Override
+    public Map<Long, Double> searchInRadiusWithDistance(Double lng, Double lat, Integer radius) {
         if (lng == null || lat == null || radius == null || radius <= 0) {
             log.warn("范围查询失败：参数无效，lng={}, lat={}, radius={}", lng, lat, radius);
-            return new ArrayList<>();
+            return new LinkedHashMap<>();
         }
         
-        log.debug("执行范围查询：中心点=({}, {}), 半径={}米", lng, lat, radius);
-        
-        // 计算经纬度范围（粗略筛选，减少计算量）
-        // 纬度1度约111km，经度1度约111km*cos(纬度)
-        double latDelta = radius / 111000.0;
-        double lngDelta = radius / (111000.0 * Math.cos(Math.toRadians(lat)));
-        
-        double minLat = lat - latDelta;
-        double maxLat = lat + latDelta;
-        double minLng = lng - lngDelta;
-        double maxLng = lng + lngDelta;
-        
-        // 先用矩形范围粗略筛选
-        LambdaQueryWrapper<Item> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.ge(Item::getLatitude, BigDecimal.valueOf(minLat))
-                    .le(Item::getLatitude, BigDecimal.valueOf(maxLat))
-                    .ge(Item::getLongitude, BigDecimal.valueOf(minLng))
-                    .le(Item::getLongitude, BigDecimal.valueOf(maxLng))
-                    .eq(Item::getDeleted, 0)
-                    .isNotNull(Item::getLongitude)
-                    .isNotNull(Item::getLatitude);
-        
-        List<Item> candidateItems = itemMapper.selectList(queryWrapper);
-        
-        if (candidateItems.isEmpty()) {
-            log.debug("范围查询：矩形范围内无物品");
-            return new ArrayList<>();
-        }
-        
-        // 精确计算距离，过滤出圆形范围内的物品
-        GeoPoint center = GeoPoint.of(lng, lat);
-        
-        List<Long> resultIds = candidateItems.stream()
-                .filter(item -> {
-                    GeoPoint itemPoint = GeoPoint.of(
-                            item.getLongitude().doubleValue(),
-                            item.getLatitude().doubleValue()
-                    );
-                    Double distance = calculateDistance(center, itemPoint);
-                    return distance != null && distance <= radius;
-                })
-                .map(Item::getId)
-                .collect(Collectors.toList());
+        // 在内存空间网格中查找，一步得到物品ID和距离，不访问数据库
+        Map<Long, Double> result = itemIndexService.findInRadius(lng, lat, radius);
         
-        log.info("范围查询完成：中心点=({}, {}), 半径={}米, 候选数={}, 结果数={}",
-                lng, lat, radius, candidateItems.size(), resultIds.size());
+        log.info("范围查询完成：中心点=({}, {}), 半径={}米, 结果数={}", lng, lat, radius, result.size());
         
-        return resultIds;
+        return result;
     }
     
     /**
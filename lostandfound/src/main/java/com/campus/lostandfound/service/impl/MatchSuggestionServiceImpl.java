@@ -0,0 +1,330 @@
+package com.campus.lostandfound.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.lostandfound.config.MatchProperties;
+import com.campus.lostandfound.config.WorkerProperties;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.entity.MatchSuggestion;
+import com.campus.lostandfound.model.vo.MatchResult;
+import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.repository.MatchSuggestionMapper;
+import com.campus.lostandfound.service.MatchSuggestionService;
+import com.campus.lostandfound.service.match.MatchEngine;
+import com.campus.lostandfound.util.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 匹配推荐服务实现类
+ * 
+ * 匹配分数是对称的，物品X变更时：
+ * - 重新计算X自身的前K个推荐
+ * - 对X的每个候选物品C，若X的分数高于C当前第K名（或C不足K个），将X插入C的列表并淘汰末位
+ * - 原本推荐了X的列表整体重新计算，以便补足被移除的名额
+ * 
+ * 物品变更后由发件箱的SUGGEST事件触发更新，失败时由发件箱重试；
+ * 匹配计算在事务之外完成，事务只包含写入：推荐按uk_item_matched写入或更新，重复执行结果相同，
+ * 写入前按物品ID排序，并发更新的多个节点按相同顺序加行锁；
+ * 并发挤入同一列表时列表可能短暂多于K个，下次挤入时淘汰多余的记录，每日全量重建一次，纠正遗漏的更新
+ * 
+ * 开启worker节点后，定时重建和启动时的初始化只在消费事件流的节点执行；
+ * 全量重建前在Redis中加锁，同一时间只有一个节点重建
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatchSuggestionServiceImpl implements MatchSuggestionService {
+    
+    /**
+     * IN查询每批ID数量
+     */
+    private static final int BATCH_SIZE = 500;
+    
+    /**
+     * 全量重建锁的Redis键
+     */
+    private static final String REBUILD_LOCK_KEY = "match:suggestion:rebuild:lock";
+    
+    private final MatchSuggestionMapper matchSuggestionMapper;
+    private final ItemMapper itemMapper;
+    private final MatchEngine matchEngine;
+    private final MatchProperties matchProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkerProperties workerProperties;
+    private final RedisUtil redisUtil;
+    
+    /**
+     * 本节点标识，释放重建锁时确认锁仍由自己持有
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+    
+    @Override
+    public List<MatchSuggestion> listByItem(Long itemId, int limit) {
+        LambdaQueryWrapper<MatchSuggestion> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(MatchSuggestion::getItemId, itemId)
+                   .orderByDesc(MatchSuggestion::getScore)
+                   .last("LIMIT " + limit);
+        return matchSuggestionMapper.selectList(queryWrapper);
+    }
+    
+    @Override
+    public List<MatchSuggestion> listByItems(Collection<Long> itemIds) {
+        if (itemIds == null || itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        LambdaQueryWrapper<MatchSuggestion> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.in(MatchSuggestion::getItemId, itemIds)
+                   .orderByDesc(MatchSuggestion::getScore);
+        return matchSuggestionMapper.selectList(queryWrapper);
+    }
+    
+    @Override
+    public void refresh(Long itemId) {
+        int size = matchProperties.getSuggestionSize();
+        Item item = itemMapper.selectById(itemId);
+        
+        // 1. 原本推荐了该物品的列表，稍后按ID顺序重新计算
+        LambdaQueryWrapper<MatchSuggestion> ownerWrapper = new LambdaQueryWrapper<>();
+        ownerWrapper.select(MatchSuggestion::getItemId)
+                   .eq(MatchSuggestion::getMatchedItemId, itemId);
+        Set<Long> affectedOwners = matchSuggestionMapper.selectList(ownerWrapper).stream()
+                .map(MatchSuggestion::getItemId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        
+        // 2. 待处理物品：在事务外计算自身推荐，以及需要挤入的候选物品推荐列表
+        List<MatchResult> ownResults = Collections.emptyList();
+        List<MatchSuggestion> merges = new ArrayList<>();
+        List<Long> evictIds = new ArrayList<>();
+        if (isOpen(item)) {
+            List<MatchResult> results = matchEngine.match(item, Integer.MAX_VALUE, 0);
+            ownResults = results.subList(0, Math.min(size, results.size()));
+            planMerge(itemId, results, affectedOwners, size, merges, evictIds);
+        }
+        
+        // 3. 短事务写入自身推荐列表和挤入候选物品列表的记录
+        List<MatchResult> finalOwnResults = ownResults;
+        transactionTemplate.executeWithoutResult(status -> {
+            replace(itemId, finalOwnResults);
+            upsert(merges);
+            if (!evictIds.isEmpty()) {
+                matchSuggestionMapper.deleteByIds(evictIds);
+            }
+        });
+        
+        // 4. 重新计算受影响的列表，每个列表单独提交
+        for (Long ownerId : affectedOwners) {
+            recompute(ownerId, size);
+        }
+        
+        log.debug("匹配推荐已更新 - itemId: {}, 重新计算列表数: {}", itemId, affectedOwners.size());
+    }
+    
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int size = matchProperties.getSuggestionSize();
+        
+        // 清除已不再待处理的物品的推荐
+        LambdaQueryWrapper<MatchSuggestion> staleWrapper = new LambdaQueryWrapper<>();
+        staleWrapper.notInSql(MatchSuggestion::getItemId, "SELECT id FROM item WHERE status = 0 AND deleted = 0");
+        matchSuggestionMapper.delete(staleWrapper);
+        
+        // 分批重新计算待处理物品的推荐，同一批物品共用一份候选快照
+        LambdaQueryWrapper<Item> itemWrapper = new LambdaQueryWrapper<>();
+        itemWrapper.select(Item::getId)
+                  .eq(Item::getStatus, 0)
+                  .eq(Item::getDeleted, 0);
+        List<Long> itemIds = itemMapper.selectList(itemWrapper).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        
+        for (int from = 0; from < itemIds.size(); from += BATCH_SIZE) {
+            List<Item> batch = itemMapper.selectBatchIds(
+                    itemIds.subList(from, Math.min(from + BATCH_SIZE, itemIds.size())));
+            Map<Long, List<MatchResult>> resultMap = matchEngine.matchBatch(batch, size);
+            
+            for (Map.Entry<Long, List<MatchResult>> entry : resultMap.entrySet()) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> replace(entry.getKey(), entry.getValue()));
+                } catch (Exception e) {
+                    log.error("重建匹配推荐失败 - itemId: {}", entry.getKey(), e);
+                }
+            }
+        }
+        
+        log.info("匹配推荐重建完成: 物品数={}, 耗时={}ms", itemIds.size(), System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * 定时全量重建
+     */
+    @Scheduled(cron = "${match.suggestion-rebuild-cron:0 30 4 * * ?}")
+    public void scheduledRebuild() {
+        if (!maintainsSuggestions()) {
+            return;
+        }
+        try {
+            rebuildExclusively();
+        } catch (Exception e) {
+            log.error("定时重建匹配推荐失败", e);
+        }
+    }
+    
+    /**
+     * 启动时推荐表为空则全量构建
+     */
+    @Async("matchExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!maintainsSuggestions()) {
+            return;
+        }
+        try {
+            if (matchSuggestionMapper.selectCount(null) == 0) {
+                rebuildExclusively();
+            }
+        } catch (Exception e) {
+            log.error("初始化匹配推荐失败", e);
+        }
+    }
+    
+    /**
+     * 本节点是否负责推荐维护：未开启worker节点时每个节点都负责，开启后只有消费事件流的节点负责
+     */
+    private boolean maintainsSuggestions() {
+        return !Boolean.TRUE.equals(workerProperties.getStreamEnabled())
+                || Boolean.TRUE.equals(workerProperties.getConsume());
+    }
+    
+    /**
+     * 持有Redis重建锁时全量重建，其他节点正在重建时跳过
+     */
+    private void rebuildExclusively() {
+        Boolean acquired = redisUtil.setIfAbsent(REBUILD_LOCK_KEY, nodeId,
+                matchProperties.getSuggestionRebuildLockSeconds(), TimeUnit.SECONDS);
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.info("其他节点正在重建匹配推荐，本节点跳过");
+            return;
+        }
+        try {
+            rebuild();
+        } finally {
+            redisUtil.deleteIfEquals(REBUILD_LOCK_KEY, nodeId);
+        }
+    }
+    
+    /**
+     * 计算需要挤入的候选物品推荐列表
+     * 候选物品不足K个推荐，或该物品分数高于其第K名时插入，并淘汰第K名及之后的记录
+     */
+    private void planMerge(Long itemId, List<MatchResult> results, Set<Long> skipped, int size,
+                           List<MatchSuggestion> merges, List<Long> evictIds) {
+        Map<Long, MatchResult> resultMap = new LinkedHashMap<>();
+        for (MatchResult result : results) {
+            if (!skipped.contains(result.getMatchedItemId())) {
+                resultMap.put(result.getMatchedItemId(), result);
+            }
+        }
+        
+        List<Long> candidateIds = new ArrayList<>(resultMap.keySet());
+        for (int from = 0; from < candidateIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = candidateIds.subList(from, Math.min(from + BATCH_SIZE, candidateIds.size()));
+            
+            // 按分数降序查询，分组后每个列表第K个位置即为第K名
+            Map<Long, List<MatchSuggestion>> currentMap = listByItems(batch).stream()
+                    .collect(Collectors.groupingBy(MatchSuggestion::getItemId));
+            
+            for (Long candidateId : batch) {
+                MatchResult result = resultMap.get(candidateId);
+                List<MatchSuggestion> current = currentMap.getOrDefault(candidateId, Collections.emptyList());
+                
+                if (current.size() < size) {
+                    merges.add(toSuggestion(candidateId, itemId, result));
+                } else if (result.getScore().compareTo(current.get(size - 1).getScore()) > 0) {
+                    merges.add(toSuggestion(candidateId, itemId, result));
+                    current.subList(size - 1, current.size()).forEach(s -> evictIds.add(s.getId()));
+                } else {
+                    // 并发挤入留下的多余记录
+                    current.subList(size, current.size()).forEach(s -> evictIds.add(s.getId()));
+                }
+            }
+        }
+        
+        // 按物品ID排序后写入，并发事务按相同顺序加锁
+        merges.sort(Comparator.comparing(MatchSuggestion::getItemId).thenComparing(MatchSuggestion::getMatchedItemId));
+        Collections.sort(evictIds);
+    }
+    
+    /**
+     * 重新计算单个物品的推荐列表
+     */
+    private void recompute(Long itemId, int size) {
+        Item item = itemMapper.selectById(itemId);
+        List<MatchResult> results = isOpen(item) ? matchEngine.match(item, size, 0) : Collections.emptyList();
+        transactionTemplate.executeWithoutResult(status -> replace(itemId, results));
+    }
+    
+    /**
+     * 用新的匹配结果替换物品的推荐列表
+     * 写入或更新新的推荐，再删除不在新结果中的旧推荐
+     */
+    private void replace(Long itemId, List<MatchResult> results) {
+        List<MatchSuggestion> suggestions = results.stream()
+                .map(result -> toSuggestion(itemId, result.getMatchedItemId(), result))
+                .sorted(Comparator.comparing(MatchSuggestion::getMatchedItemId))
+                .collect(Collectors.toList());
+        upsert(suggestions);
+        
+        LambdaQueryWrapper<MatchSuggestion> deleteWrapper = new LambdaQueryWrapper<>();
+        deleteWrapper.eq(MatchSuggestion::getItemId, itemId);
+        if (!suggestions.isEmpty()) {
+            deleteWrapper.notIn(MatchSuggestion::getMatchedItemId, suggestions.stream()
+                    .map(MatchSuggestion::getMatchedItemId)
+                    .collect(Collectors.toList()));
+        }
+        matchSuggestionMapper.delete(deleteWrapper);
+    }
+    
+    /**
+     * 分批写入或更新推荐
+     */
+    private void upsert(List<MatchSuggestion> suggestions) {
+        for (int from = 0; from < suggestions.size(); from += BATCH_SIZE) {
+            matchSuggestionMapper.upsertBatch(suggestions.subList(from, Math.min(from + BATCH_SIZE, suggestions.size())));
+        }
+    }
+    
+    /**
+     * 是否为参与匹配的待处理物品
+     */
+    private boolean isOpen(Item item) {
+        return item != null && Integer.valueOf(0).equals(item.getStatus())
+                && (item.getDeleted() == null || item.getDeleted() == 0);
+    }
+    
+    /**
+     * 匹配结果转换为推荐记录，匹配分数对称，两个方向共用同一结果
+     */
+    private MatchSuggestion toSuggestion(Long itemId, Long matchedItemId, MatchResult result) {
+        MatchSuggestion suggestion = new MatchSuggestion();
+        suggestion.setItemId(itemId);
+        suggestion.setMatchedItemId(matchedItemId);
+        suggestion.setScore(result.getScore());
+        suggestion.setCategoryScore(result.getCategoryScore());
+        suggestion.setTagScore(result.getTagScore());
+        suggestion.setTimeScore(result.getTimeScore());
+        suggestion.setLocationScore(result.getLocationScore());
+        return suggestion;
+    }
+}
@@ -3,7 +3,9 @@ package com.campus.lostandfound.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.lostandfound.common.PageCursor;
 import com.campus.lostandfound.common.PageResult;
+import com.campus.lostandfound.config.WorkerProperties;
 import com.campus.lostandfound.exception.ForbiddenException;
 import com.campus.lostandfound.exception.NotFoundException;
 import com.campus.lostandfound.model.dto.SendMessageDTO;
@@ -11,6 +13,7 @@ import com.campus.lostandfound.model.entity.Message;
 import com.campus.lostandfound.model.vo.MessageVO;
 import com.campus.lostandfound.repository.MessageMapper;
 import com.campus.lostandfound.service.MessageService;
+import com.campus.lostandfound.util.RedisUtil;
 import com.campus.lostandfound.websocket.MessageWebSocket;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,6 +22,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,14 +37,34 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MessageServiceImpl implements MessageService {
     
+    /**
+     * 推送广播消息体中用户ID与消息JSON的分隔符
+     */
+    public static final String PUSH_SEPARATOR = ":";
+    
     private final MessageMapper messageMapper;
     private final ObjectMapper objectMapper;
+    private final RedisUtil redisUtil;
+    private final WorkerProperties workerProperties;
     
     @Override
     @Transactional
     public void send(SendMessageDTO dto) {
         log.info("发送消息给用户: {}, 标题: {}", dto.getUserId(), dto.getTitle());
         
+        Message message = toMessage(dto);
+        messageMapper.insert(message);
+        
+        log.info("消息发送成功, 消息ID: {}", message.getId());
+        
+        // 检查用户是否有活跃的WebSocket连接，如果有则在事务提交后实时推送消息
+        afterCommit(() -> pushMessageViaWebSocket(message));
+    }
+    
+    /**
+     * 构建未读消息实体
+     */
+    private Message toMessage(SendMessageDTO dto) {
         Message message = new Message();
         message.setUserId(dto.getUserId());
         message.setTitle(dto.getTitle());
@@ -48,17 +73,28 @@ public class MessageServiceImpl implements MessageService {
         message.setRelatedId(dto.getRelatedId());
         message.setIsRead(0); // 未读
         message.setCreatedAt(LocalDateTime.now());
-        
-        messageMapper.insert(message);
-        
-        log.info("消息发送成功, 消息ID: {}", message.getId());
-        
-        // 检查用户是否有活跃的WebSocket连接，如果有则实时推送消息
-        pushMessageViaWebSocket(message);
+        return message;
+    }
+    
+    /**
+     * 事务中登记到提交后执行，避免推送回滚的消息
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
     
     /**
      * 通过WebSocket实时推送消息给用户
+     * 用户连接不在本节点时，启用worker节点的部署通过Redis广播交给持有连接的Web节点推送
      * 
      * @param message 消息实体
      */
@@ -66,7 +102,8 @@ public class MessageServiceImpl implements MessageService {
         Long userId = message.getUserId();
         
         // 检查用户是否在线
-        if (!MessageWebSocket.isUserOnline(userId)) {
+        boolean online = MessageWebSocket.isUserOnline(userId);
+        if (!online && !Boolean.TRUE.equals(workerProperties.getStreamEnabled())) {
             log.debug("用户 {} 不在线，跳过WebSocket推送", userId);
             return;
         }
@@ -78,6 +115,12 @@ public class MessageServiceImpl implements MessageService {
             // 序列化为JSON
             String jsonMessage = objectMapper.writeValueAsString(messageVO);
             
+            if (!online) {
+                redisUtil.publish(workerProperties.getPushChannel(), userId + PUSH_SEPARATOR + jsonMessage);
+                log.debug("用户 {} 不在本节点，已广播消息推送, 消息ID: {}", userId, message.getId());
+                return;
+            }
+            
             // 通过WebSocket推送
             boolean sent = MessageWebSocket.sendToUser(userId, jsonMessage);
             
@@ -97,11 +140,19 @@ public class MessageServiceImpl implements MessageService {
     @Override
     @Transactional
     public void sendBatch(List<SendMessageDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            return;
+        }
         log.info("批量发送消息, 数量: {}", dtos.size());
         
-        for (SendMessageDTO dto : dtos) {
-            send(dto);
-        }
+        // 一次JDBC批处理写入全部消息（连接参数rewriteBatchedStatements=true时合并为多行INSERT）
+        List<Message> messages = dtos.stream()
+                .map(this::toMessage)
+                .collect(Collectors.toList());
+        messageMapper.insert(messages);
+        
+        // 提交后统一推送给在线用户
+        afterCommit(() -> messages.forEach(this::pushMessageViaWebSocket));
         
         log.info("批量消息发送完成");
     }
@@ -112,16 +163,7 @@ public class MessageServiceImpl implements MessageService {
                 userId, type, isRead, pageNum, pageSize);
         
         // 构建查询条件
-        QueryWrapper<Message> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("user_id", userId);
-        
-        // 可选筛选条件
-        if (type != null) {
-            queryWrapper.eq("type", type);
-        }
-        if (isRead != null) {
-            queryWrapper.eq("is_read", isRead ? 1 : 0);
-        }
+        QueryWrapper<Message> queryWrapper = buildListQuery(userId, type, isRead);
         
         // 按创建时间降序排序
         queryWrapper.orderByDesc("created_at");
@@ -138,6 +180,62 @@ public class MessageServiceImpl implements MessageService {
         return new PageResult<>(messageVOList, messagePage.getTotal(), pageNum, pageSize);
     }
     
+    @Override
+    public PageResult<MessageVO> getListByCursor(Long userId, Integer type, Boolean isRead, String cursor,
+                                                 Integer pageSize, boolean withTotal) {
+        log.info("按游标获取用户消息列表: userId={}, type={}, isRead={}, cursor={}, pageSize={}",
+                userId, type, isRead, cursor, pageSize);
+        
+        int size = pageSize != null && pageSize > 0 ? pageSize : 20;
+        PageCursor position = PageCursor.decode(cursor);
+        QueryWrapper<Message> queryWrapper = buildListQuery(userId, type, isRead);
+        
+        // 总数按筛选条件统计，与游标位置无关，只在客户端要求时查询
+        Long total = withTotal ? messageMapper.selectCount(queryWrapper) : null;
+        
+        // created_at < 游标时间 OR (created_at = 游标时间 AND id < 游标ID)
+        if (position != null) {
+            queryWrapper.and(wrapper -> wrapper
+                    .lt("created_at", position.getCreatedAt())
+                    .or(w -> w.eq("created_at", position.getCreatedAt()).lt("id", position.getId())));
+        }
+        queryWrapper.orderByDesc("created_at").orderByDesc("id");
+        
+        // 多取一条判断是否还有下一页，不执行COUNT
+        Page<Message> page = new Page<>(1, size + 1, false);
+        List<Message> records = messageMapper.selectPage(page, queryWrapper).getRecords();
+        
+        String nextCursor = null;
+        if (records.size() > size) {
+            records = records.subList(0, size);
+            Message last = records.get(size - 1);
+            nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        List<MessageVO> messageVOList = records.stream()
+                .map(this::convertToVO)
+                .collect(Collectors.toList());
+        
+        return PageResult.ofCursor(messageVOList, total, size, nextCursor);
+    }
+    
+    /**
+     * 构建消息列表的筛选条件
+     */
+    private QueryWrapper<Message> buildListQuery(Long userId, Integer type, Boolean isRead) {
+        QueryWrapper<Message> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("user_id", userId);
+        
+        // 可选筛选条件
+        if (type != null) {
+            queryWrapper.eq("type", type);
+        }
+        if (isRead != null) {
+            queryWrapper.eq("is_read", isRead ? 1 : 0);
+        }
+        return queryWrapper;
+    }
+    
     @Override
     @Transactional
     public void markAsRead(Long messageId, Long userId) {
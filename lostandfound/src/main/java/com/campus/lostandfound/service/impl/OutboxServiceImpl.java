@@ -0,0 +1,223 @@
+package com.campus.lostandfound.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.lostandfound.config.OutboxProperties;
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import com.campus.lostandfound.repository.ItemOutboxMapper;
+import com.campus.lostandfound.service.OutboxService;
+import com.campus.lostandfound.service.outbox.ItemEventStreamPublisher;
+import com.campus.lostandfound.service.match.ItemChangedEvent;
+import com.campus.lostandfound.service.outbox.OutboxBatchException;
+import com.campus.lostandfound.service.outbox.OutboxEventType;
+import com.campus.lostandfound.service.outbox.OutboxHandler;
+import com.campus.lostandfound.util.CoalescingExecutor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 物品事件发件箱服务实现类
+ *
+ * 分发流程：
+ * - 事务提交后通过合并执行器在发件箱分发线程池中触发一次分发，短时间内的多次提交只触发一次；
+ *   线程池已满时丢弃本次触发，不在提交事务的线程中分发，由定时轮询兜底
+ * - 一条UPDATE领取一批到期事件并写入租约，多节点同时分发不会重复领取
+ * - 同类事件一次交给处理器；成功后批量删除，失败时按指数退避重新排期，超过最大次数标记为失败
+ * - 开启worker节点后，识别、匹配事件只写入Redis Stream，写入成功即删除，由worker节点消费
+ *
+ * 物品索引同步后发布的ItemChangedEvent转为SUGGEST事件，匹配推荐更新失败或线程池已满时同样按退避重试
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final String DISPATCH_KEY = "dispatch";
+
+    /**
+     * 失败原因最大长度，与表字段一致
+     */
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ItemOutboxMapper itemOutboxMapper;
+    private final OutboxProperties outboxProperties;
+    private final ObjectMapper objectMapper;
+    private final List<OutboxHandler> handlers;
+    private final ItemEventStreamPublisher itemEventStreamPublisher;
+    @Qualifier("outboxCoalescer")
+    private final CoalescingExecutor outboxCoalescer;
+
+    @Override
+    public void enqueue(Long itemId, String eventType, Map<String, Object> payload) {
+        ItemOutbox event = new ItemOutbox();
+        event.setItemId(itemId);
+        event.setEventType(eventType);
+        event.setPayload(toJson(payload));
+        event.setStatus(ItemOutbox.STATUS_PENDING);
+        event.setAttempts(0);
+        event.setNextAttemptAt(LocalDateTime.now());
+        itemOutboxMapper.insert(event);
+
+        // 提交后立即触发分发，不等下一次轮询
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    triggerDispatch();
+                }
+            });
+        } else {
+            triggerDispatch();
+        }
+    }
+
+    /**
+     * 物品变更后写入匹配推荐更新事件
+     * 事件在物品事务的afterCommit回调中发布，原事务的连接仍绑定在当前线程，需要在新事务中写入
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void onItemChanged(ItemChangedEvent event) {
+        enqueue(event.getItemId(), OutboxEventType.SUGGEST, null);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:5000}",
+               initialDelayString = "${outbox.poll-interval-ms:5000}")
+    public int dispatch() {
+        int batchSize = Math.max(1, outboxProperties.getBatchSize());
+        int dispatched = 0;
+        while (true) {
+            String token = UUID.randomUUID().toString();
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = itemOutboxMapper.claimBatch(token, now,
+                    now.plusSeconds(outboxProperties.getLeaseSeconds()), batchSize);
+            if (claimed == 0) {
+                break;
+            }
+
+            LambdaQueryWrapper<ItemOutbox> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.eq(ItemOutbox::getLeaseToken, token).orderByAsc(ItemOutbox::getId);
+            dispatched += dispatchBatch(itemOutboxMapper.selectList(queryWrapper));
+
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+        if (dispatched > 0) {
+            log.info("发件箱事件分发完成: count={}", dispatched);
+        }
+        return dispatched;
+    }
+
+    private void triggerDispatch() {
+        outboxCoalescer.submit(DISPATCH_KEY, () -> {
+            try {
+                dispatch();
+            } catch (Exception e) {
+                log.error("发件箱事件分发失败，等待下次轮询", e);
+            }
+        });
+    }
+
+    /**
+     * 按事件类型分组交给处理器，返回处理成功的数量
+     */
+    private int dispatchBatch(List<ItemOutbox> events) {
+        Map<String, OutboxHandler> handlerMap = handlers.stream()
+                .collect(Collectors.toMap(OutboxHandler::getEventType, Function.identity()));
+        Map<String, List<ItemOutbox>> byType = events.stream()
+                .collect(Collectors.groupingBy(ItemOutbox::getEventType, LinkedHashMap::new, Collectors.toList()));
+
+        List<Long> succeeded = new ArrayList<>();
+        byType.forEach((eventType, group) -> {
+            boolean toStream = itemEventStreamPublisher.accepts(eventType);
+            OutboxHandler handler = handlerMap.get(eventType);
+            if (!toStream && handler == null) {
+                log.error("发件箱事件没有对应的处理器: eventType={}, count={}", eventType, group.size());
+                group.forEach(event -> markFailed(event, "没有对应的处理器"));
+                return;
+            }
+            try {
+                if (toStream) {
+                    itemEventStreamPublisher.publish(group);
+                } else {
+                    handler.handle(group);
+                }
+                group.forEach(event -> succeeded.add(event.getId()));
+            } catch (OutboxBatchException e) {
+                log.error("发件箱事件部分处理失败: eventType={}, failedItemIds={}", eventType, e.getFailedItemIds());
+                for (ItemOutbox event : group) {
+                    if (e.getFailedItemIds().contains(event.getItemId())) {
+                        scheduleRetry(event, e);
+                    } else {
+                        succeeded.add(event.getId());
+                    }
+                }
+            } catch (Exception e) {
+                log.error("发件箱事件处理失败: eventType={}, count={}", eventType, group.size(), e);
+                group.forEach(event -> scheduleRetry(event, e));
+            }
+        });
+
+        if (!succeeded.isEmpty()) {
+            itemOutboxMapper.deleteBatchIds(succeeded);
+        }
+        return succeeded.size();
+    }
+
+    /**
+     * 按指数退避重新排期，超过最大尝试次数时标记为失败
+     */
+    private void scheduleRetry(ItemOutbox event, Exception e) {
+        if (event.getAttempts() >= outboxProperties.getMaxAttempts()) {
+            log.error("发件箱事件超过最大尝试次数，不再重试: id={}, itemId={}, eventType={}",
+                    event.getId(), event.getItemId(), event.getEventType());
+            markFailed(event, String.valueOf(e.getMessage()));
+            return;
+        }
+        long delaySeconds = outboxProperties.getRetryBaseSeconds() << Math.min(event.getAttempts() - 1, 10);
+        event.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+        event.setLastError(truncate(String.valueOf(e.getMessage())));
+        itemOutboxMapper.updateById(event);
+    }
+
+    private void markFailed(ItemOutbox event, String error) {
+        event.setStatus(ItemOutbox.STATUS_FAILED);
+        event.setLastError(truncate(error));
+        itemOutboxMapper.updateById(event);
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        if (payload == null || payload.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("发件箱事件参数无法序列化", e);
+        }
+    }
+}
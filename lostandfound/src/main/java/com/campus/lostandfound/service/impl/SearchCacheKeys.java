@@ -0,0 +1,66 @@
+package com.campus.lostandfound.service.impl;
+
+import com.campus.lostandfound.model.dto.ItemSearchDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 搜索缓存键生成
+ * 纯计算、不依赖Spring容器，基准测试可以直接调用
+ */
+final class SearchCacheKeys {
+    
+    /**
+     * 搜索缓存键前缀
+     */
+    static final String PREFIX = "item:search:";
+    
+    private SearchCacheKeys() {
+    }
+    
+    /**
+     * 生成搜索缓存键
+     * 使用MD5哈希搜索参数，键前缀带缓存代数，代数递增后旧键不再被读取
+     */
+    static String of(ItemSearchDTO dto, Long rankUserId, String generation, int pageNum, int pageSize) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(dto.getKeyword() != null ? dto.getKeyword() : "");
+        sb.append("|").append(dto.getType() != null ? dto.getType() : "");
+        sb.append("|").append(dto.getCategory() != null ? dto.getCategory() : "");
+        sb.append("|").append(dto.getStatus() != null ? dto.getStatus() : "");
+        sb.append("|").append(dto.getStartTime() != null ? dto.getStartTime().toString() : "");
+        sb.append("|").append(dto.getEndTime() != null ? dto.getEndTime().toString() : "");
+        sb.append("|").append(dto.getLongitude() != null ? dto.getLongitude() : "");
+        sb.append("|").append(dto.getLatitude() != null ? dto.getLatitude() : "");
+        sb.append("|").append(dto.getRadius() != null ? dto.getRadius() : "");
+        sb.append("|").append(dto.getSortBy() != null ? dto.getSortBy() : "");
+        sb.append("|").append(rankUserId != null ? "u:" + rankUserId : "");
+        sb.append("|").append(dto.getCursor() != null ? "c:" + dto.getCursor() : "");
+        sb.append("|").append(Boolean.TRUE.equals(dto.getWithTotal()) ? "t" : "");
+        sb.append("|").append(pageNum);
+        sb.append("|").append(pageSize);
+        
+        String hash = md5Hex(sb.toString());
+        return PREFIX + generation + ":" + hash;
+    }
+    
+    /**
+     * 计算MD5哈希
+     */
+    static String md5Hex(String input) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            byte[] digest = md.digest(input.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // 如果MD5不可用，使用hashCode作为备选
+            return String.valueOf(input.hashCode());
+        }
+    }
+}
@@ -11,9 +11,6 @@ import com.campus.lostandfound.model.vo.UserVO;
 import com.campus.lostandfound.repository.UserMapper;
 import com.campus.lostandfound.service.CacheService;
 import com.campus.lostandfound.service.UserService;
-import com.campus.lostandfound.util.RedisUtil;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -42,8 +39,6 @@ public class UserServiceImpl implements UserService {
     
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
-    private final RedisUtil redisUtil;
-    private final ObjectMapper objectMapper;
     private final CacheService cacheService;
     
     /**
@@ -57,16 +52,11 @@ public class UserServiceImpl implements UserService {
     public UserVO getProfile(Long userId) {
         String cacheKey = USER_INFO_CACHE_KEY + userId;
         
-        // 1. 尝试从缓存获取
-        String cachedData = redisUtil.get(cacheKey);
-        if (cachedData != null) {
-            try {
-                UserVO cachedVO = objectMapper.readValue(cachedData, UserVO.class);
-                log.info("用户信息缓存命中: userId={}", userId);
-                return cachedVO;
-            } catch (JsonProcessingException e) {
-                log.warn("解析用户信息缓存失败: userId={}", userId, e);
-            }
+        // 1. 尝试从缓存获取（本地缓存 -> Redis）
+        UserVO cachedVO = cacheService.get(cacheKey, UserVO.class);
+        if (cachedVO != null) {
+            log.info("用户信息缓存命中: userId={}", userId);
+            return cachedVO;
         }
         
         // 2. 缓存未命中，从数据库查询
@@ -78,13 +68,8 @@ public class UserServiceImpl implements UserService {
         UserVO userVO = convertToVO(user);
         
         // 3. 存入缓存
-        try {
-            String jsonData = objectMapper.writeValueAsString(userVO);
-            redisUtil.set(cacheKey, jsonData, USER_INFO_CACHE_HOURS, TimeUnit.HOURS);
-            log.info("用户信息已缓存: userId={}", userId);
-        } catch (JsonProcessingException e) {
-            log.warn("缓存用户信息失败: userId={}", userId, e);
-        }
+        cacheService.put(cacheKey, userVO, USER_INFO_CACHE_HOURS, TimeUnit.HOURS);
+        log.info("用户信息已缓存: userId={}", userId);
         
         return userVO;
     }
@@ -0,0 +1,110 @@
+package com.campus.lostandfound.service.impl;
+
+import com.campus.lostandfound.config.ViewCountProperties;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.service.HotItemService;
+import com.campus.lostandfound.service.ViewCountService;
+import com.campus.lostandfound.util.RedisUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 物品浏览次数服务实现类
+ * 
+ * Redis结构：
+ * - item:view:{id}   浏览次数计数器（INCR）
+ * - item:view:dirty  待回写的物品ID集合
+ * 
+ * 回写时用SPOP取出待回写ID，弹出与删除是原子的，多实例同时回写也不会重复处理同一批物品；
+ * 回写失败时把ID放回集合，下个周期重试
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViewCountServiceImpl implements ViewCountService {
+    
+    private static final String VIEW_COUNT_KEY = "item:view:";
+    private static final String DIRTY_SET_KEY = "item:view:dirty";
+    
+    private final RedisUtil redisUtil;
+    private final ItemMapper itemMapper;
+    private final ViewCountProperties viewCountProperties;
+    private final HotItemService hotItemService;
+    
+    @Override
+    public long increment(Long itemId) {
+        Long count = redisUtil.increment(VIEW_COUNT_KEY + itemId);
+        redisUtil.sAdd(DIRTY_SET_KEY, String.valueOf(itemId));
+        hotItemService.recordView(itemId);
+        return count != null ? count : 0L;
+    }
+    
+    @Override
+    @Scheduled(fixedDelayString = "${view-count.flush-interval-ms:10000}",
+               initialDelayString = "${view-count.flush-interval-ms:10000}")
+    public int flush() {
+        int batchSize = Math.max(1, viewCountProperties.getBatchSize());
+        int flushed = 0;
+        while (true) {
+            List<String> ids = redisUtil.sPop(DIRTY_SET_KEY, batchSize);
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            try {
+                flushed += flushBatch(ids);
+            } catch (Exception e) {
+                redisUtil.sAdd(DIRTY_SET_KEY, ids.toArray(new String[0]));
+                log.error("回写浏览次数失败，下个周期重试: count={}", ids.size(), e);
+                break;
+            }
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (flushed > 0) {
+            log.info("回写浏览次数完成: count={}", flushed);
+        }
+        return flushed;
+    }
+    
+    /**
+     * 应用关闭前回写剩余的浏览次数
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("关闭前回写浏览次数失败", e);
+        }
+    }
+    
+    private int flushBatch(List<String> ids) {
+        List<String> keys = ids.stream().map(id -> VIEW_COUNT_KEY + id).toList();
+        List<String> counts = redisUtil.multiGet(keys);
+        
+        List<Item> items = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String count = counts != null && i < counts.size() ? counts.get(i) : null;
+            if (count == null) {
+                // 计数器已过期或被删除，没有可回写的值
+                continue;
+            }
+            Item item = new Item();
+            item.setId(Long.valueOf(ids.get(i)));
+            item.setViewCount(Integer.valueOf(count));
+            items.add(item);
+        }
+        if (!items.isEmpty()) {
+            itemMapper.batchUpdateViewCount(items);
+        }
+        return items.size();
+    }
+}
@@ -0,0 +1,116 @@
+package com.campus.lostandfound.service.match;
+
+import com.campus.lostandfound.model.entity.Item;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 物品索引条目
+ * 常驻内存的物品快照，只保留匹配计算需要的字段，创建后不再修改
+ * 
+ * 除原始字段外，同时保存匹配评分使用的原始类型特征（类别ID、有序标签ID、事件时间秒数、坐标），
+ * 评分时无需再创建任何对象
+ */
+@Getter
+@Builder
+public class IndexedItem {
+    
+    /**
+     * 无事件时间
+     */
+    public static final long NO_TIME = Long.MIN_VALUE;
+    
+    /**
+     * 物品ID
+     */
+    private final Long id;
+    
+    /**
+     * 发布用户ID
+     */
+    private final Long userId;
+    
+    /**
+     * 类型: 0-失物, 1-招领
+     */
+    private final Integer type;
+    
+    /**
+     * 状态: 0-待处理, 1-已找回, 2-已关闭
+     */
+    private final Integer status;
+    
+    /**
+     * 物品类别
+     */
+    private final String category;
+    
+    /**
+     * 类别ID，无类别时为{@link TagDictionary#NONE}
+     */
+    private final int categoryId;
+    
+    /**
+     * 标签列表（只读）
+     */
+    private final List<String> tags;
+    
+    /**
+     * 标签ID（去重、升序）
+     */
+    private final int[] tagIds;
+    
+    /**
+     * 丢失/拾获时间
+     */
+    private final LocalDateTime eventTime;
+    
+    /**
+     * 丢失/拾获时间的秒数，无时间时为{@link #NO_TIME}
+     */
+    private final long eventSecond;
+    
+    /**
+     * 经度，无坐标时为NaN
+     */
+    private final double longitude;
+    
+    /**
+     * 纬度，无坐标时为NaN
+     */
+    private final double latitude;
+    
+    /**
+     * 根据物品实体和标签创建索引条目
+     */
+    public static IndexedItem of(Item item, List<String> tags) {
+        boolean hasLocation = item.getLongitude() != null && item.getLatitude() != null;
+        return IndexedItem.builder()
+                .id(item.getId())
+                .userId(item.getUserId())
+                .type(item.getType())
+                .status(item.getStatus())
+                .category(item.getCategory())
+                .categoryId(TagDictionary.idOf(item.getCategory()))
+                .tags(tags != null ? List.copyOf(tags) : Collections.emptyList())
+                .tagIds(TagDictionary.sortedIdsOf(tags))
+                .eventTime(item.getEventTime())
+                .eventSecond(item.getEventTime() != null
+                        ? item.getEventTime().toEpochSecond(ZoneOffset.UTC) : NO_TIME)
+                .longitude(hasLocation ? item.getLongitude().doubleValue() : Double.NaN)
+                .latitude(hasLocation ? item.getLatitude().doubleValue() : Double.NaN)
+                .build();
+    }
+    
+    /**
+     * 是否包含有效坐标
+     */
+    public boolean hasLocation() {
+        return !Double.isNaN(longitude) && !Double.isNaN(latitude);
+    }
+}
@@ -0,0 +1,18 @@
+package com.campus.lostandfound.service.match;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 物品变更事件
+ * 物品发布、编辑、删除、状态变更或标签更新并提交后发布，此时内存索引已同步
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemChangedEvent {
+    
+    /**
+     * 物品ID
+     */
+    private final Long itemId;
+}
@@ -0,0 +1,421 @@
+package com.campus.lostandfound.service.match;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.lostandfound.config.MatchProperties;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.entity.ItemTag;
+import com.campus.lostandfound.model.vo.MatchResult;
+import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.repository.ItemTagMapper;
+import com.campus.lostandfound.service.ItemIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * 匹配引擎
+ * 负责候选召回和评分，供匹配服务和匹配推荐维护共用
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchEngine {
+    
+    /**
+     * 时空邻域半径（米），超出评分范围的距离得分为0
+     */
+    private static final double NEIGHBOR_RADIUS_METERS = 5000;
+    
+    /**
+     * 时空邻域时间窗口（天），超出评分范围的时间得分为0
+     */
+    private static final long NEIGHBOR_DAYS = 7;
+    
+    /**
+     * IN查询每批ID数量
+     */
+    private static final int BATCH_SIZE = 500;
+    
+    private final ItemMapper itemMapper;
+    private final ItemTagMapper itemTagMapper;
+    private final ItemIndexService itemIndexService;
+    private final MatchProperties matchProperties;
+    private final ForkJoinPool matchScoringPool;
+    
+    /**
+     * 计算匹配，只返回分数最高的若干个结果
+     * 
+     * @param item 物品信息
+     * @param limit 最多返回个数
+     * @param minScore 最低分数
+     * @return 按分数降序排列的匹配结果
+     */
+    public List<MatchResult> match(Item item, int limit, float minScore) {
+        log.info("开始计算匹配 - itemId: {}, type: {}", item.getId(), item.getType());
+        
+        // 获取当前物品的标签
+        List<String> itemTags = getItemTags(item.getId());
+        
+        // 召回候选物品（失物找招领，招领找失物）
+        List<IndexedItem> candidateItems = findCandidates(item, itemTags);
+        log.info("找到候选物品数量: {}", candidateItems.size());
+        
+        if (candidateItems.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<MatchResult> matchResults = score(IndexedItem.of(item, itemTags), candidateItems, limit, minScore);
+        
+        log.info("匹配计算完成，共计算 {} 个候选物品，返回 {} 个", candidateItems.size(), matchResults.size());
+        return matchResults;
+    }
+    
+    /**
+     * 批量计算匹配
+     * 所有待匹配物品共用同一份候选快照：使用内存索引时直接从索引召回，
+     * 否则每种类型的候选物品及其标签只查询一次；开启候选预筛选时按与{@link #match}相同的召回规则过滤快照
+     * 
+     * @param items 待匹配物品
+     * @param limit 每个物品最多返回个数
+     * @return 物品ID到按分数降序排列的匹配结果的映射
+     */
+    public Map<Long, List<MatchResult>> matchBatch(List<Item> items, int limit) {
+        Map<Long, List<MatchResult>> resultMap = new LinkedHashMap<>();
+        if (items.isEmpty()) {
+            return resultMap;
+        }
+        
+        Map<Long, List<String>> tagMap = getItemTags(items.stream().map(Item::getId).collect(Collectors.toList()));
+        boolean indexEnabled = Boolean.TRUE.equals(matchProperties.getIndexEnabled());
+        boolean prefilter = Boolean.TRUE.equals(matchProperties.getCandidatePrefilter());
+        Map<Integer, List<IndexedItem>> snapshot = new HashMap<>();
+        
+        for (Item item : items) {
+            List<String> itemTags = tagMap.getOrDefault(item.getId(), Collections.emptyList());
+            
+            List<IndexedItem> candidateItems;
+            if (indexEnabled) {
+                candidateItems = itemIndexService.findMatchCandidates(item, itemTags);
+            } else {
+                int targetType = item.getType() == 0 ? 1 : 0;
+                candidateItems = snapshot.computeIfAbsent(targetType, this::loadOpenItems).stream()
+                        .filter(candidate -> !Objects.equals(candidate.getUserId(), item.getUserId()))
+                        .filter(candidate -> !prefilter || isRecalled(item, itemTags, candidate))
+                        .collect(Collectors.toList());
+            }
+            
+            resultMap.put(item.getId(), candidateItems.isEmpty()
+                    ? new ArrayList<>()
+                    : score(IndexedItem.of(item, itemTags), candidateItems, limit, 0));
+        }
+        
+        log.info("批量匹配计算完成，物品数: {}", items.size());
+        return resultMap;
+    }
+    
+    /**
+     * 计算两个物品之间的匹配结果
+     */
+    public MatchResult scorePair(Item item, List<String> itemTags, Item matchedItem, List<String> matchedItemTags) {
+        return MatchScoreKernel.toResult(IndexedItem.of(item, itemTags), IndexedItem.of(matchedItem, matchedItemTags));
+    }
+    
+    /**
+     * 获取物品标签列表
+     */
+    public List<String> getItemTags(Long itemId) {
+        if (Boolean.TRUE.equals(matchProperties.getIndexEnabled())) {
+            IndexedItem indexed = itemIndexService.get(itemId);
+            if (indexed != null) {
+                return indexed.getTags();
+            }
+        }
+        
+        LambdaQueryWrapper<ItemTag> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(ItemTag::getItemId, itemId);
+        
+        List<ItemTag> itemTags = itemTagMapper.selectList(queryWrapper);
+        return itemTags.stream()
+                .map(ItemTag::getTag)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 批量获取物品标签
+     */
+    private Map<Long, List<String>> getItemTags(List<Long> itemIds) {
+        Map<Long, List<String>> tagMap = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        
+        for (Long itemId : itemIds) {
+            IndexedItem indexed = Boolean.TRUE.equals(matchProperties.getIndexEnabled())
+                    ? itemIndexService.get(itemId) : null;
+            if (indexed != null) {
+                tagMap.put(itemId, indexed.getTags());
+            } else {
+                missingIds.add(itemId);
+            }
+        }
+        
+        if (!missingIds.isEmpty()) {
+            tagMap.putAll(selectTags(missingIds));
+        }
+        return tagMap;
+    }
+    
+    /**
+     * 对候选物品评分，按上界剪枝后只为入选的结果创建MatchResult
+     */
+    private List<MatchResult> score(IndexedItem probe, List<IndexedItem> candidateItems, int limit, float minScore) {
+        int size = candidateItems.size();
+        TopKCollector collector;
+        if (size >= matchProperties.getParallelThreshold() && matchScoringPool.getParallelism() > 1) {
+            // 候选池较大时按分片并行评分，再合并各分片的前K个
+            int chunkSize = Math.max(1024, size / (matchScoringPool.getParallelism() * 4));
+            collector = matchScoringPool.invoke(
+                    new ScoreTask(probe, candidateItems, 0, size, limit, minScore, chunkSize));
+        } else {
+            collector = new TopKCollector(limit, minScore, size);
+            MatchScoreKernel.collect(probe, candidateItems, 0, size, collector);
+        }
+        
+        int[] topIndexes = collector.indexes();
+        List<MatchResult> matchResults = new ArrayList<>(topIndexes.length);
+        for (int index : topIndexes) {
+            matchResults.add(MatchScoreKernel.toResult(probe, candidateItems.get(index)));
+        }
+        
+        // 按四舍五入后的分数重新排序，保证与返回的分数一致
+        matchResults.sort((a, b) -> b.getScore().compareTo(a.getScore()));
+        return matchResults;
+    }
+    
+    /**
+     * 召回候选物品
+     * 默认从内存索引召回，关闭索引时回退为数据库查询
+     */
+    private List<IndexedItem> findCandidates(Item item, List<String> itemTags) {
+        if (Boolean.TRUE.equals(matchProperties.getIndexEnabled())) {
+            return itemIndexService.findMatchCandidates(item, itemTags);
+        }
+        
+        Integer targetType = item.getType() == 0 ? 1 : 0;
+        
+        List<Item> candidateItems = Boolean.TRUE.equals(matchProperties.getCandidatePrefilter())
+                ? prefilterCandidates(item, itemTags, targetType)
+                : itemMapper.selectList(candidateQuery(targetType, item.getUserId()));
+        if (candidateItems.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // 批量查询候选物品标签，避免逐个查询
+        Map<Long, List<String>> tagMap = selectTags(
+                candidateItems.stream().map(Item::getId).collect(Collectors.toList()));
+        
+        return candidateItems.stream()
+                .map(candidate -> IndexedItem.of(candidate, tagMap.get(candidate.getId())))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 按条件分别查询候选物品后合并，召回规则与内存索引一致：
+     * 1. 相同类别
+     * 2. 共享标签
+     * 3. 时空邻域：事件时间窗口内且位于包围盒内
+     * 三者都不满足的物品类别、标签得分为0，时间或距离超出评分范围，不再召回
+     * 每个条件单独查询，分别使用idx_category、idx_tag和idx_match_neighbor索引
+     */
+    private List<Item> prefilterCandidates(Item item, List<String> itemTags, Integer targetType) {
+        Map<Long, Item> candidates = new LinkedHashMap<>();
+        
+        // 1. 相同类别
+        if (item.getCategory() != null && !item.getCategory().isEmpty()) {
+            LambdaQueryWrapper<Item> queryWrapper = candidateQuery(targetType, item.getUserId());
+            queryWrapper.eq(Item::getCategory, item.getCategory());
+            addCandidates(candidates, itemMapper.selectList(queryWrapper));
+        }
+        
+        // 2. 共享标签
+        if (itemTags != null && !itemTags.isEmpty()) {
+            LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
+            tagWrapper.select(ItemTag::getItemId)
+                     .in(ItemTag::getTag, itemTags);
+            List<Long> taggedIds = itemTagMapper.selectList(tagWrapper).stream()
+                    .map(ItemTag::getItemId)
+                    .filter(id -> !candidates.containsKey(id))
+                    .distinct()
+                    .collect(Collectors.toList());
+            
+            for (int from = 0; from < taggedIds.size(); from += BATCH_SIZE) {
+                List<Long> batch = taggedIds.subList(from, Math.min(from + BATCH_SIZE, taggedIds.size()));
+                LambdaQueryWrapper<Item> queryWrapper = candidateQuery(targetType, item.getUserId());
+                queryWrapper.in(Item::getId, batch);
+                addCandidates(candidates, itemMapper.selectList(queryWrapper));
+            }
+        }
+        
+        // 3. 时空邻域
+        if (item.getLongitude() != null && item.getLatitude() != null && item.getEventTime() != null) {
+            double lng = item.getLongitude().doubleValue();
+            double lat = item.getLatitude().doubleValue();
+            
+            double latDelta = neighborLatDelta();
+            double lngDelta = neighborLngDelta(lat);
+            
+            LambdaQueryWrapper<Item> queryWrapper = candidateQuery(targetType, item.getUserId());
+            queryWrapper.between(Item::getEventTime,
+                            item.getEventTime().minusDays(NEIGHBOR_DAYS), item.getEventTime().plusDays(NEIGHBOR_DAYS))
+                       .between(Item::getLatitude, BigDecimal.valueOf(lat - latDelta), BigDecimal.valueOf(lat + latDelta))
+                       .between(Item::getLongitude, BigDecimal.valueOf(lng - lngDelta), BigDecimal.valueOf(lng + lngDelta));
+            addCandidates(candidates, itemMapper.selectList(queryWrapper));
+        }
+        
+        return new ArrayList<>(candidates.values());
+    }
+    
+    /**
+     * 候选物品是否满足预筛选的召回规则，与{@link #prefilterCandidates}的三次查询条件一致
+     */
+    private boolean isRecalled(Item item, List<String> itemTags, IndexedItem candidate) {
+        // 1. 相同类别
+        if (item.getCategory() != null && !item.getCategory().isEmpty()
+                && item.getCategory().equals(candidate.getCategory())) {
+            return true;
+        }
+        
+        // 2. 共享标签
+        if (itemTags != null && !itemTags.isEmpty()
+                && candidate.getTags().stream().anyMatch(itemTags::contains)) {
+            return true;
+        }
+        
+        // 3. 时空邻域
+        if (item.getLongitude() == null || item.getLatitude() == null || item.getEventTime() == null
+                || candidate.getEventTime() == null || !candidate.hasLocation()) {
+            return false;
+        }
+        double lng = item.getLongitude().doubleValue();
+        double lat = item.getLatitude().doubleValue();
+        double latDelta = neighborLatDelta();
+        double lngDelta = neighborLngDelta(lat);
+        return !candidate.getEventTime().isBefore(item.getEventTime().minusDays(NEIGHBOR_DAYS))
+                && !candidate.getEventTime().isAfter(item.getEventTime().plusDays(NEIGHBOR_DAYS))
+                && Math.abs(candidate.getLatitude() - lat) <= latDelta
+                && Math.abs(candidate.getLongitude() - lng) <= lngDelta;
+    }
+    
+    /**
+     * 时空邻域包围盒的纬度半宽，纬度1度约111km
+     */
+    private static double neighborLatDelta() {
+        return NEIGHBOR_RADIUS_METERS / 111000.0;
+    }
+    
+    /**
+     * 时空邻域包围盒的经度半宽，经度1度约111km*cos(纬度)
+     */
+    private static double neighborLngDelta(double lat) {
+        return NEIGHBOR_RADIUS_METERS / (111000.0 * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+    }
+    
+    private void addCandidates(Map<Long, Item> candidates, List<Item> items) {
+        for (Item candidate : items) {
+            candidates.putIfAbsent(candidate.getId(), candidate);
+        }
+    }
+    
+    /**
+     * 候选物品的公共查询条件：相反类型、待处理、未删除、排除自己发布的
+     */
+    private LambdaQueryWrapper<Item> candidateQuery(Integer targetType, Long userId) {
+        LambdaQueryWrapper<Item> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(Item::getType, targetType)
+                   .eq(Item::getStatus, 0)  // 待处理
+                   .eq(Item::getDeleted, 0) // 未删除
+                   .ne(Item::getUserId, userId); // 排除自己发布的
+        return queryWrapper;
+    }
+    
+    /**
+     * 查询某种类型的所有待处理物品及其标签
+     */
+    private List<IndexedItem> loadOpenItems(Integer type) {
+        LambdaQueryWrapper<Item> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(Item::getType, type)
+                   .eq(Item::getStatus, 0)
+                   .eq(Item::getDeleted, 0);
+        
+        List<Item> openItems = itemMapper.selectList(queryWrapper);
+        if (openItems.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<Long, List<String>> tagMap = selectTags(openItems.stream().map(Item::getId).collect(Collectors.toList()));
+        return openItems.stream()
+                .map(openItem -> IndexedItem.of(openItem, tagMap.get(openItem.getId())))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 一次查询多个物品的标签，按物品ID分组
+     */
+    private Map<Long, List<String>> selectTags(List<Long> itemIds) {
+        LambdaQueryWrapper<ItemTag> tagWrapper = new LambdaQueryWrapper<>();
+        tagWrapper.in(ItemTag::getItemId, itemIds);
+        return itemTagMapper.selectList(tagWrapper).stream()
+                .collect(Collectors.groupingBy(
+                        ItemTag::getItemId,
+                        Collectors.mapping(ItemTag::getTag, Collectors.toList())
+                ));
+    }
+    
+    /**
+     * 并行评分任务
+     * 候选区间不超过分片大小时直接评分，否则一分为二并行执行后合并
+     */
+    private static class ScoreTask extends RecursiveTask<TopKCollector> {
+        
+        private final IndexedItem probe;
+        private final List<IndexedItem> candidates;
+        private final int from;
+        private final int to;
+        private final int limit;
+        private final float minScore;
+        private final int chunkSize;
+        
+        ScoreTask(IndexedItem probe, List<IndexedItem> candidates, int from, int to,
+                  int limit, float minScore, int chunkSize) {
+            this.probe = probe;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+            this.minScore = minScore;
+            this.chunkSize = chunkSize;
+        }
+        
+        @Override
+        protected TopKCollector compute() {
+            if (to - from <= chunkSize) {
+                TopKCollector collector = new TopKCollector(limit, minScore, to - from);
+                MatchScoreKernel.collect(probe, candidates, from, to, collector);
+                return collector;
+            }
+            
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(probe, candidates, from, mid, limit, minScore, chunkSize);
+            ScoreTask right = new ScoreTask(probe, candidates, mid, to, limit, minScore, chunkSize);
+            left.fork();
+            TopKCollector result = new TopKCollector(limit, minScore, to - from);
+            result.merge(right.compute());
+            result.merge(left.join());
+            return result;
+        }
+    }
+}
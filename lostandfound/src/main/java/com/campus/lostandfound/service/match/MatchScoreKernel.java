@@ -0,0 +1,220 @@
+package com.campus.lostandfound.service.match;
+
+import com.campus.lostandfound.model.vo.MatchResult;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * 匹配评分内核
+ * 
+ * 评分规则（满分100）：
+ * - 类别相同：30分
+ * - 标签Jaccard相似度 × 30
+ * - 时间：7天内线性递减，最高20分
+ * - 位置：5公里内线性递减，最高20分
+ * 
+ * 批量评分只使用原始类型计算，结果交给{@link TopKCollector}按上界剪枝并保留前K个；
+ * 只有最终返回的结果才转换为BigDecimal，各分项按两位小数四舍五入
+ */
+public final class MatchScoreKernel {
+    
+    public static final double CATEGORY_WEIGHT = 30;
+    public static final double TAG_WEIGHT = 30;
+    public static final double TIME_WEIGHT = 20;
+    public static final double LOCATION_WEIGHT = 20;
+    
+    /**
+     * 时间评分有效天数
+     */
+    private static final long TIME_WINDOW_DAYS = 7;
+    
+    /**
+     * 位置评分有效距离（公里）
+     */
+    private static final double LOCATION_RANGE_KM = 5;
+    
+    /**
+     * 地球半径（米），与LocationService保持一致
+     */
+    private static final double EARTH_RADIUS = 6371000;
+    
+    private static final long SECONDS_PER_DAY = 86400;
+    
+    private static final BigDecimal CATEGORY_SCORE = new BigDecimal("30");
+    
+    /**
+     * 上界余量，抵消不同加法顺序带来的浮点误差，保证剪枝不会误删可入选的候选
+     */
+    private static final double BOUND_EPSILON = 1e-4;
+    
+    private MatchScoreKernel() {
+    }
+    
+    /**
+     * 对候选物品评分并提交到收集器
+     * 
+     * 按计算代价从低到高依次累加类别、时间、位置、标签分数，
+     * 每一步用已得分数加上剩余分项的上界判断能否入选，不能入选则跳过剩余计算
+     * 
+     * @param probe 待匹配物品
+     * @param candidates 候选物品
+     * @param from 起始下标（含）
+     * @param to 结束下标（不含）
+     * @param collector 收集器，候选以其在candidates中的下标提交
+     */
+    public static void collect(IndexedItem probe, List<IndexedItem> candidates, int from, int to,
+                               TopKCollector collector) {
+        int[] probeTags = probe.getTagIds();
+        
+        for (int i = from; i < to; i++) {
+            IndexedItem candidate = candidates.get(i);
+            int[] candidateTags = candidate.getTagIds();
+            
+            double partial = categoryScore(probe.getCategoryId(), candidate.getCategoryId())
+                    + timeScore(probe.getEventSecond(), candidate.getEventSecond());
+            double tagBound = tagScoreBound(probeTags, candidateTags);
+            if (!collector.accepts(i, (float) (partial + tagBound + LOCATION_WEIGHT + BOUND_EPSILON))) {
+                continue;
+            }
+            
+            partial += locationScore(probe.getLongitude(), probe.getLatitude(),
+                                     candidate.getLongitude(), candidate.getLatitude());
+            if (!collector.accepts(i, (float) (partial + tagBound))) {
+                continue;
+            }
+            
+            collector.offer(i, (float) (partial + tagScore(probeTags, candidateTags)));
+        }
+    }
+    
+    /**
+     * 计算单个候选物品的总分
+     */
+    public static float score(IndexedItem probe, IndexedItem candidate) {
+        return (float) (categoryScore(probe.getCategoryId(), candidate.getCategoryId())
+                + timeScore(probe.getEventSecond(), candidate.getEventSecond())
+                + locationScore(probe.getLongitude(), probe.getLatitude(),
+                                candidate.getLongitude(), candidate.getLatitude())
+                + tagScore(probe.getTagIds(), candidate.getTagIds()));
+    }
+    
+    /**
+     * 计算完整的匹配结果，各分项保留两位小数
+     */
+    public static MatchResult toResult(IndexedItem probe, IndexedItem candidate) {
+        MatchResult matchResult = new MatchResult(probe.getId(), candidate.getId());
+        
+        BigDecimal categoryScore = categoryScore(probe.getCategoryId(), candidate.getCategoryId()) > 0
+                ? CATEGORY_SCORE : BigDecimal.ZERO;
+        BigDecimal tagScore = toDecimal(tagScore(probe.getTagIds(), candidate.getTagIds()));
+        BigDecimal timeScore = toDecimal(timeScore(probe.getEventSecond(), candidate.getEventSecond()));
+        BigDecimal locationScore = toDecimal(locationScore(probe.getLongitude(), probe.getLatitude(),
+                                                           candidate.getLongitude(), candidate.getLatitude()));
+        
+        matchResult.setCategoryScore(categoryScore);
+        matchResult.setTagScore(tagScore);
+        matchResult.setTimeScore(timeScore);
+        matchResult.setLocationScore(locationScore);
+        matchResult.setScore(categoryScore.add(tagScore).add(timeScore).add(locationScore));
+        return matchResult;
+    }
+    
+    /**
+     * 类别分数
+     */
+    static double categoryScore(int categoryId1, int categoryId2) {
+        return categoryId1 != TagDictionary.NONE && categoryId1 == categoryId2 ? CATEGORY_WEIGHT : 0;
+    }
+    
+    /**
+     * 标签分数（Jaccard相似度），标签ID数组需去重且升序
+     */
+    static double tagScore(int[] tags1, int[] tags2) {
+        if (tags1.length == 0 && tags2.length == 0) {
+            return 0;
+        }
+        
+        // 有序数组归并求交集大小
+        int intersection = 0;
+        int i = 0;
+        int j = 0;
+        while (i < tags1.length && j < tags2.length) {
+            if (tags1[i] == tags2[j]) {
+                intersection++;
+                i++;
+                j++;
+            } else if (tags1[i] < tags2[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = tags1.length + tags2.length - intersection;
+        
+        return (double) intersection / union * TAG_WEIGHT;
+    }
+    
+    /**
+     * 标签分数上界
+     * 交集不超过较小集合、并集不小于较大集合，Jaccard相似度不超过 较小集合大小 / 较大集合大小
+     */
+    static double tagScoreBound(int[] tags1, int[] tags2) {
+        int max = Math.max(tags1.length, tags2.length);
+        if (max == 0) {
+            return 0;
+        }
+        return (double) Math.min(tags1.length, tags2.length) / max * TAG_WEIGHT;
+    }
+    
+    /**
+     * 时间分数，按相差的整天数计算
+     */
+    static double timeScore(long eventSecond1, long eventSecond2) {
+        if (eventSecond1 == IndexedItem.NO_TIME || eventSecond2 == IndexedItem.NO_TIME) {
+            return 0;
+        }
+        
+        long daysDiff = Math.abs(eventSecond1 - eventSecond2) / SECONDS_PER_DAY;
+        if (daysDiff > TIME_WINDOW_DAYS) {
+            return 0;
+        }
+        
+        return Math.max(0, TIME_WEIGHT - (daysDiff * TIME_WEIGHT / TIME_WINDOW_DAYS));
+    }
+    
+    /**
+     * 位置分数，使用Haversine公式计算球面距离
+     */
+    static double locationScore(double longitude1, double latitude1, double longitude2, double latitude2) {
+        if (Double.isNaN(longitude1) || Double.isNaN(latitude1) ||
+            Double.isNaN(longitude2) || Double.isNaN(latitude2)) {
+            return 0;
+        }
+        
+        double lat1 = Math.toRadians(latitude1);
+        double lat2 = Math.toRadians(latitude2);
+        double dLat = lat2 - lat1;
+        double dLng = Math.toRadians(longitude2) - Math.toRadians(longitude1);
+        
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                   Math.cos(lat1) * Math.cos(lat2) *
+                   Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        
+        double distanceKm = EARTH_RADIUS * c / 1000.0;
+        if (distanceKm > LOCATION_RANGE_KM) {
+            return 0;
+        }
+        
+        return Math.max(0, LOCATION_WEIGHT - (distanceKm * LOCATION_WEIGHT / LOCATION_RANGE_KM));
+    }
+    
+    private static BigDecimal toDecimal(double score) {
+        if (score == 0) {
+            return BigDecimal.ZERO;
+        }
+        return new BigDecimal(score).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,67 @@
+package com.campus.lostandfound.service.match;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 标签字典
+ * 将标签、类别等字符串驻留为整数ID，匹配计算时只比较整数
+ * 
+ * 字典只增不减，规模与系统中出现过的不同标签数相当
+ */
+public final class TagDictionary {
+    
+    /**
+     * 空值对应的ID，不与任何有效ID相等
+     */
+    public static final int NONE = -1;
+    
+    private static final int[] EMPTY = new int[0];
+    
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    
+    private TagDictionary() {
+    }
+    
+    /**
+     * 获取字符串对应的ID，首次出现时分配新ID
+     */
+    public static int idOf(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        return IDS.computeIfAbsent(value, k -> SEQUENCE.getAndIncrement());
+    }
+    
+    /**
+     * 将标签集合转换为去重、升序的ID数组
+     */
+    public static int[] sortedIdsOf(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        
+        int[] ids = new int[values.size()];
+        int size = 0;
+        for (String value : values) {
+            if (value != null) {
+                ids[size++] = idOf(value);
+            }
+        }
+        Arrays.sort(ids, 0, size);
+        
+        // 去重
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return distinct == ids.length ? ids : Arrays.copyOf(ids, distinct);
+    }
+}
@@ -0,0 +1,139 @@
+package com.campus.lostandfound.service.match;
+
+/**
+ * 有界Top-K收集器
+ * 
+ * 以小顶堆保存当前分数最高的K个候选（堆顶为最差的一个），
+ * 候选数为N时总代价为O(N log K)。分数相同时下标小的优先，结果与稳定排序一致。
+ * 
+ * 评分过程中可通过{@link #accepts(int, float)}判断分数上界能否入选，提前跳过无望的候选
+ */
+public final class TopKCollector {
+    
+    private final int capacity;
+    private final float minScore;
+    private final int[] indexes;
+    private final float[] scores;
+    private int size;
+    
+    /**
+     * @param limit 最多保留个数
+     * @param minScore 最低分数（含）
+     * @param candidateCount 候选总数，用于限制堆的大小
+     */
+    public TopKCollector(int limit, float minScore, int candidateCount) {
+        this.capacity = Math.max(0, Math.min(limit, candidateCount));
+        this.minScore = minScore;
+        this.indexes = new int[capacity];
+        this.scores = new float[capacity];
+    }
+    
+    /**
+     * 分数上界为upperBound的候选是否可能入选
+     */
+    public boolean accepts(int index, float upperBound) {
+        if (size < capacity) {
+            return upperBound >= minScore;
+        }
+        return capacity > 0 && better(index, upperBound, indexes[0], scores[0]);
+    }
+    
+    /**
+     * 提交一个候选
+     */
+    public void offer(int index, float score) {
+        if (!accepts(index, score)) {
+            return;
+        }
+        
+        if (size < capacity) {
+            siftUp(size++, index, score);
+        } else {
+            siftDown(0, index, score);
+        }
+    }
+    
+    /**
+     * 合并另一个收集器的结果
+     */
+    public void merge(TopKCollector other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.indexes[i], other.scores[i]);
+        }
+    }
+    
+    /**
+     * 当前保留的候选个数
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * 入选候选的下标，按分数降序，分数相同时下标小的在前
+     */
+    public int[] indexes() {
+        int[] heapIndexes = indexes.clone();
+        float[] heapScores = scores.clone();
+        int[] result = new int[size];
+        
+        // 依次弹出堆顶（最差的一个），从后往前填充
+        for (int n = size; n > 0; n--) {
+            result[n - 1] = heapIndexes[0];
+            int lastIndex = heapIndexes[n - 1];
+            float lastScore = heapScores[n - 1];
+            siftDown(heapIndexes, heapScores, n - 1, 0, lastIndex, lastScore);
+        }
+        return result;
+    }
+    
+    /**
+     * 候选a是否优于候选b：分数更高，或分数相同但下标更小
+     */
+    private static boolean better(int indexA, float scoreA, int indexB, float scoreB) {
+        return scoreA > scoreB || (scoreA == scoreB && indexA < indexB);
+    }
+    
+    private void siftUp(int pos, int index, float score) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!better(indexes[parent], scores[parent], index, score)) {
+                break;
+            }
+            indexes[pos] = indexes[parent];
+            scores[pos] = scores[parent];
+            pos = parent;
+        }
+        indexes[pos] = index;
+        scores[pos] = score;
+    }
+    
+    private void siftDown(int pos, int index, float score) {
+        siftDown(indexes, scores, size, pos, index, score);
+    }
+    
+    private static void siftDown(int[] heapIndexes, float[] heapScores, int heapSize, int pos, int index, float score) {
+        if (heapSize == 0) {
+            return;
+        }
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            // 选出较差的子节点
+            if (child + 1 < heapSize &&
+                better(heapIndexes[child], heapScores[child], heapIndexes[child + 1], heapScores[child + 1])) {
+                child++;
+            }
+            if (!better(index, score, heapIndexes[child], heapScores[child])) {
+                break;
+            }
+            heapIndexes[pos] = heapIndexes[child];
+            heapScores[pos] = heapScores[child];
+            pos = child;
+        }
+        heapIndexes[pos] = index;
+        heapScores[pos] = score;
+    }
+}
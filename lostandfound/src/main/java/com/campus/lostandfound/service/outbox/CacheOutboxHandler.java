@@ -0,0 +1,55 @@
+package com.campus.lostandfound.service.outbox;
+
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import com.campus.lostandfound.service.CacheService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 缓存清除事件处理器
+ * 每个物品的详情缓存只删除一次，同一搜索分区的缓存代数只递增一次
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheOutboxHandler implements OutboxHandler {
+    
+    private final CacheService cacheService;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    public String getEventType() {
+        return OutboxEventType.EVICT_CACHE;
+    }
+    
+    @Override
+    public void handle(List<ItemOutbox> events) throws Exception {
+        Set<Long> itemIds = new LinkedHashSet<>();
+        Set<List<Object>> partitions = new LinkedHashSet<>();
+        for (ItemOutbox event : events) {
+            itemIds.add(event.getItemId());
+            JsonNode payload = objectMapper.readTree(event.getPayload());
+            partitions.add(partition(payload.get("type"), payload.get("category")));
+            if (payload.has("oldType") || payload.has("oldCategory")) {
+                partitions.add(partition(payload.get("oldType"), payload.get("oldCategory")));
+            }
+        }
+        
+        itemIds.forEach(cacheService::evictItemDetailCache);
+        for (List<Object> partition : partitions) {
+            cacheService.evictItemSearchCache((Integer) partition.get(0), (String) partition.get(1));
+        }
+    }
+    
+    private static List<Object> partition(JsonNode type, JsonNode category) {
+        return Arrays.asList(
+                type == null || type.isNull() ? null : type.asInt(),
+                category == null || category.isNull() ? null : category.asText());
+    }
+}
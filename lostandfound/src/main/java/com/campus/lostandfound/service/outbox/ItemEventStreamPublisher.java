@@ -0,0 +1,77 @@
+package com.campus.lostandfound.service.outbox;
+
+import com.campus.lostandfound.config.WorkerProperties;
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import com.campus.lostandfound.util.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 物品事件流生产者
+ * 开启worker节点后，发件箱把识别、匹配事件写入Redis Stream，写入成功即视为分发完成，
+ * 之后由{@link ItemEventStreamWorker}在worker节点上消费
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemEventStreamPublisher {
+
+    static final String FIELD_OUTBOX_ID = "outboxId";
+    static final String FIELD_ITEM_ID = "itemId";
+    static final String FIELD_EVENT_TYPE = "eventType";
+    static final String FIELD_PAYLOAD = "payload";
+
+    private final RedisUtil redisUtil;
+    private final WorkerProperties workerProperties;
+
+    /**
+     * 该类型的事件是否交给worker节点处理
+     */
+    public boolean accepts(String eventType) {
+        return Boolean.TRUE.equals(workerProperties.getStreamEnabled())
+                && workerProperties.getEventTypes().contains(eventType);
+    }
+
+    /**
+     * 写入一批事件，写入后近似裁剪事件流
+     * 中途失败时整批由发件箱重试，已写入的事件会重复投递，处理器本身是幂等的
+     *
+     * @param events 同类事件
+     */
+    public void publish(List<ItemOutbox> events) {
+        String streamKey = workerProperties.getStreamKey();
+        for (ItemOutbox event : events) {
+            redisUtil.xAdd(streamKey, toFields(event));
+        }
+        redisUtil.xTrim(streamKey, workerProperties.getMaxLength());
+        log.info("物品事件写入事件流: stream={}, count={}", streamKey, events.size());
+    }
+
+    static Map<String, String> toFields(ItemOutbox event) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(FIELD_OUTBOX_ID, String.valueOf(event.getId()));
+        fields.put(FIELD_ITEM_ID, String.valueOf(event.getItemId()));
+        fields.put(FIELD_EVENT_TYPE, event.getEventType());
+        if (event.getPayload() != null) {
+            fields.put(FIELD_PAYLOAD, event.getPayload());
+        }
+        return fields;
+    }
+
+    static ItemOutbox toEvent(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        ItemOutbox event = new ItemOutbox();
+        event.setId(Long.valueOf(String.valueOf(fields.get(FIELD_OUTBOX_ID))));
+        event.setItemId(Long.valueOf(String.valueOf(fields.get(FIELD_ITEM_ID))));
+        event.setEventType(String.valueOf(fields.get(FIELD_EVENT_TYPE)));
+        Object payload = fields.get(FIELD_PAYLOAD);
+        event.setPayload(payload == null ? null : String.valueOf(payload));
+        return event;
+    }
+}
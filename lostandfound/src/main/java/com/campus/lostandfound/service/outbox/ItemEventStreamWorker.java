@@ -0,0 +1,194 @@
+package com.campus.lostandfound.service.outbox;
+
+import com.campus.lostandfound.config.WorkerProperties;
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import com.campus.lostandfound.util.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 物品事件流消费者，只在worker节点上启用
+ *
+ * 消费流程：
+ * - 每轮先接管其他消费者空闲过久的待确认事件，再读取新事件，处理节点宕机时事件不会丢失
+ * - 同类事件一次交给与发件箱相同的处理器，处理器等待识别、匹配真正完成后才返回，之后才确认；
+ *   失败的事件不确认，空闲超时后重新投递
+ * - 投递次数达到上限的事件转入死信流并确认，不再重试
+ *
+ * 内存索引通过节点间的刷新广播与Web节点保持同步，处理前不再逐个同步
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "worker", name = "consume", havingValue = "true")
+public class ItemEventStreamWorker {
+
+    private final RedisUtil redisUtil;
+    private final WorkerProperties workerProperties;
+    private final Map<String, OutboxHandler> handlerMap;
+    private final String consumerName;
+
+    private volatile boolean groupReady;
+
+    public ItemEventStreamWorker(RedisUtil redisUtil, WorkerProperties workerProperties,
+                                 List<OutboxHandler> handlers) {
+        this.redisUtil = redisUtil;
+        this.workerProperties = workerProperties;
+        this.handlerMap = handlers.stream()
+                .collect(Collectors.toMap(OutboxHandler::getEventType, Function.identity()));
+        String name = workerProperties.getConsumerName();
+        // 未配置时使用 进程号@主机名，重启后由新的消费者接管旧消费者未确认的事件
+        this.consumerName = name == null || name.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : name;
+    }
+
+    /**
+     * 消费事件流，返回处理成功的事件数量
+     */
+    @Scheduled(fixedDelayString = "${worker.poll-interval-ms:500}",
+               initialDelayString = "${worker.poll-interval-ms:500}")
+    public int consume() {
+        ensureGroup();
+        int batchSize = Math.max(1, workerProperties.getBatchSize());
+        int processed = reclaim(batchSize);
+        while (true) {
+            List<MapRecord<String, Object, Object>> records = redisUtil.xReadGroup(
+                    workerProperties.getStreamKey(), workerProperties.getGroup(), consumerName, batchSize);
+            if (records == null || records.isEmpty()) {
+                break;
+            }
+            processed += process(records);
+            if (records.size() < batchSize) {
+                break;
+            }
+        }
+        if (processed > 0) {
+            log.info("事件流消费完成: consumer={}, count={}", consumerName, processed);
+        }
+        return processed;
+    }
+
+    private void ensureGroup() {
+        if (groupReady) {
+            return;
+        }
+        try {
+            redisUtil.xGroupCreate(workerProperties.getStreamKey(), workerProperties.getGroup());
+            log.info("创建事件流消费组: stream={}, group={}", workerProperties.getStreamKey(), workerProperties.getGroup());
+        } catch (RedisSystemException e) {
+            // 消费组已存在
+            if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+        groupReady = true;
+    }
+
+    /**
+     * 接管空闲超时的待确认事件，投递次数达到上限的转入死信流
+     */
+    private int reclaim(int batchSize) {
+        String streamKey = workerProperties.getStreamKey();
+        String group = workerProperties.getGroup();
+        PendingMessages pending = redisUtil.xPending(streamKey, group, batchSize);
+        if (pending == null || pending.isEmpty()) {
+            return 0;
+        }
+
+        Duration minIdle = Duration.ofMillis(workerProperties.getReclaimIdleMs());
+        Map<RecordId, Long> deliveries = new HashMap<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                deliveries.put(message.getId(), message.getTotalDeliveryCount());
+            }
+        }
+        if (deliveries.isEmpty()) {
+            return 0;
+        }
+
+        // 接管时再次按空闲时长判断，期间已被其他消费者接管或确认的事件不会返回
+        List<MapRecord<String, Object, Object>> claimed = redisUtil.xClaim(streamKey, group, consumerName,
+                minIdle, deliveries.keySet().toArray(new RecordId[0]));
+        List<MapRecord<String, Object, Object>> retry = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : claimed) {
+            if (deliveries.get(record.getId()) >= workerProperties.getMaxDeliveries()) {
+                deadLetter(record, "超过最大投递次数");
+            } else {
+                retry.add(record);
+            }
+        }
+        if (!claimed.isEmpty()) {
+            log.warn("接管空闲超时的事件: consumer={}, count={}", consumerName, claimed.size());
+        }
+        return retry.isEmpty() ? 0 : process(retry);
+    }
+
+    /**
+     * 按事件类型分组交给处理器，返回处理成功的数量
+     */
+    private int process(List<MapRecord<String, Object, Object>> records) {
+        Map<String, List<MapRecord<String, Object, Object>>> byType = records.stream()
+                .collect(Collectors.groupingBy(
+                        record -> String.valueOf(record.getValue().get(ItemEventStreamPublisher.FIELD_EVENT_TYPE)),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        List<RecordId> succeeded = new ArrayList<>();
+        byType.forEach((eventType, group) -> {
+            OutboxHandler handler = handlerMap.get(eventType);
+            if (handler == null) {
+                log.error("事件流中的事件没有对应的处理器: eventType={}, count={}", eventType, group.size());
+                group.forEach(record -> deadLetter(record, "没有对应的处理器"));
+                return;
+            }
+            try {
+                handler.handle(group.stream().map(ItemEventStreamPublisher::toEvent).toList());
+                group.forEach(record -> succeeded.add(record.getId()));
+            } catch (OutboxBatchException e) {
+                // 只确认成功物品的事件，失败的空闲超时后重新投递
+                log.error("事件流中的事件部分处理失败: eventType={}, failedItemIds={}", eventType, e.getFailedItemIds());
+                group.stream()
+                        .filter(record -> !e.getFailedItemIds().contains(ItemEventStreamPublisher.toEvent(record).getItemId()))
+                        .forEach(record -> succeeded.add(record.getId()));
+            } catch (Exception e) {
+                // 不确认，空闲超时后重新投递
+                log.error("事件流中的事件处理失败: eventType={}, count={}", eventType, group.size(), e);
+            }
+        });
+
+        if (!succeeded.isEmpty()) {
+            redisUtil.xAck(workerProperties.getStreamKey(), workerProperties.getGroup(),
+                    succeeded.toArray(new RecordId[0]));
+        }
+        return succeeded.size();
+    }
+
+    /**
+     * 转入死信流并确认，死信记录保留原始字段和来源记录ID
+     */
+    private void deadLetter(MapRecord<String, Object, Object> record, String reason) {
+        Map<String, String> fields = new HashMap<>();
+        record.getValue().forEach((field, value) -> fields.put(String.valueOf(field), String.valueOf(value)));
+        fields.put("sourceId", record.getId().getValue());
+        fields.put("reason", reason);
+        redisUtil.xAdd(workerProperties.getDeadLetterKey(), fields);
+        redisUtil.xAck(workerProperties.getStreamKey(), workerProperties.getGroup(), record.getId());
+        log.error("事件转入死信流: id={}, itemId={}, eventType={}, reason={}", record.getId().getValue(),
+                record.getValue().get(ItemEventStreamPublisher.FIELD_ITEM_ID),
+                record.getValue().get(ItemEventStreamPublisher.FIELD_EVENT_TYPE), reason);
+    }
+}
@@ -0,0 +1,44 @@
+package com.campus.lostandfound.service.outbox;
+
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import com.campus.lostandfound.service.MatchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 匹配计算事件处理器
+ * 同一物品只计算一次；各物品在匹配线程池中并行计算并通知高分匹配的发布者，全部完成后才返回，
+ * 计算失败或线程池已满的物品由发件箱重试
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchOutboxHandler implements OutboxHandler {
+    
+    private final MatchService matchService;
+    @Qualifier("matchExecutor")
+    private final ThreadPoolTaskExecutor matchExecutor;
+    
+    @Override
+    public String getEventType() {
+        return OutboxEventType.MATCH;
+    }
+    
+    @Override
+    public void handle(List<ItemOutbox> events) throws Exception {
+        Map<Long, Runnable> tasks = new LinkedHashMap<>();
+        for (ItemOutbox event : events) {
+            Long itemId = event.getItemId();
+            tasks.putIfAbsent(itemId, () -> matchService.calculateMatchAndNotify(itemId));
+        }
+        OutboxTasks.runPerItem("匹配计算", tasks, matchExecutor);
+        log.info("匹配计算完成: 事件数={}, 物品数={}", events.size(), tasks.size());
+    }
+}
@@ -0,0 +1,22 @@
+package com.campus.lostandfound.service.outbox;
+
+import java.util.Set;
+
+/**
+ * 一批事件中部分物品处理失败
+ * 只有这些物品的事件重试，其余事件视为处理完成
+ */
+public class OutboxBatchException extends Exception {
+    
+    private final Set<Long> failedItemIds;
+    
+    public OutboxBatchException(Set<Long> failedItemIds, Throwable cause) {
+        super("事件处理失败: failedItemIds=" + failedItemIds
+                + (cause != null ? ", cause=" + cause.getMessage() : ""), cause);
+        this.failedItemIds = failedItemIds;
+    }
+    
+    public Set<Long> getFailedItemIds() {
+        return failedItemIds;
+    }
+}
@@ -0,0 +1,30 @@
+package com.campus.lostandfound.service.outbox;
+
+/**
+ * 发件箱事件类型
+ */
+public final class OutboxEventType {
+    
+    /**
+     * 识别首图并保存标签，参数: imageUrl
+     */
+    public static final String RECOGNIZE = "RECOGNIZE";
+    
+    /**
+     * 计算匹配并通知高分匹配的发布者
+     */
+    public static final String MATCH = "MATCH";
+    
+    /**
+     * 物品变更后增量更新匹配推荐
+     */
+    public static final String SUGGEST = "SUGGEST";
+    
+    /**
+     * 清除物品详情缓存和搜索缓存分区，参数: type, category，分区变化时另带 oldType, oldCategory
+     */
+    public static final String EVICT_CACHE = "EVICT_CACHE";
+    
+    private OutboxEventType() {
+    }
+}
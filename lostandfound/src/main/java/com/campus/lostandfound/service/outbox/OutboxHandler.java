@@ -0,0 +1,26 @@
+package com.campus.lostandfound.service.outbox;
+
+import com.campus.lostandfound.model.entity.ItemOutbox;
+
+import java.util.List;
+
+/**
+ * 发件箱事件处理器
+ * 同一批领取到的同类事件一次交给处理器，处理器可以合并同一物品的重复事件
+ */
+public interface OutboxHandler {
+    
+    /**
+     * 处理的事件类型
+     */
+    String getEventType();
+    
+    /**
+     * 处理一批事件，返回时事件对应的工作必须已经完成，返回后事件即被删除或确认
+     * 抛出{@link OutboxBatchException}时只重试其中失败物品的事件，抛出其他异常时这一批事件全部重试，
+     * 因此处理必须幂等
+     * 
+     * @param events 同类事件，按事件ID升序
+     */
+    void handle(List<ItemOutbox> events) throws Exception;
+}
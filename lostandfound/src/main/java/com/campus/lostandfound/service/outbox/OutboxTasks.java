@@ -0,0 +1,63 @@
+package com.campus.lostandfound.service.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 处理器按物品并行执行任务的工具
+ * 任务提交到对应的线程池后等待全部完成再返回，事件在任务真正成功后才会被删除或确认
+ */
+@Slf4j
+final class OutboxTasks {
+    
+    private OutboxTasks() {
+    }
+    
+    /**
+     * 每个物品一个任务并行执行，等待全部完成
+     * 
+     * @param name 任务名称，用于日志
+     * @param tasks 物品ID到任务的映射
+     * @param executor 执行任务的线程池
+     * @throws OutboxBatchException 有任务失败或被线程池拒绝，携带失败的物品ID
+     */
+    static void runPerItem(String name, Map<Long, Runnable> tasks, Executor executor) throws OutboxBatchException {
+        Map<Long, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+        tasks.forEach((itemId, task) -> {
+            CompletableFuture<Void> future;
+            try {
+                future = CompletableFuture.runAsync(task, executor);
+            } catch (RejectedExecutionException e) {
+                // 线程池已满，留待重试
+                future = CompletableFuture.failedFuture(e);
+            }
+            futures.put(itemId, future);
+        });
+        
+        Set<Long> failedItemIds = new LinkedHashSet<>();
+        Throwable firstCause = null;
+        for (Map.Entry<Long, CompletableFuture<Void>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("{}失败: itemId={}", name, entry.getKey(), cause);
+                failedItemIds.add(entry.getKey());
+                if (firstCause == null) {
+                    firstCause = cause;
+                }
+            }
+        }
+        if (!failedItemIds.isEmpty()) {
+            throw new OutboxBatchException(failedItemIds, firstCause);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.campus.lostandfound.service.outbox;
+
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import com.campus.lostandfound.service.ImageRecognitionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 图片识别事件处理器
+ * 同一物品只识别最新一次事件中的首图；各物品在识别线程池中并行识别，全部完成后才返回，
+ * 识别失败或线程池已满的物品由发件箱重试
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecognitionOutboxHandler implements OutboxHandler {
+    
+    private final ImageRecognitionService imageRecognitionService;
+    @Qualifier("recognitionExecutor")
+    private final ThreadPoolTaskExecutor recognitionExecutor;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    public String getEventType() {
+        return OutboxEventType.RECOGNIZE;
+    }
+    
+    @Override
+    public void handle(List<ItemOutbox> events) throws Exception {
+        Map<Long, String> latestImages = new LinkedHashMap<>();
+        for (ItemOutbox event : events) {
+            latestImages.put(event.getItemId(), objectMapper.readTree(event.getPayload()).path("imageUrl").asText());
+        }
+        
+        Map<Long, Runnable> tasks = new LinkedHashMap<>();
+        latestImages.forEach((itemId, imageUrl) ->
+                tasks.put(itemId, () -> imageRecognitionService.recognizeAndSaveTags(imageUrl, itemId)));
+        OutboxTasks.runPerItem("图片识别", tasks, recognitionExecutor);
+        log.info("图片识别完成: 事件数={}, 物品数={}", events.size(), tasks.size());
+    }
+}
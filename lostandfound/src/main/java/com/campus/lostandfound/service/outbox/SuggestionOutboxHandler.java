@@ -0,0 +1,55 @@
+package com.campus.lostandfound.service.outbox;
+
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import com.campus.lostandfound.service.MatchSuggestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 匹配推荐更新事件处理器
+ * 同一物品只更新一次；逐个物品在当前线程中更新，不占用匹配线程池，
+ * 更新失败的物品由发件箱重试
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestionOutboxHandler implements OutboxHandler {
+
+    private final MatchSuggestionService matchSuggestionService;
+
+    @Override
+    public String getEventType() {
+        return OutboxEventType.SUGGEST;
+    }
+
+    @Override
+    public void handle(List<ItemOutbox> events) throws Exception {
+        Set<Long> itemIds = new LinkedHashSet<>();
+        for (ItemOutbox event : events) {
+            itemIds.add(event.getItemId());
+        }
+
+        Set<Long> failedItemIds = new LinkedHashSet<>();
+        Exception firstError = null;
+        for (Long itemId : itemIds) {
+            try {
+                matchSuggestionService.refresh(itemId);
+            } catch (Exception e) {
+                log.error("更新匹配推荐失败 - itemId: {}", itemId, e);
+                failedItemIds.add(itemId);
+                if (firstError == null) {
+                    firstError = e;
+                }
+            }
+        }
+        if (!failedItemIds.isEmpty()) {
+            throw new OutboxBatchException(failedItemIds, firstError);
+        }
+        log.info("匹配推荐更新完成: 事件数={}, 物品数={}", events.size(), itemIds.size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.campus.lostandfound.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按键合并任务的执行器
+ *
+ * 同一个键同一时刻最多只有一个任务排队或执行：
+ * - 任务尚未开始时再次提交，用最新的任务替换排队中的任务
+ * - 任务执行期间再次提交，当前任务结束后只补跑一次最新的任务
+ *
+ * 适用于"重新读取最新数据再计算"的幂等任务，短时间内的多次触发只会产生一次计算
+ */
+@Slf4j
+public class CoalescingExecutor {
+
+    private final String name;
+    private final Executor delegate;
+    private final Map<Object, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    public CoalescingExecutor(String name, Executor delegate) {
+        this.name = name;
+        this.delegate = delegate;
+    }
+
+    /**
+     * 提交任务，已有相同键的任务在等待时合并为一次执行
+     *
+     * @param key 合并键，通常为物品ID
+     * @param task 任务
+     * @return 是否新调度了一次执行；被合并或被线程池拒绝时返回false
+     */
+    public boolean submit(Object key, Runnable task) {
+        boolean[] created = new boolean[1];
+        slots.compute(key, (k, slot) -> {
+            if (slot == null) {
+                slot = new Slot();
+                created[0] = true;
+            }
+            slot.pending = task;
+            return slot;
+        });
+
+        if (!created[0]) {
+            coalescedCount.incrementAndGet();
+            return false;
+        }
+
+        try {
+            delegate.execute(() -> drain(key));
+            return true;
+        } catch (RejectedExecutionException e) {
+            slots.remove(key);
+            log.warn("任务被拒绝，线程池已满: executor={}, key={}", name, key);
+            return false;
+        }
+    }
+
+    /**
+     * 被合并掉的提交次数
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * 排队或执行中的键数量
+     */
+    public int getPendingCount() {
+        return slots.size();
+    }
+
+    private void drain(Object key) {
+        while (true) {
+            Runnable[] next = new Runnable[1];
+            slots.computeIfPresent(key, (k, slot) -> {
+                next[0] = slot.pending;
+                slot.pending = null;
+                // 没有新任务时移除，之后的提交会重新调度
+                return next[0] == null ? null : slot;
+            });
+            if (next[0] == null) {
+                return;
+            }
+
+            try {
+                next[0].run();
+            } catch (Exception e) {
+                log.error("合并任务执行失败: executor={}, key={}", name, key, e);
+            }
+        }
+    }
+
+    private static final class Slot {
+        private Runnable pending;
+    }
+}
@@ -0,0 +1,55 @@
+package com.campus.lostandfound.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 全文检索查询构造工具
+ *
+ * 将用户输入的关键词转换为MySQL布尔模式（IN BOOLEAN MODE）的查询串：
+ * - 按空白和标点拆分为多个词，每个词都必须命中（+词）
+ * - 只保留字母和数字，去掉布尔模式的运算符（+ - * " ~ < > ( ) @），用户输入不会改变查询语义；查询串始终作为参数绑定
+ * - ngram解析器会把每个词切分为连续的N字片段并按短语匹配，中文无需额外分词
+ */
+public final class FulltextQuery {
+
+    private FulltextQuery() {
+    }
+
+    /**
+     * 构造布尔模式查询串
+     *
+     * @param keyword 用户输入的关键词
+     * @param minTermLength 最短词长，通常为ngram_token_size
+     * @return 布尔模式查询串；存在短于最短词长的词或没有有效词时返回null，调用方应回退为LIKE查询
+     */
+    public static String toBooleanQuery(String keyword, int minTermLength) {
+        if (keyword == null) {
+            return null;
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (String term : keyword.split("[^\\p{L}\\p{N}]+")) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            // 短词无法生成ngram片段，全文索引查不到，整体回退避免漏召回
+            if (term.codePointCount(0, term.length()) < minTermLength) {
+                return null;
+            }
+            terms.add(term);
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (String term : terms) {
+            if (!sb.isEmpty()) {
+                sb.append(' ');
+            }
+            sb.append('+').append(term);
+        }
+        return sb.toString();
+    }
+}
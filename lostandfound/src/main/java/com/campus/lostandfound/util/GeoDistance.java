@@ -0,0 +1,45 @@
+package com.campus.lostandfound.util;
+
+/**
+ * 球面距离计算工具
+ *
+ * 使用Haversine公式，参数均为原始double，计算过程中不创建对象
+ */
+public final class GeoDistance {
+
+    /**
+     * 地球半径（米）
+     */
+    public static final double EARTH_RADIUS = 6371000;
+
+    /**
+     * 纬度1度对应的距离（米，近似值）
+     */
+    public static final double METERS_PER_DEGREE = 111000.0;
+
+    private GeoDistance() {
+    }
+
+    /**
+     * 计算两点之间的球面距离
+     *
+     * @param lng1 第一个点的经度
+     * @param lat1 第一个点的纬度
+     * @param lng2 第二个点的经度
+     * @param lat2 第二个点的纬度
+     * @return 距离（米）
+     */
+    public static double meters(double lng1, double lat1, double lng2, double lat2) {
+        double radLat1 = Math.toRadians(lat1);
+        double radLat2 = Math.toRadians(lat2);
+        double dLat = radLat2 - radLat1;
+        double dLng = Math.toRadians(lng2) - Math.toRadians(lng1);
+
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                   Math.cos(radLat1) * Math.cos(radLat2) *
+                   Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return EARTH_RADIUS * c;
+    }
+}
@@ -1,11 +1,25 @@
 package com.campus.lostandfound.util;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -16,6 +30,10 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class RedisUtil {
 
+    private static final DefaultRedisScript<Long> DELETE_IF_EQUALS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
     @Autowired
     private StringRedisTemplate stringRedisTemplate;
 
@@ -31,6 +49,32 @@ public class RedisUtil {
         stringRedisTemplate.opsForValue().set(key, value, timeout, unit);
     }
 
+    /**
+     * 键不存在时设置键值对（SET NX），带过期时间，用于跨节点互斥
+     *
+     * @param key     键
+     * @param value   值，释放时用于确认仍由自己持有
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 是否设置成功
+     */
+    public Boolean setIfAbsent(String key, String value, long timeout, TimeUnit unit) {
+        return stringRedisTemplate.opsForValue().setIfAbsent(key, value, timeout, unit);
+    }
+
+    /**
+     * 值等于给定值时删除键，比较和删除在一个脚本中原子执行，
+     * 过期后被其他节点重新设置的键不会被误删
+     *
+     * @param key   键
+     * @param value 期望的值
+     * @return 是否删除
+     */
+    public Boolean deleteIfEquals(String key, String value) {
+        Long deleted = stringRedisTemplate.execute(DELETE_IF_EQUALS_SCRIPT, List.of(key), value);
+        return deleted != null && deleted > 0;
+    }
+
     /**
      * 获取键对应的值
      *
@@ -41,6 +85,16 @@ public class RedisUtil {
         return stringRedisTemplate.opsForValue().get(key);
     }
 
+    /**
+     * 批量获取值（MGET），一次往返读取多个键
+     *
+     * @param keys 键集合
+     * @return 与键顺序一致的值列表，不存在的键对应null
+     */
+    public List<String> multiGet(Collection<String> keys) {
+        return stringRedisTemplate.opsForValue().multiGet(keys);
+    }
+
     /**
      * 删除键
      *
@@ -188,6 +242,136 @@ public class RedisUtil {
 
     // ==================== 模式匹配操作 ====================
 
+    /**
+     * 按权重合并多个有序集合并写入目标键，同一成员的分数加权求和
+     *
+     * @param destKey 目标键
+     * @param keys    源键，至少一个
+     * @param weights 与源键一一对应的权重
+     * @return 目标有序集合的元素数量
+     */
+    public Long zUnionStore(String destKey, List<String> keys, double[] weights) {
+        return stringRedisTemplate.opsForZSet().unionAndStore(keys.get(0), keys.subList(1, keys.size()),
+                destKey, Aggregate.SUM, Weights.of(weights));
+    }
+
+    /**
+     * 向集合添加元素
+     *
+     * @param key    键
+     * @param values 元素
+     * @return 新添加的元素数量
+     */
+    public Long sAdd(String key, String... values) {
+        return stringRedisTemplate.opsForSet().add(key, values);
+    }
+
+    /**
+     * 随机弹出集合中的多个元素，弹出与删除是原子的
+     *
+     * @param key   键
+     * @param count 最多弹出数量
+     * @return 弹出的元素，集合为空时返回空列表
+     */
+    public List<String> sPop(String key, long count) {
+        return stringRedisTemplate.opsForSet().pop(key, count);
+    }
+
+    /**
+     * 向频道发布消息
+     *
+     * @param channel 频道
+     * @param message 消息内容
+     */
+    public void publish(String channel, String message) {
+        stringRedisTemplate.convertAndSend(channel, message);
+    }
+
+    /**
+     * 向流追加一条记录
+     *
+     * @param key    流的键
+     * @param fields 记录内容
+     * @return 记录ID
+     */
+    public RecordId xAdd(String key, Map<String, String> fields) {
+        return stringRedisTemplate.opsForStream().add(key, fields);
+    }
+
+    /**
+     * 近似裁剪流，只保留最新的若干条记录
+     *
+     * @param key       流的键
+     * @param maxLength 保留条数
+     * @return 删除的条数
+     */
+    public Long xTrim(String key, long maxLength) {
+        return stringRedisTemplate.opsForStream().trim(key, maxLength, true);
+    }
+
+    /**
+     * 创建消费组，流不存在时一并创建
+     *
+     * @param key   流的键
+     * @param group 消费组名称
+     */
+    public void xGroupCreate(String key, String group) {
+        stringRedisTemplate.opsForStream().createGroup(key, ReadOffset.from("0"), group);
+    }
+
+    /**
+     * 以消费组方式读取尚未投递给任何消费者的记录，不阻塞
+     *
+     * @param key      流的键
+     * @param group    消费组名称
+     * @param consumer 消费者名称
+     * @param count    最多读取条数
+     * @return 记录列表，没有新记录时返回空列表
+     */
+    public List<MapRecord<String, Object, Object>> xReadGroup(String key, String group, String consumer, long count) {
+        return stringRedisTemplate.opsForStream().read(Consumer.from(group, consumer),
+                StreamReadOptions.empty().count(count), StreamOffset.create(key, ReadOffset.lastConsumed()));
+    }
+
+    /**
+     * 确认记录已处理，从消费组的待确认列表中移除
+     *
+     * @param key       流的键
+     * @param group     消费组名称
+     * @param recordIds 记录ID
+     * @return 确认的条数
+     */
+    public Long xAck(String key, String group, RecordId... recordIds) {
+        return stringRedisTemplate.opsForStream().acknowledge(key, group, recordIds);
+    }
+
+    /**
+     * 查询消费组中已投递但未确认的记录，按记录ID升序
+     *
+     * @param key   流的键
+     * @param group 消费组名称
+     * @param count 最多返回条数
+     * @return 待确认记录，包含空闲时长和投递次数
+     */
+    public PendingMessages xPending(String key, String group, long count) {
+        return stringRedisTemplate.opsForStream().pending(key, group, Range.unbounded(), count);
+    }
+
+    /**
+     * 接管空闲时长超过阈值的待确认记录，接管后投递次数加一
+     *
+     * @param key       流的键
+     * @param group     消费组名称
+     * @param consumer  新的消费者名称
+     * @param minIdle   最小空闲时长，期间已被其他消费者接管或确认的记录不会返回
+     * @param recordIds 记录ID
+     * @return 接管到的记录
+     */
+    public List<MapRecord<String, Object, Object>> xClaim(String key, String group, String consumer,
+                                                          Duration minIdle, RecordId... recordIds) {
+        return stringRedisTemplate.opsForStream().claim(key, group, consumer, minIdle, recordIds);
+    }
+
     /**
      * 根据模式获取所有匹配的键
      *
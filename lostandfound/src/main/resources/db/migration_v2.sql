@@ -0,0 +1,78 @@
+-- =============================================
+-- 智能校园失物招领平台数据库迁移脚本 v2
+-- Database: campuslostandfound
+-- =============================================
+-- 适用于按旧版 schema.sql 初始化过的数据库。schema.sql 使用 CREATE TABLE IF NOT EXISTS，
+-- 对已存在的表不会补建新增的索引，需要执行本脚本。每条语句只需执行一次。
+--
+-- 注意：
+--   - 全文索引需要 MySQL 8.0 的 ngram 解析器，ngram_token_size 与配置项 search.ngram-token-size 保持一致
+--   - 执行本脚本之前应保持 search.fulltext-enabled=false，否则关键词搜索的 MATCH ... AGAINST 会因缺少全文索引而报错
+--   - 大表上建索引耗时较长，建议在低峰期执行
+
+USE campuslostandfound;
+
+-- =============================================
+-- 1. 物品信息表 (item)
+-- =============================================
+-- 匹配候选的时空邻域预筛选
+ALTER TABLE `item` ADD KEY `idx_match_neighbor` (`type`, `status`, `deleted`, `event_time`, `latitude`, `longitude`);
+
+-- 关键词搜索和相关度排序
+ALTER TABLE `item` ADD FULLTEXT KEY `ft_title_desc` (`title`, `description`) WITH PARSER ngram;
+
+-- =============================================
+-- 2. 物品标签表 (item_tag)
+-- =============================================
+-- 关键词搜索
+ALTER TABLE `item_tag` ADD FULLTEXT KEY `ft_tag` (`tag`) WITH PARSER ngram;
+
+-- =============================================
+-- 3. 消息通知表 (message)
+-- =============================================
+-- 不区分已读状态的消息列表游标分页
+ALTER TABLE `message` ADD KEY `idx_user_time` (`user_id`, `created_at` DESC);
+
+-- =============================================
+-- 4. 匹配推荐表 (match_suggestion)
+-- =============================================
+CREATE TABLE IF NOT EXISTS `match_suggestion` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '推荐ID',
+    `item_id` BIGINT NOT NULL COMMENT '物品ID',
+    `matched_item_id` BIGINT NOT NULL COMMENT '推荐匹配的物品ID',
+    `score` DECIMAL(5, 2) NOT NULL COMMENT '匹配总分(0-100)',
+    `category_score` DECIMAL(5, 2) NOT NULL DEFAULT 0 COMMENT '类别分数',
+    `tag_score` DECIMAL(5, 2) NOT NULL DEFAULT 0 COMMENT '标签分数',
+    `time_score` DECIMAL(5, 2) NOT NULL DEFAULT 0 COMMENT '时间分数',
+    `location_score` DECIMAL(5, 2) NOT NULL DEFAULT 0 COMMENT '位置分数',
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_item_matched` (`item_id`, `matched_item_id`),
+    KEY `idx_item_score` (`item_id`, `score` DESC),
+    KEY `idx_matched_item_id` (`matched_item_id`),
+    CONSTRAINT `fk_match_suggestion_item` FOREIGN KEY (`item_id`) REFERENCES `item` (`id`) ON DELETE CASCADE,
+    CONSTRAINT `fk_match_suggestion_matched_item` FOREIGN KEY (`matched_item_id`) REFERENCES `item` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='匹配推荐表(每个待处理物品的前K个匹配)';
+
+-- =============================================
+-- 5. 物品事件发件箱表 (item_outbox)
+-- =============================================
+CREATE TABLE IF NOT EXISTS `item_outbox` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '事件ID',
+    `item_id` BIGINT NOT NULL COMMENT '物品ID',
+    `event_type` VARCHAR(32) NOT NULL COMMENT '事件类型: RECOGNIZE-图片识别, MATCH-匹配计算, SUGGEST-匹配推荐更新, EVICT_CACHE-清除缓存',
+    `payload` VARCHAR(1000) DEFAULT NULL COMMENT '事件参数(JSON)',
+    `status` TINYINT NOT NULL DEFAULT 0 COMMENT '状态: 0-待处理, 2-失败(超过最大尝试次数)',
+    `attempts` INT NOT NULL DEFAULT 0 COMMENT '已尝试次数',
+    `next_attempt_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '下次可处理时间(领取后为租约到期时间)',
+    `lease_token` VARCHAR(36) DEFAULT NULL COMMENT '领取批次标识',
+    `last_error` VARCHAR(500) DEFAULT NULL COMMENT '最近一次失败原因',
+    `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_status_next` (`status`, `next_attempt_at`),
+    KEY `idx_lease_token` (`lease_token`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='物品事件发件箱表(与物品数据同事务写入,提交后分发,处理成功后删除)';
+
+-- =============================================
+-- 迁移完成
+-- =============================================
@@ -62,6 +62,8 @@ CREATE TABLE IF NOT EXISTS `item` (
     KEY `idx_created_at` (`created_at` DESC),
     KEY `idx_location` (`longitude`, `latitude`),
     KEY `idx_composite_search` (`type`, `status`, `deleted`, `created_at`),
+    KEY `idx_match_neighbor` (`type`, `status`, `deleted`, `event_time`, `latitude`, `longitude`),
+    FULLTEXT KEY `ft_title_desc` (`title`, `description`) WITH PARSER ngram,
     CONSTRAINT `fk_item_user` FOREIGN KEY (`user_id`) REFERENCES `user` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='物品信息表';
 
@@ -91,6 +93,7 @@ CREATE TABLE IF NOT EXISTS `item_tag` (
     PRIMARY KEY (`id`),
     KEY `idx_item_id` (`item_id`),
     KEY `idx_tag` (`tag`),
+    FULLTEXT KEY `ft_tag` (`tag`) WITH PARSER ngram,
     CONSTRAINT `fk_item_tag_item` FOREIGN KEY (`item_id`) REFERENCES `item` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='物品标签表';
 
@@ -133,6 +136,7 @@ CREATE TABLE IF NOT EXISTS `message` (
     KEY `idx_is_read` (`is_read`),
     KEY `idx_created_at` (`created_at` DESC),
     KEY `idx_user_unread` (`user_id`, `is_read`, `created_at`),
+    KEY `idx_user_time` (`user_id`, `created_at` DESC),
     CONSTRAINT `fk_message_user` FOREIGN KEY (`user_id`) REFERENCES `user` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='消息通知表';
 
@@ -179,6 +183,46 @@ CREATE TABLE IF NOT EXISTS `match_feedback` (
     CONSTRAINT `fk_match_feedback_user` FOREIGN KEY (`user_id`) REFERENCES `user` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='匹配反馈表';
 
+-- =============================================
+-- 9. 匹配推荐表 (match_suggestion)
+-- =============================================
+CREATE TABLE IF NOT EXISTS `match_suggestion` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '推荐ID',
+    `item_id` BIGINT NOT NULL COMMENT '物品ID',
+    `matched_item_id` BIGINT NOT NULL COMMENT '推荐匹配的物品ID',
+    `score` DECIMAL(5, 2) NOT NULL COMMENT '匹配总分(0-100)',
+    `category_score` DECIMAL(5, 2) NOT NULL DEFAULT 0 COMMENT '类别分数',
+    `tag_score` DECIMAL(5, 2) NOT NULL DEFAULT 0 COMMENT '标签分数',
+    `time_score` DECIMAL(5, 2) NOT NULL DEFAULT 0 COMMENT '时间分数',
+    `location_score` DECIMAL(5, 2) NOT NULL DEFAULT 0 COMMENT '位置分数',
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_item_matched` (`item_id`, `matched_item_id`),
+    KEY `idx_item_score` (`item_id`, `score` DESC),
+    KEY `idx_matched_item_id` (`matched_item_id`),
+    CONSTRAINT `fk_match_suggestion_item` FOREIGN KEY (`item_id`) REFERENCES `item` (`id`) ON DELETE CASCADE,
+    CONSTRAINT `fk_match_suggestion_matched_item` FOREIGN KEY (`matched_item_id`) REFERENCES `item` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='匹配推荐表(每个待处理物品的前K个匹配)';
+
+-- =============================================
+-- 10. 物品事件发件箱表 (item_outbox)
+-- =============================================
+CREATE TABLE IF NOT EXISTS `item_outbox` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '事件ID',
+    `item_id` BIGINT NOT NULL COMMENT '物品ID',
+    `event_type` VARCHAR(32) NOT NULL COMMENT '事件类型: RECOGNIZE-图片识别, MATCH-匹配计算, SUGGEST-匹配推荐更新, EVICT_CACHE-清除缓存',
+    `payload` VARCHAR(1000) DEFAULT NULL COMMENT '事件参数(JSON)',
+    `status` TINYINT NOT NULL DEFAULT 0 COMMENT '状态: 0-待处理, 2-失败(超过最大尝试次数)',
+    `attempts` INT NOT NULL DEFAULT 0 COMMENT '已尝试次数',
+    `next_attempt_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '下次可处理时间(领取后为租约到期时间)',
+    `lease_token` VARCHAR(36) DEFAULT NULL COMMENT '领取批次标识',
+    `last_error` VARCHAR(500) DEFAULT NULL COMMENT '最近一次失败原因',
+    `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_status_next` (`status`, `next_attempt_at`),
+    KEY `idx_lease_token` (`lease_token`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='物品事件发件箱表(与物品数据同事务写入,提交后分发,处理成功后删除)';
+
 -- =============================================
 -- 索引说明
 -- =============================================
@@ -199,6 +243,8 @@ CREATE TABLE IF NOT EXISTS `match_feedback` (
 --   - idx_created_at: 创建时间降序索引,用于最新发布排序
 --   - idx_location: 经纬度复合索引,用于地理位置查询
 --   - idx_composite_search: 复合索引,优化常用搜索条件组合
+--   - idx_match_neighbor: 类型+状态+删除标记+时间+经纬度复合索引,用于匹配候选的时空邻域预筛选
+--   - ft_title_desc: 标题+描述ngram全文索引,用于关键词搜索和相关度排序(分词长度由ngram_token_size决定,默认2)
 --
 -- item_image表:
 --   - idx_item_id: 物品ID索引,用于查询物品的所有图片
@@ -206,7 +252,8 @@ CREATE TABLE IF NOT EXISTS `match_feedback` (
 --
 -- item_tag表:
 --   - idx_item_id: 物品ID索引,用于查询物品的所有标签
---   - idx_tag: 标签索引,用于标签搜索
+--   - idx_tag: 标签索引,用于标签精确查询
+--   - ft_tag: 标签ngram全文索引,用于关键词搜索
 --
 -- match_record表:
 --   - idx_lost_item_id: 失物ID索引,用于查询失物的匹配记录
@@ -220,7 +267,8 @@ CREATE TABLE IF NOT EXISTS `match_feedback` (
 --   - idx_type: 类型索引,用于按类型筛选消息
 --   - idx_is_read: 已读标记索引,用于筛选未读消息
 --   - idx_created_at: 创建时间降序索引,用于时间排序
---   - idx_user_unread: 用户+已读+时间复合索引,优化未读消息查询
+--   - idx_user_unread: 用户+已读+时间复合索引,优化未读消息查询和按已读状态筛选的游标分页
+--   - idx_user_time: 用户+时间复合索引,用于不区分已读状态的消息列表游标分页
 --
 -- point_record表:
 --   - idx_user_id: 用户ID索引,用于查询用户的积分记录
@@ -234,6 +282,15 @@ CREATE TABLE IF NOT EXISTS `match_feedback` (
 --   - idx_is_accurate: 准确性索引,用于统计准确/不准确的反馈
 --   - idx_created_at: 创建时间降序索引,用于时间排序
 --   - idx_category_accuracy: 类别+准确性复合索引,用于算法优化分析
+--
+-- match_suggestion表:
+--   - uk_item_matched: 物品+匹配物品唯一索引,避免重复推荐
+--   - idx_item_score: 物品+分数降序复合索引,用于按匹配度读取推荐列表
+--   - idx_matched_item_id: 匹配物品ID索引,用于物品变更时定位受影响的推荐列表
+--
+-- item_outbox表:
+--   - idx_status_next: 状态+下次处理时间复合索引,用于领取到期的待处理事件
+--   - idx_lease_token: 批次标识索引,用于读取本次领取到的事件
 
 -- =============================================
 -- 初始化完成
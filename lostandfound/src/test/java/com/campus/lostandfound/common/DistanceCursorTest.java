@@ -0,0 +1,40 @@
+package com.campus.lostandfound.common;
+
+import com.campus.lostandfound.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DistanceCursor单元测试
+ */
+class DistanceCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        double distance = 1234.5678901234;
+
+        DistanceCursor cursor = DistanceCursor.decode(DistanceCursor.of(distance, 42L).encode());
+
+        // 距离必须精确还原，否则翻页时会重复或遗漏同距离的记录
+        assertEquals(distance, cursor.getDistance());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void testBlankCursorIsFirstPage() {
+        assertNull(DistanceCursor.decode(null));
+        assertNull(DistanceCursor.decode(""));
+    }
+
+    @Test
+    void testInvalidCursorIsRejected() {
+        assertThrows(ValidationException.class, () -> DistanceCursor.decode("not-a-cursor"));
+        assertThrows(ValidationException.class, () -> DistanceCursor.decode("%%%"));
+        // 按时间排序的游标不能用于按距离排序
+        String timeCursor = PageCursor.of(LocalDateTime.of(2024, 3, 15, 8, 30), 42L).encode();
+        assertThrows(ValidationException.class, () -> DistanceCursor.decode(timeCursor));
+    }
+}
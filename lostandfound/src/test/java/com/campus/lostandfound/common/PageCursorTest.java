@@ -0,0 +1,36 @@
+package com.campus.lostandfound.common;
+
+import com.campus.lostandfound.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PageCursor单元测试
+ */
+class PageCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 15, 8, 30, 5, 123000000);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.of(createdAt, 42L).encode());
+
+        assertEquals(createdAt, cursor.getCreatedAt());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void testBlankCursorIsFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(""));
+    }
+
+    @Test
+    void testInvalidCursorIsRejected() {
+        assertThrows(ValidationException.class, () -> PageCursor.decode("not-a-cursor"));
+        assertThrows(ValidationException.class, () -> PageCursor.decode("%%%"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.config.NearCacheProperties;
+import com.campus.lostandfound.config.SearchProperties;
+import com.campus.lostandfound.model.vo.UserVO;
+import com.campus.lostandfound.service.impl.CacheServiceImpl;
+import com.campus.lostandfound.util.RedisUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * CacheService单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheServiceTest {
+    
+    @Mock
+    private RedisUtil redisUtil;
+    
+    private SearchProperties searchProperties;
+    
+    private Cache<String, Object> nearCache;
+    
+    private CacheServiceImpl cacheService;
+    
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        nearCache = Caffeine.newBuilder().maximumSize(100).build();
+        cacheService = new CacheServiceImpl(redisUtil, searchProperties, new ObjectMapper(),
+                new NearCacheProperties(), nearCache);
+    }
+    
+    @Test
+    void testGetFillsNearCacheFromRedis() {
+        // Given
+        when(redisUtil.get("user:info:1")).thenReturn("{\"id\":1,\"name\":\"张三\"}");
+        
+        // When: 第二次读取命中本地缓存，不再访问Redis
+        UserVO first = cacheService.get("user:info:1", UserVO.class);
+        UserVO second = cacheService.get("user:info:1", UserVO.class);
+        
+        // Then
+        assertEquals("张三", first.getName());
+        assertSame(first, second);
+        verify(redisUtil, times(1)).get("user:info:1");
+    }
+    
+    @Test
+    void testEvictClearsNearCacheAndBroadcasts() {
+        // Given
+        nearCache.put("user:info:1", new UserVO());
+        
+        // When
+        cacheService.evictUserInfoCache(1L);
+        
+        // Then
+        assertNull(nearCache.getIfPresent("user:info:1"));
+        verify(redisUtil).delete("user:info:1");
+        verify(redisUtil).publish("cache:evict", "user:info:1");
+    }
+    
+    @Test
+    void testEvictItemSearchCacheBumpsAffectedPartitions() {
+        // When
+        cacheService.evictItemSearchCache(0, "钱包");
+        
+        // Then: 只递增包含该物品的四个分区，不扫描键空间
+        verify(redisUtil).increment("item:search:gen:all");
+        verify(redisUtil).increment("item:search:gen:t:0");
+        verify(redisUtil).increment("item:search:gen:c:钱包");
+        verify(redisUtil).increment("item:search:gen:t:0:c:钱包");
+        verify(redisUtil, never()).increment("item:search:gen");
+        verify(redisUtil, never()).keys(anyString());
+    }
+    
+    @Test
+    void testEvictItemSearchCacheWithoutPartitionsBumpsGlobalGeneration() {
+        // Given
+        searchProperties.setCachePartitioned(false);
+        
+        // When
+        cacheService.evictItemSearchCache(1, "证件");
+        
+        // Then
+        verify(redisUtil).increment("item:search:gen");
+        verifyNoMoreInteractions(redisUtil);
+    }
+    
+    @Test
+    void testGetItemSearchGenerationReadsGlobalAndPartition() {
+        // Given
+        when(redisUtil.multiGet(List.of("item:search:gen", "item:search:gen:t:1")))
+                .thenReturn(Arrays.asList("3", null));
+        
+        // When
+        String generation = cacheService.getItemSearchGeneration(1, null);
+        
+        // Then
+        assertEquals("3.0", generation);
+    }
+    
+    @Test
+    void testEvictItemRelatedCacheDoesNotScanKeys() {
+        // When
+        cacheService.evictItemRelatedCache(100L);
+        
+        // Then
+        verify(redisUtil).delete(List.of("item:detail:100:core", "item:detail:100:media",
+                "item:detail:100:publisher", "item:detail:100:match"));
+        verify(redisUtil).increment("item:search:gen");
+        verify(redisUtil, never()).keys(anyString());
+    }
+    
+    @Test
+    void testMultiGetReadsMissingKeysWithOneMget() {
+        // Given: 第一个键已在本地缓存中
+        UserVO local = new UserVO();
+        local.setName("本地");
+        nearCache.put("user:info:1", local);
+        when(redisUtil.multiGet(List.of("user:info:2", "user:info:3")))
+                .thenReturn(Arrays.asList("{\"id\":2,\"name\":\"李四\"}", null));
+        
+        // When
+        List<Object> values = cacheService.multiGet(List.of("user:info:1", "user:info:2", "user:info:3"),
+                List.of(new TypeReference<UserVO>() {}, new TypeReference<UserVO>() {},
+                        new TypeReference<UserVO>() {}));
+        
+        // Then: 本地命中的键不再访问Redis，Redis命中的值回填本地缓存
+        assertSame(local, values.get(0));
+        assertEquals("李四", ((UserVO) values.get(1)).getName());
+        assertNull(values.get(2));
+        assertNotNull(nearCache.getIfPresent("user:info:2"));
+        verify(redisUtil, never()).get(anyString());
+    }
+}
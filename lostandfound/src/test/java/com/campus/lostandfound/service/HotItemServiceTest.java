@@ -0,0 +1,115 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.config.HotItemProperties;
+import com.campus.lostandfound.service.impl.HotItemServiceImpl;
+import com.campus.lostandfound.util.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * HotItemService单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class HotItemServiceTest {
+    
+    @Mock
+    private RedisUtil redisUtil;
+    
+    private HotItemProperties hotItemProperties;
+    
+    private HotItemServiceImpl hotItemService;
+    
+    private String todayKey;
+    
+    @BeforeEach
+    void setUp() {
+        hotItemProperties = new HotItemProperties();
+        hotItemService = new HotItemServiceImpl(redisUtil, hotItemProperties);
+        todayKey = "item:hot:" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+    
+    @Test
+    void testFirstViewOfDaySetsBucketExpiry() {
+        // Given
+        when(redisUtil.zIncrementScore(todayKey, "1", 1)).thenReturn(1.0);
+        
+        // When
+        hotItemService.recordView(1L);
+        
+        // Then: 桶保留窗口天数加一天
+        verify(redisUtil).expire(todayKey, 8L, TimeUnit.DAYS);
+    }
+    
+    @Test
+    void testLaterViewsDoNotResetExpiry() {
+        // Given
+        when(redisUtil.zIncrementScore(todayKey, "1", 1)).thenReturn(5.0);
+        
+        // When
+        hotItemService.recordView(1L);
+        
+        // Then
+        verify(redisUtil, never()).expire(anyString(), anyLong(), any());
+    }
+    
+    @Test
+    void testTopItemsMergesDailyBucketsWithDecay() {
+        // Given
+        when(redisUtil.hasKey("item:hot:merged")).thenReturn(false);
+        when(redisUtil.zUnionStore(eq("item:hot:merged"), any(), any())).thenReturn(2L);
+        when(redisUtil.zRevRange("item:hot:merged", 0, 19))
+                .thenReturn(new LinkedHashSet<>(List.of("5", "3")));
+        
+        // When
+        List<Long> ids = hotItemService.getTopItemIds(20);
+        
+        // Then
+        assertEquals(List.of(5L, 3L), ids);
+        
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<double[]> weightsCaptor = ArgumentCaptor.forClass(double[].class);
+        verify(redisUtil).zUnionStore(eq("item:hot:merged"), keysCaptor.capture(), weightsCaptor.capture());
+        List<String> keys = keysCaptor.getValue();
+        double[] weights = weightsCaptor.getValue();
+        assertEquals(7, keys.size());
+        assertEquals(todayKey, keys.get(0));
+        // 当天权重为1，经过一个半衰期（2天）折半，越早的桶权重越低
+        assertEquals(1.0, weights[0], 1e-9);
+        assertEquals(0.5, weights[2], 1e-9);
+        for (int i = 1; i < weights.length; i++) {
+            assertTrue(weights[i] < weights[i - 1]);
+        }
+        verify(redisUtil).expire("item:hot:merged", 60L, TimeUnit.SECONDS);
+    }
+    
+    @Test
+    void testTopItemsReusesMergedRanking() {
+        // Given
+        when(redisUtil.hasKey("item:hot:merged")).thenReturn(true);
+        when(redisUtil.zRevRange("item:hot:merged", 0, 9)).thenReturn(new LinkedHashSet<>(List.of("1")));
+        
+        // When
+        List<Long> ids = hotItemService.getTopItemIds(10);
+        
+        // Then
+        assertEquals(List.of(1L), ids);
+        verify(redisUtil, never()).zUnionStore(anyString(), any(), any());
+    }
+}
@@ -0,0 +1,143 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.entity.ItemImage;
+import com.campus.lostandfound.model.entity.ItemTag;
+import com.campus.lostandfound.model.entity.User;
+import com.campus.lostandfound.model.vo.ItemVO;
+import com.campus.lostandfound.model.vo.MatchVO;
+import com.campus.lostandfound.repository.ItemImageMapper;
+import com.campus.lostandfound.repository.ItemTagMapper;
+import com.campus.lostandfound.repository.UserMapper;
+import com.campus.lostandfound.service.impl.ItemAssemblerImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * ItemAssembler单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class ItemAssemblerTest {
+    
+    @Mock
+    private UserMapper userMapper;
+    
+    @Mock
+    private ItemImageMapper itemImageMapper;
+    
+    @Mock
+    private ItemTagMapper itemTagMapper;
+    
+    private ItemAssembler itemAssembler;
+    
+    @BeforeEach
+    void setUp() {
+        itemAssembler = new ItemAssemblerImpl(userMapper, itemImageMapper, itemTagMapper);
+    }
+    
+    @Test
+    void testToVOListUsesThreeBatchQueries() {
+        // Given: 20个物品，来自两个发布者
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            items.add(createItem(id, id % 2 == 0 ? 1L : 2L));
+        }
+        when(userMapper.selectBatchIds(anyCollection()))
+                .thenReturn(Arrays.asList(createUser(1L, "张三"), createUser(2L, "李四")));
+        when(itemImageMapper.selectList(any()))
+                .thenReturn(Arrays.asList(createImage(1L, "a.jpg"), createImage(1L, "b.jpg"), createImage(2L, "c.jpg")));
+        when(itemTagMapper.selectList(any()))
+                .thenReturn(Collections.singletonList(createTag(2L, "黑色")));
+        
+        // When
+        List<ItemVO> voList = itemAssembler.toVOList(items);
+        
+        // Then: 顺序与输入一致，发布者、图片、标签按物品分组
+        assertEquals(20, voList.size());
+        assertEquals(1L, voList.get(0).getId());
+        assertEquals("李四", voList.get(0).getUserName());
+        assertEquals(Arrays.asList("a.jpg", "b.jpg"), voList.get(0).getImages());
+        assertTrue(voList.get(0).getTags().isEmpty());
+        assertEquals("张三", voList.get(1).getUserName());
+        assertEquals(Collections.singletonList("c.jpg"), voList.get(1).getImages());
+        assertEquals(Collections.singletonList("黑色"), voList.get(1).getTags());
+        assertTrue(voList.get(19).getImages().isEmpty());
+        
+        verify(userMapper, times(1)).selectBatchIds(anyCollection());
+        verify(itemImageMapper, times(1)).selectList(any());
+        verify(itemTagMapper, times(1)).selectList(any());
+        verify(userMapper, never()).selectById(any());
+    }
+    
+    @Test
+    void testToVOListWithSubtype() {
+        // Given
+        when(userMapper.selectBatchIds(anyCollection())).thenReturn(Collections.singletonList(createUser(1L, "张三")));
+        when(itemImageMapper.selectList(any())).thenReturn(Collections.emptyList());
+        when(itemTagMapper.selectList(any())).thenReturn(Collections.emptyList());
+        
+        // When
+        List<MatchVO> voList = itemAssembler.toVOList(Collections.singletonList(createItem(5L, 1L)), MatchVO::new);
+        
+        // Then
+        assertEquals(1, voList.size());
+        assertEquals(5L, voList.get(0).getId());
+        assertEquals("张三", voList.get(0).getUserName());
+    }
+    
+    @Test
+    void testToVOListWithEmptyList() {
+        // When
+        List<ItemVO> voList = itemAssembler.toVOList(Collections.emptyList());
+        
+        // Then
+        assertTrue(voList.isEmpty());
+        verifyNoInteractions(userMapper, itemImageMapper, itemTagMapper);
+    }
+    
+    private Item createItem(Long id, Long userId) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(userId);
+        item.setTitle("物品" + id);
+        item.setType(0);
+        item.setStatus(0);
+        item.setDeleted(0);
+        return item;
+    }
+    
+    private User createUser(Long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setAvatar("https://example.com/avatar/" + id + ".jpg");
+        return user;
+    }
+    
+    private ItemImage createImage(Long itemId, String url) {
+        ItemImage image = new ItemImage();
+        image.setItemId(itemId);
+        image.setUrl(url);
+        return image;
+    }
+    
+    private ItemTag createTag(Long itemId, String tag) {
+        ItemTag itemTag = new ItemTag();
+        itemTag.setItemId(itemId);
+        itemTag.setTag(tag);
+        return itemTag;
+    }
+}
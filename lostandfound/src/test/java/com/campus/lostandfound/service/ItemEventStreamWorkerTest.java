@@ -0,0 +1,163 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.config.WorkerProperties;
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import com.campus.lostandfound.service.outbox.ItemEventStreamWorker;
+import com.campus.lostandfound.service.outbox.OutboxBatchException;
+import com.campus.lostandfound.service.outbox.OutboxEventType;
+import com.campus.lostandfound.service.outbox.OutboxHandler;
+import com.campus.lostandfound.util.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * ItemEventStreamWorker单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class ItemEventStreamWorkerTest {
+
+    private static final String STREAM = "item:events";
+    private static final String GROUP = "item-workers";
+    private static final String CONSUMER = "worker-1";
+
+    @Mock
+    private RedisUtil redisUtil;
+
+    @Mock
+    private OutboxHandler matchHandler;
+
+    private WorkerProperties workerProperties;
+
+    private ItemEventStreamWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        workerProperties = new WorkerProperties();
+        workerProperties.setConsumerName(CONSUMER);
+        when(matchHandler.getEventType()).thenReturn(OutboxEventType.MATCH);
+        worker = new ItemEventStreamWorker(redisUtil, workerProperties, List.of(matchHandler));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConsumeHandlesNewEventsAndAcknowledges() throws Exception {
+        // Given
+        when(redisUtil.xReadGroup(STREAM, GROUP, CONSUMER, 50))
+                .thenReturn(List.of(record("1-0", 10L), record("2-0", 11L)));
+
+        // When
+        int processed = worker.consume();
+
+        // Then
+        assertEquals(2, processed);
+        verify(redisUtil).xGroupCreate(STREAM, GROUP);
+        ArgumentCaptor<List<ItemOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        verify(matchHandler).handle(captor.capture());
+        assertEquals(List.of(10L, 11L), captor.getValue().stream().map(ItemOutbox::getItemId).toList());
+        verify(redisUtil).xAck(STREAM, GROUP, RecordId.of("1-0"), RecordId.of("2-0"));
+    }
+
+    @Test
+    void testConsumeLeavesFailedEventsPending() throws Exception {
+        // Given
+        when(redisUtil.xReadGroup(STREAM, GROUP, CONSUMER, 50)).thenReturn(List.of(record("1-0", 10L)));
+        doThrow(new IllegalStateException("数据库不可用")).when(matchHandler).handle(any());
+
+        // When
+        int processed = worker.consume();
+
+        // Then
+        // 不确认，空闲超时后由消费者重新接管
+        assertEquals(0, processed);
+        verify(redisUtil, never()).xAck(any(), any(), any(RecordId[].class));
+    }
+
+    @Test
+    void testConsumeAcknowledgesOnlyCompletedItems() throws Exception {
+        // Given
+        when(redisUtil.xReadGroup(STREAM, GROUP, CONSUMER, 50))
+                .thenReturn(List.of(record("1-0", 10L), record("2-0", 11L)));
+        doThrow(new OutboxBatchException(Set.of(11L), new IllegalStateException("线程池已满")))
+                .when(matchHandler).handle(any());
+
+        // When
+        int processed = worker.consume();
+
+        // Then
+        // 处理器没有完成的物品不确认，留在待确认列表中等待接管
+        assertEquals(1, processed);
+        verify(redisUtil).xAck(STREAM, GROUP, RecordId.of("1-0"));
+        verify(redisUtil, never()).xAck(STREAM, GROUP, RecordId.of("1-0"), RecordId.of("2-0"));
+    }
+
+    @Test
+    void testConsumeReclaimsIdleEventsAndDeadLettersExhausted() throws Exception {
+        // Given
+        Duration idle = Duration.ofMillis(workerProperties.getReclaimIdleMs() + 1000);
+        PendingMessages pending = new PendingMessages(GROUP, List.of(
+                new PendingMessage(RecordId.of("1-0"), Consumer.from(GROUP, "worker-2"), idle, 2),
+                new PendingMessage(RecordId.of("2-0"), Consumer.from(GROUP, "worker-2"), idle, 8),
+                new PendingMessage(RecordId.of("3-0"), Consumer.from(GROUP, "worker-2"), Duration.ofSeconds(1), 1)));
+        when(redisUtil.xPending(STREAM, GROUP, 50)).thenReturn(pending);
+        when(redisUtil.xClaim(eq(STREAM), eq(GROUP), eq(CONSUMER),
+                eq(Duration.ofMillis(workerProperties.getReclaimIdleMs())), any(RecordId[].class)))
+                .thenReturn(List.of(record("1-0", 10L), record("2-0", 11L)));
+
+        // When
+        int processed = worker.consume();
+
+        // Then
+        assertEquals(1, processed);
+        verify(matchHandler).handle(argThat(events -> events.size() == 1 && events.get(0).getItemId() == 10L));
+        verify(redisUtil).xAck(STREAM, GROUP, RecordId.of("1-0"));
+        // 投递次数达到上限的事件转入死信流并确认
+        verify(redisUtil).xAdd(eq("item:events:dead"), argThat(fields -> "2-0".equals(fields.get("sourceId"))
+                && "11".equals(fields.get("itemId"))));
+        verify(redisUtil).xAck(STREAM, GROUP, RecordId.of("2-0"));
+    }
+
+    @Test
+    void testConsumeIgnoresExistingGroup() {
+        // Given
+        doThrow(new RedisSystemException("创建消费组失败",
+                new RuntimeException("BUSYGROUP Consumer Group name already exists")))
+                .when(redisUtil).xGroupCreate(STREAM, GROUP);
+
+        // When
+        int processed = worker.consume();
+        worker.consume();
+
+        // Then
+        assertEquals(0, processed);
+        // 消费组只创建一次
+        verify(redisUtil, times(1)).xGroupCreate(STREAM, GROUP);
+    }
+
+    private MapRecord<String, Object, Object> record(String id, Long itemId) {
+        Map<Object, Object> fields = new HashMap<>();
+        fields.put("outboxId", "1");
+        fields.put("itemId", String.valueOf(itemId));
+        fields.put("eventType", OutboxEventType.MATCH);
+        return MapRecord.create(STREAM, fields).withId(RecordId.of(id));
+    }
+}
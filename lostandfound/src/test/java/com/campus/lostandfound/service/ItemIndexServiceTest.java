@@ -0,0 +1,250 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.config.MatchProperties;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.entity.ItemTag;
+import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.repository.ItemTagMapper;
+import com.campus.lostandfound.service.impl.ItemIndexServiceImpl;
+import com.campus.lostandfound.service.match.IndexedItem;
+import com.campus.lostandfound.service.match.ItemChangedEvent;
+import com.campus.lostandfound.util.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * ItemIndexService单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class ItemIndexServiceTest {
+    
+    @Mock
+    private ItemMapper itemMapper;
+    
+    @Mock
+    private ItemTagMapper itemTagMapper;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private RedisUtil redisUtil;
+    
+    @Spy
+    private MatchProperties matchProperties = new MatchProperties();
+    
+    @InjectMocks
+    private ItemIndexServiceImpl itemIndexService;
+    
+    private final LocalDateTime now = LocalDateTime.now();
+    
+    private Item lostItem;
+    
+    private List<Item> items;
+    
+    @BeforeEach
+    void setUp() {
+        // 待匹配的失物：图书馆附近，钱包
+        lostItem = createItem(1L, 10L, 0, 0, "钱包", "121.4737", "31.2304", now);
+        
+        items = Arrays.asList(
+            lostItem,
+            // 相同类别，但距离远、时间久
+            createItem(2L, 20L, 1, 0, "钱包", "116.3971", "39.9165", now.minusDays(30)),
+            // 类别不同，但共享标签
+            createItem(3L, 21L, 1, 0, "证件卡片", "116.3971", "39.9165", now.minusDays(30)),
+            // 类别不同、无标签，但时空邻近
+            createItem(4L, 22L, 1, 0, "电子设备", "121.4800", "31.2350", now.minusDays(1)),
+            // 类别不同、无标签，距离近但时间久
+            createItem(5L, 23L, 1, 0, "电子设备", "121.4800", "31.2350", now.minusDays(20)),
+            // 相同类别，但是自己发布的
+            createItem(6L, 10L, 1, 0, "钱包", "121.4737", "31.2304", now),
+            // 相同类别，但已找回
+            createItem(7L, 24L, 1, 1, "钱包", "121.4737", "31.2304", now)
+        );
+        
+        ItemTag tag = new ItemTag();
+        tag.setItemId(3L);
+        tag.setTag("黑色");
+        
+        when(itemMapper.selectList(any())).thenReturn(items);
+        when(itemTagMapper.selectList(any())).thenReturn(Collections.singletonList(tag), Collections.emptyList());
+    }
+    
+    @Test
+    void testFindMatchCandidates() {
+        // When
+        List<IndexedItem> candidates = itemIndexService.findMatchCandidates(lostItem, Collections.singletonList("黑色"));
+        
+        // Then
+        Set<Long> ids = candidates.stream().map(IndexedItem::getId).collect(Collectors.toSet());
+        assertEquals(Set.of(2L, 3L, 4L), ids);
+        
+        // 索引只加载一次
+        itemIndexService.findMatchCandidates(lostItem, Collections.emptyList());
+        verify(itemMapper, times(1)).selectList(any());
+    }
+    
+    @Test
+    void testRefreshRemovesClosedItem() {
+        // Given
+        itemIndexService.rebuild();
+        Item closed = createItem(2L, 20L, 1, 1, "钱包", "116.3971", "39.9165", now.minusDays(30));
+        when(itemMapper.selectById(2L)).thenReturn(closed);
+        
+        // When
+        itemIndexService.refresh(2L);
+        
+        // Then
+        List<IndexedItem> candidates = itemIndexService.findMatchCandidates(lostItem, Collections.emptyList());
+        assertTrue(candidates.stream().noneMatch(c -> c.getId().equals(2L)));
+        assertEquals(1, itemIndexService.get(2L).getStatus());
+    }
+    
+    @Test
+    void testRefreshRemovesDeletedItem() {
+        // Given
+        itemIndexService.rebuild();
+        when(itemMapper.selectById(4L)).thenReturn(null);
+        
+        // When
+        itemIndexService.refresh(4L);
+        
+        // Then
+        assertNull(itemIndexService.get(4L));
+        verify(eventPublisher).publishEvent(any(ItemChangedEvent.class));
+        List<IndexedItem> candidates = itemIndexService.findMatchCandidates(lostItem, Collections.emptyList());
+        assertTrue(candidates.stream().noneMatch(c -> c.getId().equals(4L)));
+    }
+    
+    @Test
+    void testFirstLoadReplaysRefreshDuringSnapshot() {
+        // Given: 首次加载读取物品期间，其他节点广播物品2已找回
+        Item closed = createItem(2L, 20L, 1, 1, "钱包", "116.3971", "39.9165", now.minusDays(30));
+        when(itemMapper.selectById(2L)).thenReturn(closed);
+        when(itemMapper.selectList(any())).thenAnswer(invocation -> {
+            itemIndexService.onRefreshBroadcast("other-node:2");
+            return items;
+        });
+        
+        // When
+        IndexedItem entry = itemIndexService.get(2L);
+        
+        // Then: 读取到的旧数据不会覆盖重建期间同步的变更
+        assertEquals(1, entry.getStatus());
+        verify(itemMapper).selectById(2L);
+    }
+    
+    @Test
+    void testRefreshBroadcastsToOtherNodes() {
+        // Given
+        itemIndexService.rebuild();
+        when(itemMapper.selectById(4L)).thenReturn(null);
+        
+        // When
+        itemIndexService.refresh(4L);
+        
+        // Then
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(redisUtil).publish(eq("match:index:refresh"), captor.capture());
+        assertTrue(captor.getValue().endsWith(":4"));
+        // 本节点发出的广播忽略，不再重复读取数据库
+        itemIndexService.onRefreshBroadcast(captor.getValue());
+        verify(itemMapper, times(1)).selectById(4L);
+    }
+    
+    @Test
+    void testRefreshBroadcastFromOtherNodeUpdatesIndexOnly() {
+        // Given
+        itemIndexService.rebuild();
+        Item closed = createItem(2L, 20L, 1, 1, "钱包", "116.3971", "39.9165", now.minusDays(30));
+        when(itemMapper.selectById(2L)).thenReturn(closed);
+        
+        // When
+        itemIndexService.onRefreshBroadcast("other-node:2");
+        
+        // Then
+        assertEquals(1, itemIndexService.get(2L).getStatus());
+        // 物品变更事件只在写入节点发布
+        verifyNoInteractions(eventPublisher);
+        verify(redisUtil, never()).publish(any(), any());
+    }
+    
+    @Test
+    void testFindNearestPagesInDistanceOrder() {
+        // Given: 物品1、6、7位于同一点，物品4、5在约800米外，物品2、3在北京
+        double lng = 121.4737;
+        double lat = 31.2304;
+        
+        // When: 第一批取3个，再从最后一条之后继续
+        Map<Long, Double> first = itemIndexService.findNearest(lng, lat, Double.POSITIVE_INFINITY, -1, 0L, 3, null);
+        Map.Entry<Long, Double> last = first.entrySet().stream().reduce((a, b) -> b).orElseThrow();
+        Map<Long, Double> second = itemIndexService.findNearest(lng, lat, Double.POSITIVE_INFINITY,
+                last.getValue(), last.getKey(), 10, null);
+        
+        // Then: 同距离按ID升序，两批首尾相接，不重复不遗漏
+        assertEquals(List.of(1L, 6L, 7L), List.copyOf(first.keySet()));
+        assertEquals(List.of(4L, 5L, 2L, 3L), List.copyOf(second.keySet()));
+        assertTrue(second.get(4L) < 1000);
+    }
+    
+    @Test
+    void testFindNearestResumesFromCursorRing() {
+        // Given: 游标位于约1000公里外的物品2
+        double lng = 121.4737;
+        double lat = 31.2304;
+        Map<Long, Double> all = itemIndexService.findNearest(lng, lat, Double.POSITIVE_INFINITY, -1, 0L, 10, null);
+        
+        // When: 跳过游标以内的各圈继续查询
+        Map<Long, Double> next = itemIndexService.findNearest(lng, lat, Double.POSITIVE_INFINITY,
+                all.get(2L), 2L, 10, null);
+        
+        // Then: 与游标同距离、ID更大的物品3不会因跳过内圈而遗漏
+        assertEquals(List.of(3L), List.copyOf(next.keySet()));
+    }
+    
+    @Test
+    void testFindNearestAppliesRadiusAndFilter() {
+        // When: 5公里内的招领物品
+        Map<Long, Double> result = itemIndexService.findNearest(121.4737, 31.2304, 5000, -1, 0L, 10,
+                entry -> entry.getType() == 1);
+        
+        // Then
+        assertEquals(List.of(6L, 7L, 4L, 5L), List.copyOf(result.keySet()));
+    }
+    
+    private Item createItem(Long id, Long userId, Integer type, Integer status, String category,
+                            String longitude, String latitude, LocalDateTime eventTime) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(userId);
+        item.setType(type);
+        item.setStatus(status);
+        item.setCategory(category);
+        item.setLongitude(new BigDecimal(longitude));
+        item.setLatitude(new BigDecimal(latitude));
+        item.setEventTime(eventTime);
+        item.setDeleted(0);
+        return item;
+    }
+}
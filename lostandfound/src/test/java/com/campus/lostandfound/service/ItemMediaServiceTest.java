@@ -0,0 +1,154 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.model.entity.ItemImage;
+import com.campus.lostandfound.model.entity.ItemTag;
+import com.campus.lostandfound.model.vo.TagInfo;
+import com.campus.lostandfound.repository.ItemImageMapper;
+import com.campus.lostandfound.repository.ItemTagMapper;
+import com.campus.lostandfound.service.impl.ItemMediaServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * ItemMediaService单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class ItemMediaServiceTest {
+    
+    @Mock
+    private ItemImageMapper itemImageMapper;
+    
+    @Mock
+    private ItemTagMapper itemTagMapper;
+    
+    private ItemMediaServiceImpl itemMediaService;
+    
+    @BeforeEach
+    void setUp() {
+        itemMediaService = new ItemMediaServiceImpl(itemImageMapper, itemTagMapper);
+    }
+    
+    @Test
+    void testUnchangedImagesWriteNothing() {
+        // Given
+        when(itemImageMapper.selectList(any())).thenReturn(List.of(image(1L, "a", 0), image(2L, "b", 1)));
+        
+        // When
+        boolean coverChanged = itemMediaService.saveImages(100L, List.of("a", "b"));
+        
+        // Then
+        assertFalse(coverChanged);
+        verify(itemImageMapper, never()).insertBatch(anyList());
+        verify(itemImageMapper, never()).deleteBatchIds(anyList());
+        verify(itemImageMapper, never()).updateSortBatch(anyList());
+    }
+    
+    @Test
+    void testImageDiffAppliesOnlyChanges() {
+        // Given: 删除a，b和c交换位置，新增d
+        when(itemImageMapper.selectList(any()))
+                .thenReturn(List.of(image(1L, "a", 0), image(2L, "b", 1), image(3L, "c", 2)));
+        
+        // When
+        boolean coverChanged = itemMediaService.saveImages(100L, List.of("c", "b", "d"));
+        
+        // Then
+        assertTrue(coverChanged);
+        verify(itemImageMapper).deleteBatchIds(List.of(1L));
+        
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ItemImage>> resortCaptor = ArgumentCaptor.forClass(List.class);
+        verify(itemImageMapper).updateSortBatch(resortCaptor.capture());
+        List<ItemImage> resorted = resortCaptor.getValue();
+        assertEquals(1, resorted.size());
+        assertEquals(3L, resorted.get(0).getId());
+        assertEquals(0, resorted.get(0).getSort());
+        
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ItemImage>> insertCaptor = ArgumentCaptor.forClass(List.class);
+        verify(itemImageMapper).insertBatch(insertCaptor.capture());
+        List<ItemImage> inserted = insertCaptor.getValue();
+        assertEquals(1, inserted.size());
+        assertEquals("d", inserted.get(0).getUrl());
+        assertEquals(2, inserted.get(0).getSort());
+        assertEquals(100L, inserted.get(0).getItemId());
+    }
+    
+    @Test
+    void testAppendingImageKeepsCover() {
+        // Given
+        when(itemImageMapper.selectList(any())).thenReturn(List.of(image(1L, "a", 0)));
+        
+        // When
+        boolean coverChanged = itemMediaService.saveImages(100L, List.of("a", "b"));
+        
+        // Then: 首图未变，只插入新图片
+        assertFalse(coverChanged);
+        verify(itemImageMapper).insertBatch(argThat(list -> list.size() == 1));
+        verify(itemImageMapper, never()).deleteBatchIds(anyList());
+    }
+    
+    @Test
+    void testTagDiffAppliesOnlyChanges() {
+        // Given: 已有"黑色"(置信度变化)、"皮质"(不再需要)和重复的"黑色"
+        when(itemTagMapper.selectList(any())).thenReturn(List.of(
+                tag(1L, "黑色", "0.9000"), tag(2L, "皮质", "0.8000"), tag(3L, "黑色", "0.9000")));
+        
+        // When
+        itemMediaService.saveTags(100L, List.of(
+                new TagInfo("黑色", new BigDecimal("0.95")),
+                new TagInfo("钱包", new BigDecimal("0.88"))));
+        
+        // Then
+        verify(itemTagMapper).deleteBatchIds(List.of(2L, 3L));
+        verify(itemTagMapper).updateConfidenceBatch(argThat(list ->
+                list.size() == 1 && list.get(0).getId() == 1L
+                        && list.get(0).getConfidence().compareTo(new BigDecimal("0.95")) == 0));
+        verify(itemTagMapper).insertBatch(argThat(list ->
+                list.size() == 1 && "钱包".equals(list.get(0).getTag()) && list.get(0).getItemId() == 100L));
+    }
+    
+    @Test
+    void testSameTagsIgnoreDecimalScale() {
+        // Given: 数据库中的DECIMAL(5,4)与识别结果精度不同但数值相同
+        when(itemTagMapper.selectList(any())).thenReturn(List.of(tag(1L, "黑色", "0.9000")));
+        
+        // When
+        itemMediaService.saveTags(100L, List.of(new TagInfo("黑色", new BigDecimal("0.9"))));
+        
+        // Then
+        verify(itemTagMapper, never()).deleteBatchIds(anyList());
+        verify(itemTagMapper, never()).updateConfidenceBatch(anyList());
+        verify(itemTagMapper, never()).insertBatch(anyList());
+    }
+    
+    private ItemImage image(Long id, String url, int sort) {
+        ItemImage image = new ItemImage();
+        image.setId(id);
+        image.setItemId(100L);
+        image.setUrl(url);
+        image.setSort(sort);
+        return image;
+    }
+    
+    private ItemTag tag(Long id, String name, String confidence) {
+        ItemTag tag = new ItemTag();
+        tag.setId(id);
+        tag.setItemId(100L);
+        tag.setTag(name);
+        tag.setConfidence(new BigDecimal(confidence));
+        return tag;
+    }
+}
@@ -3,6 +3,8 @@ package com.campus.lostandfound.service;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.campus.lostandfound.common.PageResult;
 import com.campus.lostandfound.common.Result;
+import com.campus.lostandfound.config.SearchProperties;
+import com.campus.lostandfound.config.ViewCountProperties;
 import com.campus.lostandfound.model.dto.ItemDTO;
 import com.campus.lostandfound.model.dto.ItemSearchDTO;
 import com.campus.lostandfound.model.entity.Item;
@@ -15,9 +17,11 @@ import com.campus.lostandfound.repository.ItemImageMapper;
 import com.campus.lostandfound.repository.ItemMapper;
 import com.campus.lostandfound.repository.ItemTagMapper;
 import com.campus.lostandfound.repository.UserMapper;
+import com.campus.lostandfound.service.impl.ItemAssemblerImpl;
+import com.campus.lostandfound.service.impl.ItemMediaServiceImpl;
 import com.campus.lostandfound.service.impl.ItemServiceImpl;
+import com.campus.lostandfound.service.impl.ViewCountServiceImpl;
 import com.campus.lostandfound.util.RedisUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import net.jqwik.api.*;
 import net.jqwik.api.constraints.IntRange;
 import org.mockito.ArgumentCaptor;
@@ -62,16 +66,21 @@ class ItemServicePropertyTest {
         ItemTagMapper itemTagMapper = mock(ItemTagMapper.class);
         UserMapper userMapper = mock(UserMapper.class);
         PointService pointService = mock(PointService.class);
-        ImageRecognitionService imageRecognitionService = mock(ImageRecognitionService.class);
         MatchService matchService = mock(MatchService.class);
         LocationService locationService = mock(LocationService.class);
         RedisUtil redisUtil = mock(RedisUtil.class);
-        ObjectMapper objectMapper = new ObjectMapper();
         CacheService cacheService = mock(CacheService.class);
+        ItemIndexService itemIndexService = mock(ItemIndexService.class);
+        HotItemService hotItemService = mock(HotItemService.class);
         
         ItemServiceImpl itemService = new ItemServiceImpl(
                 itemMapper, itemImageMapper, itemTagMapper, userMapper,
-                pointService, imageRecognitionService, matchService, locationService, redisUtil, objectMapper, cacheService);
+                pointService, matchService, locationService, cacheService, itemIndexService,
+                new ItemAssemblerImpl(userMapper, itemImageMapper, itemTagMapper),
+                new ItemMediaServiceImpl(itemImageMapper, itemTagMapper),
+                mock(OutboxService.class),
+                new ViewCountServiceImpl(redisUtil, itemMapper, new ViewCountProperties(), hotItemService),
+                hotItemService, new SearchProperties());
         
         // Create an existing item (simulating a published item)
         Long itemId = testData.itemId;
@@ -129,16 +138,21 @@ class ItemServicePropertyTest {
         ItemTagMapper itemTagMapper = mock(ItemTagMapper.class);
         UserMapper userMapper = mock(UserMapper.class);
         PointService pointService = mock(PointService.class);
-        ImageRecognitionService imageRecognitionService = mock(ImageRecognitionService.class);
         MatchService matchService = mock(MatchService.class);
         LocationService locationService = mock(LocationService.class);
         RedisUtil redisUtil = mock(RedisUtil.class);
-        ObjectMapper objectMapper = new ObjectMapper();
         CacheService cacheService = mock(CacheService.class);
+        ItemIndexService itemIndexService = mock(ItemIndexService.class);
+        HotItemService hotItemService = mock(HotItemService.class);
         
         ItemServiceImpl itemService = new ItemServiceImpl(
                 itemMapper, itemImageMapper, itemTagMapper, userMapper,
-                pointService, imageRecognitionService, matchService, locationService, redisUtil, objectMapper, cacheService);
+                pointService, matchService, locationService, cacheService, itemIndexService,
+                new ItemAssemblerImpl(userMapper, itemImageMapper, itemTagMapper),
+                new ItemMediaServiceImpl(itemImageMapper, itemTagMapper),
+                mock(OutboxService.class),
+                new ViewCountServiceImpl(redisUtil, itemMapper, new ViewCountProperties(), hotItemService),
+                hotItemService, new SearchProperties());
         
         // Create an existing item
         Long itemId = testData.itemId;
@@ -208,16 +222,21 @@ class ItemServicePropertyTest {
         ItemTagMapper itemTagMapper = mock(ItemTagMapper.class);
         UserMapper userMapper = mock(UserMapper.class);
         PointService pointService = mock(PointService.class);
-        ImageRecognitionService imageRecognitionService = mock(ImageRecognitionService.class);
         MatchService matchService = mock(MatchService.class);
         LocationService locationService = mock(LocationService.class);
         RedisUtil redisUtil = mock(RedisUtil.class);
-        ObjectMapper objectMapper = new ObjectMapper();
         CacheService cacheService = mock(CacheService.class);
+        ItemIndexService itemIndexService = mock(ItemIndexService.class);
+        HotItemService hotItemService = mock(HotItemService.class);
         
         ItemServiceImpl itemService = new ItemServiceImpl(
                 itemMapper, itemImageMapper, itemTagMapper, userMapper,
-                pointService, imageRecognitionService, matchService, locationService, redisUtil, objectMapper, cacheService);
+                pointService, matchService, locationService, cacheService, itemIndexService,
+                new ItemAssemblerImpl(userMapper, itemImageMapper, itemTagMapper),
+                new ItemMediaServiceImpl(itemImageMapper, itemTagMapper),
+                mock(OutboxService.class),
+                new ViewCountServiceImpl(redisUtil, itemMapper, new ViewCountProperties(), hotItemService),
+                hotItemService, new SearchProperties());
         
         Long itemId = testData.itemId;
         Long userId = testData.userId;
@@ -272,7 +291,7 @@ class ItemServicePropertyTest {
         searchDTO.setPageNum(1);
         searchDTO.setPageSize(20);
         
-        PageResult<ItemVO> result = itemService.search(searchDTO);
+        PageResult<ItemVO> result = itemService.search(searchDTO, null);
         
         // Verify: deleted item should not be in results
         assertNotNull(result, "Search result should not be null");
@@ -408,16 +427,21 @@ class ItemServicePropertyTest {
         ItemTagMapper itemTagMapper = mock(ItemTagMapper.class);
         UserMapper userMapper = mock(UserMapper.class);
         PointService pointService = mock(PointService.class);
-        ImageRecognitionService imageRecognitionService = mock(ImageRecognitionService.class);
         MatchService matchService = mock(MatchService.class);
         LocationService locationService = mock(LocationService.class);
         RedisUtil redisUtil = mock(RedisUtil.class);
-        ObjectMapper objectMapper = new ObjectMapper();
         CacheService cacheService = mock(CacheService.class);
+        ItemIndexService itemIndexService = mock(ItemIndexService.class);
+        HotItemService hotItemService = mock(HotItemService.class);
         
         ItemServiceImpl itemService = new ItemServiceImpl(
                 itemMapper, itemImageMapper, itemTagMapper, userMapper,
-                pointService, imageRecognitionService, matchService, locationService, redisUtil, objectMapper, cacheService);
+                pointService, matchService, locationService, cacheService, itemIndexService,
+                new ItemAssemblerImpl(userMapper, itemImageMapper, itemTagMapper),
+                new ItemMediaServiceImpl(itemImageMapper, itemTagMapper),
+                mock(OutboxService.class),
+                new ViewCountServiceImpl(redisUtil, itemMapper, new ViewCountProperties(), hotItemService),
+                hotItemService, new SearchProperties());
         
         Long itemId = testData.itemId;
         Long userId = testData.userId;
@@ -435,6 +459,9 @@ class ItemServicePropertyTest {
         existingItem.setViewCount(initialViewCount);
         existingItem.setCreatedAt(LocalDateTime.now());
         
+        // Mock: no cached detail fragments
+        when(cacheService.multiGet(anyList(), anyList())).thenReturn(Arrays.asList(null, null, null, null));
+        
         // Mock: item exists
         when(itemMapper.selectById(itemId)).thenReturn(existingItem);
         
@@ -456,24 +483,19 @@ class ItemServicePropertyTest {
         // Mock: match recommendations
         when(matchService.getRecommendations(itemId)).thenReturn(Result.success(new ArrayList<>()));
         
-        // Capture the item being updated
-        ArgumentCaptor<Item> itemCaptor = ArgumentCaptor.forClass(Item.class);
-        when(itemMapper.updateById(itemCaptor.capture())).thenReturn(1);
-        
         // Execute getDetail
         ItemDetailVO result = itemService.getDetail(itemId);
         
-        // Verify: viewCount should be initialViewCount + 1
-        Item capturedItem = itemCaptor.getValue();
-        assertEquals(initialViewCount + 1, capturedItem.getViewCount(),
-                "After getDetail, viewCount should increase by 1 from " + initialViewCount);
-        
         // Verify: returned VO should have the updated view count
         assertEquals(initialViewCount + 1, result.getViewCount(),
                 "Returned ItemDetailVO should have the updated viewCount");
         
-        // Verify: Redis increment was called
+        // Verify: Redis increment was called and the item was marked for write-behind
         verify(redisUtil).increment(viewKey);
+        verify(redisUtil).sAdd("item:view:dirty", String.valueOf(itemId));
+        
+        // Verify: the read path does not write to the database
+        verify(itemMapper, never()).updateById(any(Item.class));
     }
 
     /**
@@ -495,16 +517,21 @@ class ItemServicePropertyTest {
         ItemTagMapper itemTagMapper = mock(ItemTagMapper.class);
         UserMapper userMapper = mock(UserMapper.class);
         PointService pointService = mock(PointService.class);
-        ImageRecognitionService imageRecognitionService = mock(ImageRecognitionService.class);
         MatchService matchService = mock(MatchService.class);
         LocationService locationService = mock(LocationService.class);
         RedisUtil redisUtil = mock(RedisUtil.class);
-        ObjectMapper objectMapper = new ObjectMapper();
         CacheService cacheService = mock(CacheService.class);
+        ItemIndexService itemIndexService = mock(ItemIndexService.class);
+        HotItemService hotItemService = mock(HotItemService.class);
         
         ItemServiceImpl itemService = new ItemServiceImpl(
                 itemMapper, itemImageMapper, itemTagMapper, userMapper,
-                pointService, imageRecognitionService, matchService, locationService, redisUtil, objectMapper, cacheService);
+                pointService, matchService, locationService, cacheService, itemIndexService,
+                new ItemAssemblerImpl(userMapper, itemImageMapper, itemTagMapper),
+                new ItemMediaServiceImpl(itemImageMapper, itemTagMapper),
+                mock(OutboxService.class),
+                new ViewCountServiceImpl(redisUtil, itemMapper, new ViewCountProperties(), hotItemService),
+                hotItemService, new SearchProperties());
         
         Long itemId = testData.itemId;
         Long userId = testData.userId;
@@ -522,6 +549,9 @@ class ItemServicePropertyTest {
         existingItem.setViewCount(initialViewCount);
         existingItem.setCreatedAt(LocalDateTime.now());
         
+        // Mock: no cached detail fragments
+        when(cacheService.multiGet(anyList(), anyList())).thenReturn(Arrays.asList(null, null, null, null));
+        
         // Mock: item exists
         when(itemMapper.selectById(itemId)).thenReturn(existingItem);
         
@@ -544,9 +574,6 @@ class ItemServicePropertyTest {
         // Mock: match recommendations
         when(matchService.getRecommendations(itemId)).thenReturn(Result.success(new ArrayList<>()));
         
-        // Mock: updateById
-        when(itemMapper.updateById(any(Item.class))).thenReturn(1);
-        
         // Execute getDetail N times
         ItemDetailVO lastResult = null;
         for (int i = 0; i < numberOfCalls; i++) {
@@ -561,8 +588,8 @@ class ItemServicePropertyTest {
         // Verify: Redis increment was called exactly numberOfCalls times
         verify(redisUtil, times(numberOfCalls)).increment(viewKey);
         
-        // Verify: updateById was called exactly numberOfCalls times
-        verify(itemMapper, times(numberOfCalls)).updateById(any(Item.class));
+        // Verify: no database write on the read path, counts are flushed in batches
+        verify(itemMapper, never()).updateById(any(Item.class));
     }
 
     // ==================== Property 16: 搜索结果相关性 ====================
@@ -584,16 +611,21 @@ class ItemServicePropertyTest {
         ItemTagMapper itemTagMapper = mock(ItemTagMapper.class);
         UserMapper userMapper = mock(UserMapper.class);
         PointService pointService = mock(PointService.class);
-        ImageRecognitionService imageRecognitionService = mock(ImageRecognitionService.class);
         MatchService matchService = mock(MatchService.class);
         LocationService locationService = mock(LocationService.class);
         RedisUtil redisUtil = mock(RedisUtil.class);
-        ObjectMapper objectMapper = new ObjectMapper();
         CacheService cacheService = mock(CacheService.class);
+        ItemIndexService itemIndexService = mock(ItemIndexService.class);
+        HotItemService hotItemService = mock(HotItemService.class);
         
         ItemServiceImpl itemService = new ItemServiceImpl(
                 itemMapper, itemImageMapper, itemTagMapper, userMapper,
-                pointService, imageRecognitionService, matchService, locationService, redisUtil, objectMapper, cacheService);
+                pointService, matchService, locationService, cacheService, itemIndexService,
+                new ItemAssemblerImpl(userMapper, itemImageMapper, itemTagMapper),
+                new ItemMediaServiceImpl(itemImageMapper, itemTagMapper),
+                mock(OutboxService.class),
+                new ViewCountServiceImpl(redisUtil, itemMapper, new ViewCountProperties(), hotItemService),
+                hotItemService, new SearchProperties());
         
         // Create test items - some matching keyword, some not
         Long userId = 1L;
@@ -660,7 +692,7 @@ class ItemServicePropertyTest {
         searchDTO.setPageNum(1);
         searchDTO.setPageSize(20);
         
-        PageResult<ItemVO> result = itemService.search(searchDTO);
+        PageResult<ItemVO> result = itemService.search(searchDTO, null);
         
         // Verify: all returned items should contain keyword in title, description, or tags
         assertNotNull(result, "Search result should not be null");
@@ -702,16 +734,21 @@ class ItemServicePropertyTest {
         ItemTagMapper itemTagMapper = mock(ItemTagMapper.class);
         UserMapper userMapper = mock(UserMapper.class);
         PointService pointService = mock(PointService.class);
-        ImageRecognitionService imageRecognitionService = mock(ImageRecognitionService.class);
         MatchService matchService = mock(MatchService.class);
         LocationService locationService = mock(LocationService.class);
         RedisUtil redisUtil = mock(RedisUtil.class);
-        ObjectMapper objectMapper = new ObjectMapper();
         CacheService cacheService = mock(CacheService.class);
+        ItemIndexService itemIndexService = mock(ItemIndexService.class);
+        HotItemService hotItemService = mock(HotItemService.class);
         
         ItemServiceImpl itemService = new ItemServiceImpl(
                 itemMapper, itemImageMapper, itemTagMapper, userMapper,
-                pointService, imageRecognitionService, matchService, locationService, redisUtil, objectMapper, cacheService);
+                pointService, matchService, locationService, cacheService, itemIndexService,
+                new ItemAssemblerImpl(userMapper, itemImageMapper, itemTagMapper),
+                new ItemMediaServiceImpl(itemImageMapper, itemTagMapper),
+                mock(OutboxService.class),
+                new ViewCountServiceImpl(redisUtil, itemMapper, new ViewCountProperties(), hotItemService),
+                hotItemService, new SearchProperties());
         
         // Create test items
         Long userId = 1L;
@@ -749,7 +786,7 @@ class ItemServicePropertyTest {
         searchDTO.setPageNum(1);
         searchDTO.setPageSize(20);
         
-        PageResult<ItemVO> result = itemService.search(searchDTO);
+        PageResult<ItemVO> result = itemService.search(searchDTO, null);
         
         // Verify: all items should be returned
         assertNotNull(result, "Search result should not be null");
@@ -1,26 +1,33 @@
 package com.campus.lostandfound.service;
 
+import com.campus.lostandfound.common.DistanceCursor;
+import com.campus.lostandfound.common.PageResult;
 import com.campus.lostandfound.common.Result;
+import com.campus.lostandfound.config.SearchProperties;
 import com.campus.lostandfound.model.dto.ItemDTO;
+import com.campus.lostandfound.model.dto.ItemSearchDTO;
 import com.campus.lostandfound.model.entity.Item;
 import com.campus.lostandfound.model.entity.ItemImage;
 import com.campus.lostandfound.model.entity.ItemTag;
 import com.campus.lostandfound.model.entity.User;
 import com.campus.lostandfound.model.vo.ItemDetailVO;
+import com.campus.lostandfound.model.vo.ItemMediaVO;
 import com.campus.lostandfound.model.vo.ItemVO;
 import com.campus.lostandfound.model.vo.MatchVO;
+import com.campus.lostandfound.model.vo.UserVO;
 import com.campus.lostandfound.repository.ItemImageMapper;
 import com.campus.lostandfound.repository.ItemMapper;
 import com.campus.lostandfound.repository.ItemTagMapper;
 import com.campus.lostandfound.repository.UserMapper;
+import com.campus.lostandfound.service.impl.ItemAssemblerImpl;
+import com.campus.lostandfound.service.impl.ItemMediaServiceImpl;
 import com.campus.lostandfound.service.impl.ItemServiceImpl;
-import com.campus.lostandfound.util.RedisUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.campus.lostandfound.service.outbox.OutboxEventType;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -28,6 +35,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -54,9 +62,6 @@ class ItemServiceTest {
     @Mock
     private PointService pointService;
     
-    @Mock
-    private ImageRecognitionService imageRecognitionService;
-    
     @Mock
     private MatchService matchService;
     
@@ -64,15 +69,22 @@ class ItemServiceTest {
     private LocationService locationService;
     
     @Mock
-    private RedisUtil redisUtil;
+    private CacheService cacheService;
     
     @Mock
-    private ObjectMapper objectMapper;
+    private ItemIndexService itemIndexService;
     
     @Mock
-    private CacheService cacheService;
+    private OutboxService outboxService;
+    
+    @Mock
+    private ViewCountService viewCountService;
+    
+    @Mock
+    private HotItemService hotItemService;
+    
+    private SearchProperties searchProperties;
     
-    @InjectMocks
     private ItemServiceImpl itemService;
     
     private ItemDTO itemDTO;
@@ -80,6 +92,13 @@ class ItemServiceTest {
     
     @BeforeEach
     void setUp() {
+        // 使用真实的ItemAssembler和ItemMediaService，仍走被Mock的Mapper
+        searchProperties = new SearchProperties();
+        itemService = new ItemServiceImpl(itemMapper, itemImageMapper, itemTagMapper, userMapper,
+                pointService, matchService, locationService,
+                cacheService, itemIndexService, new ItemAssemblerImpl(userMapper, itemImageMapper, itemTagMapper),
+                new ItemMediaServiceImpl(itemImageMapper, itemTagMapper), outboxService, viewCountService, hotItemService, searchProperties);
+        
         // 准备测试数据
         itemDTO = new ItemDTO();
         itemDTO.setTitle("丢失钱包");
@@ -140,9 +159,16 @@ class ItemServiceTest {
         assertEquals(0, savedItem.getViewCount());
         assertEquals(0, savedItem.getDeleted());
         
-        // 验证图片被保存
-        verify(itemImageMapper, times(2)).insert(any(ItemImage.class));
-        
+        // 验证图片用一条多行INSERT保存
+        verify(itemImageMapper).insertBatch(argThat(list -> list.size() == 2));
+        verify(itemImageMapper, never()).insert(any(ItemImage.class));
+
+        // 验证识别、匹配、缓存清除写入发件箱，而不是直接执行
+        verify(outboxService).enqueue(eq(100L), eq(OutboxEventType.RECOGNIZE), any());
+        verify(outboxService).enqueue(eq(100L), eq(OutboxEventType.MATCH), any());
+        verify(outboxService).enqueue(eq(100L), eq(OutboxEventType.EVICT_CACHE), any());
+        verify(matchService, never()).calculateMatchAndNotify(any());
+
         // 验证失物不增加积分
         verify(pointService, never()).addPoints(any(), any(), any(), any());
     }
@@ -204,10 +230,11 @@ class ItemServiceTest {
         assertNotNull(result);
         
         // 验证3张图片都被保存
-        ArgumentCaptor<ItemImage> imageCaptor = ArgumentCaptor.forClass(ItemImage.class);
-        verify(itemImageMapper, times(3)).insert(imageCaptor.capture());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ItemImage>> imageCaptor = ArgumentCaptor.forClass(List.class);
+        verify(itemImageMapper).insertBatch(imageCaptor.capture());
         
-        List<ItemImage> savedImages = imageCaptor.getAllValues();
+        List<ItemImage> savedImages = imageCaptor.getValue();
         assertEquals(3, savedImages.size());
         assertEquals(0, savedImages.get(0).getSort());
         assertEquals(1, savedImages.get(1).getSort());
@@ -249,11 +276,11 @@ class ItemServiceTest {
         // 验证Item被更新
         verify(itemMapper).updateById(any(Item.class));
         
-        // 验证旧图片被删除
-        verify(itemImageMapper).delete(any());
+        // 验证不再使用的旧图片被删除
+        verify(itemImageMapper).deleteBatchIds(anyList());
         
-        // 验证新图片被插入
-        verify(itemImageMapper, times(2)).insert(any(ItemImage.class));
+        // 验证新图片用一条语句插入
+        verify(itemImageMapper).insertBatch(argThat(list -> list.size() == 2));
     }
     
     @Test
@@ -336,8 +363,10 @@ class ItemServiceTest {
         // Then
         assertNotNull(result);
         
-        // 验证旧标签被删除（因为图片变更）
-        verify(itemTagMapper).delete(any());
+        // 验证首图变更后重新识别，标签由识别结果按差异替换，更新时不删除
+        verify(outboxService).enqueue(eq(itemId), eq(OutboxEventType.RECOGNIZE),
+                argThat(payload -> "https://example.com/new-image.jpg".equals(payload.get("imageUrl"))));
+        verify(itemTagMapper, never()).delete(any());
     }
     
     @Test
@@ -378,8 +407,14 @@ class ItemServiceTest {
         // Then
         assertNotNull(result);
         
-        // 验证标签没有被删除（因为图片未变更）
+        // 验证标签没有被删除，也不重新识别（因为图片未变更）
         verify(itemTagMapper, never()).delete(any());
+        verify(outboxService, never()).enqueue(any(), eq(OutboxEventType.RECOGNIZE), any());
+        
+        // 验证图片表没有任何写入
+        verify(itemImageMapper, never()).insertBatch(anyList());
+        verify(itemImageMapper, never()).deleteBatchIds(anyList());
+        verify(itemImageMapper, never()).updateSortBatch(anyList());
     }
     
     @Test
@@ -427,8 +462,9 @@ class ItemServiceTest {
             createMockMatchVO(201L, "拾获钱包", 1)
         );
         
+        when(cacheService.multiGet(anyList(), anyList())).thenReturn(Arrays.asList(null, null, null, null));
         when(itemMapper.selectById(itemId)).thenReturn(item);
-        when(redisUtil.increment("item:view:" + itemId)).thenReturn(6L);
+        when(viewCountService.increment(itemId)).thenReturn(6L);
         when(userMapper.selectById(1L)).thenReturn(user);
         when(itemImageMapper.selectList(any())).thenReturn(Arrays.asList(image1, image2));
         when(itemTagMapper.selectList(any())).thenReturn(Arrays.asList(tag1, tag2));
@@ -466,17 +502,58 @@ class ItemServiceTest {
         assertEquals("找到钱包", result.getMatchRecommendations().get(0).getTitle());
         assertEquals("拾获钱包", result.getMatchRecommendations().get(1).getTitle());
         
-        // 验证Redis浏览次数增加
-        verify(redisUtil).increment("item:view:" + itemId);
+        // 验证浏览次数增加
+        verify(viewCountService).increment(itemId);
         
-        // 验证数据库浏览次数更新
-        ArgumentCaptor<Item> itemCaptor = ArgumentCaptor.forClass(Item.class);
-        verify(itemMapper).updateById(itemCaptor.capture());
-        Item updatedItem = itemCaptor.getValue();
-        assertEquals(6, updatedItem.getViewCount());
+        // 验证读路径不写数据库，浏览次数由定时任务批量回写
+        verify(itemMapper, never()).updateById(any(Item.class));
         
         // 验证调用了匹配推荐服务
         verify(matchService).getRecommendations(itemId);
+        
+        // 验证各片段分别写入缓存，推荐片段过期时间更短
+        verify(cacheService).put(eq("item:detail:100:core"), any(), eq(30L), eq(TimeUnit.MINUTES));
+        verify(cacheService).put(eq("item:detail:100:media"), any(), eq(30L), eq(TimeUnit.MINUTES));
+        verify(cacheService).put(eq("item:detail:100:publisher"), any(), eq(10L), eq(TimeUnit.MINUTES));
+        verify(cacheService).put(eq("item:detail:100:match"), any(), eq(5L), eq(TimeUnit.MINUTES));
+    }
+    
+    @Test
+    void testGetDetailRebuildsOnlyMissingFragment() {
+        // Given: 只有推荐片段过期
+        Long itemId = 100L;
+        Item item = new Item();
+        item.setId(itemId);
+        item.setUserId(1L);
+        item.setTitle("丢失钱包");
+        item.setDeleted(0);
+        ItemMediaVO media = new ItemMediaVO();
+        media.setImages(List.of("https://example.com/image1.jpg"));
+        media.setTags(List.of("黑色"));
+        UserVO publisher = new UserVO();
+        publisher.setName("张三");
+        
+        when(cacheService.multiGet(eq(List.of("item:detail:100:core", "item:detail:100:media",
+                "item:detail:100:publisher", "item:detail:100:match")), anyList()))
+                .thenReturn(Arrays.asList(item, media, publisher, null));
+        when(matchService.getRecommendations(itemId))
+                .thenReturn(Result.success(List.of(createMockMatchVO(200L, "找到钱包", 1))));
+        when(viewCountService.increment(itemId)).thenReturn(9L);
+        
+        // When
+        ItemDetailVO result = itemService.getDetail(itemId);
+        
+        // Then: 只重建推荐片段，不查询物品、图片、标签和发布者
+        assertEquals("丢失钱包", result.getTitle());
+        assertEquals("张三", result.getUserName());
+        assertEquals(List.of("黑色"), result.getTags());
+        assertEquals(1, result.getMatchRecommendations().size());
+        assertEquals(9, result.getViewCount());
+        verify(itemMapper, never()).selectById(any());
+        verify(itemImageMapper, never()).selectList(any());
+        verify(userMapper, never()).selectById(any());
+        verify(cacheService).put(eq("item:detail:100:match"), any(), eq(5L), eq(TimeUnit.MINUTES));
+        verify(cacheService, never()).put(eq("item:detail:100:core"), any(), anyLong(), any());
     }
     
     @Test
@@ -484,6 +561,7 @@ class ItemServiceTest {
         // Given
         Long itemId = 999L;
         
+        when(cacheService.multiGet(anyList(), anyList())).thenReturn(Arrays.asList(null, null, null, null));
         when(itemMapper.selectById(itemId)).thenReturn(null);
         
         // When & Then
@@ -500,6 +578,7 @@ class ItemServiceTest {
         deletedItem.setId(itemId);
         deletedItem.setDeleted(1);
         
+        when(cacheService.multiGet(anyList(), anyList())).thenReturn(Arrays.asList(null, null, null, null));
         when(itemMapper.selectById(itemId)).thenReturn(deletedItem);
         
         // When & Then
@@ -507,6 +586,322 @@ class ItemServiceTest {
             () -> itemService.getDetail(itemId));
     }
     
+    @Test
+    void testSearchWithFulltextSkipsTagScan() {
+        // Given
+        searchProperties.setFulltextEnabled(true);
+        ItemSearchDTO dto = new ItemSearchDTO();
+        dto.setKeyword("黑色 钱包");
+        
+        when(itemMapper.selectPageByRelevance(any(), eq("+黑色 +钱包"), any())).thenReturn(new Page<>(1, 20));
+        
+        // When
+        PageResult<ItemVO> result = itemService.search(dto, null);
+        
+        // Then: 标签通过全文索引子查询过滤，不再先扫描标签表；相关度排序的查询串作为参数绑定
+        assertNotNull(result);
+        verify(itemTagMapper, never()).selectList(any());
+        verify(itemMapper).selectPageByRelevance(any(), eq("+黑色 +钱包"), any());
+        verify(itemMapper, never()).selectPage(any(), any());
+    }
+    
+    @Test
+    void testSearchWithShortKeywordFallsBackToLike() {
+        // Given: 单字关键词短于ngram分词长度，无法命中全文索引
+        searchProperties.setFulltextEnabled(true);
+        ItemSearchDTO dto = new ItemSearchDTO();
+        dto.setKeyword("伞");
+        
+        when(itemTagMapper.selectList(any())).thenReturn(List.of());
+        when(itemMapper.selectPage(any(), any())).thenReturn(new Page<>(1, 20));
+        
+        // When
+        itemService.search(dto, null);
+        
+        // Then
+        verify(itemTagMapper).selectList(any());
+    }
+    
+    @Test
+    void testSearchByMatchJoinsStoredScores() {
+        // Given
+        ItemSearchDTO dto = new ItemSearchDTO();
+        dto.setSortBy("match");
+        
+        when(itemMapper.selectPageByMatchScore(any(), eq(1L), any())).thenReturn(new Page<>(1, 20));
+        
+        // When
+        itemService.search(dto, 1L);
+        
+        // Then: 按预计算的匹配分数排序，不查询匹配候选也不计算匹配
+        verify(itemMapper).selectPageByMatchScore(any(), eq(1L), any());
+        verify(itemMapper, never()).selectPage(any(), any());
+        verifyNoInteractions(matchService, itemIndexService);
+    }
+    
+    @Test
+    void testSearchByMatchAnonymousFallsBackToTime() {
+        // Given
+        ItemSearchDTO dto = new ItemSearchDTO();
+        dto.setSortBy("match");
+        
+        when(itemMapper.selectPage(any(), any())).thenReturn(new Page<>(1, 20));
+        
+        // When
+        itemService.search(dto, null);
+        
+        // Then
+        verify(itemMapper, never()).selectPageByMatchScore(any(), any(), any());
+    }
+    
+    @Test
+    void testSearchByDistanceCursorWithoutCoordinatesFallsBackToTime() {
+        // Given: 按距离排序但未传坐标
+        ItemSearchDTO dto = new ItemSearchDTO();
+        dto.setSortBy("distance");
+        dto.setCursor("");
+        dto.setPageSize(2);
+        
+        when(itemMapper.selectPage(any(), any())).thenReturn(new Page<>(1, 3));
+        
+        // When
+        PageResult<ItemVO> result = itemService.search(dto, null);
+        
+        // Then: 与页码分页一致按时间游标翻页，不再拒绝请求
+        assertNotNull(result);
+        assertNull(result.getNextCursor());
+        verify(itemMapper).selectPage(any(), any());
+        verifyNoInteractions(itemIndexService);
+    }
+    
+    @Test
+    void testSearchByDistanceUsesNearestNeighbourCursor() {
+        // Given: 索引按距离给出最近的三个物品，物品9不满足数据库中的其余条件
+        ItemSearchDTO dto = new ItemSearchDTO();
+        dto.setLongitude(new BigDecimal("116.397128"));
+        dto.setLatitude(new BigDecimal("39.916527"));
+        dto.setSortBy("distance");
+        dto.setCursor("");
+        dto.setPageSize(2);
+        
+        java.util.Map<Long, Double> nearest = new java.util.LinkedHashMap<>();
+        nearest.put(5L, 10.0);
+        nearest.put(9L, 15.0);
+        nearest.put(3L, 20.0);
+        nearest.put(7L, 30.0);
+        when(itemIndexService.findNearest(anyDouble(), anyDouble(), eq(Double.POSITIVE_INFINITY),
+                eq(-1.0), anyLong(), anyInt(), any())).thenReturn(nearest);
+        when(itemMapper.selectList(any())).thenReturn(List.of(createHotItem(7L), createHotItem(3L), createHotItem(5L)));
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(user));
+        when(itemImageMapper.selectList(any())).thenReturn(List.of());
+        when(itemTagMapper.selectList(any())).thenReturn(List.of());
+        
+        // When
+        PageResult<ItemVO> result = itemService.search(dto, null);
+        
+        // Then: 按距离全局有序，下一页游标指向本页最后一条
+        assertEquals(2, result.getList().size());
+        assertEquals(5L, result.getList().get(0).getId());
+        assertEquals(10.0, result.getList().get(0).getDistance());
+        assertEquals(3L, result.getList().get(1).getId());
+        DistanceCursor next = DistanceCursor.decode(result.getNextCursor());
+        assertEquals(20.0, next.getDistance());
+        assertEquals(3L, next.getId());
+        assertNull(result.getTotal());
+        verify(itemMapper, never()).selectPage(any(), any());
+        verify(locationService, never()).searchInRadius(any(), any(), any());
+    }
+    
+    @Test
+    void testSearchByDistancePageTakesTotalFromExhaustedIndex() {
+        // Given: 页码分页，索引中的候选一批就取完了
+        ItemSearchDTO dto = new ItemSearchDTO();
+        dto.setLongitude(new BigDecimal("116.397128"));
+        dto.setLatitude(new BigDecimal("39.916527"));
+        dto.setSortBy("distance");
+        dto.setPageSize(2);
+        
+        java.util.Map<Long, Double> nearest = new java.util.LinkedHashMap<>();
+        nearest.put(5L, 10.0);
+        nearest.put(9L, 15.0);
+        nearest.put(3L, 20.0);
+        nearest.put(7L, 30.0);
+        when(itemIndexService.findNearest(anyDouble(), anyDouble(), eq(Double.POSITIVE_INFINITY),
+                eq(-1.0), anyLong(), anyInt(), any())).thenReturn(nearest);
+        when(itemMapper.selectList(any())).thenReturn(List.of(createHotItem(7L), createHotItem(3L), createHotItem(5L)));
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(user));
+        when(itemImageMapper.selectList(any())).thenReturn(List.of());
+        when(itemTagMapper.selectList(any())).thenReturn(List.of());
+        
+        // When
+        PageResult<ItemVO> result = itemService.search(dto, null);
+        
+        // Then: 总数为筛选出的物品数，不再查询数据库统计
+        assertEquals(2, result.getList().size());
+        assertEquals(3L, result.getTotal());
+        verify(itemMapper, never()).selectCount(any());
+    }
+    
+    @Test
+    void testSearchByDistancePageCountsInSqlWithoutLoadingIds() {
+        // Given: 页码分页带半径，索引中还有更多候选
+        ItemSearchDTO dto = new ItemSearchDTO();
+        dto.setLongitude(new BigDecimal("116.397128"));
+        dto.setLatitude(new BigDecimal("39.916527"));
+        dto.setRadius(1000);
+        dto.setSortBy("distance");
+        dto.setPageSize(2);
+        
+        java.util.Map<Long, Double> nearest = new java.util.LinkedHashMap<>();
+        for (long id = 1; id <= 50; id++) {
+            nearest.put(id, id * 10.0);
+        }
+        when(itemIndexService.findNearest(anyDouble(), anyDouble(), eq(1000.0),
+                eq(-1.0), anyLong(), anyInt(), any())).thenReturn(nearest);
+        when(itemMapper.selectList(any())).thenReturn(List.of(createHotItem(1L), createHotItem(2L), createHotItem(3L)));
+        when(itemMapper.selectCount(any())).thenReturn(120L);
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(user));
+        when(itemImageMapper.selectList(any())).thenReturn(List.of());
+        when(itemTagMapper.selectList(any())).thenReturn(List.of());
+        
+        // When
+        PageResult<ItemVO> result = itemService.search(dto, null);
+        
+        // Then: 按经纬度范围和球面距离在数据库中统计，不读取范围内的全部物品ID
+        assertEquals(2, result.getList().size());
+        assertEquals(120L, result.getTotal());
+        verify(itemMapper).selectCount(any());
+        verify(locationService, never()).searchInRadius(any(), any(), any());
+    }
+    
+    @Test
+    void testSearchByDistanceLaterCursorPageCountsTotalInSql() {
+        // Given: 游标分页的第二页要求统计总数，索引中游标之后只剩一个候选
+        ItemSearchDTO dto = new ItemSearchDTO();
+        dto.setLongitude(new BigDecimal("116.397128"));
+        dto.setLatitude(new BigDecimal("39.916527"));
+        dto.setSortBy("distance");
+        dto.setCursor(DistanceCursor.of(20.0, 3L).encode());
+        dto.setWithTotal(true);
+        dto.setPageSize(2);
+        
+        when(itemIndexService.findNearest(anyDouble(), anyDouble(), eq(Double.POSITIVE_INFINITY),
+                eq(20.0), eq(3L), anyInt(), any())).thenReturn(new java.util.LinkedHashMap<>(java.util.Map.of(7L, 30.0)));
+        when(itemMapper.selectList(any())).thenReturn(List.of(createHotItem(7L)));
+        when(itemMapper.selectCount(any())).thenReturn(3L);
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(user));
+        when(itemImageMapper.selectList(any())).thenReturn(List.of());
+        when(itemTagMapper.selectList(any())).thenReturn(List.of());
+        
+        // When
+        PageResult<ItemVO> result = itemService.search(dto, null);
+        
+        // Then: 游标之后筛选出的数量只是剩余数量，总数仍在数据库中统计
+        assertEquals(1, result.getList().size());
+        assertEquals(3L, result.getTotal());
+        assertNull(result.getNextCursor());
+    }
+    
+    @Test
+    void testSearchByDistanceGrowsBatchesAndStopsAtCandidateLimit() {
+        // Given: 关键词条件很严格，索引给出的候选在数据库中都被筛掉
+        searchProperties.setDistanceMaxCandidates(150);
+        ItemSearchDTO dto = new ItemSearchDTO();
+        dto.setLongitude(new BigDecimal("116.397128"));
+        dto.setLatitude(new BigDecimal("39.916527"));
+        dto.setSortBy("distance");
+        dto.setCursor("");
+        dto.setPageSize(2);
+        
+        when(itemIndexService.findNearest(anyDouble(), anyDouble(), eq(Double.POSITIVE_INFINITY),
+                anyDouble(), anyLong(), anyInt(), any())).thenAnswer(invocation -> {
+            double after = invocation.getArgument(3);
+            int limit = invocation.getArgument(5);
+            java.util.Map<Long, Double> batch = new java.util.LinkedHashMap<>();
+            long start = after < 0 ? 1 : (long) after + 1;
+            for (long id = start; id < start + limit; id++) {
+                batch.put(id, (double) id);
+            }
+            return batch;
+        });
+        when(itemMapper.selectList(any())).thenReturn(List.of());
+        
+        // When
+        PageResult<ItemVO> result = itemService.search(dto, null);
+        
+        // Then: 每批数量翻倍，筛选满150个候选后停止，下一页从最后筛选的候选之后继续
+        ArgumentCaptor<Integer> limits = ArgumentCaptor.forClass(Integer.class);
+        verify(itemIndexService, times(2)).findNearest(anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyLong(), limits.capture(), any());
+        assertEquals(List.of(50, 100), limits.getAllValues());
+        assertTrue(result.getList().isEmpty());
+        DistanceCursor next = DistanceCursor.decode(result.getNextCursor());
+        assertEquals(150.0, next.getDistance());
+        assertEquals(150L, next.getId());
+    }
+    
+    @Test
+    void testGetHotItemsFollowsRankingOrder() {
+        // Given: 排行中的物品3已被删除，批量查询不会返回
+        when(hotItemService.getTopItemIds(4)).thenReturn(List.of(3L, 2L, 1L));
+        when(itemMapper.selectBatchIds(List.of(3L, 2L, 1L)))
+                .thenReturn(List.of(createHotItem(1L), createHotItem(2L)));
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(user));
+        when(itemImageMapper.selectList(any())).thenReturn(List.of());
+        when(itemTagMapper.selectList(any())).thenReturn(List.of());
+        
+        // When
+        List<ItemVO> result = itemService.getHotItems(2);
+        
+        // Then: 按排行顺序返回，数量已满时不再按浏览量查询数据库
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(1L, result.get(1).getId());
+        verify(itemMapper, never()).selectList(any());
+    }
+    
+    @Test
+    void testGetHotItemsBackfillsShortRanking() {
+        // Given: 排行中只有两个有效物品，不足请求的3个
+        when(hotItemService.getTopItemIds(6)).thenReturn(List.of(3L, 2L, 1L));
+        when(itemMapper.selectBatchIds(List.of(3L, 2L, 1L)))
+                .thenReturn(List.of(createHotItem(1L), createHotItem(2L)));
+        when(itemMapper.selectList(any())).thenReturn(List.of(createHotItem(4L)));
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(user));
+        when(itemImageMapper.selectList(any())).thenReturn(List.of());
+        when(itemTagMapper.selectList(any())).thenReturn(List.of());
+        
+        // When
+        List<ItemVO> result = itemService.getHotItems(3);
+        
+        // Then: 排行结果在前，按浏览量查询的物品补在后面
+        assertEquals(List.of(2L, 1L, 4L), result.stream().map(ItemVO::getId).toList());
+        verify(itemMapper, times(1)).selectList(any());
+    }
+    
+    @Test
+    void testGetHotItemsFallsBackToDatabaseWhenRankingEmpty() {
+        // Given
+        when(hotItemService.getTopItemIds(40)).thenReturn(List.of());
+        when(itemMapper.selectList(any())).thenReturn(List.of());
+        
+        // When
+        List<ItemVO> result = itemService.getHotItems(20);
+        
+        // Then
+        assertTrue(result.isEmpty());
+        verify(itemMapper).selectList(any());
+    }
+    
+    private Item createHotItem(Long id) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(1L);
+        item.setTitle("物品" + id);
+        item.setDeleted(0);
+        return item;
+    }
+    
     private ItemVO createMockItemVO(Long id, String title, Integer type) {
         ItemVO vo = new ItemVO();
         vo.setId(id);
@@ -2,21 +2,26 @@ package com.campus.lostandfound.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.campus.lostandfound.config.AmapProperties;
+import com.campus.lostandfound.config.MatchProperties;
 import com.campus.lostandfound.model.entity.Item;
 import com.campus.lostandfound.model.vo.GeoPoint;
 import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.repository.ItemTagMapper;
+import com.campus.lostandfound.service.impl.ItemIndexServiceImpl;
 import com.campus.lostandfound.service.impl.LocationServiceImpl;
+import com.campus.lostandfound.util.RedisUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.jqwik.api.*;
 import net.jqwik.api.constraints.DoubleRange;
 import net.jqwik.api.constraints.IntRange;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -58,14 +63,15 @@ class LocationServicePropertyTest {
         when(amapProperties.getKey()).thenReturn("test-key");
         
         LocationServiceImpl locationService = new LocationServiceImpl(
-                amapProperties, restTemplate, itemMapper, objectMapper);
+                amapProperties, restTemplate, createIndexService(itemMapper), objectMapper);
         
         // Generate items at various distances from center
-        List<Item> allItems = itemsWithDistances.stream()
-                .map(iwd -> createItemAtDistance(center, iwd, radius))
-                .collect(Collectors.toList());
+        List<Item> allItems = new ArrayList<>();
+        for (int i = 0; i < itemsWithDistances.size(); i++) {
+            allItems.add(createItemAtDistance(center, itemsWithDistances.get(i), (long) (i + 1)));
+        }
         
-        // Mock the database query to return all items in the rectangular bounding box
+        // Mock the database query used to build the item index
         when(itemMapper.selectList(any(LambdaQueryWrapper.class))).thenReturn(allItems);
         
         // Execute the search
@@ -114,7 +120,7 @@ class LocationServicePropertyTest {
         when(amapProperties.getKey()).thenReturn("test-key");
         
         LocationServiceImpl locationService = new LocationServiceImpl(
-                amapProperties, restTemplate, itemMapper, objectMapper);
+                amapProperties, restTemplate, createIndexService(itemMapper), objectMapper);
         
         // Create items - some inside, some outside the radius
         List<Item> allItems = new ArrayList<>();
@@ -131,7 +137,7 @@ class LocationServicePropertyTest {
             }
         }
         
-        // Mock the database query
+        // Mock the database query used to build the item index
         when(itemMapper.selectList(any(LambdaQueryWrapper.class))).thenReturn(allItems);
         
         // Execute the search
@@ -145,6 +151,53 @@ class LocationServicePropertyTest {
         }
     }
 
+    /**
+     * Property 8: 地理范围查询准确性 - 范围内的物品全部返回，且按距离升序
+     * 
+     * Feature: smart-campus-lost-found, Property 8: 地理范围查询准确性
+     * 测试: 对于任意中心点和半径，空间网格不应漏掉范围内的物品，返回的距离与球面距离一致
+     * Validates: Requirements 4.3
+     */
+    @Property(tries = 100)
+    void allItemsInsideRadiusShouldBeReturnedInDistanceOrder(
+            @ForAll("validCenterPoint") GeoTestPoint center,
+            @ForAll @IntRange(min = 100, max = 5000) int radius,
+            @ForAll("mixedDistanceItems") List<ItemWithDistance> itemsWithDistances) {
+        
+        // Setup mocks
+        ItemMapper itemMapper = mock(ItemMapper.class);
+        LocationServiceImpl locationService = new LocationServiceImpl(
+                mock(AmapProperties.class), mock(RestTemplate.class), createIndexService(itemMapper), new ObjectMapper());
+        
+        List<Item> allItems = new ArrayList<>();
+        for (int i = 0; i < itemsWithDistances.size(); i++) {
+            allItems.add(createItemAtExactDistance(center, itemsWithDistances.get(i).distanceMeters, (long) (i + 1)));
+        }
+        when(itemMapper.selectList(any(LambdaQueryWrapper.class))).thenReturn(allItems);
+        
+        // Execute the search
+        Map<Long, Double> result = locationService.searchInRadiusWithDistance(
+                center.longitude, center.latitude, radius);
+        
+        // Verify: every item inside the radius is returned with its exact distance
+        for (Item item : allItems) {
+            double actualDistance = calculateHaversineDistance(
+                    center.longitude, center.latitude,
+                    item.getLongitude().doubleValue(), item.getLatitude().doubleValue());
+            if (actualDistance <= radius) {
+                assertTrue(result.containsKey(item.getId()),
+                        String.format("Item %d at distance %.2f meters should be returned", item.getId(), actualDistance));
+                assertEquals(actualDistance, result.get(item.getId()), 0.01);
+            }
+        }
+        
+        // Verify: results are sorted by ascending distance
+        List<Double> distances = new ArrayList<>(result.values());
+        for (int i = 1; i < distances.size(); i++) {
+            assertTrue(distances.get(i - 1) <= distances.get(i), "Results should be sorted by distance");
+        }
+    }
+
     // ==================== Test Data Classes ====================
 
     /**
@@ -246,17 +299,25 @@ class LocationServicePropertyTest {
 
     // ==================== Helper Methods ====================
 
+    /**
+     * Create an item index backed by the mocked item mapper
+     */
+    private ItemIndexServiceImpl createIndexService(ItemMapper itemMapper) {
+        return new ItemIndexServiceImpl(itemMapper, mock(ItemTagMapper.class), mock(ApplicationEventPublisher.class),
+                mock(RedisUtil.class), new MatchProperties());
+    }
+
     /**
      * Create an Item entity at a calculated position from center
      */
-    private Item createItemAtDistance(GeoTestPoint center, ItemWithDistance iwd, int radius) {
+    private Item createItemAtDistance(GeoTestPoint center, ItemWithDistance iwd, Long itemId) {
         // Calculate actual position using bearing and distance
         double[] newCoords = calculateDestinationPoint(
                 center.longitude, center.latitude, 
                 iwd.bearingDegrees, iwd.distanceMeters);
         
         Item item = new Item();
-        item.setId((long) (Math.random() * 100000 + 1));
+        item.setId(itemId);
         item.setLongitude(BigDecimal.valueOf(newCoords[0]));
         item.setLatitude(BigDecimal.valueOf(newCoords[1]));
         item.setDeleted(0);
@@ -0,0 +1,152 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.config.MatchProperties;
+import com.campus.lostandfound.model.dto.MatchFeedbackDTO;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.entity.MatchFeedback;
+import com.campus.lostandfound.model.entity.MatchRecord;
+import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.repository.ItemTagMapper;
+import com.campus.lostandfound.repository.MatchFeedbackMapper;
+import com.campus.lostandfound.repository.MatchRecordMapper;
+import com.campus.lostandfound.service.impl.MatchServiceImpl;
+import com.campus.lostandfound.service.match.IndexedItem;
+import com.campus.lostandfound.service.match.MatchEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * MatchService单元测试
+ * 确认匹配和匹配反馈记录的分数按这一对物品直接计算，不受候选召回范围影响
+ */
+@ExtendWith(MockitoExtension.class)
+class MatchServiceTest {
+
+    @Mock
+    private ItemMapper itemMapper;
+
+    @Mock
+    private ItemTagMapper itemTagMapper;
+
+    @Mock
+    private MatchRecordMapper matchRecordMapper;
+
+    @Mock
+    private MessageService messageService;
+
+    @Mock
+    private PointService pointService;
+
+    @Mock
+    private MatchFeedbackMapper matchFeedbackMapper;
+
+    @Mock
+    private ItemIndexService itemIndexService;
+
+    @Mock
+    private MatchSuggestionService matchSuggestionService;
+
+    @Mock
+    private ItemAssembler itemAssembler;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    private MatchServiceImpl matchService;
+
+    private Item lostItem;
+
+    private Item foundItem;
+
+    @BeforeEach
+    void setUp() {
+        MatchEngine matchEngine = new MatchEngine(itemMapper, itemTagMapper, itemIndexService,
+                new MatchProperties(), pool);
+        matchService = new MatchServiceImpl(itemMapper, matchRecordMapper, messageService, pointService,
+                matchFeedbackMapper, itemIndexService, matchEngine, matchSuggestionService, itemAssembler);
+
+        // 类别、标签均不同，相隔上千公里，不在候选召回范围内，只有时间相差1天得分
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 0);
+        lostItem = createItem(1L, 101L, 0, "钱包", now, 121.4737, 31.2304);
+        foundItem = createItem(2L, 102L, 1, "电子设备", now.plusDays(1), 116.4074, 39.9042);
+
+        when(itemMapper.selectById(1L)).thenReturn(lostItem);
+        when(itemMapper.selectById(2L)).thenReturn(foundItem);
+        when(itemIndexService.get(1L)).thenReturn(IndexedItem.of(lostItem, List.of("黑色")));
+        when(itemIndexService.get(2L)).thenReturn(IndexedItem.of(foundItem, List.of("蓝色")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testConfirmMatchRecordsPairwiseScoreOutsideRecall() {
+        // When
+        matchService.confirmMatch(2L, 1L, 102L);
+
+        // Then
+        ArgumentCaptor<MatchRecord> captor = ArgumentCaptor.forClass(MatchRecord.class);
+        verify(matchRecordMapper).insert(captor.capture());
+        MatchRecord record = captor.getValue();
+        assertEquals(1L, record.getLostItemId());
+        assertEquals(2L, record.getFoundItemId());
+        assertEquals(0, new BigDecimal("17.14").compareTo(record.getScore()));
+        assertEquals(1, lostItem.getStatus());
+        assertEquals(1, foundItem.getStatus());
+        verify(itemIndexService).refresh(1L);
+        verify(itemIndexService).refresh(2L);
+    }
+
+    @Test
+    void testFeedbackRecordsPairwiseScoreOutsideRecall() {
+        // Given
+        MatchFeedbackDTO dto = new MatchFeedbackDTO();
+        dto.setItemId(1L);
+        dto.setMatchedItemId(2L);
+        dto.setUserId(101L);
+        dto.setIsAccurate(false);
+        dto.setComment("不是我的");
+
+        // When
+        matchService.feedback(dto);
+
+        // Then
+        ArgumentCaptor<MatchFeedback> captor = ArgumentCaptor.forClass(MatchFeedback.class);
+        verify(matchFeedbackMapper).insert(captor.capture());
+        MatchFeedback feedback = captor.getValue();
+        assertEquals(0, new BigDecimal("17.14").compareTo(feedback.getMatchScore()));
+        assertEquals("钱包", feedback.getItemCategory());
+        assertEquals("电子设备", feedback.getMatchedItemCategory());
+        verifyNoInteractions(itemTagMapper);
+    }
+
+    private Item createItem(Long id, Long userId, Integer type, String category, LocalDateTime eventTime,
+                            double longitude, double latitude) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(userId);
+        item.setType(type);
+        item.setStatus(0);
+        item.setCategory(category);
+        item.setEventTime(eventTime);
+        item.setLongitude(BigDecimal.valueOf(longitude));
+        item.setLatitude(BigDecimal.valueOf(latitude));
+        item.setDeleted(0);
+        return item;
+    }
+}
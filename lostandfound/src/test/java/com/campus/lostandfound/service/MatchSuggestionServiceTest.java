@@ -0,0 +1,248 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.config.MatchProperties;
+import com.campus.lostandfound.config.WorkerProperties;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.entity.MatchSuggestion;
+import com.campus.lostandfound.model.vo.MatchResult;
+import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.repository.MatchSuggestionMapper;
+import com.campus.lostandfound.service.impl.MatchSuggestionServiceImpl;
+import com.campus.lostandfound.service.match.MatchEngine;
+import com.campus.lostandfound.util.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * MatchSuggestionService单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class MatchSuggestionServiceTest {
+    
+    @Mock
+    private MatchSuggestionMapper matchSuggestionMapper;
+    
+    @Mock
+    private ItemMapper itemMapper;
+    
+    @Mock
+    private MatchEngine matchEngine;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    @Mock
+    private RedisUtil redisUtil;
+    
+    @Captor
+    private ArgumentCaptor<List<MatchSuggestion>> upsertCaptor;
+    
+    private WorkerProperties workerProperties;
+    
+    /**
+     * 当前是否在事务回调中执行
+     */
+    private boolean inTransaction;
+    
+    private MatchSuggestionServiceImpl matchSuggestionService;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MatchProperties matchProperties = new MatchProperties();
+        matchProperties.setSuggestionSize(2);
+        workerProperties = new WorkerProperties();
+        matchSuggestionService = new MatchSuggestionServiceImpl(
+                matchSuggestionMapper, itemMapper, matchEngine, matchProperties, transactionTemplate, workerProperties,
+                redisUtil);
+        
+        lenient().doAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            } finally {
+                inTransaction = false;
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+    
+    @Test
+    void testRefreshMergesIntoCandidateLists() {
+        // Given: 新发布的物品1，候选物品2和3的推荐列表都已满（K=2）
+        Item item = createItem(1L, 0);
+        when(itemMapper.selectById(1L)).thenReturn(item);
+        when(matchEngine.match(eq(item), anyInt(), anyFloat())).thenAnswer(invocation -> {
+            // 匹配计算不在事务中执行，不持有行锁
+            assertFalse(inTransaction);
+            return Arrays.asList(createResult(1L, 2L, "80"), createResult(1L, 3L, "40"));
+        });
+        when(matchSuggestionMapper.selectList(any())).thenReturn(
+                Collections.emptyList(),
+                Arrays.asList(
+                        createSuggestion(11L, 2L, 9L, "90"),
+                        createSuggestion(13L, 3L, 8L, "60"),
+                        createSuggestion(12L, 2L, 7L, "50"),
+                        createSuggestion(14L, 3L, 6L, "45")
+                )
+        );
+        
+        // When
+        matchSuggestionService.refresh(1L);
+        
+        // Then: 物品1自身的推荐为2和3；只挤入物品2的列表，淘汰其第2名
+        verify(matchSuggestionMapper, times(2)).upsertBatch(upsertCaptor.capture());
+        List<MatchSuggestion> upserts = upsertCaptor.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(3, upserts.size());
+        assertTrue(upserts.stream().anyMatch(s -> s.getItemId().equals(1L) && s.getMatchedItemId().equals(2L)));
+        assertTrue(upserts.stream().anyMatch(s -> s.getItemId().equals(1L) && s.getMatchedItemId().equals(3L)));
+        assertTrue(upserts.stream().anyMatch(s -> s.getItemId().equals(2L) && s.getMatchedItemId().equals(1L)));
+        verify(matchSuggestionMapper).deleteByIds(Collections.singletonList(12L));
+        // 所有写入在一个事务中完成
+        verify(transactionTemplate).executeWithoutResult(any());
+    }
+    
+    @Test
+    void testRefreshEvictsSurplusFromConcurrentMerges() {
+        // Given: 并发挤入后物品2的列表有3条记录（K=2），物品1的分数不足以挤入
+        Item item = createItem(1L, 0);
+        when(itemMapper.selectById(1L)).thenReturn(item);
+        when(matchEngine.match(eq(item), anyInt(), anyFloat())).thenReturn(
+                Collections.singletonList(createResult(1L, 2L, "30")));
+        when(matchSuggestionMapper.selectList(any())).thenReturn(
+                Collections.emptyList(),
+                Arrays.asList(
+                        createSuggestion(11L, 2L, 9L, "90"),
+                        createSuggestion(12L, 2L, 7L, "50"),
+                        createSuggestion(15L, 2L, 5L, "45")
+                )
+        );
+        
+        // When
+        matchSuggestionService.refresh(1L);
+        
+        // Then: 不挤入物品2的列表，同时淘汰多余的第3条
+        verify(matchSuggestionMapper).upsertBatch(upsertCaptor.capture());
+        assertTrue(upsertCaptor.getValue().stream().allMatch(s -> Objects.equals(s.getItemId(), 1L)));
+        verify(matchSuggestionMapper).deleteByIds(Collections.singletonList(15L));
+    }
+    
+    @Test
+    void testRefreshClosedItemRecomputesAffectedLists() {
+        // Given: 物品1已找回，原本出现在物品2的推荐列表中
+        when(itemMapper.selectById(1L)).thenReturn(createItem(1L, 1));
+        Item owner = createItem(2L, 0);
+        when(itemMapper.selectById(2L)).thenReturn(owner);
+        when(matchSuggestionMapper.selectList(any())).thenReturn(
+                Collections.singletonList(createSuggestion(11L, 2L, 1L, "90")));
+        when(matchEngine.match(owner, 2, 0)).thenReturn(
+                Collections.singletonList(createResult(2L, 5L, "55")));
+        
+        // When
+        matchSuggestionService.refresh(1L);
+        
+        // Then: 不为已找回物品计算推荐，清除其推荐列表；物品2的列表重新计算并单独提交
+        verify(matchEngine, never()).match(argThat(i -> i != null && i.getId().equals(1L)), anyInt(), anyFloat());
+        verify(matchSuggestionMapper, times(2)).delete(any());
+        verify(matchSuggestionMapper).upsertBatch(upsertCaptor.capture());
+        List<MatchSuggestion> upserts = upsertCaptor.getValue();
+        assertEquals(1, upserts.size());
+        assertEquals(2L, upserts.get(0).getItemId());
+        assertEquals(5L, upserts.get(0).getMatchedItemId());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+    }
+    
+    @Test
+    void testScheduledRebuildHoldsRedisLock() {
+        // Given
+        when(redisUtil.setIfAbsent(eq("match:suggestion:rebuild:lock"), anyString(), eq(7200L), eq(TimeUnit.SECONDS)))
+                .thenReturn(true);
+        when(itemMapper.selectList(any())).thenReturn(Collections.emptyList());
+        
+        // When
+        matchSuggestionService.scheduledRebuild();
+        
+        // Then: 重建完成后释放自己持有的锁
+        verify(matchSuggestionMapper).delete(any());
+        ArgumentCaptor<String> holder = ArgumentCaptor.forClass(String.class);
+        verify(redisUtil).setIfAbsent(any(), holder.capture(), anyLong(), any());
+        verify(redisUtil).deleteIfEquals("match:suggestion:rebuild:lock", holder.getValue());
+    }
+    
+    @Test
+    void testScheduledRebuildSkipsWhenAnotherNodeRebuilds() {
+        // Given
+        when(redisUtil.setIfAbsent(any(), any(), anyLong(), any())).thenReturn(false);
+        
+        // When
+        matchSuggestionService.scheduledRebuild();
+        
+        // Then
+        verifyNoInteractions(matchSuggestionMapper, itemMapper);
+        verify(redisUtil, never()).deleteIfEquals(any(), any());
+    }
+    
+    @Test
+    void testWebNodeSkipsRebuildWhenWorkerEnabled() {
+        // Given: 开启worker节点后，不消费事件流的Web节点不维护推荐
+        workerProperties.setStreamEnabled(true);
+        
+        // When
+        matchSuggestionService.scheduledRebuild();
+        matchSuggestionService.initialize();
+        
+        // Then
+        verifyNoInteractions(redisUtil, matchSuggestionMapper, itemMapper);
+    }
+    
+    private Item createItem(Long id, Integer status) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(id + 100);
+        item.setType(0);
+        item.setStatus(status);
+        item.setDeleted(0);
+        return item;
+    }
+    
+    private MatchResult createResult(Long itemId, Long matchedItemId, String score) {
+        MatchResult result = new MatchResult(itemId, matchedItemId);
+        result.setScore(new BigDecimal(score));
+        result.setCategoryScore(BigDecimal.ZERO);
+        result.setTagScore(BigDecimal.ZERO);
+        result.setTimeScore(BigDecimal.ZERO);
+        result.setLocationScore(BigDecimal.ZERO);
+        return result;
+    }
+    
+    private MatchSuggestion createSuggestion(Long id, Long itemId, Long matchedItemId, String score) {
+        MatchSuggestion suggestion = new MatchSuggestion();
+        suggestion.setId(id);
+        suggestion.setItemId(itemId);
+        suggestion.setMatchedItemId(matchedItemId);
+        suggestion.setScore(new BigDecimal(score));
+        return suggestion;
+    }
+}
@@ -3,12 +3,15 @@ package com.campus.lostandfound.service;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.lostandfound.common.PageCursor;
 import com.campus.lostandfound.common.PageResult;
+import com.campus.lostandfound.config.WorkerProperties;
 import com.campus.lostandfound.model.dto.SendMessageDTO;
 import com.campus.lostandfound.model.entity.Message;
 import com.campus.lostandfound.model.vo.MessageVO;
 import com.campus.lostandfound.repository.MessageMapper;
 import com.campus.lostandfound.service.impl.MessageServiceImpl;
+import com.campus.lostandfound.util.RedisUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -22,6 +25,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -44,6 +48,12 @@ class MessageServiceTest {
     
     @Mock
     private ObjectMapper objectMapper;
+    
+    @Mock
+    private RedisUtil redisUtil;
+    
+    @Spy
+    private WorkerProperties workerProperties = new WorkerProperties();
 
     @InjectMocks
     private MessageServiceImpl messageService;
@@ -82,7 +92,7 @@ class MessageServiceTest {
         // Initialize mocks for each property test run
         MessageMapper mockMapper = mock(MessageMapper.class);
         ObjectMapper testObjectMapper = createObjectMapper();
-        MessageServiceImpl testService = new MessageServiceImpl(mockMapper, testObjectMapper);
+        MessageServiceImpl testService = new MessageServiceImpl(mockMapper, testObjectMapper, mock(RedisUtil.class), new WorkerProperties());
         
         // Given: 为用户设置消息列表，确保所有消息都属于该用户
         List<Message> userMessages = messages.stream()
@@ -217,6 +227,133 @@ class MessageServiceTest {
 
         // Then
         verify(messageMapper, times(1)).insert(any(Message.class));
+        // 未启用worker节点时，不在本节点的用户不广播
+        verifyNoInteractions(redisUtil);
+    }
+
+    /**
+     * 单元测试：启用worker节点时，连接不在本节点的用户通过Redis广播交给Web节点推送
+     */
+    @Test
+    void testSendRelaysPushWhenUserNotConnectedToThisNode() throws Exception {
+        // Given
+        workerProperties.setStreamEnabled(true);
+        SendMessageDTO dto = new SendMessageDTO();
+        dto.setUserId(1L);
+        dto.setTitle("发现匹配物品");
+        dto.setContent("匹配通知");
+        dto.setType(1);
+        dto.setRelatedId(100L);
+
+        when(objectMapper.writeValueAsString(any(MessageVO.class))).thenReturn("{\"title\":\"发现匹配物品\"}");
+
+        // When
+        messageService.send(dto);
+
+        // Then
+        verify(redisUtil).publish("message:push", "1:{\"title\":\"发现匹配物品\"}");
+    }
+
+    /**
+     * 单元测试：批量发送消息应在一次批量写入中完成
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSendBatchWritesAllMessagesAtOnce() {
+        // Given
+        List<SendMessageDTO> dtos = new ArrayList<>();
+        for (long userId = 1; userId <= 3; userId++) {
+            SendMessageDTO dto = new SendMessageDTO();
+            dto.setUserId(userId);
+            dto.setTitle("发现匹配物品");
+            dto.setContent("匹配通知" + userId);
+            dto.setType(1);
+            dto.setRelatedId(100L);
+            dtos.add(dto);
+        }
+
+        // When
+        messageService.sendBatch(dtos);
+
+        // Then
+        ArgumentCaptor<List<Message>> captor = ArgumentCaptor.forClass(List.class);
+        verify(messageMapper, times(1)).insert(captor.capture());
+        verify(messageMapper, never()).insert(any(Message.class));
+        List<Message> messages = captor.getValue();
+        assertEquals(3, messages.size());
+        assertEquals(List.of(1L, 2L, 3L), messages.stream().map(Message::getUserId).collect(Collectors.toList()));
+        assertTrue(messages.stream().allMatch(message -> message.getIsRead() == 0));
+    }
+
+    /**
+     * 单元测试：空列表不写入数据库
+     */
+    @Test
+    void testSendBatchWithEmptyList() {
+        // When
+        messageService.sendBatch(Collections.emptyList());
+
+        // Then
+        verifyNoInteractions(messageMapper);
+    }
+
+    /**
+     * 测试游标分页：多取一条判断下一页，下一页游标指向本页最后一条，默认不统计总数
+     */
+    @Test
+    void testGetListByCursorReturnsNextCursor() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0, 0);
+        List<Message> messages = new ArrayList<>();
+        for (long id = 3; id >= 1; id--) {
+            Message message = new Message();
+            message.setId(id);
+            message.setUserId(1L);
+            message.setTitle("消息" + id);
+            message.setIsRead(0);
+            message.setCreatedAt(now);
+            messages.add(message);
+        }
+        Page<Message> page = new Page<>(1, 3, false);
+        page.setRecords(messages);
+        when(messageMapper.selectPage(any(Page.class), any(QueryWrapper.class))).thenReturn(page);
+
+        // When
+        PageResult<MessageVO> result = messageService.getListByCursor(1L, null, null, "", 2, false);
+
+        // Then
+        assertEquals(2, result.getList().size());
+        assertNull(result.getTotal());
+        PageCursor next = PageCursor.decode(result.getNextCursor());
+        assertEquals(now, next.getCreatedAt());
+        assertEquals(2L, next.getId());
+        verify(messageMapper, never()).selectCount(any());
+    }
+
+    /**
+     * 测试游标分页最后一页：不足一页时不返回下一页游标
+     */
+    @Test
+    void testGetListByCursorLastPage() {
+        // Given
+        Message message = new Message();
+        message.setId(1L);
+        message.setUserId(1L);
+        message.setIsRead(1);
+        message.setCreatedAt(LocalDateTime.now());
+        Page<Message> page = new Page<>(1, 21, false);
+        page.setRecords(new ArrayList<>(List.of(message)));
+        when(messageMapper.selectPage(any(Page.class), any(QueryWrapper.class))).thenReturn(page);
+        when(messageMapper.selectCount(any(QueryWrapper.class))).thenReturn(21L);
+
+        // When
+        String cursor = PageCursor.of(LocalDateTime.now(), 2L).encode();
+        PageResult<MessageVO> result = messageService.getListByCursor(1L, null, true, cursor, 20, true);
+
+        // Then
+        assertEquals(1, result.getList().size());
+        assertEquals(21L, result.getTotal());
+        assertNull(result.getNextCursor());
     }
 
     // ==================== Property 13: 消息已读状态更新 ====================
@@ -237,7 +374,7 @@ class MessageServiceTest {
         // Initialize mocks for each property test run
         MessageMapper mockMapper = mock(MessageMapper.class);
         ObjectMapper testObjectMapper = createObjectMapper();
-        MessageServiceImpl testService = new MessageServiceImpl(mockMapper, testObjectMapper);
+        MessageServiceImpl testService = new MessageServiceImpl(mockMapper, testObjectMapper, mock(RedisUtil.class), new WorkerProperties());
         
         // Given: 设置未读消息属于当前用户
         unreadMessage.setId(messageId);
@@ -288,7 +425,7 @@ class MessageServiceTest {
         // Initialize mocks for each property test run
         MessageMapper mockMapper = mock(MessageMapper.class);
         ObjectMapper testObjectMapper = createObjectMapper();
-        MessageServiceImpl testService = new MessageServiceImpl(mockMapper, testObjectMapper);
+        MessageServiceImpl testService = new MessageServiceImpl(mockMapper, testObjectMapper, mock(RedisUtil.class), new WorkerProperties());
         
         // Given: 设置已读消息属于当前用户
         readMessage.setId(messageId);
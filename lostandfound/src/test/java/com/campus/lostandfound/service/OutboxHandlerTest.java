@@ -0,0 +1,139 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import com.campus.lostandfound.service.outbox.MatchOutboxHandler;
+import com.campus.lostandfound.service.outbox.OutboxBatchException;
+import com.campus.lostandfound.service.outbox.OutboxEventType;
+import com.campus.lostandfound.service.outbox.RecognitionOutboxHandler;
+import com.campus.lostandfound.service.outbox.SuggestionOutboxHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 发件箱事件处理器单元测试
+ * 处理器必须等待识别、匹配完成后才返回，失败或被线程池拒绝的物品通过异常交给发件箱重试
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxHandlerTest {
+
+    @Mock
+    private MatchService matchService;
+
+    @Mock
+    private ImageRecognitionService imageRecognitionService;
+
+    @Mock
+    private MatchSuggestionService matchSuggestionService;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    @Test
+    void testMatchHandlerRunsEachItemOnceBeforeReturning() throws Exception {
+        // Given
+        runInline();
+        MatchOutboxHandler handler = new MatchOutboxHandler(matchService, executor);
+
+        // When
+        handler.handle(List.of(event(1L, 10L, null), event(2L, 10L, null), event(3L, 11L, null)));
+
+        // Then
+        verify(matchService, times(1)).calculateMatchAndNotify(10L);
+        verify(matchService, times(1)).calculateMatchAndNotify(11L);
+    }
+
+    @Test
+    void testMatchHandlerReportsFailedItems() {
+        // Given
+        runInline();
+        doThrow(new IllegalStateException("数据库不可用")).when(matchService).calculateMatchAndNotify(11L);
+        MatchOutboxHandler handler = new MatchOutboxHandler(matchService, executor);
+
+        // When
+        OutboxBatchException e = assertThrows(OutboxBatchException.class,
+                () -> handler.handle(List.of(event(1L, 10L, null), event(2L, 11L, null))));
+
+        // Then
+        assertEquals(Set.of(11L), e.getFailedItemIds());
+        verify(matchService).calculateMatchAndNotify(10L);
+    }
+
+    @Test
+    void testSuggestionHandlerRefreshesEachItemAndReportsFailures() {
+        // Given
+        doThrow(new IllegalStateException("数据库不可用")).when(matchSuggestionService).refresh(11L);
+        SuggestionOutboxHandler handler = new SuggestionOutboxHandler(matchSuggestionService);
+
+        // When
+        OutboxBatchException e = assertThrows(OutboxBatchException.class, () -> handler.handle(
+                List.of(event(1L, 10L, null), event(2L, 11L, null), event(3L, 10L, null), event(4L, 12L, null))));
+
+        // Then
+        // 同一物品只更新一次，失败的物品不影响后面的物品
+        assertEquals(Set.of(11L), e.getFailedItemIds());
+        verify(matchSuggestionService, times(1)).refresh(10L);
+        verify(matchSuggestionService).refresh(12L);
+    }
+
+    @Test
+    void testRecognitionHandlerReportsRejectedItems() {
+        // Given
+        doThrow(new RejectedExecutionException("线程池已满")).when(executor).execute(any(Runnable.class));
+        RecognitionOutboxHandler handler = new RecognitionOutboxHandler(imageRecognitionService, executor,
+                new ObjectMapper());
+
+        // When
+        OutboxBatchException e = assertThrows(OutboxBatchException.class,
+                () -> handler.handle(List.of(event(1L, 10L, "{\"imageUrl\":\"https://example.com/a.jpg\"}"))));
+
+        // Then
+        // 被拒绝的任务不能当作已完成
+        assertEquals(Set.of(10L), e.getFailedItemIds());
+        verifyNoInteractions(imageRecognitionService);
+    }
+
+    @Test
+    void testRecognitionHandlerUsesLatestImagePerItem() throws Exception {
+        // Given
+        runInline();
+        RecognitionOutboxHandler handler = new RecognitionOutboxHandler(imageRecognitionService, executor,
+                new ObjectMapper());
+
+        // When
+        handler.handle(List.of(
+                event(1L, 10L, "{\"imageUrl\":\"https://example.com/old.jpg\"}"),
+                event(2L, 10L, "{\"imageUrl\":\"https://example.com/new.jpg\"}")));
+
+        // Then
+        verify(imageRecognitionService).recognizeAndSaveTags("https://example.com/new.jpg", 10L);
+        verify(imageRecognitionService, never()).recognizeAndSaveTags("https://example.com/old.jpg", 10L);
+    }
+
+    private void runInline() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    private ItemOutbox event(Long id, Long itemId, String payload) {
+        ItemOutbox event = new ItemOutbox();
+        event.setId(id);
+        event.setItemId(itemId);
+        event.setEventType(OutboxEventType.MATCH);
+        event.setPayload(payload);
+        return event;
+    }
+}
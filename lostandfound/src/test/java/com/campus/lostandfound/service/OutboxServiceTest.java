@@ -0,0 +1,269 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.config.AsyncConfig;
+import com.campus.lostandfound.config.AsyncProperties;
+import com.campus.lostandfound.config.OutboxProperties;
+import com.campus.lostandfound.model.entity.ItemOutbox;
+import com.campus.lostandfound.repository.ItemOutboxMapper;
+import com.campus.lostandfound.service.impl.OutboxServiceImpl;
+import com.campus.lostandfound.service.match.ItemChangedEvent;
+import com.campus.lostandfound.service.outbox.ItemEventStreamPublisher;
+import com.campus.lostandfound.service.outbox.OutboxBatchException;
+import com.campus.lostandfound.service.outbox.OutboxEventType;
+import com.campus.lostandfound.service.outbox.OutboxHandler;
+import com.campus.lostandfound.util.CoalescingExecutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * OutboxService单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private ItemOutboxMapper itemOutboxMapper;
+
+    @Mock
+    private OutboxHandler matchHandler;
+
+    @Mock
+    private ItemEventStreamPublisher itemEventStreamPublisher;
+
+    @Mock
+    private CoalescingExecutor outboxCoalescer;
+
+    private OutboxProperties outboxProperties;
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxProperties = new OutboxProperties();
+        outboxService = new OutboxServiceImpl(itemOutboxMapper, outboxProperties, new ObjectMapper(),
+                List.of(matchHandler), itemEventStreamPublisher, outboxCoalescer);
+    }
+
+    @Test
+    void testEnqueueInsertsPendingEventAndTriggersDispatch() {
+        // When
+        outboxService.enqueue(1L, OutboxEventType.RECOGNIZE, Map.of("imageUrl", "https://example.com/a.jpg"));
+
+        // Then
+        ArgumentCaptor<ItemOutbox> captor = ArgumentCaptor.forClass(ItemOutbox.class);
+        verify(itemOutboxMapper).insert(captor.capture());
+        ItemOutbox event = captor.getValue();
+        assertEquals(1L, event.getItemId());
+        assertEquals(OutboxEventType.RECOGNIZE, event.getEventType());
+        assertEquals(ItemOutbox.STATUS_PENDING, event.getStatus());
+        assertEquals(0, event.getAttempts());
+        assertEquals("{\"imageUrl\":\"https://example.com/a.jpg\"}", event.getPayload());
+        // 没有事务时立即触发分发
+        verify(outboxCoalescer).submit(eq("dispatch"), any());
+    }
+
+    @Test
+    void testAfterCommitSkipsDispatchWhenOutboxPoolSaturated() {
+        // Given
+        // 发件箱分发线程池的线程和队列都被占满
+        AsyncConfig asyncConfig = new AsyncConfig(new AsyncProperties(), new SimpleMeterRegistry());
+        ThreadPoolTaskExecutor outboxExecutor = asyncConfig.outboxExecutor();
+        outboxExecutor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            outboxExecutor.execute(() -> awaitQuietly(release));
+            outboxExecutor.execute(() -> awaitQuietly(release));
+            CoalescingExecutor coalescer = asyncConfig.outboxCoalescer(outboxExecutor);
+            OutboxServiceImpl service = new OutboxServiceImpl(itemOutboxMapper, outboxProperties,
+                    new ObjectMapper(), List.of(matchHandler), itemEventStreamPublisher, coalescer);
+
+            // When
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                service.enqueue(1L, OutboxEventType.MATCH, null);
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // Then
+            // 本次触发被丢弃，不在提交事务的调用线程中分发，由定时轮询兜底
+            verify(itemOutboxMapper, never()).claimBatch(any(), any(), any(), anyInt());
+            verifyNoInteractions(matchHandler);
+            // 被丢弃的触发不占用合并键，之后的提交仍能调度分发
+            assertEquals(0, coalescer.getPendingCount());
+        } finally {
+            release.countDown();
+            outboxExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testItemChangedEnqueuesSuggestionEvent() {
+        // When
+        outboxService.onItemChanged(new ItemChangedEvent(1L));
+
+        // Then
+        // 推荐更新经由发件箱执行，失败时按退避重试
+        ArgumentCaptor<ItemOutbox> captor = ArgumentCaptor.forClass(ItemOutbox.class);
+        verify(itemOutboxMapper).insert(captor.capture());
+        assertEquals(1L, captor.getValue().getItemId());
+        assertEquals(OutboxEventType.SUGGEST, captor.getValue().getEventType());
+        assertNull(captor.getValue().getPayload());
+        verify(outboxCoalescer).submit(eq("dispatch"), any());
+    }
+
+    @Test
+    void testDispatchHandlesClaimedBatchAndDeletesEvents() throws Exception {
+        // Given
+        List<ItemOutbox> events = Arrays.asList(event(1L, 10L, 1), event(2L, 11L, 1));
+        when(itemOutboxMapper.claimBatch(any(), any(), any(), anyInt())).thenReturn(2);
+        when(itemOutboxMapper.selectList(any())).thenReturn(events);
+        when(matchHandler.getEventType()).thenReturn(OutboxEventType.MATCH);
+
+        // When
+        int dispatched = outboxService.dispatch();
+
+        // Then
+        assertEquals(2, dispatched);
+        // 同类事件一次交给处理器
+        verify(matchHandler).handle(events);
+        verify(itemOutboxMapper).deleteBatchIds(Arrays.asList(1L, 2L));
+        verify(itemOutboxMapper, never()).updateById(any(ItemOutbox.class));
+    }
+
+    @Test
+    void testDispatchReschedulesFailedEventsWithBackoff() throws Exception {
+        // Given
+        ItemOutbox event = event(1L, 10L, 2);
+        when(itemOutboxMapper.claimBatch(any(), any(), any(), anyInt())).thenReturn(1);
+        when(itemOutboxMapper.selectList(any())).thenReturn(List.of(event));
+        when(matchHandler.getEventType()).thenReturn(OutboxEventType.MATCH);
+        doThrow(new IllegalStateException("数据库不可用")).when(matchHandler).handle(any());
+
+        // When
+        LocalDateTime before = LocalDateTime.now();
+        int dispatched = outboxService.dispatch();
+
+        // Then
+        assertEquals(0, dispatched);
+        verify(itemOutboxMapper, never()).deleteBatchIds(any());
+        verify(itemOutboxMapper).updateById(event);
+        // 第2次失败，退避 10 << 1 = 20秒
+        assertEquals(ItemOutbox.STATUS_PENDING, event.getStatus());
+        assertFalse(event.getNextAttemptAt().isBefore(before.plusSeconds(20)));
+        assertEquals("数据库不可用", event.getLastError());
+    }
+
+    @Test
+    void testDispatchRetriesOnlyFailedItems() throws Exception {
+        // Given
+        ItemOutbox succeeded = event(1L, 10L, 1);
+        ItemOutbox failed = event(2L, 11L, 1);
+        when(itemOutboxMapper.claimBatch(any(), any(), any(), anyInt())).thenReturn(2);
+        when(itemOutboxMapper.selectList(any())).thenReturn(List.of(succeeded, failed));
+        when(matchHandler.getEventType()).thenReturn(OutboxEventType.MATCH);
+        doThrow(new OutboxBatchException(Set.of(11L), new IllegalStateException("线程池已满")))
+                .when(matchHandler).handle(any());
+
+        // When
+        int dispatched = outboxService.dispatch();
+
+        // Then
+        // 成功物品的事件删除，失败物品的事件重新排期
+        assertEquals(1, dispatched);
+        verify(itemOutboxMapper).deleteBatchIds(List.of(1L));
+        verify(itemOutboxMapper).updateById(failed);
+        verify(itemOutboxMapper, never()).updateById(succeeded);
+        assertNotNull(failed.getNextAttemptAt());
+    }
+
+    @Test
+    void testDispatchMarksEventFailedAfterMaxAttempts() throws Exception {
+        // Given
+        ItemOutbox event = event(1L, 10L, outboxProperties.getMaxAttempts());
+        when(itemOutboxMapper.claimBatch(any(), any(), any(), anyInt())).thenReturn(1);
+        when(itemOutboxMapper.selectList(any())).thenReturn(List.of(event));
+        when(matchHandler.getEventType()).thenReturn(OutboxEventType.MATCH);
+        doThrow(new IllegalStateException("数据库不可用")).when(matchHandler).handle(any());
+
+        // When
+        outboxService.dispatch();
+
+        // Then
+        verify(itemOutboxMapper).updateById(event);
+        assertEquals(ItemOutbox.STATUS_FAILED, event.getStatus());
+    }
+
+    @Test
+    void testDispatchForwardsWorkerEventsToStream() throws Exception {
+        // Given
+        List<ItemOutbox> events = List.of(event(1L, 10L, 1));
+        when(itemOutboxMapper.claimBatch(any(), any(), any(), anyInt())).thenReturn(1);
+        when(itemOutboxMapper.selectList(any())).thenReturn(events);
+        when(itemEventStreamPublisher.accepts(OutboxEventType.MATCH)).thenReturn(true);
+
+        // When
+        int dispatched = outboxService.dispatch();
+
+        // Then
+        // 写入事件流即视为分发完成，本节点不再处理
+        assertEquals(1, dispatched);
+        verify(itemEventStreamPublisher).publish(events);
+        verify(matchHandler, never()).handle(any());
+        verify(itemOutboxMapper).deleteBatchIds(List.of(1L));
+    }
+
+    @Test
+    void testDispatchWithoutDueEvents() {
+        // Given
+        when(itemOutboxMapper.claimBatch(any(), any(), any(), anyInt())).thenReturn(0);
+
+        // When
+        int dispatched = outboxService.dispatch();
+
+        // Then
+        assertEquals(0, dispatched);
+        verify(itemOutboxMapper, never()).selectList(any());
+        verifyNoInteractions(matchHandler);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ItemOutbox event(Long id, Long itemId, int attempts) {
+        ItemOutbox event = new ItemOutbox();
+        event.setId(id);
+        event.setItemId(itemId);
+        event.setEventType(OutboxEventType.MATCH);
+        event.setStatus(ItemOutbox.STATUS_PENDING);
+        event.setAttempts(attempts);
+        return event;
+    }
+}
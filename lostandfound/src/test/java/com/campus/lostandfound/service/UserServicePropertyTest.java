@@ -6,8 +6,6 @@ import com.campus.lostandfound.model.entity.User;
 import com.campus.lostandfound.model.vo.UserVO;
 import com.campus.lostandfound.repository.UserMapper;
 import com.campus.lostandfound.service.impl.UserServiceImpl;
-import com.campus.lostandfound.util.RedisUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import net.jqwik.api.*;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -51,11 +49,9 @@ class UserServicePropertyTest {
         // Setup mocks
         UserMapper userMapper = mock(UserMapper.class);
         PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-        RedisUtil redisUtil = mock(RedisUtil.class);
-        ObjectMapper objectMapper = new ObjectMapper();
         CacheService cacheService = mock(CacheService.class);
         
-        UserServiceImpl userService = new UserServiceImpl(userMapper, passwordEncoder, redisUtil, objectMapper, cacheService);
+        UserServiceImpl userService = new UserServiceImpl(userMapper, passwordEncoder, cacheService);
         
         // Create User B in the database (the target user)
         User userB = new User();
@@ -108,11 +104,9 @@ class UserServicePropertyTest {
         // Setup mocks
         UserMapper userMapper = mock(UserMapper.class);
         PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-        RedisUtil redisUtil = mock(RedisUtil.class);
-        ObjectMapper objectMapper = new ObjectMapper();
         CacheService cacheService = mock(CacheService.class);
         
-        UserServiceImpl userService = new UserServiceImpl(userMapper, passwordEncoder, redisUtil, objectMapper, cacheService);
+        UserServiceImpl userService = new UserServiceImpl(userMapper, passwordEncoder, cacheService);
         
         // Create the user in the database
         User user = new User();
@@ -168,11 +162,9 @@ class UserServicePropertyTest {
         // Setup mocks
         UserMapper userMapper = mock(UserMapper.class);
         PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-        RedisUtil redisUtil = mock(RedisUtil.class);
-        ObjectMapper objectMapper = new ObjectMapper();
         CacheService cacheService = mock(CacheService.class);
         
-        UserServiceImpl userService = new UserServiceImpl(userMapper, passwordEncoder, redisUtil, objectMapper, cacheService);
+        UserServiceImpl userService = new UserServiceImpl(userMapper, passwordEncoder, cacheService);
         
         // Create both users in the database
         User userA = new User();
@@ -0,0 +1,133 @@
+package com.campus.lostandfound.service;
+
+import com.campus.lostandfound.config.ViewCountProperties;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.service.impl.ViewCountServiceImpl;
+import com.campus.lostandfound.util.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * ViewCountService单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class ViewCountServiceTest {
+    
+    @Mock
+    private RedisUtil redisUtil;
+    
+    @Mock
+    private ItemMapper itemMapper;
+    
+    @Mock
+    private HotItemService hotItemService;
+    
+    private ViewCountProperties viewCountProperties;
+    
+    private ViewCountServiceImpl viewCountService;
+    
+    @BeforeEach
+    void setUp() {
+        viewCountProperties = new ViewCountProperties();
+        viewCountService = new ViewCountServiceImpl(redisUtil, itemMapper, viewCountProperties, hotItemService);
+    }
+    
+    @Test
+    void testIncrementMarksItemDirtyAndRecordsHotness() {
+        // Given
+        when(redisUtil.increment("item:view:1")).thenReturn(6L);
+        
+        // When
+        long count = viewCountService.increment(1L);
+        
+        // Then
+        assertEquals(6L, count);
+        verify(redisUtil).sAdd("item:view:dirty", "1");
+        verify(hotItemService).recordView(1L);
+        verifyNoInteractions(itemMapper);
+    }
+    
+    @Test
+    void testFlushWritesBatchAndSkipsMissingCounters() {
+        // Given: 物品2的计数器已不存在
+        when(redisUtil.sPop("item:view:dirty", 500)).thenReturn(Arrays.asList("1", "2", "3"));
+        when(redisUtil.multiGet(List.of("item:view:1", "item:view:2", "item:view:3")))
+                .thenReturn(Arrays.asList("10", null, "7"));
+        
+        // When
+        int flushed = viewCountService.flush();
+        
+        // Then: 一条语句回写两个物品
+        assertEquals(2, flushed);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Item>> captor = ArgumentCaptor.forClass(List.class);
+        verify(itemMapper).batchUpdateViewCount(captor.capture());
+        List<Item> items = captor.getValue();
+        assertEquals(2, items.size());
+        assertEquals(1L, items.get(0).getId());
+        assertEquals(10, items.get(0).getViewCount());
+        assertEquals(3L, items.get(1).getId());
+        assertEquals(7, items.get(1).getViewCount());
+    }
+    
+    @Test
+    void testFlushDrainsInBatches() {
+        // Given
+        viewCountProperties.setBatchSize(2);
+        when(redisUtil.sPop("item:view:dirty", 2))
+                .thenReturn(Arrays.asList("1", "2"))
+                .thenReturn(List.of("3"));
+        when(redisUtil.multiGet(anyList()))
+                .thenReturn(Arrays.asList("1", "2"))
+                .thenReturn(List.of("3"));
+        
+        // When
+        int flushed = viewCountService.flush();
+        
+        // Then: 最后一批不足batchSize时停止，不再多弹一次
+        assertEquals(3, flushed);
+        verify(itemMapper, times(2)).batchUpdateViewCount(anyList());
+        verify(redisUtil, times(2)).sPop("item:view:dirty", 2);
+    }
+    
+    @Test
+    void testFlushFailureRequeuesIds() {
+        // Given
+        when(redisUtil.sPop("item:view:dirty", 500)).thenReturn(Arrays.asList("1", "2"));
+        when(redisUtil.multiGet(anyList())).thenReturn(Arrays.asList("5", "8"));
+        when(itemMapper.batchUpdateViewCount(anyList())).thenThrow(new RuntimeException("db down"));
+        
+        // When
+        int flushed = viewCountService.flush();
+        
+        // Then: ID放回待回写集合，下个周期重试
+        assertEquals(0, flushed);
+        verify(redisUtil).sAdd("item:view:dirty", "1", "2");
+    }
+    
+    @Test
+    void testFlushWithNothingDirty() {
+        // Given
+        when(redisUtil.sPop("item:view:dirty", 500)).thenReturn(List.of());
+        
+        // When
+        int flushed = viewCountService.flush();
+        
+        // Then
+        assertEquals(0, flushed);
+        verify(itemMapper, never()).batchUpdateViewCount(any());
+    }
+}
@@ -0,0 +1,226 @@
+package com.campus.lostandfound.service.match;
+
+import com.campus.lostandfound.config.MatchProperties;
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.entity.ItemTag;
+import com.campus.lostandfound.model.vo.MatchResult;
+import com.campus.lostandfound.repository.ItemMapper;
+import com.campus.lostandfound.repository.ItemTagMapper;
+import com.campus.lostandfound.service.ItemIndexService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * MatchEngine单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class MatchEngineTest {
+    
+    @Mock
+    private ItemMapper itemMapper;
+    
+    @Mock
+    private ItemTagMapper itemTagMapper;
+    
+    @Mock
+    private ItemIndexService itemIndexService;
+    
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    
+    private final MatchProperties matchProperties = new MatchProperties();
+    
+    private MatchEngine matchEngine;
+    
+    private Item item;
+    
+    private List<IndexedItem> candidates;
+    
+    private List<Item> candidateItems;
+    
+    @BeforeEach
+    void setUp() {
+        matchEngine = new MatchEngine(itemMapper, itemTagMapper, itemIndexService, matchProperties, pool);
+        
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 0);
+        item = createItem(0L, 0, "钱包", now, 121.4737, 31.2304);
+        
+        Random random = new Random(7);
+        String[] categories = {"钱包", "证件卡片", "电子设备"};
+        candidates = new ArrayList<>();
+        candidateItems = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            Item candidate = createItem(id, 1, categories[random.nextInt(categories.length)],
+                    now.plusHours(random.nextInt(240) - 120),
+                    121.4737 + (random.nextDouble() - 0.5) * 0.1,
+                    31.2304 + (random.nextDouble() - 0.5) * 0.1);
+            candidates.add(IndexedItem.of(candidate, Collections.emptyList()));
+            candidateItems.add(candidate);
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Test
+    void testParallelMatchesSequential() {
+        when(itemIndexService.get(0L)).thenReturn(IndexedItem.of(item, Collections.emptyList()));
+        when(itemIndexService.findMatchCandidates(any(), any())).thenReturn(candidates);
+        
+        // 单线程
+        matchProperties.setParallelThreshold(Integer.MAX_VALUE);
+        List<Long> sequential = matchedIds(matchEngine.match(item, 10, 0));
+        
+        // 并行
+        matchProperties.setParallelThreshold(1);
+        List<Long> parallel = matchedIds(matchEngine.match(item, 10, 0));
+        
+        assertEquals(10, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+    
+    @Test
+    void testPrefilterMergesCategoryTagAndNeighborCandidates() {
+        matchProperties.setIndexEnabled(false);
+        matchProperties.setCandidatePrefilter(true);
+        
+        LocalDateTime now = item.getEventTime();
+        Item sameCategory = createItem(1L, 1, "钱包", now.minusDays(30), 100.0, 20.0);
+        Item sharedTag = createItem(2L, 1, "其他", now.minusDays(30), 100.0, 20.0);
+        Item neighbor = createItem(3L, 1, "电子设备", now.plusDays(1), 121.4740, 31.2310);
+        
+        // 物品标签、按标签反查物品、候选物品标签
+        when(itemTagMapper.selectList(any()))
+                .thenReturn(List.of(createTag(0L, "黑色")))
+                .thenReturn(List.of(createTag(2L, "黑色"), createTag(1L, "黑色")))
+                .thenReturn(List.of(createTag(1L, "黑色"), createTag(2L, "黑色")));
+        // 类别、标签、时空邻域三次查询，邻域查询结果与类别查询重叠
+        when(itemMapper.selectList(any()))
+                .thenReturn(List.of(sameCategory))
+                .thenReturn(List.of(sharedTag))
+                .thenReturn(List.of(neighbor, sameCategory));
+        
+        List<MatchResult> results = matchEngine.match(item, 10, 0);
+        
+        assertEquals(List.of(1L, 2L, 3L), matchedIds(results).stream().sorted().collect(Collectors.toList()));
+        verify(itemMapper, times(3)).selectList(any());
+        verifyNoInteractions(itemIndexService);
+    }
+    
+    @Test
+    void testBatchPrefilterAppliesSameRecallAsMatch() {
+        matchProperties.setIndexEnabled(false);
+        matchProperties.setCandidatePrefilter(true);
+        
+        LocalDateTime now = item.getEventTime();
+        Item sameCategory = createItem(1L, 1, "钱包", now.minusDays(30), 100.0, 20.0);
+        Item sharedTag = createItem(2L, 1, "其他", now.minusDays(30), 100.0, 20.0);
+        Item neighbor = createItem(3L, 1, "电子设备", now.plusDays(1), 121.4740, 31.2310);
+        // 类别、标签不同，距离近但时间超出窗口，不召回
+        Item unrelated = createItem(4L, 1, "电子设备", now.minusDays(30), 121.4740, 31.2310);
+        
+        // 待匹配物品标签、候选物品标签
+        when(itemTagMapper.selectList(any()))
+                .thenReturn(List.of(createTag(0L, "黑色")))
+                .thenReturn(List.of(createTag(2L, "黑色")));
+        when(itemMapper.selectList(any())).thenReturn(List.of(sameCategory, sharedTag, neighbor, unrelated));
+        
+        List<MatchResult> results = matchEngine.matchBatch(List.of(item), 10).get(0L);
+        
+        assertEquals(List.of(1L, 2L, 3L), matchedIds(results).stream().sorted().collect(Collectors.toList()));
+        verify(itemMapper, times(1)).selectList(any());
+    }
+    
+    @Test
+    void testBatchMatchesPerItemWithIndex() {
+        List<Item> items = batchItems();
+        for (Item probe : items) {
+            when(itemIndexService.get(probe.getId())).thenReturn(IndexedItem.of(probe, Collections.emptyList()));
+        }
+        when(itemIndexService.findMatchCandidates(any(), any())).thenReturn(candidates);
+        
+        Map<Long, List<MatchResult>> batch = matchEngine.matchBatch(items, 10);
+        
+        for (Item probe : items) {
+            assertEquals(scoredIds(matchEngine.match(probe, 10, 0)), scoredIds(batch.get(probe.getId())));
+        }
+    }
+    
+    @Test
+    void testBatchMatchesPerItemWithoutIndex() {
+        matchProperties.setIndexEnabled(false);
+        matchProperties.setCandidatePrefilter(false);
+        List<Item> items = batchItems();
+        
+        // 候选物品均不属于待匹配物品的发布者，逐个查询与批量快照返回同一批物品
+        when(itemMapper.selectList(any())).thenReturn(candidateItems);
+        when(itemTagMapper.selectList(any())).thenReturn(List.of());
+        
+        Map<Long, List<MatchResult>> batch = matchEngine.matchBatch(items, 10);
+        
+        for (Item probe : items) {
+            List<String> expected = scoredIds(matchEngine.match(probe, 10, 0));
+            assertEquals(10, expected.size());
+            assertEquals(expected, scoredIds(batch.get(probe.getId())));
+        }
+        verifyNoInteractions(itemIndexService);
+    }
+    
+    private List<Item> batchItems() {
+        LocalDateTime now = item.getEventTime();
+        return List.of(item,
+                createItem(5001L, 0, "证件卡片", now.plusDays(2), 121.4800, 31.2400),
+                createItem(5002L, 0, "电子设备", now.minusDays(3), 121.4600, 31.2200));
+    }
+    
+    private List<String> scoredIds(List<MatchResult> results) {
+        return results.stream()
+                .map(result -> result.getMatchedItemId() + ":" + result.getScore())
+                .collect(Collectors.toList());
+    }
+    
+    private List<Long> matchedIds(List<MatchResult> results) {
+        return results.stream().map(MatchResult::getMatchedItemId).collect(Collectors.toList());
+    }
+    
+    private ItemTag createTag(Long itemId, String tag) {
+        ItemTag itemTag = new ItemTag();
+        itemTag.setItemId(itemId);
+        itemTag.setTag(tag);
+        return itemTag;
+    }
+    
+    private Item createItem(Long id, Integer type, String category, LocalDateTime eventTime,
+                            double longitude, double latitude) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(id + 100);
+        item.setType(type);
+        item.setStatus(0);
+        item.setCategory(category);
+        item.setEventTime(eventTime);
+        item.setLongitude(BigDecimal.valueOf(longitude));
+        item.setLatitude(BigDecimal.valueOf(latitude));
+        item.setDeleted(0);
+        return item;
+    }
+}
@@ -0,0 +1,114 @@
+package com.campus.lostandfound.service.match;
+
+import com.campus.lostandfound.model.entity.Item;
+import com.campus.lostandfound.model.vo.MatchResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MatchScoreKernel单元测试
+ */
+class MatchScoreKernelTest {
+    
+    private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 0);
+    
+    @Test
+    void testFullMatch() {
+        IndexedItem probe = indexed(1L, "钱包", Arrays.asList("黑色", "皮质"), now, "121.4737", "31.2304");
+        IndexedItem candidate = indexed(2L, "钱包", Arrays.asList("皮质", "黑色"), now, "121.4737", "31.2304");
+        
+        assertEquals(100f, MatchScoreKernel.score(probe, candidate), 0.001f);
+        
+        MatchResult result = MatchScoreKernel.toResult(probe, candidate);
+        assertEquals(0, new BigDecimal("100").compareTo(result.getScore()));
+        assertEquals(2L, result.getMatchedItemId());
+    }
+    
+    @Test
+    void testPartialScores() {
+        // 标签交集1、并集3；相差3天；无坐标
+        IndexedItem probe = indexed(1L, "钱包", Arrays.asList("黑色", "皮质"), now, null, null);
+        IndexedItem candidate = indexed(2L, "证件卡片", Arrays.asList("黑色", "学生证"), now.plusDays(3).plusHours(5), null, null);
+        
+        MatchResult result = MatchScoreKernel.toResult(probe, candidate);
+        
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getCategoryScore()));
+        assertEquals(new BigDecimal("10.00"), result.getTagScore());
+        assertEquals(new BigDecimal("11.43"), result.getTimeScore());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getLocationScore()));
+        assertEquals(new BigDecimal("21.43"), result.getScore());
+    }
+    
+    @Test
+    void testOutOfRange() {
+        // 相差8天，距离约10公里
+        IndexedItem probe = indexed(1L, null, Collections.emptyList(), now, "121.4737", "31.2304");
+        IndexedItem candidate = indexed(2L, null, Collections.emptyList(), now.minusDays(8), "121.4737", "31.3204");
+        
+        assertEquals(0f, MatchScoreKernel.score(probe, candidate));
+    }
+    
+    @Test
+    void testCollectWithPruningMatchesFullScoring() {
+        Random random = new Random(42);
+        String[] categories = {"钱包", "证件卡片", "电子设备", "书籍"};
+        String[] tagPool = {"黑色", "白色", "皮质", "金属", "学生证", "耳机", "笔记本"};
+        
+        IndexedItem probe = indexed(0L, "钱包", Arrays.asList("黑色", "皮质"), now, "121.4737", "31.2304");
+        List<IndexedItem> candidates = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            List<String> tags = new ArrayList<>();
+            for (String tag : tagPool) {
+                if (random.nextInt(4) == 0) {
+                    tags.add(tag);
+                }
+            }
+            candidates.add(indexed(id, categories[random.nextInt(categories.length)], tags,
+                    now.plusHours(random.nextInt(24 * 10) - 24 * 5),
+                    String.valueOf(121.4737 + (random.nextDouble() - 0.5) * 0.1),
+                    String.valueOf(31.2304 + (random.nextDouble() - 0.5) * 0.1)));
+        }
+        
+        for (int limit : new int[]{1, 3, 10, 1000}) {
+            for (float minScore : new float[]{0f, 50f, 70f}) {
+                TopKCollector collector = new TopKCollector(limit, minScore, candidates.size());
+                MatchScoreKernel.collect(probe, candidates, 0, candidates.size(), collector);
+                
+                // 与逐个完整评分后稳定排序的结果一致
+                int[] expected = IntStream.range(0, candidates.size())
+                        .boxed()
+                        .filter(i -> MatchScoreKernel.score(probe, candidates.get(i)) >= minScore)
+                        .sorted((a, b) -> Float.compare(MatchScoreKernel.score(probe, candidates.get(b)),
+                                                        MatchScoreKernel.score(probe, candidates.get(a))))
+                        .limit(limit)
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                assertArrayEquals(expected, collector.indexes(), "limit=" + limit + ", minScore=" + minScore);
+            }
+        }
+    }
+    
+    private IndexedItem indexed(Long id, String category, List<String> tags, LocalDateTime eventTime,
+                                String longitude, String latitude) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(id);
+        item.setType(0);
+        item.setStatus(0);
+        item.setCategory(category);
+        item.setEventTime(eventTime);
+        item.setLongitude(longitude != null ? new BigDecimal(longitude) : null);
+        item.setLatitude(latitude != null ? new BigDecimal(latitude) : null);
+        return IndexedItem.of(item, tags);
+    }
+}
@@ -0,0 +1,63 @@
+package com.campus.lostandfound.service.match;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TopKCollector单元测试
+ */
+class TopKCollectorTest {
+    
+    private static final float[] SCORES = {10f, 80f, 30f, 80f, 5f, 60f};
+    
+    @Test
+    void testKeepsTopKInOrder() {
+        assertArrayEquals(new int[]{1, 3, 5}, collect(3, 0));
+        assertArrayEquals(new int[]{1, 3, 5, 2}, collect(10, 30));
+        assertArrayEquals(new int[0], collect(10, 90));
+    }
+    
+    @Test
+    void testAcceptsUsesCurrentThreshold() {
+        TopKCollector collector = new TopKCollector(2, 20f, 10);
+        
+        // 未满时只看最低分数
+        assertFalse(collector.accepts(0, 19.9f));
+        assertTrue(collector.accepts(0, 20f));
+        
+        collector.offer(0, 50f);
+        collector.offer(1, 40f);
+        
+        // 已满时必须优于当前第K名，分数相同时下标小的优先
+        assertFalse(collector.accepts(2, 39f));
+        assertFalse(collector.accepts(2, 40f));
+        assertTrue(collector.accepts(0, 40f));
+        assertTrue(collector.accepts(2, 41f));
+    }
+    
+    @Test
+    void testMerge() {
+        TopKCollector left = new TopKCollector(3, 0, 3);
+        TopKCollector right = new TopKCollector(3, 0, 3);
+        for (int i = 0; i < 3; i++) {
+            left.offer(i, SCORES[i]);
+            right.offer(i + 3, SCORES[i + 3]);
+        }
+        
+        TopKCollector merged = new TopKCollector(3, 0, SCORES.length);
+        merged.merge(right);
+        merged.merge(left);
+        
+        assertArrayEquals(new int[]{1, 3, 5}, merged.indexes());
+        assertEquals(3, merged.size());
+    }
+    
+    private int[] collect(int limit, float minScore) {
+        TopKCollector collector = new TopKCollector(limit, minScore, SCORES.length);
+        for (int i = 0; i < SCORES.length; i++) {
+            collector.offer(i, SCORES[i]);
+        }
+        return collector.indexes();
+    }
+}
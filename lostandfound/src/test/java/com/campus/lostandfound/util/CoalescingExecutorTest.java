@@ -0,0 +1,129 @@
+package com.campus.lostandfound.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CoalescingExecutor单元测试
+ */
+class CoalescingExecutorTest {
+
+    /**
+     * 手动驱动的执行器，调用runNext时才执行排队的任务
+     */
+    private Deque<Runnable> queue;
+    private CoalescingExecutor executor;
+    private List<String> executed;
+
+    @BeforeEach
+    void setUp() {
+        queue = new ArrayDeque<>();
+        executor = new CoalescingExecutor("test", queue::add);
+        executed = new ArrayList<>();
+    }
+
+    @Test
+    void testQueuedTasksForSameKeyCoalesce() {
+        // Given
+        assertTrue(executor.submit(1L, () -> executed.add("v1")));
+        assertFalse(executor.submit(1L, () -> executed.add("v2")));
+        assertFalse(executor.submit(1L, () -> executed.add("v3")));
+
+        // When
+        runAll();
+
+        // Then: 只执行最新的一次
+        assertEquals(List.of("v3"), executed);
+        assertEquals(2, executor.getCoalescedCount());
+        assertEquals(0, executor.getPendingCount());
+    }
+
+    @Test
+    void testDifferentKeysRunIndependently() {
+        // Given
+        executor.submit(1L, () -> executed.add("a"));
+        executor.submit(2L, () -> executed.add("b"));
+
+        // When
+        runAll();
+
+        // Then
+        assertEquals(List.of("a", "b"), executed);
+    }
+
+    @Test
+    void testSubmitWhileRunningRerunsOnce() {
+        // Given: 任务执行期间同一键又提交了两次
+        executor.submit(1L, () -> {
+            executed.add("first");
+            executor.submit(1L, () -> executed.add("second"));
+            executor.submit(1L, () -> executed.add("third"));
+        });
+
+        // When
+        runAll();
+
+        // Then: 当前任务结束后只补跑最新的一次，不再调度新的执行
+        assertEquals(List.of("first", "third"), executed);
+        assertEquals(0, executor.getPendingCount());
+    }
+
+    @Test
+    void testKeyCanBeResubmittedAfterCompletion() {
+        // Given
+        executor.submit(1L, () -> executed.add("v1"));
+        runAll();
+
+        // When
+        assertTrue(executor.submit(1L, () -> executed.add("v2")));
+        runAll();
+
+        // Then
+        assertEquals(List.of("v1", "v2"), executed);
+    }
+
+    @Test
+    void testRejectedTaskReleasesKey() {
+        // Given
+        CoalescingExecutor rejecting = new CoalescingExecutor("test", task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        // When
+        boolean scheduled = rejecting.submit(1L, () -> executed.add("v1"));
+
+        // Then: 拒绝后不残留合并键，之后的提交可以重新调度
+        assertFalse(scheduled);
+        assertEquals(0, rejecting.getPendingCount());
+    }
+
+    @Test
+    void testFailingTaskDoesNotBlockKey() {
+        // Given
+        executor.submit(1L, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        // When
+        runAll();
+        executor.submit(1L, () -> executed.add("after"));
+        runAll();
+
+        // Then
+        assertEquals(List.of("after"), executed);
+    }
+
+    private void runAll() {
+        while (!queue.isEmpty()) {
+            queue.poll().run();
+        }
+    }
+}
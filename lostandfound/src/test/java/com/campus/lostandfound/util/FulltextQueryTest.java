@@ -0,0 +1,34 @@
+package com.campus.lostandfound.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FulltextQuery单元测试
+ */
+class FulltextQueryTest {
+
+    @Test
+    void testEveryTermIsRequired() {
+        assertEquals("+黑色 +钱包", FulltextQuery.toBooleanQuery("黑色 钱包", 2));
+    }
+
+    @Test
+    void testBooleanOperatorsAreStripped() {
+        // 布尔模式运算符和引号被当作分隔符，不能拼入SQL
+        assertEquals("+iPhone +手机壳", FulltextQuery.toBooleanQuery("-iPhone' \"手机壳*\"", 2));
+    }
+
+    @Test
+    void testShortTermFallsBack() {
+        assertNull(FulltextQuery.toBooleanQuery("伞", 2));
+        assertNull(FulltextQuery.toBooleanQuery("黑色 伞", 2));
+    }
+
+    @Test
+    void testBlankKeyword() {
+        assertNull(FulltextQuery.toBooleanQuery(null, 2));
+        assertNull(FulltextQuery.toBooleanQuery(" +-* ", 2));
+    }
+}
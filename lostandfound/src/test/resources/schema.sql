@@ -136,6 +136,42 @@ CREATE TABLE IF NOT EXISTS `match_feedback` (
     FOREIGN KEY (`user_id`) REFERENCES `user` (`id`) ON DELETE CASCADE
 );
 
+-- =============================================
+-- 9. 匹配推荐表 (match_suggestion)
+-- =============================================
+CREATE TABLE IF NOT EXISTS `match_suggestion` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `item_id` BIGINT NOT NULL,
+    `matched_item_id` BIGINT NOT NULL,
+    `score` DECIMAL(5, 2) NOT NULL,
+    `category_score` DECIMAL(5, 2) NOT NULL DEFAULT 0,
+    `tag_score` DECIMAL(5, 2) NOT NULL DEFAULT 0,
+    `time_score` DECIMAL(5, 2) NOT NULL DEFAULT 0,
+    `location_score` DECIMAL(5, 2) NOT NULL DEFAULT 0,
+    `updated_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`),
+    UNIQUE (`item_id`, `matched_item_id`),
+    FOREIGN KEY (`item_id`) REFERENCES `item` (`id`) ON DELETE CASCADE,
+    FOREIGN KEY (`matched_item_id`) REFERENCES `item` (`id`) ON DELETE CASCADE
+);
+
+-- =============================================
+-- 10. 物品事件发件箱表 (item_outbox)
+-- =============================================
+CREATE TABLE IF NOT EXISTS `item_outbox` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `item_id` BIGINT NOT NULL,
+    `event_type` VARCHAR(32) NOT NULL,
+    `payload` VARCHAR(1000) DEFAULT NULL,
+    `status` TINYINT NOT NULL DEFAULT 0,
+    `attempts` INT NOT NULL DEFAULT 0,
+    `next_attempt_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    `lease_token` VARCHAR(36) DEFAULT NULL,
+    `last_error` VARCHAR(500) DEFAULT NULL,
+    `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`)
+);
+
 -- =============================================
 -- 插入测试管理员用户
 -- =============================================